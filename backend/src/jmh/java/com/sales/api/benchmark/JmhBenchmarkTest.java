@@ -0,0 +1,46 @@
+package com.sales.api.benchmark;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Collection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the JMH benchmarks from {@code mvn test -Pjmh} and writes the results as JSON to
+ * {@code target/jmh-result.json} (override with {@code -Djmh.result}). Extra JMH command
+ * line options, such as a benchmark filter or shorter iterations, can be passed with
+ * {@code -Djmh.args="-wi 1 -i 1 OrderJson"}.
+ */
+@Tag("jmh")
+class JmhBenchmarkTest {
+
+    @Test
+    @DisplayName("Run JMH benchmarks")
+    void runBenchmarks() throws Exception {
+        String args = System.getProperty("jmh.args", "").trim();
+        CommandLineOptions commandLine = new CommandLineOptions(args.isEmpty() ? new String[0] : args.split("\\s+"));
+
+        OptionsBuilder builder = new OptionsBuilder();
+        builder.parent(commandLine);
+        if (commandLine.getIncludes().isEmpty()) {
+            builder.include("com\\.sales\\.api\\..*Benchmark\\.");
+        }
+        Options options = builder
+                .resultFormat(ResultFormatType.JSON)
+                .result(System.getProperty("jmh.result", "target/jmh-result.json"))
+                .build();
+
+        Collection<RunResult> results = new Runner(options).run();
+
+        assertThat(results).isNotEmpty();
+    }
+}
@@ -0,0 +1,90 @@
+package com.sales.api.benchmark;
+
+import com.sales.api.SalesApiApplication;
+import com.sales.api.dto.OrderDTO;
+import com.sales.api.dto.OrderItemRequestDTO;
+import com.sales.api.dto.OrderRequestDTO;
+import com.sales.api.entity.Customer;
+import com.sales.api.entity.Product;
+import com.sales.api.repository.CustomerRepository;
+import com.sales.api.repository.ProductRepository;
+import com.sales.api.service.OrderService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full {@link OrderService#create} path, including locking, stock updates and inserts,
+ * against the embedded H2 database of the test profile.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderCreateBenchmark {
+
+    @Param({"1", "10"})
+    private int itemCount;
+
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+    private JdbcTemplate jdbcTemplate;
+    private OrderRequestDTO request;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(SalesApiApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties("logging.level.com.sales.api=WARN")
+                .run();
+        orderService = context.getBean(OrderService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        Customer customer = context.getBean(CustomerRepository.class).save(Customer.builder()
+                .name("Benchmark Customer")
+                .email("benchmark@example.com")
+                .build());
+
+        ProductRepository productRepository = context.getBean(ProductRepository.class);
+        List<OrderItemRequestDTO> items = new ArrayList<>();
+        for (int i = 1; i <= itemCount; i++) {
+            Product product = OrderFixtures.product(i);
+            product.setId(null);
+            product.setStockQuantity(Integer.MAX_VALUE);
+            items.add(OrderItemRequestDTO.builder()
+                    .productId(productRepository.save(product).getId())
+                    .quantity(1)
+                    .build());
+        }
+
+        request = OrderRequestDTO.builder()
+                .customerId(customer.getId())
+                .items(items)
+                .build();
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteOrders() {
+        jdbcTemplate.update("DELETE FROM order_items");
+        jdbcTemplate.update("DELETE FROM orders");
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public OrderDTO create() {
+        return orderService.create(request);
+    }
+}
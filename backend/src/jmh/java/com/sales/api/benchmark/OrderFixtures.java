@@ -0,0 +1,56 @@
+package com.sales.api.benchmark;
+
+import com.sales.api.entity.Customer;
+import com.sales.api.entity.Money;
+import com.sales.api.entity.Order;
+import com.sales.api.entity.OrderItem;
+import com.sales.api.entity.OrderStatus;
+import com.sales.api.entity.Product;
+
+import java.time.LocalDateTime;
+
+/**
+ * Detached entities shaped like the ones the services map, shared by the benchmarks.
+ */
+public final class OrderFixtures {
+
+    private OrderFixtures() {
+    }
+
+    public static Product product(long id) {
+        return Product.builder()
+                .id(id)
+                .name("Product " + id)
+                .description("Benchmark product " + id)
+                .price(Money.ofMinorUnits(1999 + id % 100 * 100))
+                .stockQuantity(1000)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    public static Order order(long id, int itemCount) {
+        Customer customer = Customer.builder()
+                .id(1L)
+                .name("Benchmark Customer")
+                .email("benchmark@example.com")
+                .build();
+
+        Order order = Order.builder()
+                .id(id)
+                .customer(customer)
+                .orderDate(LocalDateTime.now())
+                .status(OrderStatus.PENDING)
+                .build();
+        for (int i = 0; i < itemCount; i++) {
+            Product product = product(i + 1);
+            order.addItem(OrderItem.builder()
+                    .id(id * itemCount + i)
+                    .product(product)
+                    .quantity(i % 5 + 1)
+                    .unitPrice(product.getPrice())
+                    .build());
+        }
+        order.calculateTotalAmount();
+        return order;
+    }
+}
@@ -0,0 +1,72 @@
+package com.sales.api.benchmark;
+
+import com.sales.api.entity.Money;
+import com.sales.api.entity.Order;
+import com.sales.api.entity.OrderItem;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Order totals and line subtotals with {@link Money}, next to the same arithmetic on
+ * {@link BigDecimal} that the entities used before. Run with {@code -prof gc} to compare the
+ * bytes allocated per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderTotalBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int itemCount;
+
+    private Order order;
+    private BigDecimal[] unitPrices;
+    private int[] quantities;
+
+    @Setup
+    public void setUp() {
+        order = OrderFixtures.order(1L, itemCount);
+        unitPrices = new BigDecimal[itemCount];
+        quantities = new int[itemCount];
+        for (int i = 0; i < itemCount; i++) {
+            OrderItem item = order.getItems().get(i);
+            unitPrices[i] = item.getUnitPrice().toBigDecimal();
+            quantities[i] = item.getQuantity();
+        }
+    }
+
+    @Benchmark
+    public Money calculateTotalAmount() {
+        order.calculateTotalAmount();
+        return order.getTotalAmount();
+    }
+
+    @Benchmark
+    public void subtotals(Blackhole blackhole) {
+        for (OrderItem item : order.getItems()) {
+            blackhole.consume(item.getSubtotal());
+        }
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalTotalAmount() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < unitPrices.length; i++) {
+            total = total.add(unitPrices[i].multiply(BigDecimal.valueOf(quantities[i])));
+        }
+        return total;
+    }
+
+    @Benchmark
+    public void bigDecimalSubtotals(Blackhole blackhole) {
+        for (int i = 0; i < unitPrices.length; i++) {
+            blackhole.consume(unitPrices[i].multiply(BigDecimal.valueOf(quantities[i])));
+        }
+    }
+}
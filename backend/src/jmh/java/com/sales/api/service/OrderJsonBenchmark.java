@@ -0,0 +1,49 @@
+package com.sales.api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.sales.api.benchmark.OrderFixtures;
+import com.sales.api.dto.OrderDTO;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * Serializes a page of orders the way the list endpoints do, with an {@link ObjectMapper}
+ * configured like the one Spring MVC uses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderJsonBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int orderCount;
+
+    private ObjectWriter writer;
+    private List<OrderDTO> orders;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        writer = objectMapper.writerFor(objectMapper.getTypeFactory()
+                .constructCollectionType(List.class, OrderDTO.class));
+
+        OrderService orderService = new OrderService(null, null, null, null, null, null, null, null, null, null, null, null, null, null);
+        orders = LongStream.rangeClosed(1, orderCount)
+                .mapToObj(id -> orderService.toDTO(OrderFixtures.order(id, 3)))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public byte[] serializeOrders() throws Exception {
+        return writer.writeValueAsBytes(orders);
+    }
+}
@@ -0,0 +1,50 @@
+package com.sales.api.service;
+
+import com.sales.api.benchmark.OrderFixtures;
+import com.sales.api.dto.OrderDTO;
+import com.sales.api.dto.ProductDTO;
+import com.sales.api.entity.Order;
+import com.sales.api.entity.Product;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping of the services. Lives in the service package because the
+ * mappers are package-private; the services are built without collaborators since
+ * mapping does not use them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ServiceMappingBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int itemCount;
+
+    private OrderService orderService;
+    private ProductService productService;
+    private Order order;
+    private Product product;
+
+    @Setup
+    public void setUp() {
+        orderService = new OrderService(null, null, null, null, null, null, null, null, null, null, null, null, null, null);
+        productService = new ProductService(null, null, null, null);
+        order = OrderFixtures.order(1L, itemCount);
+        product = OrderFixtures.product(1L);
+    }
+
+    @Benchmark
+    public OrderDTO orderToDTO() {
+        return orderService.toDTO(order);
+    }
+
+    @Benchmark
+    public ProductDTO productToDTO() {
+        return productService.toDTO(product);
+    }
+}
@@ -0,0 +1,39 @@
+package com.sales.api.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String PRODUCTS = "products";
+
+    /**
+     * Caffeine caches whose evictions and puts are deferred until the surrounding transaction
+     * commits, so a reader can never repopulate an entry with data from a write still in flight.
+     * A put never replaces a newer version of a value, and the spec should bound the age of entries
+     * for changes that only evict.
+     */
+    @Bean
+    public CacheManager cacheManager(@Value("${sales.cache.spec}") String spec) {
+        CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager() {
+            @Override
+            protected CaffeineCache adaptCaffeineCache(String name, Cache<Object, Object> cache) {
+                return new VersionedCaffeineCache(name, cache, isAllowNullValues());
+            }
+        };
+        caffeineCacheManager.setCacheSpecification(spec);
+        caffeineCacheManager.setCacheNames(List.of(PRODUCTS));
+        return new TransactionAwareCacheManagerProxy(caffeineCacheManager);
+    }
+}
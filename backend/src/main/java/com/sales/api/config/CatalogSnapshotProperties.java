@@ -0,0 +1,39 @@
+package com.sales.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "sales.catalog-snapshot")
+public class CatalogSnapshotProperties {
+
+    /**
+     * Serves the default pages of GET /api/products and /api/products/in-stock from a
+     * pre-serialized snapshot of the catalog.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Delay between two checks of the catalog for changes to rebuild the snapshot from.
+     */
+    private long refreshIntervalMs = 500;
+
+    /**
+     * Longest time since the snapshot was last known to match the catalog; an older snapshot is
+     * not served and the pages are read from the database instead.
+     */
+    private Duration maxStaleness = Duration.ofSeconds(5);
+
+    /**
+     * Shortest time between two rebuilds, so a stream of stock changes is folded into one rebuild.
+     * Meanwhile the previous snapshot is served until it is older than the max staleness.
+     */
+    private Duration minRebuildInterval = Duration.ofSeconds(1);
+
+    /**
+     * Most products held in the snapshot; pages past them are read from the database.
+     */
+    private int maxProducts = 50_000;
+}
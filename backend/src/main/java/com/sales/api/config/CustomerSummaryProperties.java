@@ -0,0 +1,24 @@
+package com.sales.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "sales.customer-summary")
+public class CustomerSummaryProperties {
+
+    /**
+     * Runs the reconciliation of customer summaries against the orders on its schedule.
+     */
+    private boolean reconcileEnabled = true;
+
+    /**
+     * Delay between two reconciliation runs, which is also the delay before the first one.
+     */
+    private long reconcileIntervalMs = 3_600_000;
+
+    /**
+     * Maximum number of customers reconciled per transaction.
+     */
+    private int batchSize = 500;
+}
@@ -0,0 +1,66 @@
+package com.sales.api.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+@Slf4j
+@Configuration
+public class DataSourceConfig {
+
+    /**
+     * Puts the auto-configured {@code dataSource} behind a {@link ReplicaRoutingDataSource} when
+     * {@code sales.datasource.replicas} lists any. The primary keeps its Boot configuration,
+     * health check and pool metrics; replica pools report their metrics as {@code replica-<n>}.
+     */
+    @Bean
+    public static BeanPostProcessor replicaRoutingPostProcessor(Environment environment,
+                                                                ObjectProvider<MeterRegistry> registry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!"dataSource".equals(beanName) || !(bean instanceof DataSource primary)) {
+                    return bean;
+                }
+                ReplicaDataSourceProperties properties = Binder.get(environment)
+                        .bindOrCreate("sales.datasource", ReplicaDataSourceProperties.class);
+                if (properties.getReplicas().isEmpty()) {
+                    return bean;
+                }
+
+                List<DataSource> replicas = new ArrayList<>();
+                for (ReplicaDataSourceProperties.Replica replica : properties.getReplicas()) {
+                    replicas.add(pool("replica-" + replicas.size(), replica, registry.getIfAvailable()));
+                }
+                log.info("Routing read-only transactions to {} replica(s)", replicas.size());
+                return ReplicaRoutingDataSource.of(primary, replicas);
+            }
+        };
+    }
+
+    private static HikariDataSource pool(String name, ReplicaDataSourceProperties.Replica replica, MeterRegistry registry) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName(name);
+        config.setJdbcUrl(replica.getUrl());
+        config.setUsername(replica.getUsername());
+        config.setPassword(replica.getPassword());
+        config.setMaximumPoolSize(replica.getMaximumPoolSize());
+        config.setReadOnly(true);
+        if (registry != null) {
+            config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+        }
+        return new HikariDataSource(config);
+    }
+}
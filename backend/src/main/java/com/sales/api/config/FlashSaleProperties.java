@@ -0,0 +1,26 @@
+package com.sales.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "sales.flash-sale")
+public class FlashSaleProperties {
+
+    /**
+     * Allows products to be flagged for flash-sale admission at runtime.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Delay between two flushes of admitted decrements to products.stock_quantity.
+     */
+    private long flushIntervalMs = 200;
+
+    /**
+     * Identifies this instance as the owner of the reservations it makes, and must survive a
+     * restart so the instance can release them when it starts again. Defaults to the host name.
+     * Instances that share a database need distinct ids.
+     */
+    private String instanceId;
+}
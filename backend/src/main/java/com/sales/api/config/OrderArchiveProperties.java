@@ -0,0 +1,31 @@
+package com.sales.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "sales.order-archive")
+public class OrderArchiveProperties {
+
+    /**
+     * Runs the archiving job on its schedule.
+     */
+    private boolean enabled = true;
+
+    /**
+     * How long after being placed a delivered or cancelled order is moved to the archive tables.
+     */
+    private Duration age = Duration.ofDays(90);
+
+    /**
+     * Maximum number of orders moved per transaction.
+     */
+    private int batchSize = 500;
+
+    /**
+     * Delay between two runs of the archiving job, which is also the delay before the first one.
+     */
+    private long intervalMs = 3_600_000;
+}
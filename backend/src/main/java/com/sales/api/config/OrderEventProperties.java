@@ -0,0 +1,54 @@
+package com.sales.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "sales.order-events")
+public class OrderEventProperties {
+
+    /**
+     * Delay between two checks for committed events to publish.
+     */
+    private long pollIntervalMs = 200;
+
+    /**
+     * Delay between two checks for events committed by other instances. Events committed by this
+     * instance are published on the next poll.
+     */
+    private Duration sharedPollInterval = Duration.ofSeconds(1);
+
+    /**
+     * Maximum number of events published per query.
+     */
+    private int batchSize = 500;
+
+    /**
+     * Maximum number of events replayed to a resuming subscriber. Subscribers further behind
+     * receive a reset event and should reload their orders.
+     */
+    private int replayLimit = 1000;
+
+    /**
+     * Maximum number of events waiting to be written to one subscriber. A subscriber further
+     * behind receives a reset event instead of them. Keep it above the replay limit.
+     */
+    private int subscriberBuffer = 2000;
+
+    /**
+     * How long published events are kept for resuming subscribers.
+     */
+    private Duration retention = Duration.ofHours(24);
+
+    /**
+     * Delay between two keep-alive comments sent to every subscriber.
+     */
+    private long heartbeatIntervalMs = 15_000;
+
+    /**
+     * Lifetime of a subscription; clients reconnect with {@code Last-Event-ID} when it ends.
+     */
+    private Duration subscriptionTimeout = Duration.ofMinutes(30);
+}
@@ -0,0 +1,38 @@
+package com.sales.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "sales.order-intake")
+public class OrderIntakeProperties {
+
+    /**
+     * Accepts orders on POST /api/orders/intake and creates them in the background.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Orders waiting to be created; further submissions are refused with 503 until it drains.
+     */
+    private int capacity = 10_000;
+
+    /**
+     * Most orders created in one transaction.
+     */
+    private int batchSize = 200;
+
+    /**
+     * How long the outcome of an order can be fetched by its tracking id once it is known.
+     */
+    private Duration resultRetention = Duration.ofMinutes(10);
+
+    /**
+     * Orders per second the intake is sized for. At most capacity plus this many per second of
+     * retention outcomes are kept; beyond that the oldest are evicted and their tracking ids
+     * answer 404.
+     */
+    private int expectedThroughput = 100;
+}
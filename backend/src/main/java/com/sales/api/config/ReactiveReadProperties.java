@@ -0,0 +1,40 @@
+package com.sales.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "sales.reactive-read")
+public class ReactiveReadProperties {
+
+    /**
+     * Serves the reactive read API on its own port, next to the servlet API.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Port of the reactive read API; 0 picks a free one.
+     */
+    private int port = 8081;
+
+    /**
+     * R2DBC URL of the database the servlet API writes to.
+     */
+    private String url = "r2dbc:h2:mem:///salesdb";
+
+    private String username = "sa";
+
+    private String password = "";
+
+    /**
+     * Size of the connection pool. Each listing holds at most one connection at a time.
+     */
+    private int maxConnections = 10;
+
+    /**
+     * How long a query waits for a free connection before the request fails with 503.
+     */
+    private Duration maxAcquireTime = Duration.ofSeconds(5);
+}
@@ -0,0 +1,85 @@
+package com.sales.api.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Keeps a client on the primary for {@code sales.datasource.read-your-writes-window} after each
+ * of its write requests, so what it just wrote is not hidden by replication lag.
+ * <p>
+ * A request with any method other than GET, HEAD and OPTIONS counts as a write. Its time is
+ * sent back in a cookie, so the window holds on every instance the client reaches next. Requests
+ * inside the window, and the write requests themselves, read from the primary. Other requests
+ * read from a single replica, so the versions a response is tagged with and its body come from
+ * the same database. Without replicas the filter does nothing.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    public static final String COOKIE = "sales-last-write";
+
+    private static final Set<String> READ_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+    private final ReplicaDataSourceProperties properties;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (properties.getReplicas().isEmpty()) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        long window = properties.getReadYourWritesWindow().toMillis();
+        boolean primary;
+        if (READ_METHODS.contains(request.getMethod())) {
+            Long lastWrite = lastWrite(request);
+            primary = lastWrite != null && lastWrite <= now && now - lastWrite < window;
+        } else {
+            Cookie cookie = new Cookie(COOKIE, Long.toString(now));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) Math.ceilDiv(window, 1000));
+            response.addCookie(cookie);
+            primary = true;
+        }
+
+        boolean entered = primary ? ReplicaRoutingDataSource.enterPrimary() : ReplicaRoutingDataSource.enterPinned();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (primary) {
+                ReplicaRoutingDataSource.exitPrimary(entered);
+            } else {
+                ReplicaRoutingDataSource.exitPinned(entered);
+            }
+        }
+    }
+
+    private static Long lastWrite(HttpServletRequest request) {
+        if (request.getCookies() == null) {
+            return null;
+        }
+        for (Cookie cookie : request.getCookies()) {
+            if (COOKIE.equals(cookie.getName())) {
+                try {
+                    return Long.valueOf(cookie.getValue());
+                } catch (NumberFormatException ex) {
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+}
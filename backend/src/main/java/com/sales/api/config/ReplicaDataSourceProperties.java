@@ -0,0 +1,37 @@
+package com.sales.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "sales.datasource")
+public class ReplicaDataSourceProperties {
+
+    /**
+     * Read replicas of {@code spring.datasource}, taking read-only transactions in turn. Without
+     * any, every transaction runs on the primary.
+     */
+    private List<Replica> replicas = new ArrayList<>();
+
+    /**
+     * How long after a write request the same client keeps reading from the primary, so it sees
+     * its own writes despite replication lag.
+     */
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+    @Data
+    public static class Replica {
+
+        private String url;
+
+        private String username;
+
+        private String password;
+
+        private int maximumPoolSize = 10;
+    }
+}
@@ -0,0 +1,147 @@
+package com.sales.api.config;
+
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Sends read-only transactions to the replicas in turn and everything else to the primary.
+ * <p>
+ * The target is chosen when a transaction first opens a physical connection, which the
+ * {@link LazyConnectionDataSourceProxy} returned by {@link #of} defers to the first statement;
+ * by then the read-only flag of the transaction is known. Reads that must see the latest
+ * committed state run through {@link #onPrimary}; the reads of one request are pinned to one
+ * replica by {@link ReadYourWritesFilter}, so its later reads are never older than its earlier ones.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    private static final String PRIMARY = "primary";
+    private static final ThreadLocal<Boolean> PRIMARY_READS = new ThreadLocal<>();
+    private static final ThreadLocal<Pin> PINNED_REPLICA = new ThreadLocal<>();
+
+    private final List<String> replicas = new ArrayList<>();
+    private final AtomicInteger next = new AtomicInteger();
+
+    private ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas) {
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicas.size(); i++) {
+            String key = "replica-" + i;
+            targets.put(key, replicas.get(i));
+            this.replicas.add(key);
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    public static DataSource of(DataSource primary, List<DataSource> replicas) {
+        return new Lazy(new ReplicaRoutingDataSource(primary, replicas));
+    }
+
+    /**
+     * Runs {@code read} with read-only transactions routed to the primary. Only transactions whose
+     * connection is opened inside {@code read} are affected.
+     */
+    public static <T> T onPrimary(Supplier<T> read) {
+        boolean entered = enterPrimary();
+        try {
+            return read.get();
+        } finally {
+            exitPrimary(entered);
+        }
+    }
+
+    static boolean enterPrimary() {
+        if (PRIMARY_READS.get() != null) {
+            return false;
+        }
+        PRIMARY_READS.set(Boolean.TRUE);
+        return true;
+    }
+
+    static void exitPrimary(boolean entered) {
+        if (entered) {
+            PRIMARY_READS.remove();
+        }
+    }
+
+    /**
+     * Routes the read-only transactions of this thread to one replica, the one the first of them
+     * picks, until {@link #exitPinned}.
+     */
+    static boolean enterPinned() {
+        if (PINNED_REPLICA.get() != null) {
+            return false;
+        }
+        PINNED_REPLICA.set(new Pin());
+        return true;
+    }
+
+    static void exitPinned(boolean entered) {
+        if (entered) {
+            PINNED_REPLICA.remove();
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || PRIMARY_READS.get() != null) {
+            return PRIMARY;
+        }
+        Pin pin = PINNED_REPLICA.get();
+        if (pin == null) {
+            return nextReplica();
+        }
+        if (pin.replica == null) {
+            pin.replica = nextReplica();
+        }
+        return pin.replica;
+    }
+
+    private String nextReplica() {
+        return replicas.get(Math.floorMod(next.getAndIncrement(), replicas.size()));
+    }
+
+    /**
+     * Closes the pools of the primary and the replicas.
+     */
+    @Override
+    public void close() throws Exception {
+        for (DataSource target : getResolvedDataSources().values()) {
+            if (target instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private static final class Pin {
+        private String replica;
+    }
+
+    /**
+     * Closeable, so the pools are closed with the {@code dataSource} bean it replaces.
+     */
+    private static final class Lazy extends LazyConnectionDataSourceProxy implements AutoCloseable {
+
+        private final ReplicaRoutingDataSource routing;
+
+        private Lazy(ReplicaRoutingDataSource routing) {
+            super(routing);
+            this.routing = routing;
+        }
+
+        @Override
+        public void close() throws Exception {
+            routing.close();
+        }
+    }
+}
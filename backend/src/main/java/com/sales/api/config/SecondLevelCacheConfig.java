@@ -0,0 +1,62 @@
+package com.sales.api.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.spi.CachingProvider;
+import java.util.List;
+import java.util.OptionalLong;
+
+@Configuration
+public class SecondLevelCacheConfig {
+
+    public static final String PRODUCTS = "product-entities";
+    public static final String CUSTOMERS = "customer-entities";
+
+    /**
+     * The Caffeine caches backing Hibernate's second-level cache, one per region. Hibernate is set
+     * to fail on any other region, so every region it uses is sized here. The update timestamps
+     * region is neither bounded nor expired: a query result is only valid while the timestamps
+     * of the tables it read are known.
+     * <p>
+     * Each context gets a provider of its own, so contexts never share a region.
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager secondLevelCacheManager(SecondLevelCacheProperties properties) {
+        CachingProvider provider = new CaffeineCachingProvider();
+        CacheManager cacheManager = provider.getCacheManager(provider.getDefaultURI(), getClass().getClassLoader());
+
+        OptionalLong timeToLive = OptionalLong.of(properties.getTimeToLive().toNanos());
+        for (String name : List.of(PRODUCTS, CUSTOMERS, RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME)) {
+            Long maximumSize = properties.getMaximumSize().get(name);
+            cacheManager.createCache(name, region(
+                    maximumSize == null ? OptionalLong.empty() : OptionalLong.of(maximumSize), timeToLive));
+        }
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                region(OptionalLong.empty(), OptionalLong.empty()));
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager secondLevelCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+    }
+
+    /**
+     * Hibernate's cache entries are immutable, so they are stored by reference rather than copied
+     * on every read and write.
+     */
+    private static CaffeineConfiguration<Object, Object> region(OptionalLong maximumSize, OptionalLong timeToLive) {
+        return new CaffeineConfiguration<>()
+                .setStoreByValue(false)
+                .setNativeStatisticsEnabled(true)
+                .setMaximumSize(maximumSize)
+                .setExpireAfterWrite(timeToLive);
+    }
+}
@@ -0,0 +1,24 @@
+package com.sales.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "sales.second-level-cache")
+public class SecondLevelCacheProperties {
+
+    /**
+     * How long an entry stays in a region after it was written. Each instance caches on its own,
+     * so this bounds how long it can miss writes made by other instances or outside Hibernate.
+     */
+    private Duration timeToLive = Duration.ofMinutes(1);
+
+    /**
+     * Maximum number of entries per Hibernate cache region, by region name.
+     */
+    private Map<String, Long> maximumSize = new HashMap<>();
+}
@@ -0,0 +1,27 @@
+package com.sales.api.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.sales.api.dto.Versioned;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+/**
+ * Keeps the newer of two {@link Versioned} values, so a read that loaded a product before a
+ * concurrent update committed cannot overwrite the entry the update put after its commit.
+ */
+class VersionedCaffeineCache extends CaffeineCache {
+
+    VersionedCaffeineCache(String name, Cache<Object, Object> cache, boolean allowNullValues) {
+        super(name, cache, allowNullValues);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (!(value instanceof Versioned candidate) || candidate.getVersion() == null) {
+            super.put(key, value);
+            return;
+        }
+        getNativeCache().asMap().compute(key, (k, current) ->
+                current instanceof Versioned cached && cached.getVersion() != null
+                        && cached.getVersion() > candidate.getVersion() ? current : candidate);
+    }
+}
@@ -0,0 +1,122 @@
+package com.sales.api.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Reports virtual threads that block while pinned to their carrier thread, typically inside a
+ * {@code synchronized} block of the JDBC driver, the connection pool or Hibernate. A pinned
+ * thread holds its carrier until it unblocks, so a few of them can stall every request.
+ * <p>
+ * Pins are read from the JDK Flight Recorder {@code jdk.VirtualThreadPinned} event and published
+ * as {@code sales.virtual.threads.pinned}, tagged with the first frame outside the JDK. The full
+ * stack of each new frame is logged once. The monitor only runs when virtual threads are enabled.
+ */
+@Slf4j
+@Component
+public class VirtualThreadPinningMonitor {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 20;
+
+    private final MeterRegistry registry;
+    private final VirtualThreadProperties properties;
+    private final Environment environment;
+    private final Timer pinnedTime;
+    private final Set<String> loggedFrames = ConcurrentHashMap.newKeySet();
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry registry,
+                                       VirtualThreadProperties properties,
+                                       Environment environment) {
+        this.registry = registry;
+        this.properties = properties;
+        this.environment = environment;
+        this.pinnedTime = Timer.builder("sales.virtual.threads.pinned.duration")
+                .description("Time virtual threads spent blocked while pinned to their carrier")
+                .register(registry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            start();
+        }
+    }
+
+    public synchronized void start() {
+        if (stream != null) {
+            return;
+        }
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT)
+                .withThreshold(Duration.ofMillis(properties.getPinnedThresholdMs()))
+                .withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+        log.info("Reporting virtual threads pinned for {} ms or more", properties.getPinnedThresholdMs());
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (stream != null) {
+            stream.close();
+            stream = null;
+        }
+    }
+
+    private void onPinned(RecordedEvent event) {
+        List<RecordedFrame> frames = frames(event.getStackTrace());
+        String origin = frames.stream()
+                .filter(RecordedFrame::isJavaFrame)
+                .map(VirtualThreadPinningMonitor::describe)
+                .filter(frame -> !isJdkFrame(frame))
+                .findFirst()
+                .orElse("unknown");
+
+        Counter.builder("sales.virtual.threads.pinned")
+                .description("Virtual threads that blocked while pinned to their carrier")
+                .tag("frame", origin)
+                .register(registry)
+                .increment();
+        pinnedTime.record(event.getDuration());
+
+        if (loggedFrames.add(origin)) {
+            log.warn("Virtual thread pinned for {} ms in {}{}{}", event.getDuration().toMillis(), origin,
+                    System.lineSeparator(), frames.stream()
+                            .limit(LOGGED_FRAMES)
+                            .map(frame -> "    at " + describe(frame) + ":" + frame.getLineNumber())
+                            .collect(Collectors.joining(System.lineSeparator())));
+        }
+    }
+
+    private static List<RecordedFrame> frames(RecordedStackTrace stackTrace) {
+        return stackTrace == null ? List.of() : stackTrace.getFrames();
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName();
+    }
+
+    private static boolean isJdkFrame(String frame) {
+        return frame.startsWith("java.") || frame.startsWith("jdk.") || frame.startsWith("sun.");
+    }
+}
@@ -0,0 +1,15 @@
+package com.sales.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "sales.virtual-threads")
+public class VirtualThreadProperties {
+
+    /**
+     * Virtual threads pinned to their carrier for at least this long are reported, while
+     * spring.threads.virtual.enabled is on.
+     */
+    private long pinnedThresholdMs = 20;
+}
@@ -0,0 +1,58 @@
+package com.sales.api.controller;
+
+import com.sales.api.dto.CursorPage;
+import com.sales.api.dto.CustomerRevenueDTO;
+import com.sales.api.dto.DailyRevenueDTO;
+import com.sales.api.dto.ProductRevenueDTO;
+import com.sales.api.service.AnalyticsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/analytics")
+@RequiredArgsConstructor
+@Tag(name = "Analytics", description = "Revenue analytics APIs")
+public class AnalyticsController {
+
+    private final AnalyticsService analyticsService;
+
+    @GetMapping("/revenue/daily")
+    @Operation(summary = "Get revenue per day")
+    public ResponseEntity<List<DailyRevenueDTO>> findDailyRevenue(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(analyticsService.findDailyRevenue(from, to));
+    }
+
+    @GetMapping("/revenue/products")
+    @Operation(summary = "Get revenue per product, highest first")
+    public ResponseEntity<List<ProductRevenueDTO>> findProductRevenue(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = CursorPage.DEFAULT_LIMIT) int limit) {
+        return ResponseEntity.ok(analyticsService.findProductRevenue(from, to, limit));
+    }
+
+    @GetMapping("/revenue/customers")
+    @Operation(summary = "Get revenue per customer, highest first")
+    public ResponseEntity<List<CustomerRevenueDTO>> findCustomerRevenue(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = CursorPage.DEFAULT_LIMIT) int limit) {
+        return ResponseEntity.ok(analyticsService.findCustomerRevenue(from, to, limit));
+    }
+
+    @PostMapping("/rebuild")
+    @Operation(summary = "Recompute the revenue rollups from all orders")
+    public ResponseEntity<Void> rebuild() {
+        analyticsService.rebuild();
+        return ResponseEntity.noContent().build();
+    }
+}
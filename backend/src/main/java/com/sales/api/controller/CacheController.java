@@ -0,0 +1,35 @@
+package com.sales.api.controller;
+
+import com.sales.api.dto.CacheStatsDTO;
+import com.sales.api.service.CacheService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/caches")
+@RequiredArgsConstructor
+@Tag(name = "Caches", description = "Cache statistics APIs")
+public class CacheController {
+
+    private final CacheService cacheService;
+
+    @GetMapping
+    @Operation(summary = "Get statistics of all caches")
+    public ResponseEntity<List<CacheStatsDTO>> findAll() {
+        return ResponseEntity.ok(cacheService.findAll());
+    }
+
+    @GetMapping("/{name}")
+    @Operation(summary = "Get statistics of a cache")
+    public ResponseEntity<CacheStatsDTO> findByName(@PathVariable String name) {
+        return ResponseEntity.ok(cacheService.findByName(name));
+    }
+}
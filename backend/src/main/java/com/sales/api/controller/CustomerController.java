@@ -1,7 +1,9 @@
 package com.sales.api.controller;
 
+import com.sales.api.dto.CursorPage;
 import com.sales.api.dto.CustomerDTO;
 import com.sales.api.dto.CustomerRequestDTO;
+import com.sales.api.dto.CustomerSummaryDTO;
 import com.sales.api.service.CustomerService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -10,6 +12,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -23,14 +26,25 @@ public class CustomerController {
 
     @GetMapping
     @Operation(summary = "Get all customers")
-    public ResponseEntity<List<CustomerDTO>> findAll() {
-        return ResponseEntity.ok(customerService.findAll());
+    public ResponseEntity<List<CustomerDTO>> findAll(
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = CursorPage.DEFAULT_LIMIT) int limit,
+            WebRequest request) {
+        return ETags.conditional(request, ETags.of(customerService.findVersions(after, limit)),
+                () -> CursorPageResponses.ok(customerService.findAll(after, limit)));
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Get customer by ID")
-    public ResponseEntity<CustomerDTO> findById(@PathVariable Long id) {
-        return ResponseEntity.ok(customerService.findById(id));
+    public ResponseEntity<CustomerDTO> findById(@PathVariable Long id, WebRequest request) {
+        return ETags.conditional(request, ETags.of(customerService.findVersion(id)),
+                () -> ResponseEntity.ok(customerService.findById(id)));
+    }
+
+    @GetMapping("/{id}/summary")
+    @Operation(summary = "Get lifetime order count, lifetime value and open balance of a customer")
+    public ResponseEntity<CustomerSummaryDTO> findSummary(@PathVariable Long id) {
+        return ResponseEntity.ok(customerService.findSummary(id));
     }
 
     @PostMapping
@@ -0,0 +1,59 @@
+package com.sales.api.controller;
+
+import com.sales.api.dto.VersionRow;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Strong entity tags derived from version columns, and conditional responses built on them.
+ * Versions are read before the body and from the same database, which is the primary or the one
+ * replica a request is pinned to, so a tag is never newer than the representation it is sent with
+ * and a matching {@code If-None-Match} never hides a change.
+ */
+final class ETags {
+
+    private ETags() {
+    }
+
+    static String of(long version) {
+        return "\"" + Long.toHexString(version) + "\"";
+    }
+
+    /**
+     * Tags a listing by the ids and versions of its rows, including the extra row that decides
+     * whether a next page exists.
+     */
+    static String of(List<VersionRow> rows) {
+        long hash = 1;
+        for (VersionRow row : rows) {
+            hash = 31 * (31 * hash + row.id()) + row.version();
+        }
+        return "\"" + Long.toHexString(rows.size()) + "-" + Long.toHexString(hash) + "\"";
+    }
+
+    /**
+     * The tag of the gzipped representation of a resource tagged {@code eTag}.
+     */
+    static String gzip(String eTag) {
+        return eTag.substring(0, eTag.length() - 1) + "-gzip\"";
+    }
+
+    /**
+     * Answers with 304 when {@code If-None-Match} matches {@code eTag}; only otherwise is the
+     * response built.
+     */
+    static <T> ResponseEntity<T> conditional(WebRequest request, String eTag, Supplier<ResponseEntity<T>> response) {
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        ResponseEntity<T> full = response.get();
+        return ResponseEntity.status(full.getStatusCode())
+                .headers(full.getHeaders())
+                .eTag(eTag)
+                .body(full.getBody());
+    }
+}
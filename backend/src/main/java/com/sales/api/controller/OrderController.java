@@ -1,18 +1,29 @@
 package com.sales.api.controller;
 
+import com.sales.api.dto.CursorPage;
+import com.sales.api.dto.OrderBatchRequestDTO;
+import com.sales.api.dto.OrderBatchResultDTO;
 import com.sales.api.dto.OrderDTO;
+import com.sales.api.dto.OrderIntakeDTO;
 import com.sales.api.dto.OrderRequestDTO;
 import com.sales.api.dto.OrderStatusUpdateDTO;
 import com.sales.api.entity.OrderStatus;
+import com.sales.api.service.OrderEventService;
+import com.sales.api.service.OrderIntakeService;
 import com.sales.api.service.OrderService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.net.URI;
 import java.util.List;
 
 @RestController
@@ -22,29 +33,63 @@ import java.util.List;
 public class OrderController {
 
     private final OrderService orderService;
+    private final OrderIntakeService orderIntakeService;
+    private final OrderEventService orderEventService;
 
     @GetMapping
-    @Operation(summary = "Get all orders")
-    public ResponseEntity<List<OrderDTO>> findAll() {
-        return ResponseEntity.ok(orderService.findAll());
+    @Operation(summary = "Get all orders not yet archived")
+    public ResponseEntity<List<OrderDTO>> findAll(
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = CursorPage.DEFAULT_LIMIT) int limit,
+            WebRequest request) {
+        return ETags.conditional(request, ETags.of(orderService.findVersions(after, limit)),
+                () -> CursorPageResponses.ok(orderService.findAll(after, limit)));
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Export all orders, archived ones included, as newline-delimited JSON")
+    public ResponseEntity<StreamingResponseBody> export() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(orderService::export);
+    }
+
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream order changes as server-sent events, resuming after Last-Event-ID if given")
+    public ResponseEntity<SseEmitter> events(
+            @RequestHeader(name = "Last-Event-ID", required = false) Long lastEventIdHeader,
+            @RequestParam(required = false) Long lastEventId) {
+        return ResponseEntity.ok(orderEventService.subscribe(
+                lastEventIdHeader != null ? lastEventIdHeader : lastEventId));
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Get order by ID")
-    public ResponseEntity<OrderDTO> findById(@PathVariable Long id) {
-        return ResponseEntity.ok(orderService.findById(id));
+    public ResponseEntity<OrderDTO> findById(@PathVariable Long id, WebRequest request) {
+        return ETags.conditional(request, ETags.of(orderService.findVersion(id)),
+                () -> ResponseEntity.ok(orderService.findById(id)));
     }
 
     @GetMapping("/customer/{customerId}")
     @Operation(summary = "Get orders by customer ID")
-    public ResponseEntity<List<OrderDTO>> findByCustomerId(@PathVariable Long customerId) {
-        return ResponseEntity.ok(orderService.findByCustomerId(customerId));
+    public ResponseEntity<List<OrderDTO>> findByCustomerId(
+            @PathVariable Long customerId,
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = CursorPage.DEFAULT_LIMIT) int limit,
+            WebRequest request) {
+        return ETags.conditional(request, ETags.of(orderService.findVersionsByCustomerId(customerId, after, limit)),
+                () -> CursorPageResponses.ok(orderService.findByCustomerId(customerId, after, limit)));
     }
 
     @GetMapping("/status/{status}")
     @Operation(summary = "Get orders by status")
-    public ResponseEntity<List<OrderDTO>> findByStatus(@PathVariable OrderStatus status) {
-        return ResponseEntity.ok(orderService.findByStatus(status));
+    public ResponseEntity<List<OrderDTO>> findByStatus(
+            @PathVariable OrderStatus status,
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = CursorPage.DEFAULT_LIMIT) int limit,
+            WebRequest request) {
+        return ETags.conditional(request, ETags.of(orderService.findVersionsByStatus(status, after, limit)),
+                () -> CursorPageResponses.ok(orderService.findByStatus(status, after, limit)));
     }
 
     @PostMapping
@@ -54,6 +99,27 @@ public class OrderController {
         return new ResponseEntity<>(created, HttpStatus.CREATED);
     }
 
+    @PostMapping("/batch")
+    @Operation(summary = "Create many orders at once, reporting the outcome of each")
+    public ResponseEntity<List<OrderBatchResultDTO>> createBatch(@Valid @RequestBody OrderBatchRequestDTO request) {
+        return ResponseEntity.ok(orderService.createBatch(request.getOrders()));
+    }
+
+    @PostMapping("/intake")
+    @Operation(summary = "Accept an order for asynchronous creation, returning a tracking id")
+    public ResponseEntity<OrderIntakeDTO> submit(@Valid @RequestBody OrderRequestDTO request) {
+        OrderIntakeDTO intake = orderIntakeService.submit(request);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/orders/intake/" + intake.getTrackingId()))
+                .body(intake);
+    }
+
+    @GetMapping("/intake/{trackingId}")
+    @Operation(summary = "Get the outcome of an order accepted for asynchronous creation")
+    public ResponseEntity<OrderIntakeDTO> findIntake(@PathVariable String trackingId) {
+        return ResponseEntity.ok(orderIntakeService.findByTrackingId(trackingId));
+    }
+
     @PutMapping("/{id}/status")
     @Operation(summary = "Update order status")
     public ResponseEntity<OrderDTO> updateStatus(@PathVariable Long id, @Valid @RequestBody OrderStatusUpdateDTO request) {
@@ -1,15 +1,25 @@
 package com.sales.api.controller;
 
+import com.sales.api.dto.CursorPage;
 import com.sales.api.dto.ProductDTO;
 import com.sales.api.dto.ProductRequestDTO;
+import com.sales.api.service.CatalogSnapshotService;
+import com.sales.api.service.FlashSaleService;
 import com.sales.api.service.ProductService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -20,29 +30,60 @@ import java.util.List;
 public class ProductController {
 
     private final ProductService productService;
+    private final FlashSaleService flashSaleService;
+    private final CatalogSnapshotService catalogSnapshotService;
 
     @GetMapping
     @Operation(summary = "Get all products")
-    public ResponseEntity<List<ProductDTO>> findAll() {
-        return ResponseEntity.ok(productService.findAll());
+    @ApiResponse(responseCode = "200", content = @Content(array = @ArraySchema(schema = @Schema(implementation = ProductDTO.class))))
+    public ResponseEntity<?> findAll(
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = CursorPage.DEFAULT_LIMIT) int limit,
+            WebRequest request) {
+        CatalogSnapshotService.Page page = catalogSnapshotService.findAll(after, limit);
+        if (page != null) {
+            return serve(page, request);
+        }
+        return ETags.conditional(request, ETags.of(productService.findVersions(after, limit)),
+                () -> CursorPageResponses.ok(productService.findAll(after, limit)));
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Get product by ID")
-    public ResponseEntity<ProductDTO> findById(@PathVariable Long id) {
-        return ResponseEntity.ok(productService.findById(id));
+    public ResponseEntity<ProductDTO> findById(@PathVariable Long id,
+                                               @RequestParam(defaultValue = "false") boolean fresh,
+                                               WebRequest request) {
+        if (fresh) {
+            return ETags.conditional(request, ETags.of(productService.findVersion(id)),
+                    () -> ResponseEntity.ok(productService.findCurrent(id)));
+        }
+        // the cached product is served either way, so its own version tags it without a query
+        ProductDTO product = productService.findById(id);
+        return ETags.conditional(request, ETags.of(product.getVersion()), () -> ResponseEntity.ok(product));
     }
 
     @GetMapping("/search")
-    @Operation(summary = "Search products by name")
-    public ResponseEntity<List<ProductDTO>> findByName(@RequestParam String name) {
-        return ResponseEntity.ok(productService.findByName(name));
+    @Operation(summary = "Search products by name and description, best match first")
+    public ResponseEntity<List<ProductDTO>> search(
+            @RequestParam String name,
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = CursorPage.DEFAULT_LIMIT) int limit) {
+        return CursorPageResponses.ok(productService.search(name, after, limit));
     }
 
     @GetMapping("/in-stock")
     @Operation(summary = "Get products in stock")
-    public ResponseEntity<List<ProductDTO>> findInStock() {
-        return ResponseEntity.ok(productService.findInStock());
+    @ApiResponse(responseCode = "200", content = @Content(array = @ArraySchema(schema = @Schema(implementation = ProductDTO.class))))
+    public ResponseEntity<?> findInStock(
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = CursorPage.DEFAULT_LIMIT) int limit,
+            WebRequest request) {
+        CatalogSnapshotService.Page page = catalogSnapshotService.findInStock(after, limit);
+        if (page != null) {
+            return serve(page, request);
+        }
+        return ETags.conditional(request, ETags.of(productService.findInStockVersions(after, limit)),
+                () -> CursorPageResponses.ok(productService.findInStock(after, limit)));
     }
 
     @PostMapping
@@ -64,4 +105,43 @@ public class ProductController {
         productService.delete(id);
         return ResponseEntity.noContent().build();
     }
+
+    @PostMapping("/{id}/flash-sale")
+    @Operation(summary = "Start a flash sale for a product")
+    public ResponseEntity<Void> startFlashSale(@PathVariable Long id) {
+        flashSaleService.enable(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/{id}/flash-sale")
+    @Operation(summary = "End the flash sale of a product")
+    public ResponseEntity<Void> endFlashSale(@PathVariable Long id) {
+        flashSaleService.disable(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Writes a snapshot page as is, gzipped when the client accepts it. The gzipped bytes are a
+     * different representation and get their own entity tag.
+     */
+    private ResponseEntity<byte[]> serve(CatalogSnapshotService.Page page, WebRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+        String eTag = gzip ? ETags.gzip(ETags.of(page.versions())) : ETags.of(page.versions());
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).varyBy(HttpHeaders.ACCEPT_ENCODING).build();
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(eTag)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (page.nextCursor() != null) {
+            response.header(CursorPageResponses.NEXT_CURSOR_HEADER, page.nextCursor().toString());
+        }
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(page.gzip());
+        }
+        return response.body(page.json());
+    }
 }
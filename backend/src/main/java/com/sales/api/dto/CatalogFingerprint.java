@@ -0,0 +1,7 @@
+package com.sales.api.dto;
+
+/**
+ * Aggregate of the product table that tells whether the catalog changed since it was last read.
+ */
+public record CatalogFingerprint(Long count, Long idSum, Long versionSum) {
+}
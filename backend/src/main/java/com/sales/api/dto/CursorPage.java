@@ -0,0 +1,61 @@
+package com.sales.api.dto;
+
+import com.sales.api.exception.BusinessException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+
+/**
+ * One page of a keyset-paginated listing. {@code nextCursor} is the id to pass as
+ * {@code after} to fetch the following page, or {@code null} on the last page.
+ */
+public record CursorPage<T>(List<T> items, Long nextCursor) {
+
+    public static final String DEFAULT_LIMIT = "100";
+    public static final int MAX_LIMIT = 1000;
+
+    public static long after(Long after) {
+        return after == null ? 0L : after;
+    }
+
+    public static int checkLimit(int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new BusinessException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        return limit;
+    }
+
+    /**
+     * Builds a page from rows fetched with {@code limit + 1}; the extra row only signals
+     * that another page exists and is not returned.
+     */
+    public static <E, T> CursorPage<T> of(List<E> rows, int limit, ToLongFunction<E> id, Function<E, T> mapper) {
+        boolean hasMore = rows.size() > limit;
+        List<E> page = hasMore ? rows.subList(0, limit) : rows;
+        Long nextCursor = hasMore ? id.applyAsLong(page.get(page.size() - 1)) : null;
+        return new CursorPage<>(page.stream().map(mapper).collect(Collectors.toList()), nextCursor);
+    }
+
+    /**
+     * Merges two lists of rows sorted by id into one, keeping at most {@code max} rows.
+     */
+    public static <E> List<E> merge(List<E> first, List<E> second, ToLongFunction<E> id, int max) {
+        if (second.isEmpty()) {
+            return first;
+        }
+        List<E> merged = new ArrayList<>(Math.min(first.size() + second.size(), max));
+        int i = 0;
+        int j = 0;
+        while (merged.size() < max && (i < first.size() || j < second.size())) {
+            if (j == second.size() || i < first.size() && id.applyAsLong(first.get(i)) < id.applyAsLong(second.get(j))) {
+                merged.add(first.get(i++));
+            } else {
+                merged.add(second.get(j++));
+            }
+        }
+        return merged;
+    }
+}
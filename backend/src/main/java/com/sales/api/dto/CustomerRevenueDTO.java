@@ -0,0 +1,20 @@
+package com.sales.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CustomerRevenueDTO {
+
+    private Long customerId;
+    private String customerName;
+    private Long orderCount;
+    private BigDecimal revenue;
+}
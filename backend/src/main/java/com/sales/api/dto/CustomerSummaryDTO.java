@@ -0,0 +1,20 @@
+package com.sales.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CustomerSummaryDTO {
+
+    private Long customerId;
+    private Long orderCount;
+    private BigDecimal lifetimeValue;
+    private BigDecimal openBalance;
+}
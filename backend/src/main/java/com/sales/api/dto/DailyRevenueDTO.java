@@ -0,0 +1,21 @@
+package com.sales.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DailyRevenueDTO {
+
+    private LocalDate date;
+    private Long orderCount;
+    private Long itemsSold;
+    private BigDecimal revenue;
+}
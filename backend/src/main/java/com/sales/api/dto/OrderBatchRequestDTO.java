@@ -0,0 +1,25 @@
+package com.sales.api.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderBatchRequestDTO {
+
+    public static final int MAX_ORDERS = 1000;
+
+    @NotEmpty(message = "Batch must have at least one order")
+    @Size(max = MAX_ORDERS, message = "Batch must not have more than " + MAX_ORDERS + " orders")
+    @Valid
+    private List<OrderRequestDTO> orders;
+}
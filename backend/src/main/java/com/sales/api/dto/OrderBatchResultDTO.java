@@ -0,0 +1,34 @@
+package com.sales.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderBatchResultDTO {
+
+    private int index;
+    private boolean created;
+    private OrderDTO order;
+    private String error;
+
+    public static OrderBatchResultDTO created(int index, OrderDTO order) {
+        return OrderBatchResultDTO.builder()
+                .index(index)
+                .created(true)
+                .order(order)
+                .build();
+    }
+
+    public static OrderBatchResultDTO failed(int index, String error) {
+        return OrderBatchResultDTO.builder()
+                .index(index)
+                .created(false)
+                .error(error)
+                .build();
+    }
+}
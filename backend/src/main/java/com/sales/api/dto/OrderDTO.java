@@ -1,12 +1,12 @@
 package com.sales.api.dto;
 
+import com.sales.api.entity.Money;
 import com.sales.api.entity.OrderStatus;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -21,6 +21,6 @@ public class OrderDTO {
     private String customerName;
     private LocalDateTime orderDate;
     private OrderStatus status;
-    private BigDecimal totalAmount;
+    private Money totalAmount;
     private List<OrderItemDTO> items;
 }
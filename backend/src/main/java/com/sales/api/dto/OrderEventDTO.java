@@ -0,0 +1,24 @@
+package com.sales.api.dto;
+
+import com.sales.api.entity.OrderEventType;
+import com.sales.api.entity.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderEventDTO {
+
+    private Long id;
+    private OrderEventType type;
+    private Long orderId;
+    private OrderStatus status;
+    private LocalDateTime occurredAt;
+    private OrderDTO order;
+}
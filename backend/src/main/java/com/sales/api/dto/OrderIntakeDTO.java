@@ -0,0 +1,53 @@
+package com.sales.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderIntakeDTO {
+
+    public enum Status {
+        QUEUED,
+        CREATED,
+        FAILED
+    }
+
+    private String trackingId;
+    private Status status;
+    private LocalDateTime acceptedAt;
+    private OrderDTO order;
+    private String error;
+
+    public static OrderIntakeDTO queued(String trackingId) {
+        return OrderIntakeDTO.builder()
+                .trackingId(trackingId)
+                .status(Status.QUEUED)
+                .acceptedAt(LocalDateTime.now())
+                .build();
+    }
+
+    public OrderIntakeDTO created(OrderDTO order) {
+        return OrderIntakeDTO.builder()
+                .trackingId(trackingId)
+                .status(Status.CREATED)
+                .acceptedAt(acceptedAt)
+                .order(order)
+                .build();
+    }
+
+    public OrderIntakeDTO failed(String error) {
+        return OrderIntakeDTO.builder()
+                .trackingId(trackingId)
+                .status(Status.FAILED)
+                .acceptedAt(acceptedAt)
+                .error(error)
+                .build();
+    }
+}
@@ -1,12 +1,11 @@
 package com.sales.api.dto;
 
+import com.sales.api.entity.Money;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.math.BigDecimal;
-
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -17,6 +16,6 @@ public class OrderItemDTO {
     private Long productId;
     private String productName;
     private Integer quantity;
-    private BigDecimal unitPrice;
-    private BigDecimal subtotal;
+    private Money unitPrice;
+    private Money subtotal;
 }
@@ -0,0 +1,18 @@
+package com.sales.api.dto;
+
+import com.sales.api.entity.Money;
+
+public record OrderItemRow(Long orderId, Long id, Long productId, String productName,
+                           Integer quantity, Money unitPrice) {
+
+    public OrderItemDTO toDTO() {
+        return OrderItemDTO.builder()
+                .id(id)
+                .productId(productId)
+                .productName(productName)
+                .quantity(quantity)
+                .unitPrice(unitPrice)
+                .subtotal(unitPrice.times(quantity))
+                .build();
+    }
+}
@@ -0,0 +1,23 @@
+package com.sales.api.dto;
+
+import com.sales.api.entity.Money;
+import com.sales.api.entity.OrderStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record OrderSummaryRow(Long id, Long customerId, String customerName, LocalDateTime orderDate,
+                              OrderStatus status, Money totalAmount) {
+
+    public OrderDTO toDTO(List<OrderItemDTO> items) {
+        return OrderDTO.builder()
+                .id(id)
+                .customerId(customerId)
+                .customerName(customerName)
+                .orderDate(orderDate)
+                .status(status)
+                .totalAmount(totalAmount)
+                .items(items)
+                .build();
+    }
+}
@@ -1,23 +1,24 @@
 package com.sales.api.dto;
 
+import com.sales.api.entity.Money;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class ProductDTO {
+public class ProductDTO implements Versioned {
 
     private Long id;
     private String name;
     private String description;
-    private BigDecimal price;
+    private Money price;
     private Integer stockQuantity;
+    private Long version;
     private LocalDateTime createdAt;
 }
@@ -0,0 +1,20 @@
+package com.sales.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductRevenueDTO {
+
+    private Long productId;
+    private String productName;
+    private Long quantity;
+    private BigDecimal revenue;
+}
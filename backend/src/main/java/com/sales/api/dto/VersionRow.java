@@ -0,0 +1,7 @@
+package com.sales.api.dto;
+
+/**
+ * The id and version of one listed row, read instead of the row itself to derive an entity tag.
+ */
+public record VersionRow(Long id, Long version) {
+}
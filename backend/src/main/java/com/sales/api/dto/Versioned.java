@@ -0,0 +1,9 @@
+package com.sales.api.dto;
+
+/**
+ * A cached value whose version grows with every committed change of what it was read from.
+ */
+public interface Versioned {
+
+    Long getVersion();
+}
@@ -0,0 +1,38 @@
+package com.sales.api.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Lifetime counters of one customer's orders, excluding cancelled orders. Maintained by
+ * {@code SalesRollupService} and repaired by {@code CustomerSummaryService}.
+ */
+@Entity
+@Table(name = "customer_summaries")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CustomerSummary {
+
+    @Id
+    @Column(name = "customer_id")
+    private Long customerId;
+
+    @Column(name = "order_count", nullable = false)
+    private Long orderCount;
+
+    @Column(name = "lifetime_value", nullable = false, precision = 14, scale = 2)
+    private BigDecimal lifetimeValue;
+
+    /**
+     * Total of the orders not yet delivered.
+     */
+    @Column(name = "open_balance", nullable = false, precision = 14, scale = 2)
+    private BigDecimal openBalance;
+}
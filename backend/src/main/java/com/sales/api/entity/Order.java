@@ -6,7 +6,6 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -20,7 +19,8 @@ import java.util.List;
 public class Order {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_seq")
+    @SequenceGenerator(name = "order_seq", sequenceName = "orders_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -35,7 +35,10 @@ public class Order {
     private OrderStatus status;
 
     @Column(name = "total_amount", precision = 10, scale = 2)
-    private BigDecimal totalAmount;
+    private Money totalAmount;
+
+    @Version
+    private Long version;
 
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
     @Builder.Default
@@ -59,9 +62,18 @@ public class Order {
         item.setOrder(null);
     }
 
+    /**
+     * Sums the lines in minor units, allocating only the resulting {@link Money}.
+     */
     public void calculateTotalAmount() {
-        this.totalAmount = items.stream()
-                .map(item -> item.getUnitPrice().multiply(BigDecimal.valueOf(item.getQuantity())))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        long total = 0;
+        for (OrderItem item : items) {
+            Money unitPrice = item.getUnitPrice();
+            if (!Money.DEFAULT_CURRENCY.equals(unitPrice.currency())) {
+                throw new IllegalStateException("Order items must be priced in " + Money.DEFAULT_CURRENCY);
+            }
+            total = Math.addExact(total, Math.multiplyExact(unitPrice.minorUnits(), item.getQuantity()));
+        }
+        this.totalAmount = Money.ofMinorUnits(total);
     }
 }
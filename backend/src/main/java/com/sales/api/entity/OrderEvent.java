@@ -0,0 +1,59 @@
+package com.sales.api.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outbox row for a change to an order, written in the transaction that makes the change and
+ * published to subscribers by {@code OrderEventService} once committed.
+ */
+@Entity
+@Table(name = "order_events",
+        indexes = @Index(name = "idx_order_events_stream_position", columnList = "stream_position", unique = true))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_event_seq")
+    @SequenceGenerator(name = "order_event_seq", sequenceName = "order_events_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private OrderEventType type;
+
+    @Enumerated(EnumType.STRING)
+    private OrderStatus status;
+
+    /**
+     * The order as JSON after the change; empty for deletions.
+     */
+    @Column(length = 1_000_000)
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * Place in the stream, given by the dispatcher after the event committed; empty until then.
+     * Positions are committed in increasing order, ids are not.
+     */
+    @Column(name = "stream_position")
+    private Long position;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,28 @@
+package com.sales.api.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The single row holding the last position given to an {@link OrderEvent}. Positions are assigned
+ * while it is locked, so they are committed in increasing order.
+ */
+@Entity
+@Table(name = "order_event_stream")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderEventStream {
+
+    public static final int ID = 1;
+
+    @Id
+    private Integer id;
+
+    @Column(name = "last_position", nullable = false)
+    private Long lastPosition;
+}
@@ -0,0 +1,7 @@
+package com.sales.api.entity;
+
+public enum OrderEventType {
+    CREATED,
+    STATUS_CHANGED,
+    DELETED
+}
@@ -6,5 +6,12 @@ public enum OrderStatus {
     PROCESSING,
     SHIPPED,
     DELIVERED,
-    CANCELLED
+    CANCELLED;
+
+    /**
+     * Delivered and cancelled orders are closed; the others count towards their customer's open balance.
+     */
+    public boolean isClosed() {
+        return this == DELIVERED || this == CANCELLED;
+    }
 }
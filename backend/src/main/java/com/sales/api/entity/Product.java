@@ -1,12 +1,14 @@
 package com.sales.api.entity;
 
+import com.sales.api.config.SecondLevelCacheConfig;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
@@ -15,6 +17,8 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.PRODUCTS)
 public class Product {
 
     @Id
@@ -27,14 +31,37 @@ public class Product {
     private String description;
 
     @Column(nullable = false, precision = 10, scale = 2)
-    private BigDecimal price;
+    private Money price;
 
     @Column(name = "stock_quantity", nullable = false)
     private Integer stockQuantity;
 
+    /**
+     * Units of the stock held by a flash-sale lane. Only the lane's own statements change it.
+     */
+    @Column(name = "flash_sale_reserved", nullable = false, insertable = false, updatable = false)
+    @Builder.Default
+    private Integer flashSaleReserved = 0;
+
+    /**
+     * The instance whose flash-sale lane holds the reservation.
+     */
+    @Column(name = "flash_sale_owner", insertable = false, updatable = false)
+    private String flashSaleOwner;
+
+    @Version
+    private Long version;
+
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
+    /**
+     * The stock regular orders and stock updates may take.
+     */
+    public int unreservedStock() {
+        return stockQuantity - flashSaleReserved;
+    }
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
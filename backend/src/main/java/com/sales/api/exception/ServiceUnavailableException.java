@@ -0,0 +1,11 @@
+package com.sales.api.exception;
+
+/**
+ * Answered with 503 and a Retry-After header by {@link GlobalExceptionHandler}.
+ */
+public class ServiceUnavailableException extends RuntimeException {
+
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
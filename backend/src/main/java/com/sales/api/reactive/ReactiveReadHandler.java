@@ -0,0 +1,203 @@
+package com.sales.api.reactive;
+
+import com.sales.api.dto.CursorPage;
+import com.sales.api.dto.CustomerDTO;
+import com.sales.api.dto.OrderDTO;
+import com.sales.api.dto.OrderItemDTO;
+import com.sales.api.dto.OrderItemRow;
+import com.sales.api.dto.OrderSummaryRow;
+import com.sales.api.dto.ProductDTO;
+import com.sales.api.entity.OrderStatus;
+import com.sales.api.exception.BusinessException;
+import com.sales.api.exception.ResourceNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Handlers of the reactive read API. They answer the same paths and return the same DTOs as the
+ * servlet controllers.
+ * <p>
+ * A listing requested as {@code application/json} returns one keyset page with its
+ * {@code X-Next-Cursor} header, as the servlet API does. Requested as {@code application/x-ndjson},
+ * it streams every row after the cursor, one JSON document per line, and reads rows from the
+ * database only as fast as the client consumes them. Orders are read in chunks of
+ * {@link #ITEM_CHUNK_SIZE}, each completed with its items by one more query once its rows are read.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReactiveReadHandler {
+
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final int ITEM_CHUNK_SIZE = 100;
+
+    private final ReactiveReadRepository repository;
+
+    public Mono<ServerResponse> findAllProducts(ServerRequest request) {
+        return list(request, ProductDTO.class, ProductDTO::getId,
+                limit -> repository.findProductsAfter(after(request), limit));
+    }
+
+    public Mono<ServerResponse> findInStockProducts(ServerRequest request) {
+        return list(request, ProductDTO.class, ProductDTO::getId,
+                limit -> repository.findInStockProductsAfter(after(request), limit));
+    }
+
+    public Mono<ServerResponse> findProductById(ServerRequest request) {
+        long id = id(request, "id");
+        return ok(repository.findProductById(id), () -> new ResourceNotFoundException("Product", "id", id));
+    }
+
+    public Mono<ServerResponse> findAllCustomers(ServerRequest request) {
+        return list(request, CustomerDTO.class, CustomerDTO::getId,
+                limit -> repository.findCustomersAfter(after(request), limit));
+    }
+
+    public Mono<ServerResponse> findCustomerById(ServerRequest request) {
+        long id = id(request, "id");
+        return ok(repository.findCustomerById(id), () -> new ResourceNotFoundException("Customer", "id", id));
+    }
+
+    public Mono<ServerResponse> findAllOrders(ServerRequest request) {
+        return list(request, OrderDTO.class, OrderDTO::getId,
+                limit -> withItems(after(request), limit, repository::findOrderRowsAfter, false));
+    }
+
+    public Mono<ServerResponse> findOrdersByCustomerId(ServerRequest request) {
+        long customerId = id(request, "customerId");
+        return list(request, OrderDTO.class, OrderDTO::getId,
+                limit -> withItems(after(request), limit,
+                        (after, rowLimit) -> repository.findOrderRowsByCustomerIdAfter(customerId, after, rowLimit), true));
+    }
+
+    public Mono<ServerResponse> findOrdersByStatus(ServerRequest request) {
+        OrderStatus status = status(request);
+        return list(request, OrderDTO.class, OrderDTO::getId,
+                limit -> withItems(after(request), limit,
+                        (after, rowLimit) -> repository.findOrderRowsByStatusAfter(status, after, rowLimit), status.isClosed()));
+    }
+
+    public Mono<ServerResponse> findOrderById(ServerRequest request) {
+        long id = id(request, "id");
+        Mono<OrderDTO> order = repository.findOrderRowById(id)
+                .flatMap(row -> withItems(List.of(row), true))
+                .map(orders -> orders.get(0));
+        return ok(order, () -> new ResourceNotFoundException("Order", "id", id));
+    }
+
+    /**
+     * Answers a listing with a page of {@code limit} rows or, for an ndjson request, a stream of
+     * every row. {@code query} receives the row limit, or {@code null} for no limit.
+     */
+    private <T> Mono<ServerResponse> list(ServerRequest request, Class<T> type, ToLongFunction<T> id,
+                                          Function<Integer, Flux<T>> query) {
+        if (request.headers().accept().contains(MediaType.APPLICATION_NDJSON)) {
+            return ServerResponse.ok()
+                    .contentType(MediaType.APPLICATION_NDJSON)
+                    .body(Flux.defer(() -> query.apply(null)), type);
+        }
+        int limit = limit(request);
+        return query.apply(limit + 1)
+                .collectList()
+                .map(rows -> CursorPage.of(rows, limit, id, Function.identity()))
+                .flatMap(page -> {
+                    ServerResponse.BodyBuilder response = ServerResponse.ok().contentType(MediaType.APPLICATION_JSON);
+                    if (page.nextCursor() != null) {
+                        response.header(NEXT_CURSOR_HEADER, page.nextCursor().toString());
+                    }
+                    return response.bodyValue(page.items());
+                });
+    }
+
+    private <T> Mono<ServerResponse> ok(Mono<T> body, Supplier<RuntimeException> notFound) {
+        return body.switchIfEmpty(Mono.error(notFound))
+                .flatMap(value -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(value));
+    }
+
+    /**
+     * Reads order rows after {@code after} and completes them with their items. The rows of a
+     * chunk are read in full before its items query runs, so a listing never holds more than one
+     * connection: a page is a single chunk, and a listing without a limit is read
+     * {@link #ITEM_CHUNK_SIZE} rows at a time from the cursor, at most one chunk ahead of the client.
+     */
+    private Flux<OrderDTO> withItems(long after, Integer limit, BiFunction<Long, Integer, Flux<OrderSummaryRow>> query,
+                                     boolean includeArchive) {
+        if (limit != null) {
+            return chunk(after, limit, query, includeArchive).flatMapIterable(Function.identity());
+        }
+        return chunk(after, ITEM_CHUNK_SIZE, query, includeArchive)
+                .expand(orders -> orders.size() < ITEM_CHUNK_SIZE
+                        ? Mono.empty()
+                        : chunk(orders.get(orders.size() - 1).getId(), ITEM_CHUNK_SIZE, query, includeArchive))
+                .concatMapIterable(Function.identity(), 1);
+    }
+
+    private Mono<List<OrderDTO>> chunk(long after, int limit, BiFunction<Long, Integer, Flux<OrderSummaryRow>> query,
+                                       boolean includeArchive) {
+        return query.apply(after, limit)
+                .collectList()
+                .flatMap(rows -> rows.isEmpty() ? Mono.just(List.of()) : withItems(rows, includeArchive));
+    }
+
+    private Mono<List<OrderDTO>> withItems(List<OrderSummaryRow> rows, boolean includeArchive) {
+        List<Long> orderIds = rows.stream().map(OrderSummaryRow::id).collect(Collectors.toList());
+        return repository.findItemRowsByOrderIds(orderIds, includeArchive)
+                .collectMultimap(OrderItemRow::orderId, OrderItemRow::toDTO)
+                .map(itemsByOrder -> rows.stream()
+                        .map(row -> row.toDTO(items(itemsByOrder, row.id())))
+                        .collect(Collectors.toList()));
+    }
+
+    private static List<OrderItemDTO> items(Map<Long, Collection<OrderItemDTO>> itemsByOrder, Long orderId) {
+        Collection<OrderItemDTO> items = itemsByOrder.get(orderId);
+        return items == null ? List.of() : List.copyOf(items);
+    }
+
+    private static long after(ServerRequest request) {
+        return CursorPage.after(request.queryParam("after").map(value -> parse("after", value)).orElse(null));
+    }
+
+    private static int limit(ServerRequest request) {
+        String limit = request.queryParam("limit").orElse(CursorPage.DEFAULT_LIMIT);
+        try {
+            return CursorPage.checkLimit(Integer.parseInt(limit));
+        } catch (NumberFormatException e) {
+            // also past the int range, which a cast from long would wrap around into a valid limit
+            throw new BusinessException("Invalid limit: " + limit);
+        }
+    }
+
+    private static long id(ServerRequest request, String variable) {
+        return parse(variable, request.pathVariable(variable));
+    }
+
+    private static OrderStatus status(ServerRequest request) {
+        String status = request.pathVariable("status");
+        try {
+            return OrderStatus.valueOf(status);
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException("Invalid order status: " + status);
+        }
+    }
+
+    private static long parse(String name, String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new BusinessException("Invalid " + name + ": " + value);
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.sales.api.reactive;
+
+import com.sales.api.config.ReactiveReadProperties;
+import com.sales.api.dto.CustomerDTO;
+import com.sales.api.dto.OrderItemRow;
+import com.sales.api.dto.OrderSummaryRow;
+import com.sales.api.dto.ProductDTO;
+import com.sales.api.entity.Money;
+import com.sales.api.entity.OrderStatus;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.Readable;
+import jakarta.annotation.PreDestroy;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Objects;
+
+/**
+ * The queries of the reactive read API, run through R2DBC. They read the same tables and return
+ * the same rows as the JPA repositories, in id order; rows are emitted as the driver decodes
+ * them, at the pace the subscriber requests.
+ * <p>
+ * A query without a limit streams every matching row; callers bound it with the Reactor
+ * subscription instead.
+ */
+@Repository
+public class ReactiveReadRepository {
+
+    private static final String PRODUCT_COLUMNS =
+            "SELECT id, name, description, price, stock_quantity, version, created_at FROM products ";
+    private static final String CUSTOMER_COLUMNS =
+            "SELECT id, name, email, phone, address, created_at FROM customers ";
+    private static final String ORDER_COLUMNS =
+            "SELECT o.id, o.customer_id, c.name AS customer_name, o.order_date, o.status, o.total_amount ";
+    private static final String ITEM_COLUMNS =
+            "SELECT i.order_id, i.id, p.id AS product_id, p.name AS product_name, i.quantity, i.unit_price ";
+
+    private final ConnectionPool pool;
+    private final DatabaseClient databaseClient;
+
+    /**
+     * Opens no connection until the first query. The pool is deliberately not a bean: Boot
+     * backs off its JDBC data source when it finds an R2DBC connection factory.
+     */
+    public ReactiveReadRepository(ReactiveReadProperties properties) {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(properties.getUrl()).mutate()
+                .option(ConnectionFactoryOptions.USER, properties.getUsername())
+                .option(ConnectionFactoryOptions.PASSWORD, Objects.requireNonNullElse(properties.getPassword(), ""))
+                .build();
+        this.pool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .name("reactive-read")
+                .initialSize(0)
+                .maxSize(properties.getMaxConnections())
+                .maxAcquireTime(properties.getMaxAcquireTime())
+                .build());
+        this.databaseClient = DatabaseClient.create(pool);
+    }
+
+    @PreDestroy
+    public void close() {
+        pool.dispose();
+    }
+
+    public Flux<ProductDTO> findProductsAfter(long after, Integer limit) {
+        return databaseClient.sql(PRODUCT_COLUMNS + "WHERE id > :after ORDER BY id" + limit(limit))
+                .bind("after", after)
+                .map(ReactiveReadRepository::product)
+                .all();
+    }
+
+    public Flux<ProductDTO> findInStockProductsAfter(long after, Integer limit) {
+        return databaseClient.sql(PRODUCT_COLUMNS + "WHERE stock_quantity > 0 AND id > :after ORDER BY id" + limit(limit))
+                .bind("after", after)
+                .map(ReactiveReadRepository::product)
+                .all();
+    }
+
+    public Mono<ProductDTO> findProductById(long id) {
+        return databaseClient.sql(PRODUCT_COLUMNS + "WHERE id = :id")
+                .bind("id", id)
+                .map(ReactiveReadRepository::product)
+                .one();
+    }
+
+    public Flux<CustomerDTO> findCustomersAfter(long after, Integer limit) {
+        return databaseClient.sql(CUSTOMER_COLUMNS + "WHERE id > :after ORDER BY id" + limit(limit))
+                .bind("after", after)
+                .map(ReactiveReadRepository::customer)
+                .all();
+    }
+
+    public Mono<CustomerDTO> findCustomerById(long id) {
+        return databaseClient.sql(CUSTOMER_COLUMNS + "WHERE id = :id")
+                .bind("id", id)
+                .map(ReactiveReadRepository::customer)
+                .one();
+    }
+
+    public Flux<OrderSummaryRow> findOrderRowsAfter(long after, Integer limit) {
+        return databaseClient.sql(ORDER_COLUMNS + "FROM orders o JOIN customers c ON c.id = o.customer_id " +
+                        "WHERE o.id > :after ORDER BY o.id" + limit(limit))
+                .bind("after", after)
+                .map(ReactiveReadRepository::orderRow)
+                .all();
+    }
+
+    /**
+     * The orders in a status, merged in id order with the archived ones for a closed status.
+     */
+    public Flux<OrderSummaryRow> findOrderRowsByStatusAfter(OrderStatus status, long after, Integer limit) {
+        String where = "WHERE o.status = :status AND o.id > :after ";
+        String hot = ORDER_COLUMNS + "FROM orders o JOIN customers c ON c.id = o.customer_id " + where;
+        String archived = ORDER_COLUMNS + "FROM orders_archive o JOIN customers c ON c.id = o.customer_id " + where;
+        return databaseClient.sql((status.isClosed()
+                        ? "SELECT * FROM (" + hot + "UNION ALL " + archived + ") o ORDER BY o.id"
+                        : hot + "ORDER BY o.id") + limit(limit))
+                .bind("status", status.name())
+                .bind("after", after)
+                .map(ReactiveReadRepository::orderRow)
+                .all();
+    }
+
+    /**
+     * A customer's hot and archived orders, merged in id order.
+     */
+    public Flux<OrderSummaryRow> findOrderRowsByCustomerIdAfter(long customerId, long after, Integer limit) {
+        String where = "WHERE o.customer_id = :customerId AND o.id > :after ";
+        return databaseClient.sql("SELECT * FROM (" +
+                        ORDER_COLUMNS + "FROM orders o JOIN customers c ON c.id = o.customer_id " + where +
+                        "UNION ALL " +
+                        ORDER_COLUMNS + "FROM orders_archive o JOIN customers c ON c.id = o.customer_id " + where +
+                        ") o ORDER BY o.id" + limit(limit))
+                .bind("customerId", customerId)
+                .bind("after", after)
+                .map(ReactiveReadRepository::orderRow)
+                .all();
+    }
+
+    /**
+     * An order from the hot tables or, once archived, from the archive.
+     */
+    public Mono<OrderSummaryRow> findOrderRowById(long id) {
+        return databaseClient.sql(
+                        ORDER_COLUMNS + "FROM orders o JOIN customers c ON c.id = o.customer_id WHERE o.id = :id " +
+                        "UNION ALL " +
+                        ORDER_COLUMNS + "FROM orders_archive o JOIN customers c ON c.id = o.customer_id WHERE o.id = :id")
+                .bind("id", id)
+                .map(ReactiveReadRepository::orderRow)
+                .one();
+    }
+
+    public Flux<OrderItemRow> findItemRowsByOrderIds(Collection<Long> orderIds, boolean includeArchive) {
+        String hot = ITEM_COLUMNS + "FROM order_items i JOIN products p ON p.id = i.product_id " +
+                "WHERE i.order_id IN (:orderIds) ";
+        String archived = ITEM_COLUMNS + "FROM order_items_archive i JOIN products p ON p.id = i.product_id " +
+                "WHERE i.order_id IN (:orderIds) ";
+        return databaseClient.sql((includeArchive ? hot + "UNION ALL " + archived : hot) + "ORDER BY order_id, id")
+                .bind("orderIds", orderIds)
+                .map(ReactiveReadRepository::itemRow)
+                .all();
+    }
+
+    private static String limit(Integer limit) {
+        return limit == null ? "" : " FETCH FIRST " + limit + " ROWS ONLY";
+    }
+
+    private static ProductDTO product(Readable row) {
+        return ProductDTO.builder()
+                .id(row.get("id", Long.class))
+                .name(row.get("name", String.class))
+                .description(row.get("description", String.class))
+                .price(Money.of(row.get("price", BigDecimal.class)))
+                .stockQuantity(row.get("stock_quantity", Integer.class))
+                .version(row.get("version", Long.class))
+                .createdAt(row.get("created_at", LocalDateTime.class))
+                .build();
+    }
+
+    private static CustomerDTO customer(Readable row) {
+        return CustomerDTO.builder()
+                .id(row.get("id", Long.class))
+                .name(row.get("name", String.class))
+                .email(row.get("email", String.class))
+                .phone(row.get("phone", String.class))
+                .address(row.get("address", String.class))
+                .createdAt(row.get("created_at", LocalDateTime.class))
+                .build();
+    }
+
+    private static OrderSummaryRow orderRow(Readable row) {
+        BigDecimal totalAmount = row.get("total_amount", BigDecimal.class);
+        return new OrderSummaryRow(
+                row.get("id", Long.class),
+                row.get("customer_id", Long.class),
+                row.get("customer_name", String.class),
+                row.get("order_date", LocalDateTime.class),
+                OrderStatus.valueOf(row.get("status", String.class)),
+                totalAmount == null ? null : Money.of(totalAmount));
+    }
+
+    private static OrderItemRow itemRow(Readable row) {
+        return new OrderItemRow(
+                row.get("order_id", Long.class),
+                row.get("id", Long.class),
+                row.get("product_id", Long.class),
+                row.get("product_name", String.class),
+                row.get("quantity", Integer.class),
+                Money.of(row.get("unit_price", BigDecimal.class)));
+    }
+}
@@ -0,0 +1,113 @@
+package com.sales.api.reactive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sales.api.config.ReactiveReadProperties;
+import com.sales.api.exception.BusinessException;
+import com.sales.api.exception.GlobalExceptionHandler;
+import com.sales.api.exception.ResourceNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * Serves the read-only reactive API on its own Netty server, next to the servlet API. Its
+ * requests never hold a thread while waiting on the database: queries run through R2DBC and
+ * results are written as they arrive. Writes, conditional requests and the event stream stay on
+ * the servlet API.
+ */
+@Slf4j
+@Component
+public class ReactiveReadServer implements SmartLifecycle {
+
+    private final ReactiveReadProperties properties;
+    private final ReactiveReadHandler handler;
+    private final ObjectMapper objectMapper;
+    private WebServer webServer;
+
+    public ReactiveReadServer(ReactiveReadProperties properties, ReactiveReadHandler handler, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.handler = handler;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (!properties.isEnabled() || webServer != null) {
+            return;
+        }
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                    codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                })
+                .build();
+        webServer = new NettyReactiveWebServerFactory(properties.getPort())
+                .getWebServer(RouterFunctions.toHttpHandler(routes(), strategies));
+        webServer.start();
+        log.info("Reactive read API started on port {}", webServer.getPort());
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (webServer != null) {
+            webServer.stop();
+            webServer = null;
+        }
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return webServer != null;
+    }
+
+    /**
+     * The port the server listens on, or -1 when it is not running.
+     */
+    public synchronized int getPort() {
+        return webServer == null ? -1 : webServer.getPort();
+    }
+
+    RouterFunction<ServerResponse> routes() {
+        return RouterFunctions.route()
+                .path("/api/products", builder -> builder
+                        .GET("", handler::findAllProducts)
+                        .GET("/in-stock", handler::findInStockProducts)
+                        .GET("/{id}", handler::findProductById))
+                .path("/api/customers", builder -> builder
+                        .GET("", handler::findAllCustomers)
+                        .GET("/{id}", handler::findCustomerById))
+                .path("/api/orders", builder -> builder
+                        .GET("", handler::findAllOrders)
+                        .GET("/customer/{customerId}", handler::findOrdersByCustomerId)
+                        .GET("/status/{status}", handler::findOrdersByStatus)
+                        .GET("/{id}", handler::findOrderById))
+                // handlers reject invalid parameters by throwing before they return a Mono; deferring
+                // the handler maps those throws like the errors of the Mono itself
+                .filter((request, next) -> Mono.defer(() -> next.handle(request))
+                        .onErrorResume(ResourceNotFoundException.class, e -> error(HttpStatus.NOT_FOUND, e.getMessage()))
+                        .onErrorResume(BusinessException.class, e -> error(HttpStatus.BAD_REQUEST, e.getMessage()))
+                        .onErrorResume(DataAccessResourceFailureException.class,
+                                e -> error(HttpStatus.SERVICE_UNAVAILABLE, "No database connection available, retry later")))
+                .build();
+    }
+
+    private static Mono<ServerResponse> error(HttpStatus status, String message) {
+        return ServerResponse.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new GlobalExceptionHandler.ErrorResponse(status.value(), message, LocalDateTime.now()));
+    }
+}
@@ -0,0 +1,25 @@
+package com.sales.api.repository;
+
+import com.sales.api.dto.OrderItemRow;
+import com.sales.api.entity.ArchivedOrderItem;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ArchivedOrderItemRepository extends JpaRepository<ArchivedOrderItem, Long> {
+
+    @Query("SELECT new com.sales.api.dto.OrderItemRow(i.order.id, i.id, p.id, p.name, i.quantity, i.unitPrice) " +
+            "FROM ArchivedOrderItem i JOIN i.product p WHERE i.order.id IN :orderIds ORDER BY i.order.id, i.id")
+    List<OrderItemRow> findRowsByOrderIds(Collection<Long> orderIds);
+
+    @Modifying
+    @Query(value = "INSERT INTO order_items_archive (id, order_id, product_id, quantity, unit_price) " +
+            "SELECT id, order_id, product_id, quantity, unit_price FROM order_items WHERE order_id IN :orderIds",
+            nativeQuery = true)
+    int copy(Collection<Long> orderIds);
+}
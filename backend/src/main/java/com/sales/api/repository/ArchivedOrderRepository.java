@@ -0,0 +1,59 @@
+package com.sales.api.repository;
+
+import com.sales.api.dto.OrderSummaryRow;
+import com.sales.api.dto.VersionRow;
+import com.sales.api.entity.ArchivedOrder;
+import com.sales.api.entity.OrderStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ArchivedOrderRepository extends JpaRepository<ArchivedOrder, Long> {
+
+    @Query("SELECT new com.sales.api.dto.OrderSummaryRow(o.id, c.id, c.name, o.orderDate, o.status, o.totalAmount) " +
+            "FROM ArchivedOrder o JOIN o.customer c WHERE o.id = :id")
+    Optional<OrderSummaryRow> findRowById(Long id);
+
+    @Query("SELECT new com.sales.api.dto.OrderSummaryRow(o.id, c.id, c.name, o.orderDate, o.status, o.totalAmount) " +
+            "FROM ArchivedOrder o JOIN o.customer c WHERE c.id = :customerId AND o.id > :after ORDER BY o.id")
+    List<OrderSummaryRow> findRowsByCustomerIdAfter(Long customerId, Long after, Limit limit);
+
+    @Query("SELECT new com.sales.api.dto.OrderSummaryRow(o.id, c.id, c.name, o.orderDate, o.status, o.totalAmount) " +
+            "FROM ArchivedOrder o JOIN o.customer c WHERE o.status = :status AND o.id > :after ORDER BY o.id")
+    List<OrderSummaryRow> findRowsByStatusAfter(OrderStatus status, Long after, Limit limit);
+
+    @Query("SELECT new com.sales.api.dto.OrderSummaryRow(o.id, c.id, c.name, o.orderDate, o.status, o.totalAmount) " +
+            "FROM ArchivedOrder o JOIN o.customer c WHERE o.id > :after ORDER BY o.id")
+    List<OrderSummaryRow> findRowsAfter(Long after, Limit limit);
+
+    /**
+     * The version of an archived order, computed as {@link OrderRepository#findVersionById} does.
+     */
+    @Query("SELECT o.version + c.version + COALESCE(SUM(p.version), 0) " +
+            "FROM ArchivedOrder o JOIN o.customer c LEFT JOIN ArchivedOrderItem i ON i.order = o LEFT JOIN i.product p " +
+            "WHERE o.id = :id GROUP BY o.id, o.version, c.version")
+    Optional<Long> findVersionById(Long id);
+
+    @Query("SELECT new com.sales.api.dto.VersionRow(o.id, o.version + c.version + COALESCE(SUM(p.version), 0)) " +
+            "FROM ArchivedOrder o JOIN o.customer c LEFT JOIN ArchivedOrderItem i ON i.order = o LEFT JOIN i.product p " +
+            "WHERE c.id = :customerId AND o.id > :after GROUP BY o.id, o.version, c.version ORDER BY o.id")
+    List<VersionRow> findVersionsByCustomerIdAfter(Long customerId, Long after, Limit limit);
+
+    @Query("SELECT new com.sales.api.dto.VersionRow(o.id, o.version + c.version + COALESCE(SUM(p.version), 0)) " +
+            "FROM ArchivedOrder o JOIN o.customer c LEFT JOIN ArchivedOrderItem i ON i.order = o LEFT JOIN i.product p " +
+            "WHERE o.status = :status AND o.id > :after GROUP BY o.id, o.version, c.version ORDER BY o.id")
+    List<VersionRow> findVersionsByStatusAfter(OrderStatus status, Long after, Limit limit);
+
+    @Modifying
+    @Query(value = "INSERT INTO orders_archive (id, customer_id, order_date, status, total_amount, version, archived_at) " +
+            "SELECT id, customer_id, order_date, status, total_amount, version, LOCALTIMESTAMP " +
+            "FROM orders WHERE id IN :ids", nativeQuery = true)
+    int copy(Collection<Long> ids);
+}
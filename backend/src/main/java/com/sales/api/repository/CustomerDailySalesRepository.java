@@ -0,0 +1,35 @@
+package com.sales.api.repository;
+
+import com.sales.api.dto.CustomerRevenueDTO;
+import com.sales.api.entity.CustomerDailySales;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface CustomerDailySalesRepository extends JpaRepository<CustomerDailySales, CustomerDailySales.Key> {
+
+    @Query("SELECT new com.sales.api.dto.CustomerRevenueDTO(s.customerId, c.name, SUM(s.orderCount), SUM(s.revenue)) " +
+            "FROM CustomerDailySales s LEFT JOIN Customer c ON c.id = s.customerId " +
+            "WHERE s.salesDate BETWEEN :from AND :to " +
+            "GROUP BY s.customerId, c.name ORDER BY SUM(s.revenue) DESC, s.customerId")
+    List<CustomerRevenueDTO> findRevenueBetween(LocalDate from, LocalDate to, Limit limit);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE CustomerDailySales s SET s.orderCount = s.orderCount + :orders, s.revenue = s.revenue + :revenue " +
+            "WHERE s.salesDate = :date AND s.customerId = :customerId")
+    int add(LocalDate date, Long customerId, long orders, BigDecimal revenue);
+
+    @Modifying
+    @Query(value = "INSERT INTO customer_daily_sales (sales_date, customer_id, order_count, revenue) " +
+            "SELECT CAST(o.order_date AS DATE), o.customer_id, COUNT(*), SUM(o.total_amount) " +
+            "FROM all_orders o WHERE o.status <> 'CANCELLED' " +
+            "GROUP BY CAST(o.order_date AS DATE), o.customer_id", nativeQuery = true)
+    int rebuild();
+}
@@ -1,15 +1,34 @@
 package com.sales.api.repository;
 
+import com.sales.api.dto.VersionRow;
 import com.sales.api.entity.Customer;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface CustomerRepository extends JpaRepository<Customer, Long> {
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Customer> findByEmail(String email);
 
     boolean existsByEmail(String email);
+
+    List<Customer> findByIdGreaterThanOrderByIdAsc(Long after, Limit limit);
+
+    @Query("SELECT c.id FROM Customer c WHERE c.id > :after ORDER BY c.id")
+    List<Long> findIdsAfter(Long after, Limit limit);
+
+    @Query("SELECT c.version FROM Customer c WHERE c.id = :id")
+    Optional<Long> findVersionById(Long id);
+
+    @Query("SELECT new com.sales.api.dto.VersionRow(c.id, c.version) FROM Customer c WHERE c.id > :after ORDER BY c.id")
+    List<VersionRow> findVersionsAfter(Long after, Limit limit);
 }
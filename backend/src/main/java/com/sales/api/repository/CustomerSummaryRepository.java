@@ -0,0 +1,31 @@
+package com.sales.api.repository;
+
+import com.sales.api.entity.CustomerSummary;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface CustomerSummaryRepository extends JpaRepository<CustomerSummary, Long> {
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE CustomerSummary s SET s.orderCount = s.orderCount + :orders, " +
+            "s.lifetimeValue = s.lifetimeValue + :value, s.openBalance = s.openBalance + :openBalance " +
+            "WHERE s.customerId = :customerId")
+    int add(Long customerId, long orders, BigDecimal value, BigDecimal openBalance);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM CustomerSummary s WHERE s.customerId IN :customerIds ORDER BY s.customerId")
+    List<CustomerSummary> findAllByIdForUpdate(Collection<Long> customerIds);
+
+    @Modifying
+    @Query("DELETE FROM CustomerSummary s WHERE s.customerId = :customerId")
+    int deleteByCustomerId(Long customerId);
+}
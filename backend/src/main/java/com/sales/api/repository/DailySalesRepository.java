@@ -0,0 +1,29 @@
+package com.sales.api.repository;
+
+import com.sales.api.entity.DailySales;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DailySalesRepository extends JpaRepository<DailySales, LocalDate> {
+
+    List<DailySales> findBySalesDateBetweenOrderBySalesDateAsc(LocalDate from, LocalDate to);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE DailySales d SET d.orderCount = d.orderCount + :orders, d.itemsSold = d.itemsSold + :items, " +
+            "d.revenue = d.revenue + :revenue WHERE d.salesDate = :date")
+    int add(LocalDate date, long orders, long items, BigDecimal revenue);
+
+    @Modifying
+    @Query(value = "INSERT INTO daily_sales (sales_date, order_count, items_sold, revenue) " +
+            "SELECT CAST(o.order_date AS DATE), COUNT(DISTINCT o.id), SUM(i.quantity), SUM(i.quantity * i.unit_price) " +
+            "FROM all_orders o JOIN all_order_items i ON i.order_id = o.id " +
+            "WHERE o.status <> 'CANCELLED' GROUP BY CAST(o.order_date AS DATE)", nativeQuery = true)
+    int rebuild();
+}
@@ -0,0 +1,27 @@
+package com.sales.api.repository;
+
+import com.sales.api.entity.OrderEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OrderEventRepository extends JpaRepository<OrderEvent, Long> {
+
+    boolean existsByPositionIsNull();
+
+    List<OrderEvent> findByPositionIsNullOrderByIdAsc(Limit limit);
+
+    List<OrderEvent> findByPositionGreaterThanOrderByPositionAsc(Long position, Limit limit);
+
+    boolean existsByPositionLessThanEqual(Long position);
+
+    @Modifying
+    @Query("DELETE FROM OrderEvent e WHERE e.position IS NOT NULL AND e.createdAt < :before")
+    int deletePublishedBefore(LocalDateTime before);
+}
@@ -0,0 +1,19 @@
+package com.sales.api.repository;
+
+import com.sales.api.entity.OrderEventStream;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface OrderEventStreamRepository extends JpaRepository<OrderEventStream, Integer> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM OrderEventStream s WHERE s.id = " + OrderEventStream.ID)
+    OrderEventStream lock();
+
+    @Query("SELECT s.lastPosition FROM OrderEventStream s WHERE s.id = " + OrderEventStream.ID)
+    long findLastPosition();
+}
@@ -1,9 +1,13 @@
 package com.sales.api.repository;
 
+import com.sales.api.dto.OrderItemRow;
 import com.sales.api.entity.OrderItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -12,4 +16,12 @@ public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
     List<OrderItem> findByOrderId(Long orderId);
 
     List<OrderItem> findByProductId(Long productId);
+
+    @Query("SELECT new com.sales.api.dto.OrderItemRow(i.order.id, i.id, p.id, p.name, i.quantity, i.unitPrice) " +
+            "FROM OrderItem i JOIN i.product p WHERE i.order.id IN :orderIds ORDER BY i.order.id, i.id")
+    List<OrderItemRow> findRowsByOrderIds(Collection<Long> orderIds);
+
+    @Modifying
+    @Query("DELETE FROM OrderItem i WHERE i.order.id IN :orderIds")
+    int deleteByOrderIds(Collection<Long> orderIds);
 }
@@ -1,24 +1,84 @@
 package com.sales.api.repository;
 
+import com.sales.api.dto.OrderSummaryRow;
+import com.sales.api.dto.VersionRow;
 import com.sales.api.entity.Order;
 import com.sales.api.entity.OrderStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
 
-    List<Order> findByCustomerId(Long customerId);
-
-    List<Order> findByStatus(OrderStatus status);
-
     @Query("SELECT o FROM Order o LEFT JOIN FETCH o.items WHERE o.id = :id")
     Optional<Order> findByIdWithItems(Long id);
 
-    @Query("SELECT o FROM Order o LEFT JOIN FETCH o.items LEFT JOIN FETCH o.customer")
-    List<Order> findAllWithItems();
+    @Query("SELECT new com.sales.api.dto.OrderSummaryRow(o.id, c.id, c.name, o.orderDate, o.status, o.totalAmount) " +
+            "FROM Order o JOIN o.customer c WHERE o.id > :after ORDER BY o.id")
+    List<OrderSummaryRow> findRowsAfter(Long after, Limit limit);
+
+    @Query("SELECT new com.sales.api.dto.OrderSummaryRow(o.id, c.id, c.name, o.orderDate, o.status, o.totalAmount) " +
+            "FROM Order o JOIN o.customer c WHERE c.id = :customerId AND o.id > :after ORDER BY o.id")
+    List<OrderSummaryRow> findRowsByCustomerIdAfter(Long customerId, Long after, Limit limit);
+
+    @Query("SELECT new com.sales.api.dto.OrderSummaryRow(o.id, c.id, c.name, o.orderDate, o.status, o.totalAmount) " +
+            "FROM Order o JOIN o.customer c WHERE o.status = :status AND o.id > :after ORDER BY o.id")
+    List<OrderSummaryRow> findRowsByStatusAfter(OrderStatus status, Long after, Limit limit);
+
+    /**
+     * The version of an order as listed: the sum of its own version, its customer's and those of
+     * its items' products, whose names it shows. Every component only grows, so any change to the
+     * listed order changes the sum.
+     */
+    @Query("SELECT o.version + c.version + COALESCE(SUM(p.version), 0) " +
+            "FROM Order o JOIN o.customer c LEFT JOIN o.items i LEFT JOIN i.product p " +
+            "WHERE o.id = :id GROUP BY o.id, o.version, c.version")
+    Optional<Long> findVersionById(Long id);
+
+    @Query("SELECT new com.sales.api.dto.VersionRow(o.id, o.version + c.version + COALESCE(SUM(p.version), 0)) " +
+            "FROM Order o JOIN o.customer c LEFT JOIN o.items i LEFT JOIN i.product p " +
+            "WHERE o.id > :after GROUP BY o.id, o.version, c.version ORDER BY o.id")
+    List<VersionRow> findVersionsAfter(Long after, Limit limit);
+
+    @Query("SELECT new com.sales.api.dto.VersionRow(o.id, o.version + c.version + COALESCE(SUM(p.version), 0)) " +
+            "FROM Order o JOIN o.customer c LEFT JOIN o.items i LEFT JOIN i.product p " +
+            "WHERE c.id = :customerId AND o.id > :after GROUP BY o.id, o.version, c.version ORDER BY o.id")
+    List<VersionRow> findVersionsByCustomerIdAfter(Long customerId, Long after, Limit limit);
+
+    @Query("SELECT new com.sales.api.dto.VersionRow(o.id, o.version + c.version + COALESCE(SUM(p.version), 0)) " +
+            "FROM Order o JOIN o.customer c LEFT JOIN o.items i LEFT JOIN i.product p " +
+            "WHERE o.status = :status AND o.id > :after GROUP BY o.id, o.version, c.version ORDER BY o.id")
+    List<VersionRow> findVersionsByStatusAfter(OrderStatus status, Long after, Limit limit);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT o FROM Order o JOIN FETCH o.customer ORDER BY o.id")
+    Stream<Order> streamAll();
+
+    /**
+     * Locks the oldest-id orders in one of the given states placed before a date, for archiving.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o.id FROM Order o WHERE o.status IN :statuses AND o.orderDate < :before ORDER BY o.id")
+    List<Long> findIdsForArchiving(Collection<OrderStatus> statuses, LocalDateTime before, Limit limit);
+
+    @Modifying
+    @Query("DELETE FROM Order o WHERE o.id IN :ids")
+    int deleteByIds(Collection<Long> ids);
 }
@@ -0,0 +1,29 @@
+package com.sales.api.repository;
+
+import com.sales.api.dto.ProductRevenueDTO;
+import com.sales.api.entity.ProductDailySales;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface ProductDailySalesRepository extends JpaRepository<ProductDailySales, ProductDailySales.Key> {
+
+    @Query("SELECT new com.sales.api.dto.ProductRevenueDTO(s.productId, p.name, SUM(s.quantity), SUM(s.revenue)) " +
+            "FROM ProductDailySales s LEFT JOIN Product p ON p.id = s.productId " +
+            "WHERE s.salesDate BETWEEN :from AND :to " +
+            "GROUP BY s.productId, p.name ORDER BY SUM(s.revenue) DESC, s.productId")
+    List<ProductRevenueDTO> findRevenueBetween(LocalDate from, LocalDate to, Limit limit);
+
+    @Modifying
+    @Query(value = "INSERT INTO product_daily_sales (sales_date, product_id, quantity, revenue) " +
+            "SELECT CAST(o.order_date AS DATE), i.product_id, SUM(i.quantity), SUM(i.quantity * i.unit_price) " +
+            "FROM all_orders o JOIN all_order_items i ON i.order_id = o.id " +
+            "WHERE o.status <> 'CANCELLED' GROUP BY CAST(o.order_date AS DATE), i.product_id", nativeQuery = true)
+    int rebuild();
+}
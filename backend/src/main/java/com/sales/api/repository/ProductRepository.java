@@ -1,15 +1,118 @@
 package com.sales.api.repository;
 
+import com.sales.api.dto.CatalogFingerprint;
+import com.sales.api.dto.VersionRow;
 import com.sales.api.entity.Product;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
 
-    List<Product> findByNameContainingIgnoreCase(String name);
+    List<Product> findByIdGreaterThanOrderByIdAsc(Long after, Limit limit);
 
-    List<Product> findByStockQuantityGreaterThan(Integer quantity);
+    List<Product> findByIdInOrderByIdAsc(Collection<Long> ids);
+
+    /**
+     * Served from the query cache until the next write to {@code products}. Bulk stock updates
+     * count as writes, and also empty the product region of the second-level cache.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Product> findByStockQuantityGreaterThanAndIdGreaterThanOrderByIdAsc(Integer quantity, Long after, Limit limit);
+
+    /**
+     * Reads the product row even when the second-level cache holds it, and replaces the cached copy.
+     */
+    @QueryHints(@QueryHint(name = SpecHints.HINT_SPEC_CACHE_STORE_MODE, value = "REFRESH"))
+    @Query("SELECT p FROM Product p WHERE p.id = :id")
+    Optional<Product> findCurrentById(Long id);
+
+    /**
+     * Products named {@code name} in any letter case, found through the indexed {@code name_lower}
+     * column maintained by the database.
+     */
+    @Query(value = "SELECT * FROM products WHERE name_lower = LOWER(:name) ORDER BY id", nativeQuery = true)
+    List<Product> findByNameIgnoreCase(String name);
+
+    /**
+     * Changes whenever a product is created, deleted or changed: ids only grow, so a deletion
+     * and a creation never cancel out in the sum of ids, and every change grows a version.
+     */
+    @Query("SELECT new com.sales.api.dto.CatalogFingerprint(COUNT(p), COALESCE(SUM(p.id), 0), " +
+            "COALESCE(SUM(p.version), 0)) FROM Product p")
+    CatalogFingerprint findFingerprint();
+
+    @Query("SELECT p.version FROM Product p WHERE p.id = :id")
+    Optional<Long> findVersionById(Long id);
+
+    @Query("SELECT new com.sales.api.dto.VersionRow(p.id, p.version) FROM Product p WHERE p.id > :after ORDER BY p.id")
+    List<VersionRow> findVersionsAfter(Long after, Limit limit);
+
+    @Query("SELECT new com.sales.api.dto.VersionRow(p.id, p.version) FROM Product p " +
+            "WHERE p.stockQuantity > 0 AND p.id > :after ORDER BY p.id")
+    List<VersionRow> findInStockVersionsAfter(Long after, Limit limit);
+
+    /**
+     * Loads and write-locks every product in {@code ids} with a single statement.
+     * Rows are locked in ascending id order so concurrent baskets sharing products
+     * always acquire their locks in the same sequence and cannot deadlock.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Product p WHERE p.id IN :ids ORDER BY p.id")
+    List<Product> findAllByIdForUpdate(Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Product p SET p.stockQuantity = p.stockQuantity - :quantity, p.version = p.version + 1 " +
+            "WHERE p.id = :id AND p.stockQuantity - p.flashSaleReserved >= :quantity")
+    int decrementStock(Long id, int quantity);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Product p SET p.stockQuantity = p.stockQuantity + :quantity, p.version = p.version + 1 " +
+            "WHERE p.id = :id")
+    int incrementStock(Long id, int quantity);
+
+    /**
+     * Hands {@code quantity} units of unreserved stock to the flash-sale lane of {@code owner}.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Product p SET p.flashSaleReserved = p.flashSaleReserved + :quantity, p.flashSaleOwner = :owner, " +
+            "p.version = p.version + 1 " +
+            "WHERE p.id = :id AND p.stockQuantity - p.flashSaleReserved >= :quantity")
+    int reserveStock(Long id, int quantity, String owner);
+
+    /**
+     * Applies units a flash-sale lane has sold: they leave the stock and the reservation together.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Product p SET p.stockQuantity = p.stockQuantity - :quantity, " +
+            "p.flashSaleReserved = p.flashSaleReserved - :quantity, p.version = p.version + 1 " +
+            "WHERE p.id = :id AND p.flashSaleReserved >= :quantity")
+    int takeReservedStock(Long id, int quantity);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Product p SET p.flashSaleReserved = p.flashSaleReserved - :quantity, " +
+            "p.flashSaleOwner = CASE WHEN p.flashSaleReserved = :quantity THEN NULL ELSE p.flashSaleOwner END " +
+            "WHERE p.id = :id AND p.flashSaleReserved >= :quantity")
+    int releaseReservedStock(Long id, int quantity);
+
+    /**
+     * Releases the reservations of {@code owner}, and those made before reservations had an owner.
+     */
+    @Modifying
+    @Query("UPDATE Product p SET p.flashSaleReserved = 0, p.flashSaleOwner = NULL " +
+            "WHERE p.flashSaleReserved > 0 AND (p.flashSaleOwner = :owner OR p.flashSaleOwner IS NULL)")
+    int releaseReservedStockOf(String owner);
 }
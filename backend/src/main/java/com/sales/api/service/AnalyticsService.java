@@ -0,0 +1,86 @@
+package com.sales.api.service;
+
+import com.sales.api.dto.CursorPage;
+import com.sales.api.dto.CustomerRevenueDTO;
+import com.sales.api.dto.DailyRevenueDTO;
+import com.sales.api.dto.ProductRevenueDTO;
+import com.sales.api.entity.DailySales;
+import com.sales.api.exception.BusinessException;
+import com.sales.api.repository.CustomerDailySalesRepository;
+import com.sales.api.repository.DailySalesRepository;
+import com.sales.api.repository.ProductDailySalesRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Revenue reports answered from the daily rollups, without reading orders.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AnalyticsService {
+
+    private final DailySalesRepository dailySalesRepository;
+    private final ProductDailySalesRepository productDailySalesRepository;
+    private final CustomerDailySalesRepository customerDailySalesRepository;
+
+    @Transactional(readOnly = true)
+    public List<DailyRevenueDTO> findDailyRevenue(LocalDate from, LocalDate to) {
+        checkRange(from, to);
+        return dailySalesRepository.findBySalesDateBetweenOrderBySalesDateAsc(from, to).stream()
+                .map(this::toDTO)
+                .collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
+    public List<ProductRevenueDTO> findProductRevenue(LocalDate from, LocalDate to, int limit) {
+        checkRange(from, to);
+        return productDailySalesRepository.findRevenueBetween(from, to, Limit.of(CursorPage.checkLimit(limit)));
+    }
+
+    @Transactional(readOnly = true)
+    public List<CustomerRevenueDTO> findCustomerRevenue(LocalDate from, LocalDate to, int limit) {
+        checkRange(from, to);
+        return customerDailySalesRepository.findRevenueBetween(from, to, Limit.of(CursorPage.checkLimit(limit)));
+    }
+
+    /**
+     * Recomputes every rollup from the orders, for backfills and repairs. Orders written while
+     * the rebuild runs may be missed, so it is meant for quiet periods.
+     */
+    @Transactional
+    public void rebuild() {
+        long startedAt = System.nanoTime();
+        dailySalesRepository.deleteAllInBatch();
+        productDailySalesRepository.deleteAllInBatch();
+        customerDailySalesRepository.deleteAllInBatch();
+
+        int days = dailySalesRepository.rebuild();
+        int productDays = productDailySalesRepository.rebuild();
+        int customerDays = customerDailySalesRepository.rebuild();
+        log.info("Rebuilt sales rollups ({} days, {} product days, {} customer days) in {} ms",
+                days, productDays, customerDays, (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    private void checkRange(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new BusinessException("Start date must not be after end date");
+        }
+    }
+
+    private DailyRevenueDTO toDTO(DailySales sales) {
+        return DailyRevenueDTO.builder()
+                .date(sales.getSalesDate())
+                .orderCount(sales.getOrderCount())
+                .itemsSold(sales.getItemsSold())
+                .revenue(sales.getRevenue())
+                .build();
+    }
+}
@@ -0,0 +1,72 @@
+package com.sales.api.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.sales.api.dto.CacheStatsDTO;
+import com.sales.api.exception.ResourceNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+@Service
+@RequiredArgsConstructor
+public class CacheService {
+
+    private final CacheManager cacheManager;
+    private final javax.cache.CacheManager secondLevelCacheManager;
+
+    /**
+     * Statistics of the Spring caches and of the Hibernate second-level cache regions.
+     */
+    public List<CacheStatsDTO> findAll() {
+        return Stream.concat(cacheManager.getCacheNames().stream(),
+                        StreamSupport.stream(secondLevelCacheManager.getCacheNames().spliterator(), false))
+                .sorted()
+                .map(this::findByName)
+                .collect(Collectors.toList());
+    }
+
+    public CacheStatsDTO findByName(String name) {
+        Cache<Object, Object> cache = nativeCache(name);
+        CacheStats stats = cache.stats();
+        return CacheStatsDTO.builder()
+                .name(name)
+                .size(cache.estimatedSize())
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .hitRate(stats.hitRate())
+                .evictionCount(stats.evictionCount())
+                .build();
+    }
+
+    public void evict(String name, Collection<?> keys) {
+        org.springframework.cache.Cache cache = cacheManager.getCache(name);
+        if (cache != null) {
+            keys.forEach(cache::evict);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Cache<Object, Object> nativeCache(String name) {
+        javax.cache.Cache<Object, Object> region = secondLevelCacheManager.getCache(name);
+        if (region != null) {
+            return region.unwrap(Cache.class);
+        }
+        org.springframework.cache.Cache cache = cacheManager.getCache(name);
+        if (cache instanceof TransactionAwareCacheDecorator decorator) {
+            cache = decorator.getTargetCache();
+        }
+        if (!(cache instanceof CaffeineCache caffeineCache)) {
+            throw new ResourceNotFoundException("Cache", "name", name);
+        }
+        return caffeineCache.getNativeCache();
+    }
+}
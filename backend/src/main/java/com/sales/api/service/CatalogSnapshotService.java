@@ -0,0 +1,242 @@
+package com.sales.api.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sales.api.config.CatalogSnapshotProperties;
+import com.sales.api.config.ReplicaRoutingDataSource;
+import com.sales.api.dto.CatalogFingerprint;
+import com.sales.api.dto.CursorPage;
+import com.sales.api.dto.ProductDTO;
+import com.sales.api.dto.VersionRow;
+import com.sales.api.repository.ProductRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Immutable snapshot of the catalog listings, held as the JSON (and gzipped JSON) bytes of each
+ * page, so the hottest product URLs are answered without a query or serialization.
+ * <p>
+ * Only pages of the default size are held, keyed by their cursor: the first page and every page
+ * reached by following {@code X-Next-Cursor}. {@link #refresh()} compares a cheap aggregate of the
+ * product table with the one the snapshot was built from and rebuilds it in the background when
+ * they differ, which also picks up writes made by other instances. A rebuild reads the versions of
+ * the catalog, reloads only the products whose version changed and serializes only the pages whose
+ * products or next product changed; the other pages are carried over. Rebuilds are at least
+ * {@code sales.catalog-snapshot.min-rebuild-interval} apart. A snapshot is served for at most
+ * {@code sales.catalog-snapshot.max-staleness} after it was last found current.
+ */
+@Slf4j
+@Service
+public class CatalogSnapshotService {
+
+    private static final int PAGE_SIZE = Integer.parseInt(CursorPage.DEFAULT_LIMIT);
+
+    private final ProductService productService;
+    private final ProductRepository productRepository;
+    private final ObjectMapper objectMapper;
+    private final CatalogSnapshotProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private volatile Snapshot snapshot;
+    private volatile Instant verifiedAt = Instant.MIN;
+    private Instant builtAt = Instant.MIN;
+
+    public CatalogSnapshotService(ProductService productService,
+                                  ProductRepository productRepository,
+                                  ObjectMapper objectMapper,
+                                  CatalogSnapshotProperties properties,
+                                  PlatformTransactionManager transactionManager,
+                                  MeterRegistry registry) {
+        this.productService = productService;
+        this.productRepository = productRepository;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        Gauge.builder("sales.catalog.snapshot.version", this, service -> service.snapshot == null ? 0 : service.snapshot.version())
+                .description("Version of the catalog snapshot, incremented by every rebuild")
+                .register(registry);
+    }
+
+    /**
+     * The snapshot page of {@code GET /api/products} for this cursor, or {@code null} when it has
+     * to be read from the database.
+     */
+    public Page findAll(Long after, int limit) {
+        Snapshot current = current(limit);
+        return current == null ? null : current.all().get(CursorPage.after(after));
+    }
+
+    /**
+     * The snapshot page of {@code GET /api/products/in-stock} for this cursor, or {@code null} when
+     * it has to be read from the database.
+     */
+    public Page findInStock(Long after, int limit) {
+        Snapshot current = current(limit);
+        return current == null ? null : current.inStock().get(CursorPage.after(after));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${sales.catalog-snapshot.refresh-interval-ms:500}")
+    public synchronized void refresh() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        Instant checkedAt = Instant.now();
+        try {
+            // the fingerprint and the pages are read in one transaction on the primary, so a
+            // lagging replica can never store older pages under a newer fingerprint
+            Boolean current = ReplicaRoutingDataSource.onPrimary(() -> transactionTemplate.execute(status -> {
+                CatalogFingerprint fingerprint = productRepository.findFingerprint();
+                Snapshot previous = snapshot;
+                if (previous != null && previous.fingerprint().equals(fingerprint)) {
+                    return true;
+                }
+                if (previous != null
+                        && Duration.between(builtAt, checkedAt).compareTo(properties.getMinRebuildInterval()) < 0) {
+                    return false;
+                }
+                snapshot = build(previous, fingerprint);
+                builtAt = checkedAt;
+                log.debug("Catalog snapshot {} built from {}", snapshot.version(), fingerprint);
+                return true;
+            }));
+            if (Boolean.TRUE.equals(current)) {
+                verifiedAt = checkedAt;
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Catalog snapshot refresh failed, retrying on next run", ex);
+        }
+    }
+
+    private Snapshot current(int limit) {
+        Snapshot current = snapshot;
+        if (limit != PAGE_SIZE || current == null
+                || Duration.between(verifiedAt, Instant.now()).compareTo(properties.getMaxStaleness()) > 0) {
+            return null;
+        }
+        return current;
+    }
+
+    /**
+     * Builds the next snapshot from the catalog's versions, reusing the products and pages of
+     * {@code previous} that did not change.
+     */
+    private Snapshot build(Snapshot previous, CatalogFingerprint fingerprint) {
+        List<VersionRow> versions = new ArrayList<>();
+        List<VersionRow> chunk;
+        do {
+            long after = versions.isEmpty() ? 0 : versions.get(versions.size() - 1).id();
+            chunk = productRepository.findVersionsAfter(after, Limit.of(CursorPage.MAX_LIMIT));
+            versions.addAll(chunk);
+        } while (chunk.size() == CursorPage.MAX_LIMIT && versions.size() <= properties.getMaxProducts());
+        boolean complete = chunk.size() < CursorPage.MAX_LIMIT;
+
+        Map<Long, ProductDTO> known = new HashMap<>();
+        if (previous != null) {
+            previous.products().forEach(product -> known.put(product.getId(), product));
+        }
+        List<Long> changed = versions.stream()
+                .filter(row -> known.get(row.id()) == null || !known.get(row.id()).getVersion().equals(row.version()))
+                .map(VersionRow::id)
+                .toList();
+        for (int from = 0; from < changed.size(); from += CursorPage.MAX_LIMIT) {
+            productRepository.findByIdInOrderByIdAsc(changed.subList(from, Math.min(from + CursorPage.MAX_LIMIT, changed.size())))
+                    .forEach(product -> known.put(product.getId(), productService.toDTO(product)));
+        }
+        List<ProductDTO> products = versions.stream().map(row -> known.get(row.id())).toList();
+
+        List<ProductDTO> inStock = products.stream().filter(product -> product.getStockQuantity() > 0).toList();
+        return new Snapshot(previous == null ? 1 : previous.version() + 1, fingerprint, products,
+                pages(products, complete, previous == null ? Map.of() : previous.all()),
+                pages(inStock, complete, previous == null ? Map.of() : previous.inStock()));
+    }
+
+    /**
+     * Splits a listing into default-size pages keyed by cursor. Without the complete catalog, a
+     * page is only built when the row after it is known, since that row decides its next cursor.
+     * A page of {@code previous} with the same cursor and versions holds the same bytes and is
+     * kept as is.
+     */
+    private Map<Long, Page> pages(List<ProductDTO> products, boolean complete, Map<Long, Page> previous) {
+        Map<Long, Page> pages = new HashMap<>();
+        long cursor = 0;
+        for (int from = 0; from == 0 || from < products.size(); from += PAGE_SIZE) {
+            int to = Math.min(from + PAGE_SIZE, products.size());
+            if (!complete && to == products.size()) {
+                break;
+            }
+            List<ProductDTO> items = products.subList(from, to);
+            Long nextCursor = to < products.size() ? items.get(items.size() - 1).getId() : null;
+            List<VersionRow> versions = products.subList(from, Math.min(to + 1, products.size())).stream()
+                    .map(product -> new VersionRow(product.getId(), product.getVersion()))
+                    .toList();
+            Page page = previous.get(cursor);
+            if (page == null || !page.versions().equals(versions)) {
+                byte[] json = toJson(items);
+                page = new Page(json, gzip(json), nextCursor, versions);
+            }
+            pages.put(cursor, page);
+            if (nextCursor == null) {
+                break;
+            }
+            cursor = nextCursor;
+        }
+        return pages;
+    }
+
+    private byte[] toJson(List<ProductDTO> items) {
+        try {
+            return objectMapper.writeValueAsBytes(items);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Catalog page could not be serialized", ex);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            gzip.write(json);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * One pre-serialized page. {@code versions} holds the ids and versions of its products and of
+     * the product after it, from which its entity tag is derived like that of a page read from the
+     * database.
+     */
+    public record Page(byte[] json, byte[] gzip, Long nextCursor, List<VersionRow> versions) {
+    }
+
+    private record Snapshot(long version, CatalogFingerprint fingerprint, List<ProductDTO> products,
+                            Map<Long, Page> all, Map<Long, Page> inStock) {
+    }
+}
@@ -1,29 +1,36 @@
 package com.sales.api.service;
 
+import com.sales.api.dto.CursorPage;
 import com.sales.api.dto.CustomerDTO;
 import com.sales.api.dto.CustomerRequestDTO;
+import com.sales.api.dto.CustomerSummaryDTO;
+import com.sales.api.dto.VersionRow;
 import com.sales.api.entity.Customer;
+import com.sales.api.entity.CustomerSummary;
 import com.sales.api.exception.BusinessException;
 import com.sales.api.exception.ResourceNotFoundException;
 import com.sales.api.repository.CustomerRepository;
+import com.sales.api.repository.CustomerSummaryRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class CustomerService {
 
     private final CustomerRepository customerRepository;
+    private final CustomerSummaryRepository customerSummaryRepository;
 
     @Transactional(readOnly = true)
-    public List<CustomerDTO> findAll() {
-        return customerRepository.findAll().stream()
-                .map(this::toDTO)
-                .collect(Collectors.toList());
+    public CursorPage<CustomerDTO> findAll(Long after, int limit) {
+        List<Customer> rows = customerRepository.findByIdGreaterThanOrderByIdAsc(
+                CursorPage.after(after), Limit.of(CursorPage.checkLimit(limit) + 1));
+        return CursorPage.of(rows, limit, Customer::getId, this::toDTO);
     }
 
     @Transactional(readOnly = true)
@@ -33,6 +40,41 @@ public class CustomerService {
         return toDTO(customer);
     }
 
+    /**
+     * The version of a customer, read without loading it.
+     */
+    @Transactional(readOnly = true)
+    public long findVersion(Long id) {
+        return customerRepository.findVersionById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Customer", "id", id));
+    }
+
+    @Transactional(readOnly = true)
+    public List<VersionRow> findVersions(Long after, int limit) {
+        return customerRepository.findVersionsAfter(CursorPage.after(after), Limit.of(CursorPage.checkLimit(limit) + 1));
+    }
+
+    /**
+     * Lifetime order count and value and open balance of a customer, read from its summary row
+     * rather than from the orders. A customer without orders has no row yet.
+     */
+    @Transactional(readOnly = true)
+    public CustomerSummaryDTO findSummary(Long id) {
+        CustomerSummary summary = customerSummaryRepository.findById(id).orElse(null);
+        if (summary == null) {
+            if (!customerRepository.existsById(id)) {
+                throw new ResourceNotFoundException("Customer", "id", id);
+            }
+            return new CustomerSummaryDTO(id, 0L, BigDecimal.ZERO.setScale(2), BigDecimal.ZERO.setScale(2));
+        }
+        return CustomerSummaryDTO.builder()
+                .customerId(summary.getCustomerId())
+                .orderCount(summary.getOrderCount())
+                .lifetimeValue(summary.getLifetimeValue())
+                .openBalance(summary.getOpenBalance())
+                .build();
+    }
+
     @Transactional
     public CustomerDTO create(CustomerRequestDTO request) {
         if (customerRepository.existsByEmail(request.getEmail())) {
@@ -75,6 +117,7 @@ public class CustomerService {
         if (!customerRepository.existsById(id)) {
             throw new ResourceNotFoundException("Customer", "id", id);
         }
+        customerSummaryRepository.deleteByCustomerId(id);
         customerRepository.deleteById(id);
     }
 
@@ -0,0 +1,140 @@
+package com.sales.api.service;
+
+import com.sales.api.config.CustomerSummaryProperties;
+import com.sales.api.entity.CustomerSummary;
+import com.sales.api.repository.CustomerRepository;
+import com.sales.api.repository.CustomerSummaryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Repairs customer summaries that drifted from the orders, after a failed write or a manual fix
+ * in the database.
+ * <p>
+ * Customers are checked in chunks of {@code sales.customer-summary.batch-size}, each in a
+ * transaction of its own. The chunk's summary rows are locked before the orders are read, so an
+ * order committed meanwhile is either counted by the read or added to the repaired row after it.
+ */
+@Slf4j
+@Service
+public class CustomerSummaryService {
+
+    private static final String SUMMARIZE_ORDERS =
+            "SELECT customer_id, COUNT(*) AS order_count, SUM(total_amount) AS lifetime_value, " +
+            "COALESCE(SUM(CASE WHEN status <> 'DELIVERED' THEN total_amount END), 0) AS open_balance " +
+            "FROM all_orders WHERE status <> 'CANCELLED' AND customer_id > ? AND customer_id <= ? " +
+            "GROUP BY customer_id";
+
+    private final CustomerRepository customerRepository;
+    private final CustomerSummaryRepository customerSummaryRepository;
+    private final CustomerSummaryProperties properties;
+    private final SalesMetrics salesMetrics;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public CustomerSummaryService(CustomerRepository customerRepository,
+                                  CustomerSummaryRepository customerSummaryRepository,
+                                  CustomerSummaryProperties properties,
+                                  SalesMetrics salesMetrics,
+                                  JdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager) {
+        this.customerRepository = customerRepository;
+        this.customerSummaryRepository = customerSummaryRepository;
+        this.properties = properties;
+        this.salesMetrics = salesMetrics;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(fixedDelayString = "${sales.customer-summary.reconcile-interval-ms:3600000}",
+            initialDelayString = "${sales.customer-summary.reconcile-interval-ms:3600000}")
+    public void scheduledReconcile() {
+        if (!properties.isReconcileEnabled()) {
+            return;
+        }
+        try {
+            reconcile();
+        } catch (RuntimeException ex) {
+            log.warn("Customer summary reconciliation failed, retrying on next run", ex);
+        }
+    }
+
+    /**
+     * Recomputes the summary of every customer from the orders and rewrites those that differ.
+     *
+     * @return the number of summaries repaired
+     */
+    public synchronized int reconcile() {
+        int repaired = 0;
+        long after = 0;
+        Chunk chunk;
+        do {
+            long from = after;
+            chunk = transactionTemplate.execute(status -> reconcileChunk(from));
+            repaired += chunk.repaired();
+            after = chunk.lastCustomerId();
+        } while (chunk.customers() == properties.getBatchSize());
+
+        salesMetrics.summariesRepaired(repaired);
+        log.debug("Reconciled customer summaries, {} repaired", repaired);
+        return repaired;
+    }
+
+    private Chunk reconcileChunk(long after) {
+        List<Long> customerIds = customerRepository.findIdsAfter(after, Limit.of(properties.getBatchSize()));
+        if (customerIds.isEmpty()) {
+            return new Chunk(0, after, 0);
+        }
+        long last = customerIds.get(customerIds.size() - 1);
+
+        Map<Long, CustomerSummary> summaries = customerSummaryRepository.findAllByIdForUpdate(customerIds).stream()
+                .collect(Collectors.toMap(CustomerSummary::getCustomerId, Function.identity()));
+        Map<Long, CustomerSummary> actual = new HashMap<>();
+        jdbcTemplate.query(SUMMARIZE_ORDERS, rs -> {
+            CustomerSummary summary = new CustomerSummary(rs.getLong("customer_id"), rs.getLong("order_count"),
+                    rs.getBigDecimal("lifetime_value"), rs.getBigDecimal("open_balance"));
+            actual.put(summary.getCustomerId(), summary);
+        }, after, last);
+
+        int repaired = 0;
+        for (Long customerId : customerIds) {
+            CustomerSummary expected = actual.getOrDefault(customerId,
+                    new CustomerSummary(customerId, 0L, BigDecimal.ZERO, BigDecimal.ZERO));
+            CustomerSummary current = summaries.get(customerId);
+            if (current == null ? expected.getOrderCount() == 0 : matches(current, expected)) {
+                continue;
+            }
+            log.info("Repairing summary of customer {}: {} instead of {}", customerId, expected, current);
+            if (current == null) {
+                customerSummaryRepository.save(expected);
+            } else {
+                current.setOrderCount(expected.getOrderCount());
+                current.setLifetimeValue(expected.getLifetimeValue());
+                current.setOpenBalance(expected.getOpenBalance());
+            }
+            repaired++;
+        }
+        return new Chunk(customerIds.size(), last, repaired);
+    }
+
+    private static boolean matches(CustomerSummary current, CustomerSummary expected) {
+        return current.getOrderCount().equals(expected.getOrderCount())
+                && current.getLifetimeValue().compareTo(expected.getLifetimeValue()) == 0
+                && current.getOpenBalance().compareTo(expected.getOpenBalance()) == 0;
+    }
+
+    private record Chunk(int customers, long lastCustomerId, int repaired) {
+    }
+}
@@ -0,0 +1,351 @@
+package com.sales.api.service;
+
+import com.sales.api.config.CacheConfig;
+import com.sales.api.config.FlashSaleProperties;
+import com.sales.api.dto.OrderItemRequestDTO;
+import com.sales.api.entity.Product;
+import com.sales.api.exception.BusinessException;
+import com.sales.api.exception.ResourceNotFoundException;
+import com.sales.api.repository.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory stock admission for products flagged for a flash sale.
+ * <p>
+ * While a product is flagged its available stock lives in a per-product lane. Order lines
+ * are admitted or rejected with a compare-and-set on that lane, so concurrent checkouts never
+ * queue on the product row. Confirmed decrements accumulate in the lane and the scheduled
+ * {@link #flush()} is the only writer of the row, applying them in batches.
+ */
+@Slf4j
+@Service
+public class FlashSaleService {
+
+    private final ProductRepository productRepository;
+    private final CacheService cacheService;
+    private final SalesMetrics salesMetrics;
+    private final FlashSaleProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<Long, Lane> lanes = new ConcurrentHashMap<>();
+
+    public FlashSaleService(ProductRepository productRepository,
+                            CacheService cacheService,
+                            SalesMetrics salesMetrics,
+                            FlashSaleProperties properties,
+                            PlatformTransactionManager transactionManager) {
+        this.productRepository = productRepository;
+        this.cacheService = cacheService;
+        this.salesMetrics = salesMetrics;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Opens a lane holding the product's whole unreserved stock. The units are reserved in the
+     * database first, so nothing else can sell them while the lane does.
+     */
+    public void enable(Long productId) {
+        if (!properties.isEnabled()) {
+            throw new BusinessException("Flash-sale mode is disabled");
+        }
+        Lane lane = transactionTemplate.execute(status -> {
+            Product product = productRepository.findAllByIdForUpdate(List.of(productId)).stream()
+                    .findFirst()
+                    .orElseThrow(() -> new ResourceNotFoundException("Product", "id", productId));
+            if (lanes.containsKey(productId) || product.getFlashSaleReserved() > 0) {
+                throw new BusinessException("Product is already in a flash sale: " + product.getName());
+            }
+            productRepository.reserveStock(productId, product.unreservedStock(), instanceId());
+            return new Lane(product.getId(), product.getName(), product.unreservedStock());
+        });
+        if (lanes.putIfAbsent(productId, lane) != null) {
+            // enabled concurrently on this instance, which holds the reservation
+            throw new BusinessException("Product is already in a flash sale: " + lane.productName);
+        }
+    }
+
+    public void disable(Long productId) {
+        Lane lane = lanes.get(productId);
+        if (lane == null) {
+            throw new ResourceNotFoundException("Flash sale", "productId", productId);
+        }
+        lane.closed = true;
+        flush();
+    }
+
+    public boolean isActive(Long productId) {
+        Lane lane = lanes.get(productId);
+        return lane != null && !lane.closed;
+    }
+
+    /**
+     * Admits the order lines that target flash-sale products. Lines for other products are
+     * left to the regular database path. When called inside a transaction the reservation is
+     * confirmed on commit and released on rollback.
+     */
+    public Reservation reserve(List<OrderItemRequestDTO> items) {
+        if (lanes.isEmpty()) {
+            return Reservation.EMPTY;
+        }
+
+        Reservation reservation = new Reservation();
+        try {
+            for (OrderItemRequestDTO item : items) {
+                Lane lane = lanes.get(item.getProductId());
+                if (lane != null && lane.tryEnter()) {
+                    reservation.add(lane);
+                    if (!lane.tryTake(item.getQuantity())) {
+                        throw new BusinessException("Insufficient stock for product: " + lane.productName);
+                    }
+                    reservation.take(lane, item.getQuantity());
+                }
+            }
+        } catch (RuntimeException ex) {
+            release(reservation);
+            throw ex;
+        }
+
+        if (!reservation.isEmpty() && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        confirm(reservation);
+                    } else {
+                        release(reservation);
+                    }
+                }
+            });
+        }
+        return reservation;
+    }
+
+    public void confirm(Reservation reservation) {
+        if (!reservation.settle()) {
+            return;
+        }
+        reservation.taken.forEach((lane, quantity) -> lane.unflushed.addAndGet(quantity));
+        reservation.entered.forEach(Lane::exit);
+    }
+
+    public void release(Reservation reservation) {
+        if (!reservation.settle()) {
+            return;
+        }
+        reservation.taken.forEach((lane, quantity) -> lane.available.addAndGet(quantity));
+        reservation.entered.forEach(Lane::exit);
+    }
+
+    /**
+     * Returns stock to an open lane together with the surrounding transaction, which has
+     * incremented the product's stock by {@code quantity}. The units are reserved for the lane
+     * in that transaction and become available to it once the transaction commits.
+     */
+    public void restock(Long productId, int quantity) {
+        Lane lane = lanes.get(productId);
+        if (lane == null || !lane.tryEnter()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> productRepository.reserveStock(productId, quantity, instanceId()));
+        } catch (RuntimeException ex) {
+            lane.exit();
+            throw ex;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        lane.available.addAndGet(quantity);
+                    }
+                    lane.exit();
+                }
+            });
+        } else {
+            lane.available.addAndGet(quantity);
+            lane.exit();
+        }
+    }
+
+    /**
+     * Lanes live in memory only, so reservations left by a previous run of this instance are
+     * released when it starts. Reservations owned by other instances are theirs to release, and
+     * nothing is released while flash sales are disabled.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void releaseAbandonedReservations() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        String owner = instanceId();
+        Integer released = transactionTemplate.execute(status -> productRepository.releaseReservedStockOf(owner));
+        if (released != null && released > 0) {
+            log.warn("Released the flash-sale reservations of {} product(s) left by a previous run of {}",
+                    released, owner);
+        }
+    }
+
+    private String instanceId() {
+        if (properties.getInstanceId() != null && !properties.getInstanceId().isBlank()) {
+            return properties.getInstanceId();
+        }
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException ex) {
+            throw new IllegalStateException("Cannot resolve the host name, set sales.flash-sale.instance-id", ex);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${sales.flash-sale.flush-interval-ms:200}")
+    public synchronized void flush() {
+        if (lanes.isEmpty()) {
+            return;
+        }
+
+        Map<Lane, Integer> drained = new HashMap<>();
+        for (Lane lane : lanes.values()) {
+            int pending = lane.unflushed.getAndSet(0);
+            if (pending > 0) {
+                drained.put(lane, pending);
+            }
+        }
+
+        if (!drained.isEmpty()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> drained.forEach((lane, pending) -> {
+                    if (productRepository.takeReservedStock(lane.productId, pending) == 0) {
+                        throw new IllegalStateException("Flash-sale reservation of product " + lane.productId
+                                + " is smaller than the " + pending + " units sold");
+                    }
+                }));
+            } catch (RuntimeException ex) {
+                log.warn("Flash-sale flush failed, retrying on next run", ex);
+                salesMetrics.flashSaleFlushFailed();
+                drained.forEach((lane, pending) -> lane.unflushed.addAndGet(pending));
+                return;
+            }
+            cacheService.evict(CacheConfig.PRODUCTS,
+                    drained.keySet().stream().map(lane -> lane.productId).collect(Collectors.toList()));
+        }
+
+        List<Lane> ended = lanes.values().stream()
+                .filter(lane -> lane.closed && lane.inFlight.get() == 0 && lane.unflushed.get() == 0)
+                .toList();
+        if (!ended.isEmpty()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> ended.forEach(lane ->
+                        productRepository.releaseReservedStock(lane.productId, lane.available.get())));
+            } catch (RuntimeException ex) {
+                log.warn("Releasing flash-sale stock failed, retrying on next run", ex);
+                return;
+            }
+            ended.forEach(lane -> lanes.remove(lane.productId, lane));
+        }
+    }
+
+    public static final class Reservation {
+
+        public static final Reservation EMPTY = new Reservation(Collections.emptyList(), Collections.emptyMap());
+
+        private final List<Lane> entered;
+        private final Map<Lane, Integer> taken;
+        private boolean settled;
+
+        private Reservation() {
+            this(new ArrayList<>(), new HashMap<>());
+        }
+
+        private Reservation(List<Lane> entered, Map<Lane, Integer> taken) {
+            this.entered = entered;
+            this.taken = taken;
+        }
+
+        public boolean covers(Long productId) {
+            return taken.keySet().stream().anyMatch(lane -> lane.productId.equals(productId));
+        }
+
+        public boolean isEmpty() {
+            return entered.isEmpty();
+        }
+
+        /**
+         * Marks the reservation as confirmed or released, so a reservation released early
+         * is not confirmed again when its transaction commits.
+         */
+        private boolean settle() {
+            if (isEmpty() || settled) {
+                return false;
+            }
+            settled = true;
+            return true;
+        }
+
+        private void add(Lane lane) {
+            entered.add(lane);
+        }
+
+        private void take(Lane lane, int quantity) {
+            taken.merge(lane, quantity, Integer::sum);
+        }
+    }
+
+    private static final class Lane {
+
+        private final Long productId;
+        private final String productName;
+        private final AtomicInteger available;
+        private final AtomicInteger unflushed = new AtomicInteger();
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private volatile boolean closed;
+
+        private Lane(Long productId, String productName, int available) {
+            this.productId = productId;
+            this.productName = productName;
+            this.available = new AtomicInteger(available);
+        }
+
+        private boolean tryEnter() {
+            inFlight.incrementAndGet();
+            if (closed) {
+                inFlight.decrementAndGet();
+                return false;
+            }
+            return true;
+        }
+
+        private void exit() {
+            inFlight.decrementAndGet();
+        }
+
+        private boolean tryTake(int quantity) {
+            int current;
+            do {
+                current = available.get();
+                if (current < quantity) {
+                    return false;
+                }
+            } while (!available.compareAndSet(current, current - quantity));
+            return true;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.sales.api.service;
+
+import com.sales.api.config.OrderArchiveProperties;
+import com.sales.api.entity.OrderStatus;
+import com.sales.api.repository.ArchivedOrderItemRepository;
+import com.sales.api.repository.ArchivedOrderRepository;
+import com.sales.api.repository.OrderItemRepository;
+import com.sales.api.repository.OrderRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Moves closed orders out of {@code orders} and {@code order_items} into the archive tables, so
+ * the hot tables and their indexes only hold recent and open orders.
+ * <p>
+ * Orders are moved in chunks, each in a transaction of its own: the chunk's orders are locked,
+ * copied with their items and deleted, so an order is in exactly one of the two places at any
+ * commit. Archived orders keep their ids and are still found by {@link OrderService#findById} and
+ * {@link OrderService#findByCustomerId}.
+ */
+@Slf4j
+@Service
+public class OrderArchiveService {
+
+    static final Set<OrderStatus> CLOSED = EnumSet.of(OrderStatus.DELIVERED, OrderStatus.CANCELLED);
+
+    private final OrderRepository orderRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final ArchivedOrderRepository archivedOrderRepository;
+    private final ArchivedOrderItemRepository archivedOrderItemRepository;
+    private final OrderArchiveProperties properties;
+    private final SalesMetrics salesMetrics;
+    private final TransactionTemplate transactionTemplate;
+
+    public OrderArchiveService(OrderRepository orderRepository,
+                               OrderItemRepository orderItemRepository,
+                               ArchivedOrderRepository archivedOrderRepository,
+                               ArchivedOrderItemRepository archivedOrderItemRepository,
+                               OrderArchiveProperties properties,
+                               SalesMetrics salesMetrics,
+                               PlatformTransactionManager transactionManager) {
+        this.orderRepository = orderRepository;
+        this.orderItemRepository = orderItemRepository;
+        this.archivedOrderRepository = archivedOrderRepository;
+        this.archivedOrderItemRepository = archivedOrderItemRepository;
+        this.properties = properties;
+        this.salesMetrics = salesMetrics;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(fixedDelayString = "${sales.order-archive.interval-ms:3600000}",
+            initialDelayString = "${sales.order-archive.interval-ms:3600000}")
+    public void scheduledArchive() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            archive();
+        } catch (RuntimeException ex) {
+            log.warn("Order archiving failed, retrying on next run", ex);
+        }
+    }
+
+    /**
+     * Archives every closed order placed more than {@code sales.order-archive.age} ago.
+     *
+     * @return the number of orders archived
+     */
+    public synchronized int archive() {
+        LocalDateTime before = LocalDateTime.now().minus(properties.getAge());
+        int archived = 0;
+        int moved;
+        do {
+            moved = transactionTemplate.execute(status -> archiveChunk(before));
+            archived += moved;
+        } while (moved == properties.getBatchSize());
+
+        salesMetrics.ordersArchived(archived);
+        log.debug("Archived {} orders placed before {}", archived, before);
+        return archived;
+    }
+
+    private int archiveChunk(LocalDateTime before) {
+        List<Long> ids = orderRepository.findIdsForArchiving(CLOSED, before, Limit.of(properties.getBatchSize()));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        archivedOrderRepository.copy(ids);
+        archivedOrderItemRepository.copy(ids);
+        orderItemRepository.deleteByOrderIds(ids);
+        orderRepository.deleteByIds(ids);
+        return ids.size();
+    }
+}
@@ -0,0 +1,385 @@
+package com.sales.api.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sales.api.config.OrderEventProperties;
+import com.sales.api.config.ReplicaRoutingDataSource;
+import com.sales.api.dto.OrderDTO;
+import com.sales.api.dto.OrderEventDTO;
+import com.sales.api.entity.OrderEvent;
+import com.sales.api.entity.OrderEventStream;
+import com.sales.api.entity.OrderEventType;
+import com.sales.api.repository.OrderEventRepository;
+import com.sales.api.repository.OrderEventStreamRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Transactional outbox for order changes, streamed to subscribers as server-sent events.
+ * <p>
+ * {@link #record} writes an {@link OrderEvent} in the transaction that changes the order, so an
+ * event exists exactly when its change is committed. Ids are taken from a pooled sequence and
+ * commit in any order, so the scheduled {@link #dispatch()} gives committed events a stream
+ * position while holding the lock of {@link OrderEventStream}: positions are committed in
+ * increasing order on every instance. Each instance then sends the events after its own cursor,
+ * in position order, to its subscribers. The position is the event id seen by clients; a
+ * subscriber resuming from one first receives the events it missed, then live ones, each at
+ * most once. The dispatch only queues events: each subscriber writes its own on a virtual thread.
+ */
+@Slf4j
+@Service
+public class OrderEventService {
+
+    public static final String RESET_EVENT = "RESET";
+
+    private final OrderEventRepository orderEventRepository;
+    private final OrderEventStreamRepository orderEventStreamRepository;
+    private final ObjectMapper objectMapper;
+    private final OrderEventProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Queue<Subscriber> joining = new ConcurrentLinkedQueue<>();
+    private final Executor sender = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("order-events-", 0).factory());
+    private final AtomicBoolean pending = new AtomicBoolean();
+    private Long cursor;
+    private long nextSharedPoll;
+
+    public OrderEventService(OrderEventRepository orderEventRepository,
+                             OrderEventStreamRepository orderEventStreamRepository,
+                             ObjectMapper objectMapper,
+                             OrderEventProperties properties,
+                             PlatformTransactionManager transactionManager,
+                             MeterRegistry registry) {
+        this.orderEventRepository = orderEventRepository;
+        this.orderEventStreamRepository = orderEventStreamRepository;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        Gauge.builder("sales.order.events.subscribers", subscribers, Set::size)
+                .description("Open order event streams")
+                .register(registry);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(OrderEventType type, OrderDTO order) {
+        orderEventRepository.save(OrderEvent.builder()
+                .orderId(order.getId())
+                .type(type)
+                .status(order.getStatus())
+                .payload(toJson(order))
+                .build());
+        dispatchAfterCommit();
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDeleted(Long orderId) {
+        orderEventRepository.save(OrderEvent.builder()
+                .orderId(orderId)
+                .type(OrderEventType.DELETED)
+                .build());
+        dispatchAfterCommit();
+    }
+
+    /**
+     * Opens a stream of order events. With a {@code lastEventId}, the published events after it
+     * are replayed first; a {@value #RESET_EVENT} event is sent instead when they are too many or
+     * no longer retained. The stream is joined by the next {@link #dispatch()}, so nothing is
+     * written on the request thread.
+     */
+    public SseEmitter subscribe(Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(properties.getSubscriptionTimeout().toMillis());
+        Subscriber subscriber = new Subscriber(emitter, lastEventId);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(ex -> remove(subscriber));
+
+        joining.add(subscriber);
+        pending.set(true);
+        return emitter;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        pending.set(true);
+        dispatch();
+    }
+
+    /**
+     * Runs after a commit on this instance recorded events, and every
+     * {@code sales.order-events.shared-poll-interval} for the events of other instances.
+     */
+    @Scheduled(fixedDelayString = "${sales.order-events.poll-interval-ms:200}")
+    public synchronized void dispatch() {
+        boolean shared = System.nanoTime() - nextSharedPoll >= 0;
+        if (!pending.getAndSet(false) && !shared) {
+            return;
+        }
+        nextSharedPoll = System.nanoTime() + properties.getSharedPollInterval().toNanos();
+        join();
+
+        try {
+            if (cursor == null) {
+                // events positioned before this instance started have no subscriber here to receive them
+                cursor = ReplicaRoutingDataSource.onPrimary(orderEventStreamRepository::findLastPosition);
+            }
+            int positioned;
+            do {
+                positioned = position();
+            } while (positioned == properties.getBatchSize());
+
+            List<OrderEvent> batch;
+            do {
+                long after = cursor;
+                batch = ReplicaRoutingDataSource.onPrimary(() -> orderEventRepository
+                        .findByPositionGreaterThanOrderByPositionAsc(after, Limit.of(properties.getBatchSize())));
+                if (!batch.isEmpty()) {
+                    List<OrderEventDTO> events = batch.stream().map(this::toDTO).toList();
+                    subscribers.forEach(subscriber -> subscriber.send(events));
+                    cursor = batch.get(batch.size() - 1).getPosition();
+                }
+            } while (batch.size() == properties.getBatchSize());
+        } catch (RuntimeException ex) {
+            log.warn("Order event dispatch failed, retrying on next run", ex);
+            pending.set(true);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${sales.order-events.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        subscribers.forEach(Subscriber::heartbeat);
+    }
+
+    /**
+     * Ends every open stream, so clients reconnect and resume from their last event elsewhere.
+     */
+    @PreDestroy
+    public void close() {
+        joining.clear();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    @Scheduled(fixedDelay = 1, initialDelay = 1, timeUnit = TimeUnit.HOURS)
+    public void purge() {
+        LocalDateTime before = LocalDateTime.now().minus(properties.getRetention());
+        Integer deleted = transactionTemplate.execute(status -> orderEventRepository.deletePublishedBefore(before));
+        log.debug("Purged {} order events published before {}", deleted, before);
+    }
+
+    /**
+     * Starts the streams opened since the last run: a heartbeat commits the response headers, then
+     * the missed events are replayed. Runs before the new events are sent, so none is skipped.
+     */
+    private void join() {
+        Subscriber subscriber;
+        while ((subscriber = joining.poll()) != null) {
+            subscribers.add(subscriber);
+            subscriber.heartbeat();
+            if (subscriber.lastEventId != null) {
+                replay(subscriber, subscriber.lastEventId);
+            }
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        joining.remove(subscriber);
+        subscribers.remove(subscriber);
+    }
+
+    private void replay(Subscriber subscriber, Long lastEventId) {
+        // the replay must reach the last event dispatched live, which a lagging replica may lack
+        List<OrderEvent> missed = ReplicaRoutingDataSource.onPrimary(() -> orderEventRepository
+                .findByPositionGreaterThanOrderByPositionAsc(lastEventId, Limit.of(properties.getReplayLimit() + 1)));
+        if (missed.size() > properties.getReplayLimit()
+                || !ReplicaRoutingDataSource.onPrimary(() -> orderEventRepository.existsByPositionLessThanEqual(lastEventId))) {
+            subscriber.reset();
+            return;
+        }
+        subscriber.send(missed.stream().map(this::toDTO).toList());
+    }
+
+    /**
+     * Gives the next committed events without a position the following positions, in one
+     * transaction holding the stream lock. Events committed after the query get theirs next time.
+     *
+     * @return the number of events positioned
+     */
+    private int position() {
+        Integer positioned = transactionTemplate.execute(status -> {
+            if (!orderEventRepository.existsByPositionIsNull()) {
+                return 0;
+            }
+            OrderEventStream stream = orderEventStreamRepository.lock();
+            List<OrderEvent> events = orderEventRepository.findByPositionIsNullOrderByIdAsc(
+                    Limit.of(properties.getBatchSize()));
+            long position = stream.getLastPosition();
+            for (OrderEvent event : events) {
+                event.setPosition(++position);
+            }
+            stream.setLastPosition(position);
+            return events.size();
+        });
+        return positioned == null ? 0 : positioned;
+    }
+
+    private void dispatchAfterCommit() {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                pending.set(true);
+            }
+        });
+    }
+
+    private OrderEventDTO toDTO(OrderEvent event) {
+        return OrderEventDTO.builder()
+                .id(event.getPosition())
+                .type(event.getType())
+                .orderId(event.getOrderId())
+                .status(event.getStatus())
+                .occurredAt(event.getCreatedAt())
+                .order(event.getPayload() == null ? null : fromJson(event.getPayload()))
+                .build();
+    }
+
+    private String toJson(OrderDTO order) {
+        try {
+            return objectMapper.writeValueAsString(order);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Order " + order.getId() + " could not be serialized", ex);
+        }
+    }
+
+    private OrderDTO fromJson(String payload) {
+        try {
+            return objectMapper.readValue(payload, OrderDTO.class);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Order event payload could not be read", ex);
+        }
+    }
+
+    /**
+     * One open stream. Events are queued on the dispatch thread and written by a thread of the
+     * subscriber's own, so a slow client never holds up the others. Events at or before the last
+     * position queued are skipped, so an event replayed on joining is not delivered again by the
+     * dispatch. A subscriber whose queue is full has fallen too far behind: its queue is dropped
+     * and a {@value #RESET_EVENT} event sent in its place.
+     */
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> outbox;
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private Long lastEventId;
+        private volatile boolean closed;
+
+        private Subscriber(SseEmitter emitter, Long lastEventId) {
+            this.emitter = emitter;
+            this.outbox = new ArrayBlockingQueue<>(properties.getSubscriberBuffer());
+            this.lastEventId = lastEventId;
+        }
+
+        void send(List<OrderEventDTO> events) {
+            if (closed) {
+                return;
+            }
+            for (OrderEventDTO event : events) {
+                if (lastEventId != null && event.getId() <= lastEventId) {
+                    continue;
+                }
+                if (!outbox.offer(SseEmitter.event()
+                        .id(String.valueOf(event.getId()))
+                        .name(event.getType().name())
+                        .data(event, MediaType.APPLICATION_JSON))) {
+                    log.debug("Order event subscriber fell more than {} events behind, resetting",
+                            properties.getSubscriberBuffer());
+                    outbox.clear();
+                    reset();
+                    return;
+                }
+                lastEventId = event.getId();
+            }
+            flush();
+        }
+
+        void reset() {
+            if (closed) {
+                return;
+            }
+            lastEventId = null;
+            outbox.offer(SseEmitter.event().name(RESET_EVENT).data(""));
+            flush();
+        }
+
+        /**
+         * Dropped when the queue is full, since the writes already queued keep the stream alive.
+         */
+        void heartbeat() {
+            if (closed) {
+                return;
+            }
+            outbox.offer(SseEmitter.event().comment("keep-alive"));
+            flush();
+        }
+
+        private void flush() {
+            if (sending.compareAndSet(false, true)) {
+                sender.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                SseEmitter.SseEventBuilder event;
+                while (!closed && (event = outbox.poll()) != null) {
+                    emitter.send(event);
+                }
+            } catch (IOException | IllegalStateException ex) {
+                close();
+            } finally {
+                sending.set(false);
+            }
+            if (!closed && !outbox.isEmpty()) {
+                flush();
+            }
+        }
+
+        /**
+         * Drops a subscriber whose write failed; the container completes its request.
+         */
+        private void close() {
+            closed = true;
+            outbox.clear();
+            subscribers.remove(this);
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.sales.api.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.sales.api.config.OrderIntakeProperties;
+import com.sales.api.dto.OrderBatchResultDTO;
+import com.sales.api.dto.OrderIntakeDTO;
+import com.sales.api.dto.OrderRequestDTO;
+import com.sales.api.exception.BusinessException;
+import com.sales.api.exception.ResourceNotFoundException;
+import com.sales.api.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Accepts orders without creating them, so the request thread never holds a database connection.
+ * <p>
+ * Submissions wait in a bounded queue and are refused once it is full. A single worker drains the
+ * queue in groups and creates each group with {@link OrderService#createBatch}, one transaction per
+ * group. The outcome of each order is kept by tracking id until
+ * {@code sales.order-intake.result-retention} after the order was created or failed; a queued
+ * submission never expires. Outcomes are bounded by the queue capacity plus
+ * {@code sales.order-intake.expected-throughput} orders per second of retention, so a burst
+ * above the expected rate evicts outcomes early, and their tracking ids are no longer found.
+ * Queued submissions do not count towards the bound and are never evicted.
+ */
+@Slf4j
+@Service
+public class OrderIntakeService {
+
+    private static final long POLL_MILLIS = 100;
+    private static final long SHUTDOWN_MILLIS = 30_000;
+
+    private final OrderService orderService;
+    private final OrderIntakeProperties properties;
+    private final BlockingQueue<Submission> queue;
+    private final Cache<String, OrderIntakeDTO> outcomes;
+    private volatile boolean running;
+    private Thread worker;
+
+    public OrderIntakeService(OrderService orderService,
+                              OrderIntakeProperties properties,
+                              MeterRegistry registry) {
+        this.orderService = orderService;
+        this.properties = properties;
+        this.queue = new ArrayBlockingQueue<>(properties.getCapacity());
+        this.outcomes = Caffeine.newBuilder()
+                .maximumWeight(properties.getCapacity()
+                        + (long) properties.getExpectedThroughput() * properties.getResultRetention().toSeconds())
+                .weigher((String trackingId, OrderIntakeDTO outcome) ->
+                        outcome.getStatus() == OrderIntakeDTO.Status.QUEUED ? 0 : 1)
+                .expireAfter(new OutcomeExpiry(properties.getResultRetention()))
+                .build();
+        Gauge.builder("sales.orders.intake.queued", queue, BlockingQueue::size)
+                .description("Orders accepted and waiting to be created")
+                .register(registry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (!properties.isEnabled() || running) {
+            return;
+        }
+        running = true;
+        worker = new Thread(this::drain, "order-intake");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Creates the orders still queued, then stops the worker.
+     */
+    @PreDestroy
+    public synchronized void stop() throws InterruptedException {
+        running = false;
+        if (worker != null) {
+            worker.join(SHUTDOWN_MILLIS);
+            worker = null;
+        }
+    }
+
+    public OrderIntakeDTO submit(OrderRequestDTO request) {
+        if (!properties.isEnabled()) {
+            throw new BusinessException("Asynchronous order intake is disabled");
+        }
+        OrderIntakeDTO intake = OrderIntakeDTO.queued(UUID.randomUUID().toString());
+        outcomes.put(intake.getTrackingId(), intake);
+        if (!queue.offer(new Submission(intake, request))) {
+            outcomes.invalidate(intake.getTrackingId());
+            throw new ServiceUnavailableException("Order intake is full, retry later");
+        }
+        return intake;
+    }
+
+    public OrderIntakeDTO findByTrackingId(String trackingId) {
+        OrderIntakeDTO intake = outcomes.getIfPresent(trackingId);
+        if (intake == null) {
+            throw new ResourceNotFoundException("Order intake", "trackingId", trackingId);
+        }
+        return intake;
+    }
+
+    private void drain() {
+        List<Submission> group = new ArrayList<>(properties.getBatchSize());
+        while (running || !queue.isEmpty()) {
+            try {
+                Submission first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                group.add(first);
+                queue.drainTo(group, properties.getBatchSize() - 1);
+                process(group);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException ex) {
+                log.error("Order intake failed for {} orders", group.size(), ex);
+                group.forEach(submission -> complete(submission.intake().failed("Order could not be created")));
+            } finally {
+                group.clear();
+            }
+        }
+    }
+
+    /**
+     * Creates a group in one transaction. If the transaction itself fails, the orders are retried
+     * one by one so a single bad order cannot fail the rest of its group.
+     */
+    private void process(List<Submission> group) {
+        List<OrderBatchResultDTO> results;
+        try {
+            results = orderService.createBatch(group.stream().map(Submission::request).toList());
+        } catch (RuntimeException ex) {
+            log.warn("Group of {} orders failed, creating them one by one", group.size(), ex);
+            group.forEach(this::processOne);
+            return;
+        }
+        for (OrderBatchResultDTO result : results) {
+            OrderIntakeDTO intake = group.get(result.getIndex()).intake();
+            complete(result.isCreated() ? intake.created(result.getOrder()) : intake.failed(result.getError()));
+        }
+    }
+
+    private void processOne(Submission submission) {
+        try {
+            complete(submission.intake().created(orderService.create(submission.request())));
+        } catch (BusinessException | ResourceNotFoundException ex) {
+            complete(submission.intake().failed(ex.getMessage()));
+        } catch (RuntimeException ex) {
+            log.error("Order {} could not be created", submission.intake().getTrackingId(), ex);
+            complete(submission.intake().failed("Order could not be created"));
+        }
+    }
+
+    private void complete(OrderIntakeDTO outcome) {
+        outcomes.put(outcome.getTrackingId(), outcome);
+    }
+
+    private record Submission(OrderIntakeDTO intake, OrderRequestDTO request) {
+    }
+
+    /**
+     * Starts the retention of an outcome when it is replaced by the created or failed one.
+     */
+    private record OutcomeExpiry(Duration retention) implements Expiry<String, OrderIntakeDTO> {
+
+        @Override
+        public long expireAfterCreate(String trackingId, OrderIntakeDTO outcome, long currentTime) {
+            return outcome.getStatus() == OrderIntakeDTO.Status.QUEUED ? Long.MAX_VALUE : retention.toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String trackingId, OrderIntakeDTO outcome, long currentTime,
+                                      long currentDuration) {
+            return expireAfterCreate(trackingId, outcome, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String trackingId, OrderIntakeDTO outcome, long currentTime,
+                                    long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -1,114 +1,318 @@
 package com.sales.api.service;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.sales.api.config.CacheConfig;
 import com.sales.api.dto.*;
 import com.sales.api.entity.*;
 import com.sales.api.exception.BusinessException;
 import com.sales.api.exception.ResourceNotFoundException;
+import com.sales.api.repository.ArchivedOrderItemRepository;
+import com.sales.api.repository.ArchivedOrderRepository;
 import com.sales.api.repository.CustomerRepository;
+import com.sales.api.repository.OrderItemRepository;
 import com.sales.api.repository.OrderRepository;
 import com.sales.api.repository.ProductRepository;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class OrderService {
 
+    private static final int EXPORT_CHUNK_SIZE = 500;
+
     private final OrderRepository orderRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final ArchivedOrderRepository archivedOrderRepository;
+    private final ArchivedOrderItemRepository archivedOrderItemRepository;
     private final CustomerRepository customerRepository;
     private final ProductRepository productRepository;
     private final ProductService productService;
+    private final FlashSaleService flashSaleService;
+    private final CacheService cacheService;
+    private final SalesMetrics salesMetrics;
+    private final SalesRollupService salesRollupService;
+    private final OrderEventService orderEventService;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
 
+    /**
+     * Lists the orders in the hot tables only; archived orders are listed by customer or by
+     * status, and exported.
+     */
     @Transactional(readOnly = true)
-    public List<OrderDTO> findAll() {
-        return orderRepository.findAllWithItems().stream()
-                .map(this::toDTO)
-                .collect(Collectors.toList());
+    public CursorPage<OrderDTO> findAll(Long after, int limit) {
+        List<OrderSummaryRow> rows = orderRepository.findRowsAfter(
+                CursorPage.after(after), Limit.of(CursorPage.checkLimit(limit) + 1));
+        return toPage(rows, limit);
     }
 
+    /**
+     * Finds an order in the hot tables, then in the archive.
+     */
     @Transactional(readOnly = true)
     public OrderDTO findById(Long id) {
-        Order order = orderRepository.findByIdWithItems(id)
+        Order order = orderRepository.findByIdWithItems(id).orElse(null);
+        if (order != null) {
+            return toDTO(order);
+        }
+        OrderSummaryRow archived = archivedOrderRepository.findRowById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Order", "id", id));
-        return toDTO(order);
+        return archived.toDTO(archivedOrderItemRepository.findRowsByOrderIds(List.of(id)).stream()
+                .map(OrderItemRow::toDTO)
+                .collect(Collectors.toList()));
     }
 
+    /**
+     * Lists a customer's orders, hot and archived, merged in id order.
+     */
     @Transactional(readOnly = true)
-    public List<OrderDTO> findByCustomerId(Long customerId) {
-        return orderRepository.findByCustomerId(customerId).stream()
-                .map(this::toDTO)
-                .collect(Collectors.toList());
+    public CursorPage<OrderDTO> findByCustomerId(Long customerId, Long after, int limit) {
+        Limit rowLimit = Limit.of(CursorPage.checkLimit(limit) + 1);
+        List<OrderSummaryRow> hot = orderRepository.findRowsByCustomerIdAfter(customerId, CursorPage.after(after), rowLimit);
+        List<OrderSummaryRow> archived = archivedOrderRepository.findRowsByCustomerIdAfter(
+                customerId, CursorPage.after(after), rowLimit);
+        List<OrderSummaryRow> rows = CursorPage.merge(hot, archived, OrderSummaryRow::id, limit + 1);
+        return toPage(rows, limit, archived.stream().map(OrderSummaryRow::id).collect(Collectors.toSet()));
     }
 
+    /**
+     * Lists the orders in a status. Delivered and cancelled orders may have been archived, so
+     * those listings merge the archive in id order, as {@link #findByCustomerId} does.
+     */
     @Transactional(readOnly = true)
-    public List<OrderDTO> findByStatus(OrderStatus status) {
-        return orderRepository.findByStatus(status).stream()
-                .map(this::toDTO)
-                .collect(Collectors.toList());
+    public CursorPage<OrderDTO> findByStatus(OrderStatus status, Long after, int limit) {
+        Limit rowLimit = Limit.of(CursorPage.checkLimit(limit) + 1);
+        List<OrderSummaryRow> hot = orderRepository.findRowsByStatusAfter(status, CursorPage.after(after), rowLimit);
+        if (!status.isClosed()) {
+            return toPage(hot, limit);
+        }
+        List<OrderSummaryRow> archived = archivedOrderRepository.findRowsByStatusAfter(
+                status, CursorPage.after(after), rowLimit);
+        List<OrderSummaryRow> rows = CursorPage.merge(hot, archived, OrderSummaryRow::id, limit + 1);
+        return toPage(rows, limit, archived.stream().map(OrderSummaryRow::id).collect(Collectors.toSet()));
     }
 
-    @Transactional
-    public OrderDTO create(OrderRequestDTO request) {
-        Customer customer = customerRepository.findById(request.getCustomerId())
-                .orElseThrow(() -> new ResourceNotFoundException("Customer", "id", request.getCustomerId()));
+    /**
+     * The version of an order as {@link #findById} returns it, read without loading the order.
+     */
+    @Transactional(readOnly = true)
+    public long findVersion(Long id) {
+        return orderRepository.findVersionById(id)
+                .or(() -> archivedOrderRepository.findVersionById(id))
+                .orElseThrow(() -> new ResourceNotFoundException("Order", "id", id));
+    }
 
-        Order order = Order.builder()
-                .customer(customer)
-                .status(OrderStatus.PENDING)
-                .build();
+    @Transactional(readOnly = true)
+    public List<VersionRow> findVersions(Long after, int limit) {
+        return orderRepository.findVersionsAfter(CursorPage.after(after), Limit.of(CursorPage.checkLimit(limit) + 1));
+    }
 
-        for (OrderItemRequestDTO itemRequest : request.getItems()) {
-            Product product = productRepository.findById(itemRequest.getProductId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Product", "id", itemRequest.getProductId()));
+    @Transactional(readOnly = true)
+    public List<VersionRow> findVersionsByCustomerId(Long customerId, Long after, int limit) {
+        Limit rowLimit = Limit.of(CursorPage.checkLimit(limit) + 1);
+        return CursorPage.merge(
+                orderRepository.findVersionsByCustomerIdAfter(customerId, CursorPage.after(after), rowLimit),
+                archivedOrderRepository.findVersionsByCustomerIdAfter(customerId, CursorPage.after(after), rowLimit),
+                VersionRow::id, limit + 1);
+    }
 
-            if (product.getStockQuantity() < itemRequest.getQuantity()) {
-                throw new BusinessException("Insufficient stock for product: " + product.getName());
+    @Transactional(readOnly = true)
+    public List<VersionRow> findVersionsByStatus(OrderStatus status, Long after, int limit) {
+        Limit rowLimit = Limit.of(CursorPage.checkLimit(limit) + 1);
+        List<VersionRow> hot = orderRepository.findVersionsByStatusAfter(status, CursorPage.after(after), rowLimit);
+        if (!status.isClosed()) {
+            return hot;
+        }
+        return CursorPage.merge(
+                hot,
+                archivedOrderRepository.findVersionsByStatusAfter(status, CursorPage.after(after), rowLimit),
+                VersionRow::id, limit + 1);
+    }
+
+    /**
+     * Writes every order as newline-delimited JSON, the hot orders first and then the archived
+     * ones. Hot orders are read through a forward-only cursor and the persistence context is
+     * cleared after each chunk; archived orders are read in chunks by id, so memory use does
+     * not grow with the number of orders. Both are read from one snapshot, so an order
+     * archived during the export is written exactly once.
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public void export(OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(OrderDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        try (Stream<Order> orders = orderRepository.streamAll()) {
+            int written = 0;
+            for (Order order : (Iterable<Order>) orders::iterator) {
+                writer.writeValue(generator, toDTO(order));
+                generator.writeRaw('\n');
+                if (++written % EXPORT_CHUNK_SIZE == 0) {
+                    generator.flush();
+                    entityManager.clear();
+                }
             }
+        }
 
-            OrderItem item = OrderItem.builder()
-                    .product(product)
-                    .quantity(itemRequest.getQuantity())
-                    .unitPrice(product.getPrice())
-                    .build();
+        List<OrderSummaryRow> archived;
+        long after = CursorPage.after(null);
+        do {
+            archived = archivedOrderRepository.findRowsAfter(after, Limit.of(EXPORT_CHUNK_SIZE));
+            if (archived.isEmpty()) {
+                break;
+            }
+            Map<Long, List<OrderItemDTO>> itemsByOrder = itemsByOrder(archivedOrderItemRepository.findRowsByOrderIds(
+                    archived.stream().map(OrderSummaryRow::id).collect(Collectors.toList())).stream());
+            for (OrderSummaryRow row : archived) {
+                writer.writeValue(generator, row.toDTO(itemsByOrder.getOrDefault(row.id(), List.of())));
+                generator.writeRaw('\n');
+            }
+            generator.flush();
+            after = archived.get(archived.size() - 1).id();
+        } while (archived.size() == EXPORT_CHUNK_SIZE);
+        generator.flush();
+    }
+
+    @Transactional
+    public OrderDTO create(OrderRequestDTO request) {
+        Map<Long, Product> products;
+        Order order;
+        try {
+            FlashSaleService.Reservation reservation = flashSaleService.reserve(request.getItems());
 
-            order.addItem(item);
+            Customer customer = customerRepository.findById(request.getCustomerId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Customer", "id", request.getCustomerId()));
 
-            productService.updateStock(product.getId(), -itemRequest.getQuantity());
+            products = loadProducts(request.getItems(), reservation);
+            order = buildOrder(request, customer, products, reservation);
+        } catch (BusinessException ex) {
+            salesMetrics.stockRejected();
+            throw ex;
         }
 
-        order.calculateTotalAmount();
+        cacheService.evict(CacheConfig.PRODUCTS, products.keySet());
+
         Order saved = orderRepository.save(order);
-        return toDTO(saved);
+        salesRollupService.add(saved);
+        salesMetrics.ordersCreated(1);
+        OrderDTO created = toDTO(saved);
+        orderEventService.record(OrderEventType.CREATED, created);
+        return created;
+    }
+
+    /**
+     * Creates many orders in one transaction. Customers and products are loaded once for the
+     * whole batch and the inserts are sent as JDBC batches. Each order is validated against the
+     * stock left by the orders before it; an order that fails is reported in its result and
+     * does not prevent the others from being created.
+     */
+    @Transactional
+    public List<OrderBatchResultDTO> createBatch(List<OrderRequestDTO> requests) {
+        Map<Long, Customer> customers = customerRepository.findAllById(requests.stream()
+                        .map(OrderRequestDTO::getCustomerId)
+                        .collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(Customer::getId, Function.identity()));
+
+        TreeSet<Long> productIds = requests.stream()
+                .flatMap(request -> request.getItems().stream())
+                .map(OrderItemRequestDTO::getProductId)
+                .collect(Collectors.toCollection(TreeSet::new));
+        Map<Long, Product> products = productRepository.findAllByIdForUpdate(productIds).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        List<Order> orders = new ArrayList<>();
+        List<Integer> createdIndexes = new ArrayList<>();
+        int rejected = 0;
+        OrderBatchResultDTO[] results = new OrderBatchResultDTO[requests.size()];
+        for (int i = 0; i < requests.size(); i++) {
+            OrderRequestDTO request = requests.get(i);
+            FlashSaleService.Reservation reservation = FlashSaleService.Reservation.EMPTY;
+            try {
+                Customer customer = customers.get(request.getCustomerId());
+                if (customer == null) {
+                    throw new ResourceNotFoundException("Customer", "id", request.getCustomerId());
+                }
+                reservation = flashSaleService.reserve(request.getItems());
+                orders.add(buildOrder(request, customer, products, reservation));
+                createdIndexes.add(i);
+            } catch (BusinessException | ResourceNotFoundException ex) {
+                flashSaleService.release(reservation);
+                results[i] = OrderBatchResultDTO.failed(i, ex.getMessage());
+                if (ex instanceof BusinessException) {
+                    rejected++;
+                }
+            }
+        }
+        if (rejected > 0) {
+            salesMetrics.stockRejected(rejected);
+        }
+
+        cacheService.evict(CacheConfig.PRODUCTS, products.keySet());
+
+        List<Order> saved = orderRepository.saveAll(orders);
+        orderRepository.flush();
+        saved.forEach(salesRollupService::add);
+        salesMetrics.ordersCreated(saved.size());
+        for (int i = 0; i < saved.size(); i++) {
+            int index = createdIndexes.get(i);
+            OrderDTO created = toDTO(saved.get(i));
+            orderEventService.record(OrderEventType.CREATED, created);
+            results[index] = OrderBatchResultDTO.created(index, created);
+        }
+        return Arrays.asList(results);
     }
 
     @Transactional
     public OrderDTO updateStatus(Long id, OrderStatus status) {
-        Order order = orderRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Order", "id", id));
+        Order order = findChangeable(id);
 
         if (order.getStatus() == OrderStatus.CANCELLED) {
             throw new BusinessException("Cannot update status of a cancelled order");
         }
 
+        OrderStatus previous = order.getStatus();
         if (status == OrderStatus.CANCELLED && order.getStatus() != OrderStatus.CANCELLED) {
             for (OrderItem item : order.getItems()) {
                 productService.updateStock(item.getProduct().getId(), item.getQuantity());
+                flashSaleService.restock(item.getProduct().getId(), item.getQuantity());
             }
+            salesRollupService.subtract(order);
+            salesMetrics.orderCancelled();
         }
 
         order.setStatus(status);
+        if (status != OrderStatus.CANCELLED) {
+            salesRollupService.statusChanged(order, previous);
+        }
         Order updated = orderRepository.save(order);
-        return toDTO(updated);
+        OrderDTO result = toDTO(updated);
+        orderEventService.record(OrderEventType.STATUS_CHANGED, result);
+        return result;
     }
 
     @Transactional
     public void delete(Long id) {
-        Order order = orderRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Order", "id", id));
+        Order order = findChangeable(id);
 
         if (order.getStatus() != OrderStatus.PENDING && order.getStatus() != OrderStatus.CANCELLED) {
             throw new BusinessException("Cannot delete an order that is already being processed");
@@ -117,13 +321,131 @@ public class OrderService {
         if (order.getStatus() != OrderStatus.CANCELLED) {
             for (OrderItem item : order.getItems()) {
                 productService.updateStock(item.getProduct().getId(), item.getQuantity());
+                flashSaleService.restock(item.getProduct().getId(), item.getQuantity());
             }
+            salesRollupService.subtract(order);
         }
 
         orderRepository.deleteById(id);
+        orderEventService.recordDeleted(id);
+    }
+
+    /**
+     * Archived orders are closed and can no longer be changed.
+     */
+    private Order findChangeable(Long id) {
+        return orderRepository.findById(id).orElseThrow(() -> archivedOrderRepository.existsById(id)
+                ? new BusinessException("Cannot change an archived order")
+                : new ResourceNotFoundException("Order", "id", id));
+    }
+
+    /**
+     * Checks every line of the request before touching stock, so a rejected order leaves
+     * the loaded products unchanged.
+     */
+    private Order buildOrder(OrderRequestDTO request, Customer customer, Map<Long, Product> products,
+                             FlashSaleService.Reservation reservation) {
+        Map<Long, Integer> demand = new HashMap<>();
+        for (OrderItemRequestDTO itemRequest : request.getItems()) {
+            Product product = products.get(itemRequest.getProductId());
+            if (product == null) {
+                throw new ResourceNotFoundException("Product", "id", itemRequest.getProductId());
+            }
+            if (!reservation.covers(product.getId())) {
+                demand.merge(product.getId(), itemRequest.getQuantity(), Integer::sum);
+            }
+        }
+        demand.forEach((productId, quantity) -> {
+            Product product = products.get(productId);
+            if (product.unreservedStock() < quantity) {
+                throw new BusinessException("Insufficient stock for product: " + product.getName());
+            }
+        });
+
+        Order order = Order.builder()
+                .customer(customer)
+                .status(OrderStatus.PENDING)
+                .build();
+
+        for (OrderItemRequestDTO itemRequest : request.getItems()) {
+            Product product = products.get(itemRequest.getProductId());
+            order.addItem(OrderItem.builder()
+                    .product(product)
+                    .quantity(itemRequest.getQuantity())
+                    .unitPrice(product.getPrice())
+                    .build());
+        }
+        demand.forEach((productId, quantity) -> {
+            Product product = products.get(productId);
+            product.setStockQuantity(product.getStockQuantity() - quantity);
+        });
+
+        order.calculateTotalAmount();
+        return order;
+    }
+
+    private Map<Long, Product> loadProducts(List<OrderItemRequestDTO> items,
+                                            FlashSaleService.Reservation reservation) {
+        TreeSet<Long> lockedIds = new TreeSet<>();
+        TreeSet<Long> admittedIds = new TreeSet<>();
+        for (OrderItemRequestDTO item : items) {
+            (reservation.covers(item.getProductId()) ? admittedIds : lockedIds).add(item.getProductId());
+        }
+
+        Map<Long, Product> products = new HashMap<>();
+        if (!lockedIds.isEmpty()) {
+            productRepository.findAllByIdForUpdate(lockedIds).forEach(p -> products.put(p.getId(), p));
+        }
+        if (!admittedIds.isEmpty()) {
+            productRepository.findAllById(admittedIds).forEach(p -> products.put(p.getId(), p));
+        }
+
+        for (OrderItemRequestDTO item : items) {
+            if (!products.containsKey(item.getProductId())) {
+                throw new ResourceNotFoundException("Product", "id", item.getProductId());
+            }
+        }
+        return products;
+    }
+
+    private CursorPage<OrderDTO> toPage(List<OrderSummaryRow> rows, int limit) {
+        return toPage(rows, limit, Set.of());
+    }
+
+    /**
+     * Completes a page of order rows with their items using one additional query,
+     * so a listing costs two statements whatever its size, plus one for the items of
+     * the archived orders on the page, if any.
+     */
+    private CursorPage<OrderDTO> toPage(List<OrderSummaryRow> rows, int limit, Set<Long> archivedIds) {
+        CursorPage<OrderSummaryRow> page = CursorPage.of(rows, limit, OrderSummaryRow::id, Function.identity());
+        if (page.items().isEmpty()) {
+            return new CursorPage<>(List.of(), null);
+        }
+
+        List<Long> orderIds = page.items().stream()
+                .map(OrderSummaryRow::id)
+                .collect(Collectors.toList());
+        Map<Boolean, List<Long>> archived = orderIds.stream()
+                .collect(Collectors.partitioningBy(archivedIds::contains));
+        Stream<OrderItemRow> itemRows = orderItemRepository.findRowsByOrderIds(archived.get(false)).stream();
+        if (!archived.get(true).isEmpty()) {
+            itemRows = Stream.concat(itemRows, archivedOrderItemRepository.findRowsByOrderIds(archived.get(true)).stream());
+        }
+        Map<Long, List<OrderItemDTO>> itemsByOrder = itemsByOrder(itemRows);
+
+        List<OrderDTO> orders = page.items().stream()
+                .map(row -> row.toDTO(itemsByOrder.getOrDefault(row.id(), List.of())))
+                .collect(Collectors.toList());
+        return new CursorPage<>(orders, page.nextCursor());
+    }
+
+    private static Map<Long, List<OrderItemDTO>> itemsByOrder(Stream<OrderItemRow> itemRows) {
+        return itemRows.collect(Collectors.groupingBy(OrderItemRow::orderId,
+                Collectors.mapping(OrderItemRow::toDTO, Collectors.toList())));
     }
 
-    private OrderDTO toDTO(Order order) {
+    OrderDTO toDTO(Order order) {
         List<OrderItemDTO> itemDTOs = order.getItems().stream()
                 .map(item -> OrderItemDTO.builder()
                         .id(item.getId())
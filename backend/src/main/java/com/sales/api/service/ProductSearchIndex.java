@@ -0,0 +1,283 @@
+package com.sales.api.service;
+
+import com.sales.api.config.ReplicaRoutingDataSource;
+import com.sales.api.entity.Product;
+import com.sales.api.repository.ProductRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.miscellaneous.PerFieldAnalyzerWrapper;
+import org.apache.lucene.analysis.ngram.EdgeNGramTokenFilter;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.FieldType;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexOptions;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.*;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory Lucene index over product name and description.
+ * <p>
+ * The index only answers with ranked product ids; callers load the products themselves, so an
+ * entry that is briefly behind the database never leaks into a response. Documents are added or
+ * removed once the transaction that writes the product has committed, so a rolled back write never
+ * reaches the index. The index is rebuilt from the database when the application starts.
+ */
+@Slf4j
+@Component
+public class ProductSearchIndex {
+
+    private static final String ID = "id";
+    private static final String NAME = "name";
+    private static final String NAME_PREFIX = "name_prefix";
+    private static final String DESCRIPTION = "description";
+    private static final int MAX_PREFIX_LENGTH = 20;
+    private static final int FUZZY_THRESHOLD = 10;
+    private static final int REBUILD_BATCH_SIZE = 1000;
+    private static final FieldType PREFIX_FIELD = prefixFieldType();
+
+    private final ProductRepository productRepository;
+    private final Analyzer analyzer = new PerFieldAnalyzerWrapper(new StandardAnalyzer(),
+            Map.of(NAME_PREFIX, new NamePrefixAnalyzer()));
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+
+    public ProductSearchIndex(ProductRepository productRepository) {
+        this.productRepository = productRepository;
+        try {
+            this.writer = new IndexWriter(new ByteBuffersDirectory(), new IndexWriterConfig(analyzer));
+            this.searcherManager = new SearcherManager(writer, null);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long startedAt = System.nanoTime();
+        long count = 0;
+        try {
+            writer.deleteAll();
+            List<Product> batch = batchAfter(0L);
+            while (!batch.isEmpty()) {
+                for (Product product : batch) {
+                    writer.addDocument(toDocument(product));
+                }
+                count += batch.size();
+                batch = batchAfter(batch.get(batch.size() - 1).getId());
+            }
+            writer.commit();
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        log.info("Indexed {} products for search in {} ms", count, (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    public void index(Product product) {
+        index(List.of(product));
+    }
+
+    /**
+     * Adds or replaces the products, after commit when called inside a transaction. The documents
+     * are taken from the products as they are now.
+     */
+    public void index(Collection<Product> products) {
+        Map<String, Document> documents = new LinkedHashMap<>();
+        for (Product product : products) {
+            documents.put(product.getId().toString(), toDocument(product));
+        }
+        afterCommit(() -> indexNow(documents));
+    }
+
+    /**
+     * Removes a product from the index, after commit when called inside a transaction.
+     */
+    public void remove(Long productId) {
+        afterCommit(() -> removeNow(productId));
+    }
+
+    /**
+     * Returns the ids of the products matching {@code text}, best match first. Every word must
+     * match a word of the name or description, or be the prefix of a word of the name; name
+     * matches rank above description matches. When that finds fewer than {@value #FUZZY_THRESHOLD}
+     * products the search is repeated accepting description prefixes and small typos. The choice
+     * depends only on the text, so every page of a search is ranked the same way.
+     */
+    public List<Long> search(String text, int offset, int count) {
+        List<String> words = analyze(text);
+        if (words.isEmpty() || count <= 0) {
+            return List.of();
+        }
+
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                TopDocs topDocs = searcher.search(buildQuery(words, false), offset + count);
+                if (topDocs.totalHits.value < FUZZY_THRESHOLD) {
+                    topDocs = searcher.search(buildQuery(words, true), offset + count);
+                }
+                ScoreDoc[] hits = topDocs.scoreDocs;
+                StoredFields storedFields = searcher.storedFields();
+                List<Long> ids = new ArrayList<>();
+                for (int i = offset; i < hits.length; i++) {
+                    ids.add(Long.valueOf(storedFields.document(hits[i].doc).get(ID)));
+                }
+                return ids;
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+    }
+
+    /**
+     * Reads from the primary: later changes only reach the index from the writes of this instance,
+     * so the rebuild must not miss products a lagging replica has yet to receive.
+     */
+    private List<Product> batchAfter(long after) {
+        return ReplicaRoutingDataSource.onPrimary(
+                () -> productRepository.findByIdGreaterThanOrderByIdAsc(after, Limit.of(REBUILD_BATCH_SIZE)));
+    }
+
+    private static void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+
+    private void indexNow(Map<String, Document> documents) {
+        try {
+            for (Map.Entry<String, Document> document : documents.entrySet()) {
+                writer.updateDocument(new Term(ID, document.getKey()), document.getValue());
+            }
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private void removeNow(Long productId) {
+        try {
+            writer.deleteDocuments(new Term(ID, productId.toString()));
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Prefixes of name words are indexed as terms of their own, so the precise query is made of
+     * term queries only and Lucene can skip blocks of documents that cannot reach the top hits.
+     */
+    private Query buildQuery(List<String> words, boolean lenient) {
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        for (String word : words) {
+            BooleanQuery.Builder wordQuery = new BooleanQuery.Builder();
+            should(wordQuery, new TermQuery(new Term(word.length() <= MAX_PREFIX_LENGTH ? NAME_PREFIX : NAME, word)), 12);
+            should(wordQuery, new TermQuery(new Term(DESCRIPTION, word)), 4);
+            if (lenient) {
+                should(wordQuery, new PrefixQuery(new Term(DESCRIPTION, word)), 2);
+                if (word.length() >= 3) {
+                    int maxEdits = word.length() >= 6 ? 2 : 1;
+                    should(wordQuery, new FuzzyQuery(new Term(NAME, word), maxEdits, 1), 3);
+                    should(wordQuery, new FuzzyQuery(new Term(DESCRIPTION, word), maxEdits, 1), 1);
+                }
+            }
+            query.add(wordQuery.build(), BooleanClause.Occur.MUST);
+        }
+        return query.build();
+    }
+
+    private static void should(BooleanQuery.Builder query, Query clause, float boost) {
+        query.add(new BoostQuery(clause, boost), BooleanClause.Occur.SHOULD);
+    }
+
+    private List<String> analyze(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) {
+            return words;
+        }
+        try (TokenStream tokens = analyzer.tokenStream(NAME, text)) {
+            CharTermAttribute term = tokens.addAttribute(CharTermAttribute.class);
+            tokens.reset();
+            while (tokens.incrementToken()) {
+                words.add(term.toString());
+            }
+            tokens.end();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return words;
+    }
+
+    private static Document toDocument(Product product) {
+        Document document = new Document();
+        document.add(new StringField(ID, product.getId().toString(), Field.Store.YES));
+        document.add(new TextField(NAME, product.getName(), Field.Store.NO));
+        document.add(new Field(NAME_PREFIX, product.getName(), PREFIX_FIELD));
+        if (product.getDescription() != null) {
+            document.add(new TextField(DESCRIPTION, product.getDescription(), Field.Store.NO));
+        }
+        return document;
+    }
+
+    private static FieldType prefixFieldType() {
+        FieldType type = new FieldType();
+        type.setIndexOptions(IndexOptions.DOCS);
+        type.setTokenized(true);
+        type.setOmitNorms(true);
+        type.freeze();
+        return type;
+    }
+
+    private static final class NamePrefixAnalyzer extends Analyzer {
+
+        @Override
+        protected TokenStreamComponents createComponents(String fieldName) {
+            StandardTokenizer tokenizer = new StandardTokenizer();
+            TokenStream tokens = new LowerCaseFilter(tokenizer);
+            tokens = new EdgeNGramTokenFilter(tokens, 2, MAX_PREFIX_LENGTH, false);
+            return new TokenStreamComponents(tokenizer, tokens);
+        }
+    }
+}
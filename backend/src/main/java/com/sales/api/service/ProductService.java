@@ -1,50 +1,116 @@
 package com.sales.api.service;
 
+import com.sales.api.config.CacheConfig;
+import com.sales.api.config.ReplicaRoutingDataSource;
+import com.sales.api.dto.CursorPage;
 import com.sales.api.dto.ProductDTO;
 import com.sales.api.dto.ProductRequestDTO;
+import com.sales.api.dto.VersionRow;
+import com.sales.api.entity.Money;
 import com.sales.api.entity.Product;
 import com.sales.api.exception.BusinessException;
 import com.sales.api.exception.ResourceNotFoundException;
 import com.sales.api.repository.ProductRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class ProductService {
 
+    private static final int MAX_SEARCH_OFFSET = 10_000;
+
     private final ProductRepository productRepository;
+    private final FlashSaleService flashSaleService;
+    private final SalesMetrics salesMetrics;
+    private final ProductSearchIndex productSearchIndex;
 
     @Transactional(readOnly = true)
-    public List<ProductDTO> findAll() {
-        return productRepository.findAll().stream()
-                .map(this::toDTO)
-                .collect(Collectors.toList());
+    public CursorPage<ProductDTO> findAll(Long after, int limit) {
+        List<Product> rows = productRepository.findByIdGreaterThanOrderByIdAsc(
+                CursorPage.after(after), Limit.of(CursorPage.checkLimit(limit) + 1));
+        return CursorPage.of(rows, limit, Product::getId, this::toDTO);
     }
 
+    @Cacheable(cacheNames = CacheConfig.PRODUCTS, key = "#id")
     @Transactional(readOnly = true)
     public ProductDTO findById(Long id) {
-        Product product = productRepository.findById(id)
+        return findCurrent(id);
+    }
+
+    /**
+     * Reads the product from the primary database, bypassing the product cache, the second-level
+     * cache and the replicas. Use it where a possibly stale stock quantity is not acceptable. It
+     * also loads the product cache, which must not be filled from a lagging replica.
+     */
+    @Transactional(readOnly = true)
+    public ProductDTO findCurrent(Long id) {
+        Product product = ReplicaRoutingDataSource.onPrimary(() -> productRepository.findCurrentById(id))
                 .orElseThrow(() -> new ResourceNotFoundException("Product", "id", id));
         return toDTO(product);
     }
 
+    /**
+     * The version of a product, read from the primary without loading it.
+     */
     @Transactional(readOnly = true)
-    public List<ProductDTO> findByName(String name) {
-        return productRepository.findByNameContainingIgnoreCase(name).stream()
-                .map(this::toDTO)
-                .collect(Collectors.toList());
+    public long findVersion(Long id) {
+        return ReplicaRoutingDataSource.onPrimary(() -> productRepository.findVersionById(id))
+                .orElseThrow(() -> new ResourceNotFoundException("Product", "id", id));
+    }
+
+    @Transactional(readOnly = true)
+    public List<VersionRow> findVersions(Long after, int limit) {
+        return productRepository.findVersionsAfter(CursorPage.after(after), Limit.of(CursorPage.checkLimit(limit) + 1));
     }
 
+    /**
+     * Ranked full-text search over name and description. The cursor of a search page is the
+     * number of matches already returned.
+     */
     @Transactional(readOnly = true)
-    public List<ProductDTO> findInStock() {
-        return productRepository.findByStockQuantityGreaterThan(0).stream()
+    public CursorPage<ProductDTO> search(String text, Long after, int limit) {
+        long offset = CursorPage.after(after);
+        if (offset < 0 || offset > MAX_SEARCH_OFFSET) {
+            throw new BusinessException("Search results are limited to the first " + MAX_SEARCH_OFFSET + " matches");
+        }
+
+        List<Long> ids = productSearchIndex.search(text, (int) offset, CursorPage.checkLimit(limit) + 1);
+        boolean hasMore = ids.size() > limit;
+        List<Long> pageIds = hasMore ? ids.subList(0, limit) : ids;
+
+        Map<Long, Product> products = productRepository.findAllById(pageIds).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        List<ProductDTO> items = pageIds.stream()
+                .map(products::get)
+                .filter(Objects::nonNull)
                 .map(this::toDTO)
                 .collect(Collectors.toList());
+        return new CursorPage<>(items, hasMore ? offset + limit : null);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<ProductDTO> findInStock(Long after, int limit) {
+        List<Product> rows = productRepository.findByStockQuantityGreaterThanAndIdGreaterThanOrderByIdAsc(
+                0, CursorPage.after(after), Limit.of(CursorPage.checkLimit(limit) + 1));
+        return CursorPage.of(rows, limit, Product::getId, this::toDTO);
+    }
+
+    @Transactional(readOnly = true)
+    public List<VersionRow> findInStockVersions(Long after, int limit) {
+        return productRepository.findInStockVersionsAfter(
+                CursorPage.after(after), Limit.of(CursorPage.checkLimit(limit) + 1));
     }
 
     @Transactional
@@ -52,56 +118,78 @@ public class ProductService {
         Product product = Product.builder()
                 .name(request.getName())
                 .description(request.getDescription())
-                .price(request.getPrice())
+                .price(Money.of(request.getPrice()))
                 .stockQuantity(request.getStockQuantity())
                 .build();
 
         Product saved = productRepository.save(product);
+        productSearchIndex.index(saved);
         return toDTO(saved);
     }
 
+    @CachePut(cacheNames = CacheConfig.PRODUCTS, key = "#id")
     @Transactional
     public ProductDTO update(Long id, ProductRequestDTO request) {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product", "id", id));
 
+        if (isInFlashSale(product) && !product.getStockQuantity().equals(request.getStockQuantity())) {
+            throw new BusinessException("Cannot change stock of a product in a flash sale: " + product.getName());
+        }
+
         product.setName(request.getName());
         product.setDescription(request.getDescription());
-        product.setPrice(request.getPrice());
+        product.setPrice(Money.of(request.getPrice()));
         product.setStockQuantity(request.getStockQuantity());
 
-        Product updated = productRepository.save(product);
+        // flushed so the returned and cached product carries the version this update commits
+        Product updated = productRepository.saveAndFlush(product);
+        productSearchIndex.index(updated);
         return toDTO(updated);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS, key = "#id")
     @Transactional
     public void delete(Long id) {
-        if (!productRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Product", "id", id);
+        Product product = productRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Product", "id", id));
+        if (isInFlashSale(product)) {
+            throw new BusinessException("Cannot delete a product in a flash sale");
         }
         productRepository.deleteById(id);
+        productSearchIndex.remove(id);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS, key = "#id")
     @Transactional
     public void updateStock(Long id, Integer quantity) {
-        Product product = productRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Product", "id", id));
-
-        int newStock = product.getStockQuantity() + quantity;
-        if (newStock < 0) {
+        int updated = quantity < 0
+                ? productRepository.decrementStock(id, -quantity)
+                : productRepository.incrementStock(id, quantity);
+
+        if (updated == 0) {
+            Product product = productRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Product", "id", id));
+            salesMetrics.stockRejected();
             throw new BusinessException("Insufficient stock for product: " + product.getName());
         }
-        product.setStockQuantity(newStock);
-        productRepository.save(product);
     }
 
-    private ProductDTO toDTO(Product product) {
+    /**
+     * Also true while a lane on another instance, or one not yet released, holds stock of it.
+     */
+    private boolean isInFlashSale(Product product) {
+        return flashSaleService.isActive(product.getId()) || product.getFlashSaleReserved() > 0;
+    }
+
+    ProductDTO toDTO(Product product) {
         return ProductDTO.builder()
                 .id(product.getId())
                 .name(product.getName())
                 .description(product.getDescription())
                 .price(product.getPrice())
                 .stockQuantity(product.getStockQuantity())
+                .version(product.getVersion())
                 .createdAt(product.getCreatedAt())
                 .build();
     }
@@ -0,0 +1,95 @@
+package com.sales.api.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Business counters published next to the technical metrics on {@code /actuator/prometheus}.
+ * Inside a transaction the counters move only once it commits, so work that is rolled back and
+ * retried is counted once.
+ */
+@Component
+public class SalesMetrics {
+
+    private final Counter ordersCreated;
+    private final Counter ordersCancelled;
+    private final Counter stockRejections;
+    private final Counter ordersArchived;
+    private final Counter summariesRepaired;
+    private final Counter flashSaleFlushFailures;
+
+    public SalesMetrics(MeterRegistry registry) {
+        this.ordersCreated = Counter.builder("sales.orders.created")
+                .description("Orders created")
+                .register(registry);
+        this.ordersCancelled = Counter.builder("sales.orders.cancelled")
+                .description("Orders cancelled")
+                .register(registry);
+        this.stockRejections = Counter.builder("sales.stock.rejections")
+                .description("Order lines and stock updates rejected for insufficient stock")
+                .register(registry);
+        this.ordersArchived = Counter.builder("sales.orders.archived")
+                .description("Closed orders moved to the archive tables")
+                .register(registry);
+        this.summariesRepaired = Counter.builder("sales.customer.summaries.repaired")
+                .description("Customer summaries rewritten by the reconciliation for drifting from the orders")
+                .register(registry);
+        this.flashSaleFlushFailures = Counter.builder("sales.flash.sale.flush.failures")
+                .description("Flash-sale flushes rolled back and retried")
+                .register(registry);
+    }
+
+    public void ordersCreated(int count) {
+        afterTransaction(() -> ordersCreated.increment(count), false);
+    }
+
+    public void orderCancelled() {
+        afterTransaction(ordersCancelled::increment, false);
+    }
+
+    /**
+     * Counts a change refused for insufficient stock. The refusal rolls back the transaction it
+     * is thrown out of, so it is counted however that transaction ends.
+     */
+    public void stockRejected() {
+        afterTransaction(stockRejections::increment, true);
+    }
+
+    /**
+     * Counts rejections a batch handled without failing. A batch that rolls back is retried
+     * order by order, which counts them again, so these only count if the batch commits.
+     */
+    public void stockRejected(int count) {
+        afterTransaction(() -> stockRejections.increment(count), false);
+    }
+
+    public void ordersArchived(int count) {
+        afterTransaction(() -> ordersArchived.increment(count), false);
+    }
+
+    public void summariesRepaired(int count) {
+        afterTransaction(() -> summariesRepaired.increment(count), false);
+    }
+
+    public void flashSaleFlushFailed() {
+        afterTransaction(flashSaleFlushFailures::increment, false);
+    }
+
+    private static void afterTransaction(Runnable increment, boolean evenIfRolledBack) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            increment.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED || evenIfRolledBack && status == STATUS_ROLLED_BACK) {
+                    increment.run();
+                }
+            }
+        });
+    }
+}
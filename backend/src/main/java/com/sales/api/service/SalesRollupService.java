@@ -0,0 +1,283 @@
+package com.sales.api.service;
+
+import com.sales.api.entity.CustomerDailySales;
+import com.sales.api.entity.Money;
+import com.sales.api.entity.Order;
+import com.sales.api.entity.OrderItem;
+import com.sales.api.entity.OrderStatus;
+import com.sales.api.entity.ProductDailySales;
+import com.sales.api.repository.CustomerDailySalesRepository;
+import com.sales.api.repository.CustomerSummaryRepository;
+import com.sales.api.repository.DailySalesRepository;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Savepoint;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Keeps the daily sales rollups and the customer summaries in step with orders.
+ * <p>
+ * Contributions recorded during a transaction are summed per rollup row and written just before
+ * it commits, so a row shared by every order of the day is locked only for the end of each
+ * transaction and once per batch. Rows are written in a fixed order to avoid deadlocks between
+ * concurrent transactions; the product rows are written in one batch. A missing row is inserted
+ * under a savepoint on the same connection: when a concurrent transaction creates it first, only
+ * the insert is rolled back and the contribution is added to that row instead.
+ */
+@Service
+public class SalesRollupService {
+
+    private static final String INSERT_DAY =
+            "INSERT INTO daily_sales (sales_date, order_count, items_sold, revenue) VALUES (?, ?, ?, ?)";
+    private static final String UPDATE_PRODUCT_DAY =
+            "UPDATE product_daily_sales SET quantity = quantity + ?, revenue = revenue + ? WHERE sales_date = ? AND product_id = ?";
+    private static final String INSERT_PRODUCT_DAY =
+            "INSERT INTO product_daily_sales (sales_date, product_id, quantity, revenue) VALUES (?, ?, ?, ?)";
+    private static final String INSERT_CUSTOMER_DAY =
+            "INSERT INTO customer_daily_sales (sales_date, customer_id, order_count, revenue) VALUES (?, ?, ?, ?)";
+    private static final String INSERT_CUSTOMER_SUMMARY =
+            "INSERT INTO customer_summaries (customer_id, order_count, lifetime_value, open_balance) VALUES (?, ?, ?, ?)";
+
+    private static final Comparator<ProductDailySales.Key> PRODUCT_KEY_ORDER = Comparator
+            .comparing(ProductDailySales.Key::getSalesDate)
+            .thenComparing(ProductDailySales.Key::getProductId);
+    private static final Comparator<CustomerDailySales.Key> CUSTOMER_KEY_ORDER = Comparator
+            .comparing(CustomerDailySales.Key::getSalesDate)
+            .thenComparing(CustomerDailySales.Key::getCustomerId);
+
+    private final DailySalesRepository dailySalesRepository;
+    private final CustomerDailySalesRepository customerDailySalesRepository;
+    private final CustomerSummaryRepository customerSummaryRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public SalesRollupService(DailySalesRepository dailySalesRepository,
+                              CustomerDailySalesRepository customerDailySalesRepository,
+                              CustomerSummaryRepository customerSummaryRepository,
+                              JdbcTemplate jdbcTemplate,
+                              PlatformTransactionManager transactionManager) {
+        this.dailySalesRepository = dailySalesRepository;
+        this.customerDailySalesRepository = customerDailySalesRepository;
+        this.customerSummaryRepository = customerSummaryRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Adds a saved order to the rollups.
+     */
+    public void add(Order order) {
+        record(order, 1);
+    }
+
+    /**
+     * Takes an order back out of the rollups, when it is cancelled or deleted.
+     */
+    public void subtract(Order order) {
+        record(order, -1);
+    }
+
+    /**
+     * Moves an order in or out of its customer's open balance after a status change that delivers
+     * it or takes it back from delivered. Cancellations go through {@link #subtract} instead.
+     */
+    public void statusChanged(Order order, OrderStatus previous) {
+        int sign = Boolean.compare(previous.isClosed(), order.getStatus().isClosed());
+        if (sign == 0) {
+            return;
+        }
+        Contributions contributions = currentContributions();
+        contributions.summaries.computeIfAbsent(order.getCustomer().getId(), key -> new Balance())
+                .add(0, Money.ZERO, order.getTotalAmount(), sign);
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            transactionTemplate.executeWithoutResult(status -> write(contributions));
+        }
+    }
+
+    private void record(Order order, int sign) {
+        LocalDate date = order.getOrderDate().toLocalDate();
+        Contributions contributions = currentContributions();
+
+        long items = 0;
+        for (OrderItem item : order.getItems()) {
+            items += item.getQuantity();
+            contributions.products
+                    .computeIfAbsent(new ProductDailySales.Key(date, item.getProduct().getId()), key -> new Totals())
+                    .add(0, item.getQuantity(), item.getSubtotal(), sign);
+        }
+        contributions.days.computeIfAbsent(date, key -> new Totals())
+                .add(1, items, order.getTotalAmount(), sign);
+        contributions.customers
+                .computeIfAbsent(new CustomerDailySales.Key(date, order.getCustomer().getId()), key -> new Totals())
+                .add(1, 0, order.getTotalAmount(), sign);
+        contributions.summaries.computeIfAbsent(order.getCustomer().getId(), key -> new Balance())
+                .add(1, order.getTotalAmount(), order.getStatus().isClosed() ? Money.ZERO : order.getTotalAmount(), sign);
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            transactionTemplate.executeWithoutResult(status -> write(contributions));
+        }
+    }
+
+    private Contributions currentContributions() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return new Contributions();
+        }
+        Contributions contributions = (Contributions) TransactionSynchronizationManager.getResource(this);
+        if (contributions == null) {
+            Contributions created = new Contributions();
+            TransactionSynchronizationManager.bindResource(this, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    write(created);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(SalesRollupService.this);
+                }
+            });
+            contributions = created;
+        }
+        return contributions;
+    }
+
+    private void write(Contributions contributions) {
+        contributions.days.forEach((date, totals) -> {
+            if (dailySalesRepository.add(date, totals.orders, totals.quantity, totals.revenue()) == 0
+                    && !insert(INSERT_DAY, date, totals.orders, totals.quantity, totals.revenue())) {
+                dailySalesRepository.add(date, totals.orders, totals.quantity, totals.revenue());
+            }
+        });
+        writeProducts(contributions.products);
+        contributions.customers.forEach((key, totals) -> {
+            if (customerDailySalesRepository.add(key.getSalesDate(), key.getCustomerId(), totals.orders, totals.revenue()) == 0
+                    && !insert(INSERT_CUSTOMER_DAY, key.getSalesDate(), key.getCustomerId(), totals.orders, totals.revenue())) {
+                customerDailySalesRepository.add(key.getSalesDate(), key.getCustomerId(), totals.orders, totals.revenue());
+            }
+        });
+        contributions.summaries.forEach((customerId, balance) -> {
+            if (customerSummaryRepository.add(customerId, balance.orders, balance.value(), balance.openBalance()) == 0
+                    && !insert(INSERT_CUSTOMER_SUMMARY, customerId, balance.orders, balance.value(), balance.openBalance())) {
+                customerSummaryRepository.add(customerId, balance.orders, balance.value(), balance.openBalance());
+            }
+        });
+    }
+
+    /**
+     * Adds to the product rows with one batched update and inserts the missing ones with one
+     * batched insert, so an order costs the same statements whatever the number of its products.
+     * When a concurrent transaction inserted one of the rows first, the missing rows are written
+     * one by one instead.
+     */
+    private void writeProducts(Map<ProductDailySales.Key, Totals> products) {
+        if (products.isEmpty()) {
+            return;
+        }
+        List<Object[]> updates = new ArrayList<>();
+        products.forEach((key, totals) -> updates.add(
+                new Object[]{totals.quantity, totals.revenue(), key.getSalesDate(), key.getProductId()}));
+        int[] updated = jdbcTemplate.batchUpdate(UPDATE_PRODUCT_DAY, updates);
+
+        List<Object[]> missing = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                Object[] update = updates.get(i);
+                missing.add(new Object[]{update[2], update[3], update[0], update[1]});
+            }
+        }
+        if (missing.isEmpty() || insert(INSERT_PRODUCT_DAY, missing)) {
+            return;
+        }
+        for (Object[] row : missing) {
+            if (jdbcTemplate.update(UPDATE_PRODUCT_DAY, row[2], row[3], row[0], row[1]) == 0
+                    && !insert(INSERT_PRODUCT_DAY, row)) {
+                jdbcTemplate.update(UPDATE_PRODUCT_DAY, row[2], row[3], row[0], row[1]);
+            }
+        }
+    }
+
+    private boolean insert(String sql, Object... args) {
+        return insert(sql, List.<Object[]>of(args));
+    }
+
+    /**
+     * Returns false when a concurrent transaction inserted one of the rows first, leaving none of
+     * them inserted. The insert goes through JDBC on the transaction's connection: the entity
+     * manager would mark the whole transaction rollback-only on a duplicate key, and does not
+     * support savepoints.
+     */
+    private boolean insert(String sql, List<Object[]> rows) {
+        Savepoint savepoint = jdbcTemplate.execute((ConnectionCallback<Savepoint>) connection -> connection.setSavepoint());
+        try {
+            jdbcTemplate.batchUpdate(sql, rows);
+            return true;
+        } catch (DuplicateKeyException ex) {
+            jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                connection.rollback(savepoint);
+                return null;
+            });
+            return false;
+        }
+    }
+
+    private static final class Contributions {
+
+        private final Map<LocalDate, Totals> days = new TreeMap<>();
+        private final Map<ProductDailySales.Key, Totals> products = new TreeMap<>(PRODUCT_KEY_ORDER);
+        private final Map<CustomerDailySales.Key, Totals> customers = new TreeMap<>(CUSTOMER_KEY_ORDER);
+        private final Map<Long, Balance> summaries = new TreeMap<>();
+    }
+
+    private static final class Totals {
+
+        private long orders;
+        private long quantity;
+        private long revenue;
+
+        private void add(long orders, long quantity, Money revenue, int sign) {
+            this.orders += sign * orders;
+            this.quantity += sign * quantity;
+            this.revenue = Math.addExact(this.revenue, sign * revenue.minorUnits());
+        }
+
+        private BigDecimal revenue() {
+            return Money.ofMinorUnits(revenue).toBigDecimal();
+        }
+    }
+
+    private static final class Balance {
+
+        private long orders;
+        private long value;
+        private long openBalance;
+
+        private void add(long orders, Money value, Money openBalance, int sign) {
+            this.orders += sign * orders;
+            this.value = Math.addExact(this.value, sign * value.minorUnits());
+            this.openBalance = Math.addExact(this.openBalance, sign * openBalance.minorUnits());
+        }
+
+        private BigDecimal value() {
+            return Money.ofMinorUnits(value).toBigDecimal();
+        }
+
+        private BigDecimal openBalance() {
+            return Money.ofMinorUnits(openBalance).toBigDecimal();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+-- Baseline schema, previously generated by Hibernate from the entities.
+-- Written in the subset of SQL shared by H2 and PostgreSQL.
+
+CREATE TABLE customers (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name       VARCHAR(255) NOT NULL,
+    email      VARCHAR(255) NOT NULL,
+    phone      VARCHAR(255),
+    address    VARCHAR(255),
+    version    BIGINT NOT NULL DEFAULT 0,
+    created_at TIMESTAMP(6),
+    CONSTRAINT uk_customers_email UNIQUE (email)
+);
+
+CREATE TABLE products (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name           VARCHAR(255)   NOT NULL,
+    description    VARCHAR(255),
+    price          NUMERIC(10, 2) NOT NULL,
+    stock_quantity INTEGER        NOT NULL,
+    version        BIGINT         NOT NULL DEFAULT 0,
+    created_at     TIMESTAMP(6)
+);
+
+CREATE SEQUENCE orders_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE orders (
+    id           BIGINT       NOT NULL PRIMARY KEY,
+    customer_id  BIGINT       NOT NULL,
+    order_date   TIMESTAMP(6) NOT NULL,
+    status       VARCHAR(255) NOT NULL,
+    total_amount NUMERIC(10, 2),
+    version      BIGINT       NOT NULL DEFAULT 0
+);
+
+CREATE SEQUENCE order_items_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE order_items (
+    id         BIGINT         NOT NULL PRIMARY KEY,
+    order_id   BIGINT         NOT NULL,
+    product_id BIGINT         NOT NULL,
+    quantity   INTEGER        NOT NULL,
+    unit_price NUMERIC(10, 2) NOT NULL
+);
+
+CREATE SEQUENCE order_events_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE order_events (
+    id         BIGINT       NOT NULL PRIMARY KEY,
+    order_id   BIGINT       NOT NULL,
+    type       VARCHAR(255) NOT NULL,
+    status     VARCHAR(255),
+    payload    VARCHAR(1000000),
+    created_at TIMESTAMP(6) NOT NULL,
+    published  BOOLEAN      NOT NULL
+);
+
+CREATE INDEX idx_order_events_published ON order_events (published);
+
+CREATE TABLE daily_sales (
+    sales_date  DATE           NOT NULL PRIMARY KEY,
+    order_count BIGINT         NOT NULL,
+    items_sold  BIGINT         NOT NULL,
+    revenue     NUMERIC(14, 2) NOT NULL
+);
+
+CREATE TABLE product_daily_sales (
+    sales_date DATE           NOT NULL,
+    product_id BIGINT         NOT NULL,
+    quantity   BIGINT         NOT NULL,
+    revenue    NUMERIC(14, 2) NOT NULL,
+    PRIMARY KEY (sales_date, product_id)
+);
+
+CREATE TABLE customer_daily_sales (
+    sales_date  DATE           NOT NULL,
+    customer_id BIGINT         NOT NULL,
+    order_count BIGINT         NOT NULL,
+    revenue     NUMERIC(14, 2) NOT NULL,
+    PRIMARY KEY (sales_date, customer_id)
+);
+
+-- Indexes for the order listings and lookups. Each listing filter is followed by id so a page
+-- is read in cursor order straight from the index.
+CREATE INDEX idx_orders_customer_id ON orders (customer_id, id);
+CREATE INDEX idx_orders_status ON orders (status, id);
+CREATE INDEX idx_orders_order_date ON orders (order_date);
+CREATE INDEX idx_order_items_order_id ON order_items (order_id);
+CREATE INDEX idx_order_items_product_id ON order_items (product_id);
+
+-- Foreign keys come last so H2 backs them with a matching index above where there is one
+-- rather than creating a duplicate.
+ALTER TABLE orders ADD CONSTRAINT fk_orders_customer FOREIGN KEY (customer_id) REFERENCES customers (id);
+ALTER TABLE order_items ADD CONSTRAINT fk_order_items_order FOREIGN KEY (order_id) REFERENCES orders (id);
+ALTER TABLE order_items ADD CONSTRAINT fk_order_items_product FOREIGN KEY (product_id) REFERENCES products (id);
@@ -0,0 +1,38 @@
+-- Closed orders moved out of orders and order_items by the archiving job. Rows keep their ids,
+-- so an order is found under the same id before and after it is archived.
+CREATE TABLE orders_archive (
+    id           BIGINT       NOT NULL PRIMARY KEY,
+    customer_id  BIGINT       NOT NULL,
+    order_date   TIMESTAMP(6) NOT NULL,
+    status       VARCHAR(255) NOT NULL,
+    total_amount NUMERIC(10, 2),
+    version      BIGINT,
+    archived_at  TIMESTAMP(6) NOT NULL
+);
+
+CREATE TABLE order_items_archive (
+    id         BIGINT         NOT NULL PRIMARY KEY,
+    order_id   BIGINT         NOT NULL,
+    product_id BIGINT         NOT NULL,
+    quantity   INTEGER        NOT NULL,
+    unit_price NUMERIC(10, 2) NOT NULL
+);
+
+CREATE INDEX idx_orders_archive_customer_id ON orders_archive (customer_id, id);
+CREATE INDEX idx_order_items_archive_order_id ON order_items_archive (order_id);
+CREATE INDEX idx_order_items_archive_product_id ON order_items_archive (product_id);
+
+ALTER TABLE orders_archive ADD CONSTRAINT fk_orders_archive_customer FOREIGN KEY (customer_id) REFERENCES customers (id);
+ALTER TABLE order_items_archive ADD CONSTRAINT fk_order_items_archive_order FOREIGN KEY (order_id) REFERENCES orders_archive (id);
+ALTER TABLE order_items_archive ADD CONSTRAINT fk_order_items_archive_product FOREIGN KEY (product_id) REFERENCES products (id);
+
+-- Every order, hot or archived, for the queries that rebuild the sales rollups.
+CREATE VIEW all_orders AS
+    SELECT id, customer_id, order_date, status, total_amount FROM orders
+    UNION ALL
+    SELECT id, customer_id, order_date, status, total_amount FROM orders_archive;
+
+CREATE VIEW all_order_items AS
+    SELECT order_id, product_id, quantity, unit_price FROM order_items
+    UNION ALL
+    SELECT order_id, product_id, quantity, unit_price FROM order_items_archive;
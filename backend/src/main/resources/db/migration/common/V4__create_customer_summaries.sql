@@ -0,0 +1,18 @@
+-- Lifetime counters of each customer's orders, hot or archived, excluding cancelled orders. The open
+-- balance sums the orders not yet delivered. Kept up to date by SalesRollupService and repaired by
+-- the reconciliation job; filled here from the existing orders.
+CREATE TABLE customer_summaries (
+    customer_id    BIGINT         NOT NULL PRIMARY KEY,
+    order_count    BIGINT         NOT NULL,
+    lifetime_value NUMERIC(14, 2) NOT NULL,
+    open_balance   NUMERIC(14, 2) NOT NULL
+);
+
+INSERT INTO customer_summaries (customer_id, order_count, lifetime_value, open_balance)
+SELECT customer_id,
+       COUNT(*),
+       SUM(total_amount),
+       COALESCE(SUM(CASE WHEN status <> 'DELIVERED' THEN total_amount END), 0)
+FROM all_orders
+WHERE status <> 'CANCELLED'
+GROUP BY customer_id;
@@ -0,0 +1,3 @@
+-- Units of stock_quantity held by a flash-sale lane. Regular orders and stock updates only take
+-- stock above the reservation, so the lane's flushes can always be applied.
+ALTER TABLE products ADD COLUMN flash_sale_reserved INTEGER DEFAULT 0 NOT NULL;
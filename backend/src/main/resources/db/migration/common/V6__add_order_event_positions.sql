@@ -0,0 +1,21 @@
+-- Events are delivered in the order of stream_position, assigned by the dispatcher under the lock
+-- of the single order_event_stream row. Positions therefore become visible in increasing order,
+-- unlike ids, which come from a pooled sequence and commit in any order. Published events keep
+-- their id as position, so clients resume from the ids they last received.
+ALTER TABLE order_events ADD COLUMN stream_position BIGINT;
+
+UPDATE order_events SET stream_position = id WHERE published = TRUE;
+
+CREATE UNIQUE INDEX idx_order_events_stream_position ON order_events (stream_position);
+
+DROP INDEX idx_order_events_published;
+
+ALTER TABLE order_events DROP COLUMN published;
+
+CREATE TABLE order_event_stream (
+    id            INTEGER NOT NULL PRIMARY KEY,
+    last_position BIGINT  NOT NULL
+);
+
+INSERT INTO order_event_stream (id, last_position)
+SELECT 1, COALESCE(MAX(stream_position), 0) FROM order_events;
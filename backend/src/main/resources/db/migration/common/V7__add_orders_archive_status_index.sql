@@ -0,0 +1,2 @@
+-- Serves the delivered and cancelled order listings, which include the archive.
+CREATE INDEX idx_orders_archive_status ON orders_archive (status, id);
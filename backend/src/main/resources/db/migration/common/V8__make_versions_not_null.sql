@@ -0,0 +1,17 @@
+-- Databases created by Hibernate before the migrations are baselined at version 1 and skip V1,
+-- so their version columns may still be nullable and hold nulls. The archive copies the version
+-- of orders, so it gets the same constraint. On a database created by V1 this only changes the
+-- archive.
+UPDATE customers SET version = 0 WHERE version IS NULL;
+UPDATE products SET version = 0 WHERE version IS NULL;
+UPDATE orders SET version = 0 WHERE version IS NULL;
+UPDATE orders_archive SET version = 0 WHERE version IS NULL;
+
+ALTER TABLE customers ALTER COLUMN version SET DEFAULT 0;
+ALTER TABLE customers ALTER COLUMN version SET NOT NULL;
+ALTER TABLE products ALTER COLUMN version SET DEFAULT 0;
+ALTER TABLE products ALTER COLUMN version SET NOT NULL;
+ALTER TABLE orders ALTER COLUMN version SET DEFAULT 0;
+ALTER TABLE orders ALTER COLUMN version SET NOT NULL;
+ALTER TABLE orders_archive ALTER COLUMN version SET DEFAULT 0;
+ALTER TABLE orders_archive ALTER COLUMN version SET NOT NULL;
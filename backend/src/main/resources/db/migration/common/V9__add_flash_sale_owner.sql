@@ -0,0 +1,3 @@
+-- The instance holding a flash-sale reservation, so an instance only releases its own on startup.
+-- Reservations made before this column existed have no owner and are released by any instance.
+ALTER TABLE products ADD COLUMN flash_sale_owner VARCHAR(255);
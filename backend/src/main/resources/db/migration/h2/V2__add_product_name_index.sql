@@ -0,0 +1,5 @@
+-- Case-insensitive product name lookups. H2 cannot index an expression, so the lower-cased name
+-- is kept in a generated column and indexed there.
+ALTER TABLE products ADD COLUMN name_lower VARCHAR(255) GENERATED ALWAYS AS (LOWER(name));
+
+CREATE INDEX idx_products_name_lower ON products (name_lower);
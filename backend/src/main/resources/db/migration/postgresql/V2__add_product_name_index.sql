@@ -0,0 +1,5 @@
+-- Case-insensitive product name lookups, through the same generated column as on H2 so both
+-- databases answer the same query from the index.
+ALTER TABLE products ADD COLUMN name_lower VARCHAR(255) GENERATED ALWAYS AS (LOWER(name)) STORED;
+
+CREATE INDEX idx_products_name_lower ON products (name_lower);
@@ -0,0 +1,141 @@
+package com.sales.api.benchmark;
+
+import com.sales.api.dto.OrderItemRequestDTO;
+import com.sales.api.dto.OrderRequestDTO;
+import com.sales.api.entity.Customer;
+import com.sales.api.entity.Money;
+import com.sales.api.entity.Product;
+import com.sales.api.repository.CustomerRepository;
+import com.sales.api.repository.OrderRepository;
+import com.sales.api.repository.ProductRepository;
+import com.sales.api.service.FlashSaleService;
+import com.sales.api.service.OrderService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Orders per second on a single hot product, with and without flash-sale admission.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "sales.flash-sale.enabled=true")
+@ActiveProfiles("test")
+class FlashSaleThroughputBenchmarkTest {
+
+    private static final int THREADS = 32;
+    private static final int ORDERS_PER_RUN = 4000;
+    private static final int INITIAL_STOCK = 1_000_000;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private FlashSaleService flashSaleService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    private Customer customer;
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+        productRepository.deleteAll();
+        customerRepository.deleteAll();
+
+        customer = customerRepository.save(Customer.builder()
+                .name("Flash Buyer")
+                .email("flash@example.com")
+                .build());
+        product = productRepository.save(Product.builder()
+                .name("Hot Product")
+                .price(Money.parse("9.99"))
+                .stockQuantity(INITIAL_STOCK)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderRepository.deleteAll();
+        productRepository.deleteAll();
+        customerRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Orders/sec on one product with flash-sale mode off and on")
+    void compareThroughput() throws Exception {
+        run(ORDERS_PER_RUN / 4);
+        double off = run(ORDERS_PER_RUN);
+
+        flashSaleService.enable(product.getId());
+        run(ORDERS_PER_RUN / 4);
+        double on = run(ORDERS_PER_RUN);
+        flashSaleService.disable(product.getId());
+
+        System.out.printf("%nFlash-sale benchmark (%d threads, %d orders, one product)%n", THREADS, ORDERS_PER_RUN);
+        System.out.printf("  mode off: %10.1f orders/sec%n", off);
+        System.out.printf("  mode on:  %10.1f orders/sec%n", on);
+
+        int expectedStock = INITIAL_STOCK - 2 * (ORDERS_PER_RUN + ORDERS_PER_RUN / 4);
+        assertThat(productRepository.findById(product.getId()).orElseThrow().getStockQuantity())
+                .isEqualTo(expectedStock);
+    }
+
+    private double run(int orders) throws Exception {
+        OrderRequestDTO request = OrderRequestDTO.builder()
+                .customerId(customer.getId())
+                .items(List.of(OrderItemRequestDTO.builder()
+                        .productId(product.getId())
+                        .quantity(1)
+                        .build()))
+                .build();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int share = orders / THREADS + (t < orders % THREADS ? 1 : 0);
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < share; i++) {
+                        orderService.create(request);
+                    }
+                    return null;
+                }));
+            }
+
+            long startedAt = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            long elapsed = System.nanoTime() - startedAt;
+            return orders / (elapsed / 1_000_000_000.0);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
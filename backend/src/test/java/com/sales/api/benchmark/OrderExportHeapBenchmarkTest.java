@@ -0,0 +1,116 @@
+package com.sales.api.benchmark;
+
+import com.sales.api.service.OrderService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Exports a large synthetic order table through {@link OrderService#export} and reports the
+ * peak heap use. The benchmark profile runs it under a small {@code -Xmx}, so an export that
+ * materialized the result set would fail with an OutOfMemoryError. The order count can be
+ * changed with {@code -Dexport.orders=<n>}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:file:./target/export-benchmark/salesdb;CACHE_SIZE=8192")
+@ActiveProfiles("test")
+class OrderExportHeapBenchmarkTest {
+
+    private static final int ORDERS = Integer.getInteger("export.orders", 1_000_000);
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("INSERT INTO customers (id, name, email, created_at) " +
+                "VALUES (1, 'Export Customer', 'export@example.com', CURRENT_TIMESTAMP)");
+        jdbcTemplate.update("INSERT INTO products (id, name, price, stock_quantity, created_at) " +
+                "VALUES (1, 'Export Product', 9.99, 0, CURRENT_TIMESTAMP)");
+        jdbcTemplate.update("INSERT INTO orders (id, customer_id, order_date, status, total_amount) " +
+                "SELECT X, 1, CURRENT_TIMESTAMP, 'DELIVERED', 19.98 FROM SYSTEM_RANGE(1, ?)", ORDERS);
+        jdbcTemplate.update("INSERT INTO order_items (id, order_id, product_id, quantity, unit_price) " +
+                "SELECT X, X, 1, 2, 9.99 FROM SYSTEM_RANGE(1, ?)", ORDERS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM order_items");
+        jdbcTemplate.update("DELETE FROM orders");
+        jdbcTemplate.update("DELETE FROM products");
+        jdbcTemplate.update("DELETE FROM customers");
+    }
+
+    @Test
+    @DisplayName("Exporting orders keeps heap use flat")
+    void export_ShouldStreamWithinSmallHeap() throws Exception {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        AtomicLong peakHeap = new AtomicLong();
+        Thread sampler = new Thread(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                peakHeap.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max);
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException ex) {
+                    return;
+                }
+            }
+        });
+        sampler.setDaemon(true);
+
+        LineCountingOutputStream out = new LineCountingOutputStream();
+        long startedAt = System.nanoTime();
+        sampler.start();
+        orderService.export(out);
+        sampler.interrupt();
+        long elapsedMs = (System.nanoTime() - startedAt) / 1_000_000;
+
+        System.out.printf("%nOrder export benchmark (%d orders)%n", ORDERS);
+        System.out.printf("  elapsed:   %d ms (%.0f orders/sec)%n", elapsedMs, ORDERS / (elapsedMs / 1000.0));
+        System.out.printf("  written:   %d MB%n", out.bytes / (1024 * 1024));
+        System.out.printf("  peak heap: %d MB of %d MB max%n",
+                peakHeap.get() / (1024 * 1024), memory.getHeapMemoryUsage().getMax() / (1024 * 1024));
+
+        assertThat(out.lines).isEqualTo(ORDERS);
+    }
+
+    private static final class LineCountingOutputStream extends OutputStream {
+
+        private long lines;
+        private long bytes;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+            if (b == '\n') {
+                lines++;
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+            for (int i = off; i < off + len; i++) {
+                if (b[i] == '\n') {
+                    lines++;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.sales.api.benchmark;
+
+import com.sales.api.entity.Money;
+import com.sales.api.entity.Product;
+import com.sales.api.service.ProductSearchIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Query latency of {@link ProductSearchIndex} over a large synthetic catalog, reported as
+ * p50/p99 per query shape. The catalog size can be changed with {@code -Dsearch.products=<n>}.
+ */
+@Tag("benchmark")
+class ProductSearchLatencyBenchmarkTest {
+
+    private static final int PRODUCTS = Integer.getInteger("search.products", 1_000_000);
+    private static final int QUERIES = 2000;
+    private static final int BATCH_SIZE = 10_000;
+
+    private static final String[] BRANDS = {"Acme", "Globex", "Initech", "Umbrella", "Hooli", "Stark", "Wayne", "Wonka"};
+    private static final String[] ADJECTIVES = {"Wireless", "Compact", "Ergonomic", "Portable", "Premium", "Rugged",
+            "Smart", "Classic", "Digital", "Mechanical", "Silent", "Foldable"};
+    private static final String[] NOUNS = {"Keyboard", "Mouse", "Monitor", "Headset", "Speaker", "Charger", "Cable",
+            "Webcam", "Microphone", "Router", "Tablet", "Backpack", "Lamp", "Stand", "Adapter", "Printer"};
+    private static final String[] FEATURES = {"bluetooth", "usb-c", "aluminium", "backlit", "waterproof", "wireless",
+            "rechargeable", "adjustable", "noise cancelling", "fast charging"};
+
+    private ProductSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductSearchIndex(null);
+        Random random = new Random(42);
+        List<Product> batch = new ArrayList<>(BATCH_SIZE);
+        for (long id = 1; id <= PRODUCTS; id++) {
+            batch.add(Product.builder()
+                    .id(id)
+                    .name(pick(random, BRANDS) + " " + pick(random, ADJECTIVES) + " " + pick(random, NOUNS)
+                            + " " + (char) ('A' + random.nextInt(26)) + random.nextInt(1000))
+                    .description(pick(random, ADJECTIVES) + " " + pick(random, NOUNS).toLowerCase() + " with "
+                            + pick(random, FEATURES) + " and " + pick(random, FEATURES))
+                    .price(Money.parse("10.00"))
+                    .stockQuantity(1)
+                    .build());
+            if (batch.size() == BATCH_SIZE) {
+                index.index(batch);
+                batch.clear();
+            }
+        }
+        index.index(batch);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        index.close();
+    }
+
+    @Test
+    @DisplayName("Search stays fast on a large catalog")
+    void search_ShouldAnswerInMilliseconds() {
+        report("exact", "keyboard");
+        report("two words", "wireless keyboard");
+        report("prefix", "mecha");
+        report("fuzzy", "monitr");
+        report("brand + noun", "acme headset");
+        report("description", "noise cancelling");
+        report("deep page", "cable", 900);
+    }
+
+    private void report(String shape, String text) {
+        report(shape, text, 0);
+    }
+
+    private void report(String shape, String text, int offset) {
+        for (int i = 0; i < QUERIES / 4; i++) {
+            index.search(text, offset, 100);
+        }
+
+        long[] nanos = new long[QUERIES];
+        int hits = 0;
+        for (int i = 0; i < QUERIES; i++) {
+            long startedAt = System.nanoTime();
+            hits = index.search(text, offset, 100).size();
+            nanos[i] = System.nanoTime() - startedAt;
+        }
+        Arrays.sort(nanos);
+
+        System.out.printf("%-12s %-22s p50 %6.2f ms  p99 %6.2f ms  (%d hits/page, %d products)%n", shape,
+                "'" + text + "'", nanos[QUERIES / 2] / 1e6, nanos[QUERIES * 99 / 100] / 1e6, hits, PRODUCTS);
+        assertThat(hits).isPositive();
+    }
+
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
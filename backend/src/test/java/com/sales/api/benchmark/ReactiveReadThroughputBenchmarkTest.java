@@ -0,0 +1,227 @@
+package com.sales.api.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sales.api.SalesApiApplication;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Throughput and latency of the same read mix served by the servlet API over JDBC and by the
+ * reactive read API over R2DBC. Both run in one application JVM on the same H2 database, seeded
+ * through the servlet API; every connection sends product lookups and product, order and
+ * customer order listings. Product lookups use {@code fresh=true} on the servlet API so neither
+ * side answers from a cache.
+ * <p>
+ * Run with {@code mvn test -Pbenchmark}; {@code -Dload.connections=<n>}, {@code -Dload.requests=<n>}
+ * (per connection), {@code -Dload.virtual=true} (virtual servlet request threads) and
+ * {@code -Dload.server-heap=<size>} change the load. Server output goes to
+ * {@code target/load-reactive-read.log}.
+ */
+@Tag("benchmark")
+class ReactiveReadThroughputBenchmarkTest {
+
+    private static final int CONNECTIONS = Integer.getInteger("load.connections", 1000);
+    private static final int REQUESTS_PER_CONNECTION = Integer.getInteger("load.requests", 5);
+    private static final boolean VIRTUAL_THREADS = Boolean.getBoolean("load.virtual");
+    private static final String SERVER_HEAP = System.getProperty("load.server-heap", "1g");
+    private static final int PRODUCTS = 100;
+    private static final int CUSTOMERS = 20;
+    private static final int ORDERS = 2000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("Requests/sec and latency of the servlet and reactive read APIs")
+    void compareStacks() throws Exception {
+        int servletPort = freePort();
+        int reactivePort = freePort();
+        Process server = new ProcessBuilder(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-Xmx" + SERVER_HEAP,
+                "-cp", System.getProperty("java.class.path"),
+                SalesApiApplication.class.getName(),
+                "--spring.profiles.active=test",
+                "--server.port=" + servletPort,
+                "--spring.threads.virtual.enabled=" + VIRTUAL_THREADS,
+                "--sales.reactive-read.enabled=true",
+                "--sales.reactive-read.port=" + reactivePort,
+                "--sales.order-archive.enabled=false",
+                "--logging.level.com.sales.api=INFO")
+                .redirectErrorStream(true)
+                .redirectOutput(new File("target/load-reactive-read.log"))
+                .start();
+        try (HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30))
+                .build()) {
+            String servletUrl = "http://localhost:" + servletPort;
+            String reactiveUrl = "http://localhost:" + reactivePort;
+            awaitStarted(http, servletUrl, server);
+            Fixture fixture = seed(http, servletUrl);
+
+            load(http, servletUrl, fixture, Math.min(CONNECTIONS, 200), REQUESTS_PER_CONNECTION);
+            load(http, reactiveUrl, fixture, Math.min(CONNECTIONS, 200), REQUESTS_PER_CONNECTION);
+            Result servlet = load(http, servletUrl, fixture, CONNECTIONS, REQUESTS_PER_CONNECTION);
+            Result reactive = load(http, reactiveUrl, fixture, CONNECTIONS, REQUESTS_PER_CONNECTION);
+
+            System.out.printf("%nRead benchmark (%d connections x %d requests, %d orders, %d CPUs, %s servlet threads)%n",
+                    CONNECTIONS, REQUESTS_PER_CONNECTION, ORDERS, Runtime.getRuntime().availableProcessors(),
+                    VIRTUAL_THREADS ? "virtual" : "platform");
+            System.out.println("  servlet:  " + servlet);
+            System.out.println("  reactive: " + reactive);
+
+            assertThat(servlet.completed()).isPositive();
+            assertThat(reactive.completed()).isPositive();
+        } finally {
+            server.destroy();
+            server.waitFor(30, TimeUnit.SECONDS);
+        }
+    }
+
+    private void awaitStarted(HttpClient http, String baseUrl, Process server) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(3);
+        while (System.nanoTime() < deadline) {
+            assertThat(server.isAlive()).as("server process is running").isTrue();
+            try {
+                if (http.send(get(baseUrl + "/actuator/health"), HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException ex) {
+                // not listening yet
+            }
+            Thread.sleep(500);
+        }
+        throw new IllegalStateException("Server did not start on " + baseUrl);
+    }
+
+    private Fixture seed(HttpClient http, String baseUrl) throws Exception {
+        List<Long> customerIds = new ArrayList<>();
+        for (int i = 0; i < CUSTOMERS; i++) {
+            customerIds.add(post(http, baseUrl + "/api/customers",
+                    "{\"name\":\"Read Customer " + i + "\",\"email\":\"read" + i + "@example.com\"}").get("id").asLong());
+        }
+        List<Long> productIds = new ArrayList<>();
+        for (int i = 0; i < PRODUCTS; i++) {
+            productIds.add(post(http, baseUrl + "/api/products",
+                    "{\"name\":\"Read Product " + i + "\",\"price\":9.99,\"stockQuantity\":1000000}").get("id").asLong());
+        }
+        for (int i = 0; i < ORDERS; i++) {
+            post(http, baseUrl + "/api/orders", "{\"customerId\":" + customerIds.get(i % CUSTOMERS)
+                    + ",\"items\":[{\"productId\":" + productIds.get(i % PRODUCTS) + ",\"quantity\":1},"
+                    + "{\"productId\":" + productIds.get((i + 1) % PRODUCTS) + ",\"quantity\":2}]}");
+        }
+        return new Fixture(customerIds, productIds);
+    }
+
+    private Result load(HttpClient http, String baseUrl, Fixture fixture, int connections, int requestsPerConnection)
+            throws Exception {
+        long[] nanos = new long[connections * requestsPerConnection];
+        AtomicInteger completed = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        long elapsed;
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < connections; c++) {
+                int connection = c;
+                clients.submit(() -> {
+                    start.await();
+                    for (int r = 0; r < requestsPerConnection; r++) {
+                        int index = connection * requestsPerConnection + r;
+                        long startedAt = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = http.send(request(baseUrl, fixture, index),
+                                    HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() < 400) {
+                                completed.incrementAndGet();
+                            } else {
+                                failed.incrementAndGet();
+                            }
+                        } catch (IOException ex) {
+                            failed.incrementAndGet();
+                        }
+                        nanos[index] = System.nanoTime() - startedAt;
+                    }
+                    return null;
+                });
+            }
+
+            long startedAt = System.nanoTime();
+            start.countDown();
+            clients.shutdown();
+            clients.awaitTermination(30, TimeUnit.MINUTES);
+            elapsed = System.nanoTime() - startedAt;
+        }
+
+        Arrays.sort(nanos);
+        return new Result(completed.get(), failed.get(), completed.get() / (elapsed / 1e9),
+                nanos[nanos.length / 2] / 1e6, nanos[nanos.length * 99 / 100] / 1e6);
+    }
+
+    private static HttpRequest request(String baseUrl, Fixture fixture, int index) {
+        Long productId = fixture.productIds().get(index % PRODUCTS);
+        Long customerId = fixture.customerIds().get(index % CUSTOMERS);
+        return switch (index % 4) {
+            case 0 -> get(baseUrl + "/api/products/" + productId + "?fresh=true");
+            case 1 -> get(baseUrl + "/api/products?limit=20");
+            case 2 -> get(baseUrl + "/api/orders?limit=20&after=" + index % ORDERS);
+            default -> get(baseUrl + "/api/orders/customer/" + customerId + "?limit=20");
+        };
+    }
+
+    private static HttpRequest get(String url) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Accept", "application/json")
+                .timeout(Duration.ofMinutes(5))
+                .build();
+    }
+
+    private JsonNode post(HttpClient http, String url, String body) throws Exception {
+        HttpResponse<String> response = http.send(HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        assertThat(response.statusCode()).isEqualTo(201);
+        return objectMapper.readTree(response.body());
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private record Fixture(List<Long> customerIds, List<Long> productIds) {
+    }
+
+    private record Result(int completed, int failed, double throughput, double p50Ms, double p99Ms) {
+
+        @Override
+        public String toString() {
+            return String.format("%8.1f req/s  p50 %8.2f ms  p99 %8.2f ms  %d ok  %d failed",
+                    throughput, p50Ms, p99Ms, completed, failed);
+        }
+    }
+}
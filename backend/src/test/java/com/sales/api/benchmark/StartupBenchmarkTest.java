@@ -0,0 +1,124 @@
+package com.sales.api.benchmark;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Time from launching the JVM to the first successful {@code GET /api/products}, for the fat jar
+ * and for the AOT-processed jar started with its CDS archive. Both artifacts come from
+ * {@code mvn package -Paot}, which must run first; the test is skipped without them.
+ * <p>
+ * Run with {@code mvn test -Pbenchmark -Dtest=StartupBenchmarkTest}; {@code -Dstartup.runs=<n>}
+ * changes the number of launches per artifact. Server output goes to
+ * {@code target/startup-fat-jar.log} and {@code target/startup-aot-cds.log}.
+ */
+@Tag("benchmark")
+class StartupBenchmarkTest {
+
+    private static final int RUNS = Integer.getInteger("startup.runs", 5);
+    private static final Path FAT_JAR = Path.of("target", "sales-api-exec.jar");
+    private static final Path AOT_JAR = Path.of("target", "sales-api.jar");
+    private static final Path CDS_ARCHIVE = Path.of("target", "sales-api.jsa");
+
+    @Test
+    @DisplayName("Time to first successful request of the fat jar and of the AOT jar with CDS")
+    void compareStartup() throws Exception {
+        assumeTrue(Files.exists(FAT_JAR) && Files.exists(AOT_JAR) && Files.exists(CDS_ARCHIVE),
+                "run mvn package -Paot first");
+
+        Result fatJar = run("fat-jar", List.of("-jar", FAT_JAR.toString()));
+        Result aotCds = run("aot-cds", List.of(
+                "-XX:SharedArchiveFile=" + CDS_ARCHIVE,
+                "-Dspring.aot.enabled=true",
+                "-jar", AOT_JAR.toString()));
+
+        System.out.printf("%nStartup benchmark (%d runs, %d CPUs)%n", RUNS, Runtime.getRuntime().availableProcessors());
+        System.out.println("  fat jar:   " + fatJar);
+        System.out.println("  AOT + CDS: " + aotCds);
+        System.out.printf("  AOT + CDS starts in %.0f%% of the fat jar's time%n", 100 * aotCds.medianMs() / fatJar.medianMs());
+
+        assertThat(fatJar.medianMs()).isPositive();
+        assertThat(aotCds.medianMs()).isPositive();
+    }
+
+    private Result run(String mode, List<String> launch) throws Exception {
+        List<Double> millis = new ArrayList<>();
+        try (HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build()) {
+            for (int i = 0; i < RUNS; i++) {
+                millis.add(timeToFirstRequest(http, mode, launch));
+            }
+        }
+        millis.sort(null);
+        return new Result(millis.get(0), millis.get(millis.size() / 2), millis.get(millis.size() - 1));
+    }
+
+    private double timeToFirstRequest(HttpClient http, String mode, List<String> launch) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(launch);
+        command.add("--server.port=" + port);
+
+        long startedAt = System.nanoTime();
+        Process server = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(new File("target/startup-" + mode + ".log"))
+                .start();
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/products"))
+                    .timeout(Duration.ofSeconds(30))
+                    .build();
+            long deadline = startedAt + TimeUnit.MINUTES.toNanos(3);
+            while (System.nanoTime() < deadline) {
+                assertThat(server.isAlive()).as("server process is running").isTrue();
+                try {
+                    if (http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return (System.nanoTime() - startedAt) / 1e6;
+                    }
+                } catch (IOException ex) {
+                    // not listening yet
+                }
+                Thread.sleep(10);
+            }
+            throw new IllegalStateException("Server did not answer on port " + port);
+        } finally {
+            server.destroy();
+            server.waitFor(30, TimeUnit.SECONDS);
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private record Result(double minMs, double medianMs, double maxMs) {
+
+        @Override
+        public String toString() {
+            return String.format("min %8.0f ms  median %8.0f ms  max %8.0f ms", minMs, medianMs, maxMs);
+        }
+    }
+}
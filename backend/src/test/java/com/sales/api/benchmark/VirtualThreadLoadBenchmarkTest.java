@@ -0,0 +1,235 @@
+package com.sales.api.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sales.api.SalesApiApplication;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Throughput and latency of the existing controllers under many concurrent connections, with
+ * requests handled on Tomcat's platform thread pool and on virtual threads. The application runs
+ * in its own JVM for each mode and every connection sends a mix of product reads, order listings
+ * and order creations. Pinned virtual threads are read back from {@code /actuator/prometheus}.
+ * <p>
+ * Run with {@code mvn test -Pbenchmark}; {@code -Dload.connections=<n>}, {@code -Dload.requests=<n>}
+ * (per connection) and {@code -Dload.server-heap=<size>} change the load. Server output goes to
+ * {@code target/load-platform.log} and {@code target/load-virtual.log}.
+ */
+@Tag("benchmark")
+class VirtualThreadLoadBenchmarkTest {
+
+    private static final int CONNECTIONS = Integer.getInteger("load.connections", 5000);
+    private static final int REQUESTS_PER_CONNECTION = Integer.getInteger("load.requests", 2);
+    private static final String SERVER_HEAP = System.getProperty("load.server-heap", "1g");
+    private static final int PRODUCTS = 100;
+    private static final Pattern PINNED = Pattern.compile("^sales_virtual_threads_pinned_total\\{.*} ([0-9.E]+)$",
+            Pattern.MULTILINE);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("Requests/sec and latency with platform and virtual request threads")
+    void compareThreadModels() throws Exception {
+        Result platform = run(false);
+        Result virtual = run(true);
+
+        System.out.printf("%nLoad benchmark (%d connections x %d requests, %d CPUs)%n",
+                CONNECTIONS, REQUESTS_PER_CONNECTION, Runtime.getRuntime().availableProcessors());
+        System.out.println("  platform: " + platform);
+        System.out.println("  virtual:  " + virtual);
+
+        assertThat(platform.completed()).isPositive();
+        assertThat(virtual.completed()).isPositive();
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        int port = freePort();
+        String mode = virtualThreads ? "virtual" : "platform";
+        Process server = new ProcessBuilder(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-Xmx" + SERVER_HEAP,
+                "-cp", System.getProperty("java.class.path"),
+                SalesApiApplication.class.getName(),
+                "--spring.profiles.active=test",
+                "--server.port=" + port,
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--sales.virtual-threads.pinned-threshold-ms=1",
+                "--logging.level.com.sales.api=INFO")
+                .redirectErrorStream(true)
+                .redirectOutput(new File("target/load-" + mode + ".log"))
+                .start();
+        try (HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30))
+                .build()) {
+            String baseUrl = "http://localhost:" + port;
+            awaitStarted(http, baseUrl, server);
+            Fixture fixture = seed(http, baseUrl);
+
+            load(http, baseUrl, fixture, Math.min(CONNECTIONS, 200), REQUESTS_PER_CONNECTION);
+            Result result = load(http, baseUrl, fixture, CONNECTIONS, REQUESTS_PER_CONNECTION);
+
+            Thread.sleep(1500);
+            return result.withPinned(pinned(http, baseUrl));
+        } finally {
+            server.destroy();
+            server.waitFor(30, TimeUnit.SECONDS);
+        }
+    }
+
+    private void awaitStarted(HttpClient http, String baseUrl, Process server) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(3);
+        while (System.nanoTime() < deadline) {
+            assertThat(server.isAlive()).as("server process is running").isTrue();
+            try {
+                if (http.send(get(baseUrl + "/actuator/health"), HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException ex) {
+                // not listening yet
+            }
+            Thread.sleep(500);
+        }
+        throw new IllegalStateException("Server did not start on " + baseUrl);
+    }
+
+    private Fixture seed(HttpClient http, String baseUrl) throws Exception {
+        Long customerId = post(http, baseUrl + "/api/customers",
+                "{\"name\":\"Load Customer\",\"email\":\"load@example.com\"}").get("id").asLong();
+        List<Long> productIds = new ArrayList<>();
+        for (int i = 0; i < PRODUCTS; i++) {
+            productIds.add(post(http, baseUrl + "/api/products",
+                    "{\"name\":\"Load Product " + i + "\",\"price\":9.99,\"stockQuantity\":1000000}").get("id").asLong());
+        }
+        return new Fixture(customerId, productIds);
+    }
+
+    private Result load(HttpClient http, String baseUrl, Fixture fixture, int connections, int requestsPerConnection)
+            throws Exception {
+        long[] nanos = new long[connections * requestsPerConnection];
+        AtomicInteger completed = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        long elapsed;
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < connections; c++) {
+                int connection = c;
+                clients.submit(() -> {
+                    start.await();
+                    for (int r = 0; r < requestsPerConnection; r++) {
+                        int index = connection * requestsPerConnection + r;
+                        long startedAt = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = http.send(request(baseUrl, fixture, index),
+                                    HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() < 400) {
+                                completed.incrementAndGet();
+                            } else {
+                                failed.incrementAndGet();
+                            }
+                        } catch (IOException ex) {
+                            failed.incrementAndGet();
+                        }
+                        nanos[index] = System.nanoTime() - startedAt;
+                    }
+                    return null;
+                });
+            }
+
+            long startedAt = System.nanoTime();
+            start.countDown();
+            clients.shutdown();
+            clients.awaitTermination(30, TimeUnit.MINUTES);
+            elapsed = System.nanoTime() - startedAt;
+        }
+
+        Arrays.sort(nanos);
+        return new Result(completed.get(), failed.get(), completed.get() / (elapsed / 1e9),
+                nanos[nanos.length / 2] / 1e6, nanos[nanos.length * 99 / 100] / 1e6, 0);
+    }
+
+    private static HttpRequest request(String baseUrl, Fixture fixture, int index) {
+        Long productId = fixture.productIds().get(index % PRODUCTS);
+        return switch (index % 4) {
+            case 0 -> get(baseUrl + "/api/products/" + productId + "?fresh=true");
+            case 1 -> get(baseUrl + "/api/products?limit=20");
+            case 2 -> get(baseUrl + "/api/orders?limit=20");
+            default -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/orders"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"customerId\":" + fixture.customerId()
+                            + ",\"items\":[{\"productId\":" + productId + ",\"quantity\":1}]}"))
+                    .timeout(Duration.ofMinutes(5))
+                    .build();
+        };
+    }
+
+    private static HttpRequest get(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofMinutes(5)).build();
+    }
+
+    private JsonNode post(HttpClient http, String url, String body) throws Exception {
+        HttpResponse<String> response = http.send(HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        assertThat(response.statusCode()).isEqualTo(201);
+        return objectMapper.readTree(response.body());
+    }
+
+    private static double pinned(HttpClient http, String baseUrl) throws Exception {
+        String metrics = http.send(get(baseUrl + "/actuator/prometheus"), HttpResponse.BodyHandlers.ofString()).body();
+        double pinned = 0;
+        Matcher matcher = PINNED.matcher(metrics);
+        while (matcher.find()) {
+            pinned += Double.parseDouble(matcher.group(1));
+        }
+        return pinned;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private record Fixture(Long customerId, List<Long> productIds) {
+    }
+
+    private record Result(int completed, int failed, double throughput, double p50Ms, double p99Ms, double pinned) {
+
+        Result withPinned(double pinned) {
+            return new Result(completed, failed, throughput, p50Ms, p99Ms, pinned);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%8.1f req/s  p50 %8.2f ms  p99 %8.2f ms  %d ok  %d failed  %.0f pinned",
+                    throughput, p50Ms, p99Ms, completed, failed, pinned);
+        }
+    }
+}
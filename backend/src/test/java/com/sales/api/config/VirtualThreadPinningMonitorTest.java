@@ -0,0 +1,75 @@
+package com.sales.api.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VirtualThreadPinningMonitorTest {
+
+    private final Object lock = new Object();
+
+    private SimpleMeterRegistry registry;
+    private VirtualThreadPinningMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        VirtualThreadProperties properties = new VirtualThreadProperties();
+        properties.setPinnedThresholdMs(5);
+        monitor = new VirtualThreadPinningMonitor(registry, properties, new MockEnvironment());
+    }
+
+    @AfterEach
+    void tearDown() {
+        monitor.stop();
+    }
+
+    @Test
+    @DisplayName("Should count a virtual thread blocking inside synchronized by its calling frame")
+    void start_ShouldReportPinnedVirtualThread() throws Exception {
+        monitor.start();
+
+        Thread.ofVirtual().start(this::sleepHoldingLock).join();
+
+        String frame = VirtualThreadPinningMonitorTest.class.getName() + ".sleepHoldingLock";
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (pinned(frame) == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+        }
+        assertThat(pinned(frame)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should stay off while virtual threads are disabled")
+    void onApplicationReady_ShouldNotStart_WhenVirtualThreadsDisabled() throws Exception {
+        monitor.onApplicationReady();
+
+        Thread.ofVirtual().start(this::sleepHoldingLock).join();
+        Thread.sleep(1500);
+
+        assertThat(registry.find("sales.virtual.threads.pinned").counters()).isEmpty();
+    }
+
+    private void sleepHoldingLock() {
+        synchronized (lock) {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private double pinned(String frame) {
+        Counter counter = registry.find("sales.virtual.threads.pinned").tag("frame", frame).counter();
+        return counter == null ? 0 : counter.count();
+    }
+}
@@ -0,0 +1,49 @@
+package com.sales.api.entity;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MoneyTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("Should hold amounts as minor units of the currency")
+    void of_ShouldConvertToMinorUnits() {
+        assertThat(Money.of(new BigDecimal("19.99")).minorUnits()).isEqualTo(1999);
+        assertThat(Money.of(new BigDecimal("20")).minorUnits()).isEqualTo(2000);
+        assertThat(Money.of(new BigDecimal("500"), Currency.getInstance("JPY")).minorUnits()).isEqualTo(500);
+        assertThat(Money.parse("0.05").toBigDecimal()).isEqualTo(new BigDecimal("0.05"));
+    }
+
+    @Test
+    @DisplayName("Should reject amounts finer than the currency's minor unit")
+    void of_ShouldRejectExtraFractionDigits() {
+        assertThatThrownBy(() -> Money.parse("9.999")).isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    @DisplayName("Should compute exactly and fail on overflow")
+    void arithmetic_ShouldBeExact() {
+        assertThat(Money.parse("19.99").times(3).plus(Money.parse("0.03"))).isEqualTo(Money.parse("60.00"));
+        assertThatThrownBy(() -> Money.ofMinorUnits(Long.MAX_VALUE).times(2)).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> Money.ZERO.plus(Money.of(BigDecimal.ONE, Currency.getInstance("EUR"))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should serialize as the decimal number a BigDecimal amount would be")
+    void json_ShouldMatchBigDecimal() throws Exception {
+        assertThat(objectMapper.writeValueAsString(Money.parse("20.00")))
+                .isEqualTo(objectMapper.writeValueAsString(new BigDecimal("20.00")))
+                .isEqualTo("20.00");
+        assertThat(objectMapper.readValue("149.9", Money.class)).isEqualTo(Money.parse("149.90"));
+    }
+}
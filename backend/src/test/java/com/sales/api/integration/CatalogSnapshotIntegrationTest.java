@@ -0,0 +1,231 @@
+package com.sales.api.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sales.api.config.CatalogSnapshotProperties;
+import com.sales.api.dto.ProductRequestDTO;
+import com.sales.api.entity.Money;
+import com.sales.api.entity.Product;
+import com.sales.api.repository.ProductRepository;
+import com.sales.api.service.CatalogSnapshotService;
+import com.sales.api.service.ProductService;
+import com.sales.api.support.SqlStatementCounter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "sales.catalog-snapshot.enabled=true",
+        "sales.catalog-snapshot.refresh-interval-ms=3600000",
+        "sales.catalog-snapshot.max-staleness=2s",
+        "sales.catalog-snapshot.min-rebuild-interval=0s"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CatalogSnapshotIntegrationTest {
+
+    private static final int PRODUCTS = 150;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CatalogSnapshotService catalogSnapshotService;
+
+    @Autowired
+    private CatalogSnapshotProperties catalogSnapshotProperties;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private List<Product> products;
+
+    @BeforeEach
+    void setUp() {
+        productRepository.deleteAll();
+        products = new ArrayList<>();
+        for (int i = 0; i < PRODUCTS; i++) {
+            products.add(productRepository.save(Product.builder()
+                    .name("Product " + i)
+                    .price(Money.parse("10.00"))
+                    .stockQuantity(i % 2)
+                    .build()));
+        }
+        catalogSnapshotService.refresh();
+    }
+
+    @AfterEach
+    void tearDown() {
+        catalogSnapshotProperties.setMinRebuildInterval(Duration.ZERO);
+        productRepository.deleteAll();
+        catalogSnapshotService.refresh();
+    }
+
+    @Test
+    @DisplayName("GET /api/products - Should serve the default pages from the snapshot without a query")
+    void findAll_ShouldServeSnapshotPages() throws Exception {
+        SqlStatementCounter.reset();
+
+        mockMvc.perform(get("/api/products"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().string("X-Next-Cursor", products.get(99).getId().toString()))
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$", hasSize(100)))
+                .andExpect(jsonPath("$[0].name", is("Product 0")));
+        mockMvc.perform(get("/api/products").param("after", products.get(99).getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"))
+                .andExpect(jsonPath("$", hasSize(50)))
+                .andExpect(jsonPath("$[49].name", is("Product 149")));
+        mockMvc.perform(get("/api/products/in-stock"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(75)))
+                .andExpect(jsonPath("$[*].stockQuantity", everyItem(is(1))));
+
+        assertThat(SqlStatementCounter.total()).isZero();
+    }
+
+    @Test
+    @DisplayName("GET /api/products - Should answer If-None-Match from the snapshot until it is rebuilt")
+    void findAll_ShouldRevalidateAgainstSnapshot() throws Exception {
+        String eTag = mockMvc.perform(get("/api/products"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        SqlStatementCounter.reset();
+        mockMvc.perform(get("/api/products").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag));
+        assertThat(SqlStatementCounter.total()).isZero();
+
+        productRepository.deleteById(products.get(0).getId());
+        catalogSnapshotService.refresh();
+
+        mockMvc.perform(get("/api/products").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(eTag)))
+                .andExpect(jsonPath("$[0].name", is("Product 1")));
+    }
+
+    @Test
+    @DisplayName("GET /api/products - Should send the gzipped page to clients accepting gzip")
+    void findAll_ShouldServeGzip_WhenAccepted() throws Exception {
+        MvcResult plain = mockMvc.perform(get("/api/products")).andReturn();
+        MvcResult gzipped = mockMvc.perform(get("/api/products").header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT_ENCODING)))
+                .andReturn();
+
+        byte[] body = gzipped.getResponse().getContentAsByteArray();
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            assertThat(in.readAllBytes()).isEqualTo(plain.getResponse().getContentAsByteArray());
+        }
+        assertThat(body.length).isLessThan(plain.getResponse().getContentAsByteArray().length);
+        assertThat(gzipped.getResponse().getHeader(HttpHeaders.ETAG))
+                .isNotEqualTo(plain.getResponse().getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    @DisplayName("GET /api/products - Should serve a product change once the snapshot is refreshed")
+    void findAll_ShouldReflectWrites_AfterRefresh() throws Exception {
+        ProductRequestDTO request = ProductRequestDTO.builder()
+                .name("Renamed").price(new BigDecimal("12.00")).stockQuantity(5).build();
+        mockMvc.perform(put("/api/products/{id}", products.get(0).getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/products"))
+                .andExpect(jsonPath("$[0].name", is("Product 0")));
+
+        catalogSnapshotService.refresh();
+
+        mockMvc.perform(get("/api/products"))
+                .andExpect(jsonPath("$[0].name", is("Renamed")));
+        mockMvc.perform(get("/api/products/in-stock"))
+                .andExpect(jsonPath("$", hasSize(76)))
+                .andExpect(jsonPath("$[0].name", is("Renamed")));
+    }
+
+    @Test
+    @DisplayName("Should keep the pages whose products did not change when rebuilding")
+    void refresh_ShouldRebuildOnlyChangedPages() {
+        CatalogSnapshotService.Page first = catalogSnapshotService.findAll(null, 100);
+        CatalogSnapshotService.Page second = catalogSnapshotService.findAll(products.get(99).getId(), 100);
+
+        productService.updateStock(products.get(121).getId(), -1);
+        catalogSnapshotService.refresh();
+
+        assertThat(catalogSnapshotService.findAll(null, 100)).isSameAs(first);
+        assertThat(catalogSnapshotService.findAll(products.get(99).getId(), 100)).isNotSameAs(second);
+        assertThat(new String(catalogSnapshotService.findAll(products.get(99).getId(), 100).json()))
+                .contains("\"stockQuantity\":0");
+    }
+
+    @Test
+    @DisplayName("Should fold changes within min-rebuild-interval into one later rebuild")
+    void refresh_ShouldDebounceRebuilds() throws Exception {
+        catalogSnapshotProperties.setMinRebuildInterval(Duration.ofHours(1));
+        productRepository.deleteById(products.get(0).getId());
+
+        catalogSnapshotService.refresh();
+
+        mockMvc.perform(get("/api/products"))
+                .andExpect(jsonPath("$[0].name", is("Product 0")));
+
+        catalogSnapshotProperties.setMinRebuildInterval(Duration.ZERO);
+        catalogSnapshotService.refresh();
+
+        mockMvc.perform(get("/api/products"))
+                .andExpect(jsonPath("$[0].name", is("Product 1")));
+    }
+
+    @Test
+    @DisplayName("GET /api/products - Should read from the database when the snapshot is older than max-staleness")
+    void findAll_ShouldBypassSnapshot_WhenStale() throws Exception {
+        productRepository.deleteById(products.get(0).getId());
+        Thread.sleep(2100);
+
+        mockMvc.perform(get("/api/products"))
+                .andExpect(jsonPath("$[0].name", is("Product 1")));
+    }
+
+    @Test
+    @DisplayName("GET /api/products?limit= - Should read other page sizes from the database")
+    void findAll_ShouldReadDatabase_ForOtherLimits() throws Exception {
+        SqlStatementCounter.reset();
+
+        mockMvc.perform(get("/api/products").param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(10)));
+
+        assertThat(SqlStatementCounter.selects()).isPositive();
+    }
+}
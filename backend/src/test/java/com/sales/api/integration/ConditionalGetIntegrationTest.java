@@ -0,0 +1,224 @@
+package com.sales.api.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sales.api.dto.CustomerRequestDTO;
+import com.sales.api.dto.OrderDTO;
+import com.sales.api.dto.OrderItemRequestDTO;
+import com.sales.api.dto.OrderRequestDTO;
+import com.sales.api.dto.ProductRequestDTO;
+import com.sales.api.entity.Customer;
+import com.sales.api.entity.Money;
+import com.sales.api.entity.Product;
+import com.sales.api.repository.CustomerRepository;
+import com.sales.api.repository.OrderRepository;
+import com.sales.api.repository.ProductRepository;
+import com.sales.api.service.OrderEventService;
+import com.sales.api.service.OrderService;
+import com.sales.api.service.ProductService;
+import com.sales.api.support.SqlStatementCounter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ConditionalGetIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private OrderEventService orderEventService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private Customer customer;
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        customer = customerRepository.save(Customer.builder().name("Alice").email("alice@example.com").build());
+        product = productRepository.save(Product.builder()
+                .name("Keyboard").price(Money.parse("50.00")).stockQuantity(10).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        cleanUp();
+        // publish this test's events now, so the publisher issues no queries while the next one counts
+        orderEventService.dispatch();
+    }
+
+    @Test
+    @DisplayName("GET /api/products/{id} - Should answer a matching If-None-Match with 304 until the product changes")
+    void findProduct_ShouldRevalidateByVersion() throws Exception {
+        String eTag = eTagOf("/api/products/" + product.getId());
+
+        mockMvc.perform(get("/api/products/{id}", product.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(content().string(""));
+
+        productService.updateStock(product.getId(), -1);
+
+        mockMvc.perform(get("/api/products/{id}", product.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(eTag)))
+                .andExpect(jsonPath("$.stockQuantity", is(9)));
+    }
+
+    @Test
+    @DisplayName("GET /api/products/{id}?fresh=true - Should answer 304 with one version query")
+    void findFreshProduct_ShouldNotLoadProduct_WhenNotModified() throws Exception {
+        String eTag = eTagOf("/api/products/" + product.getId() + "?fresh=true");
+
+        SqlStatementCounter.reset();
+        mockMvc.perform(get("/api/products/{id}", product.getId())
+                        .param("fresh", "true")
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+
+        assertThat(SqlStatementCounter.selects()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("PUT /api/products/{id} - Should change the ETag of the product and of the listing")
+    void updateProduct_ShouldChangeETags() throws Exception {
+        String productTag = eTagOf("/api/products/" + product.getId());
+        String listTag = eTagOf("/api/products");
+
+        ProductRequestDTO request = ProductRequestDTO.builder()
+                .name("Mechanical Keyboard").price(new BigDecimal("80.00")).stockQuantity(10).build();
+        mockMvc.perform(put("/api/products/{id}", product.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/products/{id}", product.getId()).header(HttpHeaders.IF_NONE_MATCH, productTag))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/products").header(HttpHeaders.IF_NONE_MATCH, listTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name", is("Mechanical Keyboard")));
+    }
+
+    @Test
+    @DisplayName("GET /api/customers - Should answer 304 and keep the next cursor without loading customers")
+    void findCustomers_ShouldNotLoadCustomers_WhenNotModified() throws Exception {
+        customerRepository.save(Customer.builder().name("Bob").email("bob@example.com").build());
+        String eTag = eTagOf("/api/customers?limit=1");
+
+        SqlStatementCounter.reset();
+        mockMvc.perform(get("/api/customers").param("limit", "1").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+        assertThat(SqlStatementCounter.selects()).isEqualTo(1);
+
+        CustomerRequestDTO request = CustomerRequestDTO.builder().name("Alice Smith").email("alice@example.com").build();
+        mockMvc.perform(put("/api/customers/{id}", customer.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/customers").param("limit", "1").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("X-Next-Cursor"))
+                .andExpect(jsonPath("$[0].name", is("Alice Smith")));
+    }
+
+    @Test
+    @DisplayName("GET /api/orders/{id} - Should change the ETag when the order, its customer or its products change")
+    void findOrder_ShouldRevalidateAgainstOrderCustomerAndProducts() throws Exception {
+        OrderDTO order = orderService.create(OrderRequestDTO.builder()
+                .customerId(customer.getId())
+                .items(List.of(OrderItemRequestDTO.builder().productId(product.getId()).quantity(1).build()))
+                .build());
+        String path = "/api/orders/" + order.getId();
+
+        String eTag = eTagOf(path);
+        // publish the order's events now, so the publisher issues no queries while counting
+        orderEventService.dispatch();
+        SqlStatementCounter.reset();
+        mockMvc.perform(get(path).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+        assertThat(SqlStatementCounter.selects()).isEqualTo(1);
+
+        productService.updateStock(product.getId(), 5);
+        assertThat(eTagOf(path)).isNotEqualTo(eTag);
+
+        eTag = eTagOf(path);
+        mockMvc.perform(put("/api/customers/{id}", customer.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(CustomerRequestDTO.builder()
+                                .name("Alice Smith").email("alice@example.com").build())))
+                .andExpect(status().isOk());
+        assertThat(eTagOf(path)).isNotEqualTo(eTag);
+
+        eTag = eTagOf(path);
+        String listTag = eTagOf("/api/orders");
+        mockMvc.perform(put("/api/orders/{id}/status", order.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"CONFIRMED\"}"))
+                .andExpect(status().isOk());
+        assertThat(eTagOf(path)).isNotEqualTo(eTag);
+        mockMvc.perform(get("/api/orders").header(HttpHeaders.IF_NONE_MATCH, listTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status", is("CONFIRMED")));
+    }
+
+    @Test
+    @DisplayName("GET /api/orders/{id} - Should return 404 for a missing order even with If-None-Match")
+    void findOrder_ShouldReturn404_WhenOrderNotFound() throws Exception {
+        mockMvc.perform(get("/api/orders/{id}", 999L).header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+                .andExpect(status().isNotFound());
+    }
+
+    private String eTagOf(String path) throws Exception {
+        MvcResult result = mockMvc.perform(get(path))
+                .andExpect(status().isOk())
+                .andReturn();
+        List<String> eTags = result.getResponse().getHeaders(HttpHeaders.ETAG);
+        assertThat(eTags).hasSize(1);
+        assertThat(eTags.get(0)).startsWith("\"");
+        return eTags.get(0);
+    }
+
+    private void cleanUp() {
+        orderRepository.deleteAll();
+        productRepository.deleteAll();
+        customerRepository.deleteAll();
+    }
+}
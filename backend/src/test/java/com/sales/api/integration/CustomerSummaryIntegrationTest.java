@@ -0,0 +1,174 @@
+package com.sales.api.integration;
+
+import com.sales.api.dto.OrderDTO;
+import com.sales.api.dto.OrderItemRequestDTO;
+import com.sales.api.dto.OrderRequestDTO;
+import com.sales.api.entity.Customer;
+import com.sales.api.entity.Money;
+import com.sales.api.entity.OrderStatus;
+import com.sales.api.entity.Product;
+import com.sales.api.repository.CustomerDailySalesRepository;
+import com.sales.api.repository.CustomerRepository;
+import com.sales.api.repository.CustomerSummaryRepository;
+import com.sales.api.repository.DailySalesRepository;
+import com.sales.api.repository.OrderRepository;
+import com.sales.api.repository.ProductDailySalesRepository;
+import com.sales.api.repository.ProductRepository;
+import com.sales.api.service.CustomerSummaryService;
+import com.sales.api.service.OrderService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CustomerSummaryIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private CustomerSummaryService customerSummaryService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CustomerSummaryRepository customerSummaryRepository;
+
+    @Autowired
+    private DailySalesRepository dailySalesRepository;
+
+    @Autowired
+    private ProductDailySalesRepository productDailySalesRepository;
+
+    @Autowired
+    private CustomerDailySalesRepository customerDailySalesRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Customer customer;
+    private Product keyboard;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        customer = customerRepository.save(Customer.builder().name("John Doe").email("john@example.com").build());
+        keyboard = productRepository.save(Product.builder()
+                .name("Keyboard").price(Money.parse("50.00")).stockQuantity(100).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        cleanUp();
+    }
+
+    @Test
+    @DisplayName("GET /api/customers/{id}/summary - Should follow created, delivered, cancelled and deleted orders")
+    void summary_ShouldFollowOrderChanges() throws Exception {
+        summary().andExpect(jsonPath("$.orderCount", is(0)))
+                .andExpect(jsonPath("$.lifetimeValue", is(0.0)));
+
+        Long delivered = createOrder(2);
+        Long cancelled = createOrder(1);
+        Long deleted = createOrder(4);
+        createOrder(3);
+        summary().andExpect(jsonPath("$.orderCount", is(4)))
+                .andExpect(jsonPath("$.lifetimeValue", is(500.00)))
+                .andExpect(jsonPath("$.openBalance", is(500.00)));
+
+        orderService.updateStatus(delivered, OrderStatus.SHIPPED);
+        orderService.updateStatus(delivered, OrderStatus.DELIVERED);
+        orderService.updateStatus(cancelled, OrderStatus.CANCELLED);
+        orderService.delete(deleted);
+
+        summary().andExpect(jsonPath("$.customerId", is(customer.getId().intValue())))
+                .andExpect(jsonPath("$.orderCount", is(2)))
+                .andExpect(jsonPath("$.lifetimeValue", is(250.00)))
+                .andExpect(jsonPath("$.openBalance", is(150.00)));
+
+        orderService.updateStatus(delivered, OrderStatus.CANCELLED);
+
+        summary().andExpect(jsonPath("$.orderCount", is(1)))
+                .andExpect(jsonPath("$.lifetimeValue", is(150.00)))
+                .andExpect(jsonPath("$.openBalance", is(150.00)));
+        assertThat(customerSummaryService.reconcile()).isZero();
+    }
+
+    @Test
+    @DisplayName("GET /api/customers/{id}/summary - Should return 404 for an unknown customer")
+    void summary_ShouldReturn404_WhenCustomerNotFound() throws Exception {
+        mockMvc.perform(get("/api/customers/{id}/summary", 999_999L))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Reconciliation should repair a drifted or missing summary")
+    void reconcile_ShouldRepairDrift() throws Exception {
+        createOrder(2);
+        orderService.updateStatus(createOrder(1), OrderStatus.DELIVERED);
+        jdbcTemplate.update("UPDATE customer_summaries SET order_count = 7, open_balance = 0 WHERE customer_id = ?",
+                customer.getId());
+
+        assertThat(customerSummaryService.reconcile()).isEqualTo(1);
+        summary().andExpect(jsonPath("$.orderCount", is(2)))
+                .andExpect(jsonPath("$.lifetimeValue", is(150.00)))
+                .andExpect(jsonPath("$.openBalance", is(100.00)));
+
+        customerSummaryRepository.deleteAllInBatch();
+
+        assertThat(customerSummaryService.reconcile()).isEqualTo(1);
+        summary().andExpect(jsonPath("$.orderCount", is(2)))
+                .andExpect(jsonPath("$.lifetimeValue", is(150.00)));
+        assertThat(customerSummaryService.reconcile()).isZero();
+    }
+
+    private ResultActions summary() throws Exception {
+        return mockMvc.perform(get("/api/customers/{id}/summary", customer.getId()))
+                .andExpect(status().isOk());
+    }
+
+    private Long createOrder(int quantity) {
+        OrderDTO order = orderService.create(OrderRequestDTO.builder()
+                .customerId(customer.getId())
+                .items(List.of(OrderItemRequestDTO.builder().productId(keyboard.getId()).quantity(quantity).build()))
+                .build());
+        return order.getId();
+    }
+
+    private void cleanUp() {
+        orderRepository.deleteAll();
+        productRepository.deleteAll();
+        customerSummaryRepository.deleteAllInBatch();
+        customerRepository.deleteAll();
+        dailySalesRepository.deleteAllInBatch();
+        productDailySalesRepository.deleteAllInBatch();
+        customerDailySalesRepository.deleteAllInBatch();
+    }
+}
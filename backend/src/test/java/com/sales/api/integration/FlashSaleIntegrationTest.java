@@ -0,0 +1,142 @@
+package com.sales.api.integration;
+
+import com.sales.api.dto.OrderItemRequestDTO;
+import com.sales.api.dto.OrderRequestDTO;
+import com.sales.api.entity.Customer;
+import com.sales.api.entity.Money;
+import com.sales.api.entity.OrderStatus;
+import com.sales.api.entity.Product;
+import com.sales.api.exception.BusinessException;
+import com.sales.api.repository.CustomerRepository;
+import com.sales.api.repository.OrderRepository;
+import com.sales.api.repository.ProductRepository;
+import com.sales.api.service.FlashSaleService;
+import com.sales.api.service.OrderService;
+import com.sales.api.service.ProductService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {"sales.flash-sale.enabled=true", "sales.flash-sale.instance-id=instance-1"})
+@ActiveProfiles("test")
+class FlashSaleIntegrationTest {
+
+    @Autowired
+    private FlashSaleService flashSaleService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Customer customer;
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        customer = customerRepository.save(Customer.builder().name("John Doe").email("john@example.com").build());
+        product = productRepository.save(Product.builder()
+                .name("Hot Product").price(Money.parse("9.99")).stockQuantity(10).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (flashSaleService.isActive(product.getId())) {
+            flashSaleService.disable(product.getId());
+        }
+        orderRepository.deleteAll();
+        productRepository.deleteAll();
+        customerRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Stock held by a lane cannot be taken by a stock update, so every flush applies")
+    void flush_ShouldApply_WhenStockUpdatedDuringSale() {
+        flashSaleService.enable(product.getId());
+        productService.updateStock(product.getId(), 5);
+
+        assertThatThrownBy(() -> productService.updateStock(product.getId(), -6))
+                .isInstanceOf(BusinessException.class);
+        productService.updateStock(product.getId(), -5);
+        for (int i = 0; i < 10; i++) {
+            orderService.create(order(1));
+        }
+        assertThatThrownBy(() -> orderService.create(order(1)))
+                .isInstanceOf(BusinessException.class);
+
+        flashSaleService.flush();
+
+        Product flushed = productRepository.findById(product.getId()).orElseThrow();
+        assertThat(flushed.getStockQuantity()).isZero();
+        assertThat(flushed.getFlashSaleReserved()).isZero();
+    }
+
+    @Test
+    @DisplayName("Unsold and restocked units are released when the flash sale ends")
+    void disable_ShouldReleaseUnsoldStock() {
+        flashSaleService.enable(product.getId());
+        Long cancelled = orderService.create(order(4)).getId();
+        orderService.create(order(2));
+        orderService.updateStatus(cancelled, OrderStatus.CANCELLED);
+        flashSaleService.flush();
+        // 6 sold and 4 returned by the cancellation
+        assertThat(productRepository.findById(product.getId()).orElseThrow().getFlashSaleReserved()).isEqualTo(8);
+
+        flashSaleService.disable(product.getId());
+
+        Product released = productRepository.findById(product.getId()).orElseThrow();
+        assertThat(released.getStockQuantity()).isEqualTo(8);
+        assertThat(released.getFlashSaleReserved()).isZero();
+        assertThat(released.getFlashSaleOwner()).isNull();
+        assertThat(flashSaleService.isActive(product.getId())).isFalse();
+    }
+
+    @Test
+    @DisplayName("On startup an instance releases its own reservations, not those of another instance")
+    void releaseAbandonedReservations_ShouldKeepOtherInstancesReservations() {
+        Product other = productRepository.save(Product.builder()
+                .name("Other Product").price(Money.parse("9.99")).stockQuantity(10).build());
+        reserve(product.getId(), "instance-1");
+        reserve(other.getId(), "instance-2");
+
+        flashSaleService.releaseAbandonedReservations();
+
+        assertThat(productRepository.findById(product.getId()).orElseThrow().getFlashSaleReserved()).isZero();
+        assertThat(productRepository.findById(other.getId()).orElseThrow().getFlashSaleReserved()).isEqualTo(10);
+    }
+
+    private void reserve(Long productId, String owner) {
+        jdbcTemplate.update("UPDATE products SET flash_sale_reserved = stock_quantity, flash_sale_owner = ? WHERE id = ?",
+                owner, productId);
+    }
+
+    private OrderRequestDTO order(int quantity) {
+        return OrderRequestDTO.builder()
+                .customerId(customer.getId())
+                .items(List.of(OrderItemRequestDTO.builder().productId(product.getId()).quantity(quantity).build()))
+                .build();
+    }
+}
@@ -0,0 +1,258 @@
+package com.sales.api.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sales.api.dto.OrderDTO;
+import com.sales.api.dto.OrderItemRequestDTO;
+import com.sales.api.dto.OrderRequestDTO;
+import com.sales.api.entity.Customer;
+import com.sales.api.entity.Money;
+import com.sales.api.entity.OrderStatus;
+import com.sales.api.entity.Product;
+import com.sales.api.repository.ArchivedOrderRepository;
+import com.sales.api.repository.CustomerDailySalesRepository;
+import com.sales.api.repository.CustomerRepository;
+import com.sales.api.repository.DailySalesRepository;
+import com.sales.api.repository.OrderRepository;
+import com.sales.api.repository.ProductDailySalesRepository;
+import com.sales.api.repository.ProductRepository;
+import com.sales.api.service.OrderArchiveService;
+import com.sales.api.service.OrderService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class OrderArchiveIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderArchiveService orderArchiveService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ArchivedOrderRepository archivedOrderRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private DailySalesRepository dailySalesRepository;
+
+    @Autowired
+    private ProductDailySalesRepository productDailySalesRepository;
+
+    @Autowired
+    private CustomerDailySalesRepository customerDailySalesRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Customer customer;
+    private Product keyboard;
+    private LocalDateTime lastYear;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        customer = customerRepository.save(Customer.builder().name("John Doe").email("john@example.com").build());
+        keyboard = productRepository.save(Product.builder()
+                .name("Keyboard").price(Money.parse("50.00")).stockQuantity(100).build());
+        lastYear = LocalDateTime.now().minusYears(1).withNano(0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        cleanUp();
+    }
+
+    @Test
+    @DisplayName("Should move old closed orders to the archive and leave the others in place")
+    void archive_ShouldMoveOldClosedOrders() {
+        Long delivered = createOrder(OrderStatus.DELIVERED, lastYear);
+        Long cancelled = createOrder(OrderStatus.CANCELLED, lastYear);
+        Long pending = createOrder(OrderStatus.PENDING, lastYear);
+        Long recent = createOrder(OrderStatus.DELIVERED, LocalDateTime.now());
+
+        assertThat(orderArchiveService.archive()).isEqualTo(2);
+
+        assertThat(orderRepository.findAll()).extracting("id").containsExactlyInAnyOrder(pending, recent);
+        assertThat(archivedOrderRepository.findAll()).extracting("id").containsExactlyInAnyOrder(delivered, cancelled);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM order_items_archive", Integer.class)).isEqualTo(2);
+        assertThat(orderArchiveService.archive()).isZero();
+    }
+
+    @Test
+    @DisplayName("GET /api/orders/{id} - Should return an archived order")
+    void findById_ShouldReturnArchivedOrder() throws Exception {
+        Long delivered = createOrder(OrderStatus.DELIVERED, lastYear);
+        orderArchiveService.archive();
+
+        mockMvc.perform(get("/api/orders/{id}", delivered))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(jsonPath("$.status", is("DELIVERED")))
+                .andExpect(jsonPath("$.customerName", is("John Doe")))
+                .andExpect(jsonPath("$.totalAmount", is(100.00)))
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].productName", is("Keyboard")));
+    }
+
+    @Test
+    @DisplayName("GET /api/orders/customer/{id} - Should page through hot and archived orders in id order")
+    void findByCustomerId_ShouldMergeArchivedOrders() throws Exception {
+        Long first = createOrder(OrderStatus.DELIVERED, lastYear);
+        Long second = createOrder(OrderStatus.PENDING, lastYear);
+        Long third = createOrder(OrderStatus.CANCELLED, lastYear);
+        orderArchiveService.archive();
+
+        mockMvc.perform(get("/api/orders/customer/{customerId}", customer.getId()).param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", second.toString()))
+                .andExpect(jsonPath("$[*].id", contains(first.intValue(), second.intValue())))
+                .andExpect(jsonPath("$[0].items", hasSize(1)))
+                .andExpect(jsonPath("$[1].items", hasSize(1)));
+
+        mockMvc.perform(get("/api/orders/customer/{customerId}", customer.getId())
+                        .param("after", second.toString())
+                        .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"))
+                .andExpect(jsonPath("$[*].id", contains(third.intValue())));
+    }
+
+    @Test
+    @DisplayName("GET /api/orders/status/{status} - Should page through hot and archived orders of a closed status")
+    void findByStatus_ShouldMergeArchivedOrdersOfClosedStatus() throws Exception {
+        Long first = createOrder(OrderStatus.DELIVERED, lastYear);
+        Long second = createOrder(OrderStatus.DELIVERED, LocalDateTime.now());
+        Long third = createOrder(OrderStatus.DELIVERED, lastYear);
+        createOrder(OrderStatus.CANCELLED, lastYear);
+        orderArchiveService.archive();
+
+        mockMvc.perform(get("/api/orders/status/{status}", "DELIVERED").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", second.toString()))
+                .andExpect(jsonPath("$[*].id", contains(first.intValue(), second.intValue())))
+                .andExpect(jsonPath("$[0].items", hasSize(1)))
+                .andExpect(jsonPath("$[1].items", hasSize(1)));
+
+        mockMvc.perform(get("/api/orders/status/{status}", "DELIVERED")
+                        .param("after", second.toString())
+                        .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"))
+                .andExpect(jsonPath("$[*].id", contains(third.intValue())));
+    }
+
+    @Test
+    @DisplayName("Should export archived orders after the hot ones")
+    void export_ShouldIncludeArchivedOrders() throws Exception {
+        Long delivered = createOrder(OrderStatus.DELIVERED, lastYear);
+        Long pending = createOrder(OrderStatus.PENDING, lastYear);
+        orderArchiveService.archive();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        orderService.export(out);
+
+        List<OrderDTO> orders = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            orders.add(objectMapper.readValue(line, OrderDTO.class));
+        }
+        assertThat(orders).extracting(OrderDTO::getId).containsExactly(pending, delivered);
+        assertThat(orders.get(1).getItems()).hasSize(1);
+        assertThat(orders.get(1).getItems().get(0).getProductName()).isEqualTo("Keyboard");
+    }
+
+    @Test
+    @DisplayName("PUT /api/orders/{id}/status - Should reject a change to an archived order")
+    void updateStatus_ShouldRejectArchivedOrder() throws Exception {
+        Long delivered = createOrder(OrderStatus.DELIVERED, lastYear);
+        orderArchiveService.archive();
+
+        mockMvc.perform(put("/api/orders/{id}/status", delivered)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"CANCELLED\"}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(delete("/api/orders/{id}", delivered))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("POST /api/analytics/rebuild - Should count archived orders")
+    void rebuild_ShouldCountArchivedOrders() throws Exception {
+        createOrder(OrderStatus.DELIVERED, lastYear);
+        createOrder(OrderStatus.CANCELLED, lastYear);
+        orderArchiveService.archive();
+
+        mockMvc.perform(post("/api/analytics/rebuild"))
+                .andExpect(status().isNoContent());
+
+        String day = lastYear.toLocalDate().toString();
+        mockMvc.perform(get("/api/analytics/revenue/daily").param("from", day).param("to", day))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].orderCount", is(1)))
+                .andExpect(jsonPath("$[0].revenue", is(100.00)));
+    }
+
+    /**
+     * Creates an order of two keyboards with the given status, placed at {@code orderDate}.
+     */
+    private Long createOrder(OrderStatus status, LocalDateTime orderDate) {
+        OrderDTO order = orderService.create(OrderRequestDTO.builder()
+                .customerId(customer.getId())
+                .items(List.of(OrderItemRequestDTO.builder().productId(keyboard.getId()).quantity(2).build()))
+                .build());
+        if (status != OrderStatus.PENDING) {
+            orderService.updateStatus(order.getId(), status);
+        }
+        jdbcTemplate.update("UPDATE orders SET order_date = ? WHERE id = ?", Timestamp.valueOf(orderDate), order.getId());
+        return order.getId();
+    }
+
+    private void cleanUp() {
+        jdbcTemplate.update("DELETE FROM order_items_archive");
+        jdbcTemplate.update("DELETE FROM orders_archive");
+        orderRepository.deleteAll();
+        productRepository.deleteAll();
+        customerRepository.deleteAll();
+        dailySalesRepository.deleteAllInBatch();
+        productDailySalesRepository.deleteAllInBatch();
+        customerDailySalesRepository.deleteAllInBatch();
+    }
+}
@@ -0,0 +1,153 @@
+package com.sales.api.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sales.api.dto.OrderBatchRequestDTO;
+import com.sales.api.dto.OrderBatchResultDTO;
+import com.sales.api.dto.OrderItemRequestDTO;
+import com.sales.api.dto.OrderRequestDTO;
+import com.sales.api.entity.Customer;
+import com.sales.api.entity.Money;
+import com.sales.api.entity.Product;
+import com.sales.api.repository.CustomerRepository;
+import com.sales.api.repository.OrderRepository;
+import com.sales.api.repository.ProductRepository;
+import com.sales.api.service.OrderService;
+import com.sales.api.support.SqlStatementCounter;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+class OrderBatchIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Customer customer;
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+        productRepository.deleteAll();
+        customerRepository.deleteAll();
+
+        customer = customerRepository.save(Customer.builder()
+                .name("John Doe")
+                .email("john@example.com")
+                .build());
+
+        product = productRepository.save(Product.builder()
+                .name("Test Product")
+                .price(Money.parse("10.00"))
+                .stockQuantity(5)
+                .build());
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("POST /api/orders/batch - Should report the outcome of each order")
+    void createBatch_ShouldReportEachOrder() throws Exception {
+        OrderBatchRequestDTO request = OrderBatchRequestDTO.builder()
+                .orders(List.of(
+                        order(customer.getId(), product.getId(), 3),
+                        order(customer.getId(), product.getId(), 3),
+                        order(999L, product.getId(), 1),
+                        order(customer.getId(), product.getId(), 2)))
+                .build();
+
+        mockMvc.perform(post("/api/orders/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(4)))
+                .andExpect(jsonPath("$[0].created", is(true)))
+                .andExpect(jsonPath("$[0].order.totalAmount", is(30.00)))
+                .andExpect(jsonPath("$[1].created", is(false)))
+                .andExpect(jsonPath("$[1].error", containsString("Insufficient stock")))
+                .andExpect(jsonPath("$[2].created", is(false)))
+                .andExpect(jsonPath("$[2].error", containsString("Customer not found")))
+                .andExpect(jsonPath("$[3].index", is(3)))
+                .andExpect(jsonPath("$[3].created", is(true)));
+
+        entityManager.clear();
+        assertThat(orderRepository.count()).isEqualTo(2);
+        assertThat(productRepository.findById(product.getId()).orElseThrow().getStockQuantity()).isZero();
+    }
+
+    @Test
+    @DisplayName("POST /api/orders/batch - Should reject an empty batch")
+    void createBatch_ShouldRejectEmptyBatch() throws Exception {
+        mockMvc.perform(post("/api/orders/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"orders\":[]}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Inserts are sent as one batched statement per table")
+    void createBatch_ShouldBatchInserts() {
+        productRepository.findById(product.getId()).orElseThrow().setStockQuantity(1000);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<OrderRequestDTO> requests = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            requests.add(order(customer.getId(), product.getId(), 1));
+        }
+        SqlStatementCounter.reset();
+
+        List<OrderBatchResultDTO> results = orderService.createBatch(requests);
+
+        assertThat(results).allMatch(OrderBatchResultDTO::isCreated);
+        assertThat(SqlStatementCounter.inserts()).isEqualTo(2);
+    }
+
+    private OrderRequestDTO order(Long customerId, Long productId, int quantity) {
+        return OrderRequestDTO.builder()
+                .customerId(customerId)
+                .items(List.of(OrderItemRequestDTO.builder()
+                        .productId(productId)
+                        .quantity(quantity)
+                        .build()))
+                .build();
+    }
+}
@@ -5,6 +5,7 @@ import com.sales.api.dto.OrderItemRequestDTO;
 import com.sales.api.dto.OrderRequestDTO;
 import com.sales.api.dto.OrderStatusUpdateDTO;
 import com.sales.api.entity.*;
+import com.sales.api.entity.Money;
 import com.sales.api.repository.CustomerRepository;
 import com.sales.api.repository.OrderRepository;
 import com.sales.api.repository.ProductRepository;
@@ -19,7 +20,6 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
 import java.util.Arrays;
 
 import static org.hamcrest.Matchers.*;
@@ -68,7 +68,7 @@ class OrderControllerIntegrationTest {
         product = Product.builder()
                 .name("Test Product")
                 .description("Test Description")
-                .price(new BigDecimal("99.99"))
+                .price(Money.parse("99.99"))
                 .stockQuantity(100)
                 .build();
         product = productRepository.save(product);
@@ -76,13 +76,13 @@ class OrderControllerIntegrationTest {
         order = Order.builder()
                 .customer(customer)
                 .status(OrderStatus.PENDING)
-                .totalAmount(new BigDecimal("199.98"))
+                .totalAmount(Money.parse("199.98"))
                 .build();
 
         OrderItem item = OrderItem.builder()
                 .product(product)
                 .quantity(2)
-                .unitPrice(new BigDecimal("99.99"))
+                .unitPrice(Money.parse("99.99"))
                 .build();
         order.addItem(item);
         order = orderRepository.save(order);
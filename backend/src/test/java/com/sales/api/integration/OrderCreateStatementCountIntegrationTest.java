@@ -0,0 +1,192 @@
+package com.sales.api.integration;
+
+import com.sales.api.dto.OrderItemRequestDTO;
+import com.sales.api.dto.OrderRequestDTO;
+import com.sales.api.entity.Customer;
+import com.sales.api.entity.Money;
+import com.sales.api.entity.Product;
+import com.sales.api.repository.CustomerDailySalesRepository;
+import com.sales.api.repository.CustomerRepository;
+import com.sales.api.repository.CustomerSummaryRepository;
+import com.sales.api.repository.DailySalesRepository;
+import com.sales.api.repository.OrderRepository;
+import com.sales.api.repository.ProductDailySalesRepository;
+import com.sales.api.repository.ProductRepository;
+import com.sales.api.service.OrderService;
+import com.sales.api.support.SqlStatementCounter;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// orders are committed, so the rollups written before commit are counted; events are only
+// published on demand, so the publisher issues no queries while counting
+@SpringBootTest(properties = "sales.order-events.poll-interval-ms=3600000")
+@ActiveProfiles("test")
+class OrderCreateStatementCountIntegrationTest {
+
+    private static final int BASKET_SIZE = 40;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CustomerSummaryRepository customerSummaryRepository;
+
+    @Autowired
+    private DailySalesRepository dailySalesRepository;
+
+    @Autowired
+    private ProductDailySalesRepository productDailySalesRepository;
+
+    @Autowired
+    private CustomerDailySalesRepository customerDailySalesRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Customer customer;
+    private List<Product> products;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+
+        customer = customerRepository.save(Customer.builder()
+                .name("John Doe")
+                .email("john@example.com")
+                .build());
+
+        products = new ArrayList<>();
+        for (int i = 0; i < BASKET_SIZE; i++) {
+            products.add(productRepository.save(Product.builder()
+                    .name("Product " + i)
+                    .price(Money.parse("10.00"))
+                    .stockQuantity(100)
+                    .build()));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        cleanUp();
+    }
+
+    @Test
+    @DisplayName("Product reads stay constant regardless of basket size")
+    void create_ShouldIssueConstantSelects_RegardlessOfLineCount() {
+        int singleLineSelects = selectsFor(products.subList(0, 1));
+        int fullBasketSelects = selectsFor(products);
+
+        assertThat(singleLineSelects).isEqualTo(2);
+        assertThat(fullBasketSelects).isEqualTo(singleLineSelects);
+    }
+
+    @Test
+    @DisplayName("Total statements, commit included, stay constant regardless of basket size")
+    void create_ShouldIssueConstantStatements_RegardlessOfLineCount() {
+        // the first order of the day also inserts its rollup rows, the products' in one batch
+        assertThat(countsFor(products)).isEqualTo(new Counts(2, 7, 5, 0));
+
+        Counts singleLine = countsFor(products.subList(0, 1));
+        Counts fullBasket = countsFor(products);
+
+        // the order, its items and its outbox event are one (batched) insert each; the stock
+        // decrements, the product rollups and the day, customer-day and customer summary rows
+        // are one (batched) update each
+        assertThat(singleLine).isEqualTo(new Counts(2, 3, 5, 0));
+        assertThat(fullBasket).isEqualTo(singleLine);
+    }
+
+    @Test
+    @Transactional
+    @DisplayName("Product rows are updated through one batched statement, without being reloaded")
+    void create_ShouldUpdateEachProductOnce() {
+        clearCaches();
+        SqlStatementCounter.reset();
+
+        orderService.create(requestFor(products));
+        entityManager.flush();
+
+        assertThat(SqlStatementCounter.selects()).isEqualTo(2);
+        assertThat(SqlStatementCounter.updates()).isEqualTo(1);
+
+        entityManager.clear();
+        assertThat(productRepository.findAll())
+                .allSatisfy(product -> assertThat(product.getStockQuantity()).isEqualTo(99));
+    }
+
+    private int selectsFor(List<Product> basket) {
+        clearCaches();
+        SqlStatementCounter.reset();
+
+        orderService.create(requestFor(basket));
+
+        return SqlStatementCounter.selects();
+    }
+
+    private Counts countsFor(List<Product> basket) {
+        clearCaches();
+        SqlStatementCounter.reset();
+
+        orderService.create(requestFor(basket));
+
+        return new Counts(SqlStatementCounter.selects(), SqlStatementCounter.inserts(),
+                SqlStatementCounter.updates(), SqlStatementCounter.deletes());
+    }
+
+    private OrderRequestDTO requestFor(List<Product> basket) {
+        List<OrderItemRequestDTO> items = basket.stream()
+                .map(product -> OrderItemRequestDTO.builder()
+                        .productId(product.getId())
+                        .quantity(1)
+                        .build())
+                .collect(Collectors.toList());
+
+        return OrderRequestDTO.builder()
+                .customerId(customer.getId())
+                .items(items)
+                .build();
+    }
+
+    /**
+     * Committed customers land in the second-level cache; evicting it keeps every count the same.
+     */
+    private void clearCaches() {
+        entityManager.clear();
+        entityManager.getEntityManagerFactory().getCache().evictAll();
+    }
+
+    private void cleanUp() {
+        orderRepository.deleteAll();
+        productRepository.deleteAll();
+        customerSummaryRepository.deleteAllInBatch();
+        customerRepository.deleteAll();
+        dailySalesRepository.deleteAllInBatch();
+        productDailySalesRepository.deleteAllInBatch();
+        customerDailySalesRepository.deleteAllInBatch();
+    }
+
+    private record Counts(int selects, int inserts, int updates, int deletes) {
+    }
+}
@@ -0,0 +1,269 @@
+package com.sales.api.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sales.api.dto.OrderDTO;
+import com.sales.api.dto.OrderItemRequestDTO;
+import com.sales.api.dto.OrderRequestDTO;
+import com.sales.api.entity.Customer;
+import com.sales.api.entity.Money;
+import com.sales.api.entity.OrderEvent;
+import com.sales.api.entity.OrderStatus;
+import com.sales.api.entity.Product;
+import com.sales.api.exception.BusinessException;
+import com.sales.api.repository.CustomerRepository;
+import com.sales.api.repository.OrderEventRepository;
+import com.sales.api.repository.OrderRepository;
+import com.sales.api.repository.ProductRepository;
+import com.sales.api.service.OrderEventService;
+import com.sales.api.service.OrderService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class OrderEventStreamIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderEventService orderEventService;
+
+    @Autowired
+    private OrderEventRepository orderEventRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private final HttpClient http = HttpClient.newHttpClient();
+    private final List<Stream<String>> streams = new ArrayList<>();
+
+    private Customer customer;
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        customer = customerRepository.save(Customer.builder().name("Alice").email("alice@example.com").build());
+        product = productRepository.save(Product.builder()
+                .name("Keyboard").price(Money.parse("50.00")).stockQuantity(10).build());
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        orderEventService.close();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (subscribers() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        streams.forEach(Stream::close);
+        cleanUp();
+    }
+
+    @Test
+    @DisplayName("GET /api/orders/events - Should stream creates, status changes and deletes")
+    void events_ShouldStreamOrderChanges() throws Exception {
+        BlockingQueue<String> stream = open(null);
+
+        OrderDTO order = orderService.create(request(2));
+        orderService.updateStatus(order.getId(), OrderStatus.CANCELLED);
+        orderService.delete(order.getId());
+
+        Event created = next(stream);
+        assertThat(created.name()).isEqualTo("CREATED");
+        assertThat(created.data().get("orderId").asLong()).isEqualTo(order.getId());
+        assertThat(created.data().get("order").get("totalAmount").decimalValue()).isEqualByComparingTo("100.00");
+
+        Event cancelled = next(stream);
+        assertThat(cancelled.name()).isEqualTo("STATUS_CHANGED");
+        assertThat(cancelled.data().get("status").asText()).isEqualTo("CANCELLED");
+        assertThat(cancelled.id()).isGreaterThan(created.id());
+
+        Event deleted = next(stream);
+        assertThat(deleted.name()).isEqualTo("DELETED");
+        assertThat(deleted.data().get("orderId").asLong()).isEqualTo(order.getId());
+        assertThat(deleted.data().get("order").isNull()).isTrue();
+    }
+
+    @Test
+    @DisplayName("GET /api/orders/events - Should replay the events after Last-Event-ID")
+    void events_ShouldResumeAfterLastEventId() throws Exception {
+        OrderDTO order = orderService.create(request(1));
+        orderService.updateStatus(order.getId(), OrderStatus.CONFIRMED);
+        orderEventService.dispatch();
+        List<OrderEvent> recorded = orderEventRepository.findAll(Sort.by("position"));
+
+        BlockingQueue<String> stream = open(recorded.get(0).getPosition());
+
+        Event replayed = next(stream);
+        assertThat(replayed.id()).isEqualTo(recorded.get(1).getPosition());
+        assertThat(replayed.name()).isEqualTo("STATUS_CHANGED");
+        assertThat(replayed.data().get("status").asText()).isEqualTo("CONFIRMED");
+
+        orderService.updateStatus(order.getId(), OrderStatus.SHIPPED);
+        Event live = next(stream);
+        assertThat(live.name()).isEqualTo("STATUS_CHANGED");
+        assertThat(live.data().get("status").asText()).isEqualTo("SHIPPED");
+    }
+
+    @Test
+    @DisplayName("GET /api/orders/events - Should send a reset when the missed events are gone")
+    void events_ShouldReset_WhenLastEventIdNotRetained() throws Exception {
+        orderService.create(request(1));
+        orderEventService.dispatch();
+
+        BlockingQueue<String> stream = open(0L);
+
+        assertThat(next(stream).name()).isEqualTo(OrderEventService.RESET_EVENT);
+    }
+
+    @Test
+    @DisplayName("GET /api/orders/events - Should deliver and replay events committed out of id order")
+    void events_ShouldDeliverEventsCommittedOutOfIdOrder() throws Exception {
+        BlockingQueue<String> stream = open(null);
+        CountDownLatch recorded = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> slow = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+            orderEventService.recordDeleted(1L);
+            recorded.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        assertThat(recorded.await(10, TimeUnit.SECONDS)).isTrue();
+        transactionTemplate.executeWithoutResult(status -> orderEventService.recordDeleted(2L));
+
+        Event first = next(stream);
+        assertThat(first.data().get("orderId").asLong()).isEqualTo(2L);
+
+        release.countDown();
+        slow.get(10, TimeUnit.SECONDS);
+        Event second = next(stream);
+        assertThat(second.data().get("orderId").asLong()).isEqualTo(1L);
+        assertThat(second.id()).isGreaterThan(first.id());
+
+        List<OrderEvent> events = orderEventRepository.findAll(Sort.by("id"));
+        assertThat(events).extracting(OrderEvent::getOrderId).containsExactly(1L, 2L);
+
+        BlockingQueue<String> resumed = open(first.id());
+        Event replayed = next(resumed);
+        assertThat(replayed.id()).isEqualTo(second.id());
+        assertThat(replayed.data().get("orderId").asLong()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Should not record an event when the order transaction rolls back")
+    void create_ShouldNotRecordEvent_WhenRejected() {
+        assertThatThrownBy(() -> orderService.create(request(50)))
+                .isInstanceOf(BusinessException.class);
+
+        assertThat(orderEventRepository.count()).isZero();
+    }
+
+    private BlockingQueue<String> open(Long lastEventId) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(
+                        URI.create("http://localhost:" + port + "/api/orders/events"))
+                .header("Accept", "text/event-stream");
+        if (lastEventId != null) {
+            request.header("Last-Event-ID", lastEventId.toString());
+        }
+        HttpResponse<Stream<String>> response = http.send(request.build(), HttpResponse.BodyHandlers.ofLines());
+        assertThat(response.statusCode()).isEqualTo(200);
+        streams.add(response.body());
+
+        BlockingQueue<String> lines = new LinkedBlockingQueue<>();
+        Thread.ofVirtual().start(() -> response.body().forEach(lines::add));
+        return lines;
+    }
+
+    private Event next(BlockingQueue<String> lines) throws Exception {
+        Long id = null;
+        String name = null;
+        StringBuilder data = new StringBuilder();
+        while (true) {
+            String line = lines.poll(10, TimeUnit.SECONDS);
+            assertThat(line).as("next event line").isNotNull();
+            if (line.isEmpty()) {
+                if (name != null) {
+                    return new Event(id, name, data.isEmpty() ? null : objectMapper.readTree(data.toString()));
+                }
+            } else if (line.startsWith("id:")) {
+                id = Long.valueOf(line.substring(3).trim());
+            } else if (line.startsWith("event:")) {
+                name = line.substring(6).trim();
+            } else if (line.startsWith("data:")) {
+                data.append(line.substring(5));
+            }
+        }
+    }
+
+    private double subscribers() {
+        return meterRegistry.get("sales.order.events.subscribers").gauge().value();
+    }
+
+    private OrderRequestDTO request(int quantity) {
+        return OrderRequestDTO.builder()
+                .customerId(customer.getId())
+                .items(List.of(OrderItemRequestDTO.builder()
+                        .productId(product.getId())
+                        .quantity(quantity)
+                        .build()))
+                .build();
+    }
+
+    private void cleanUp() {
+        orderRepository.deleteAll();
+        productRepository.deleteAll();
+        customerRepository.deleteAll();
+        orderEventRepository.deleteAllInBatch();
+    }
+
+    private record Event(Long id, String name, JsonNode data) {
+    }
+}
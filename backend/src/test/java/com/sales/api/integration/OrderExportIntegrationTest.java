@@ -0,0 +1,112 @@
+package com.sales.api.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sales.api.dto.OrderDTO;
+import com.sales.api.entity.*;
+import com.sales.api.entity.Money;
+import com.sales.api.repository.CustomerRepository;
+import com.sales.api.repository.OrderRepository;
+import com.sales.api.repository.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class OrderExportIntegrationTest {
+
+    private static final int ORDER_COUNT = 1200;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+        productRepository.deleteAll();
+        customerRepository.deleteAll();
+
+        Customer customer = customerRepository.save(Customer.builder()
+                .name("John Doe")
+                .email("john@example.com")
+                .build());
+        Product product = productRepository.save(Product.builder()
+                .name("Test Product")
+                .price(Money.parse("99.99"))
+                .stockQuantity(100)
+                .build());
+
+        for (int i = 0; i < ORDER_COUNT; i++) {
+            Order order = Order.builder()
+                    .customer(customer)
+                    .status(OrderStatus.PENDING)
+                    .totalAmount(Money.parse("99.99"))
+                    .build();
+            order.addItem(OrderItem.builder()
+                    .product(product)
+                    .quantity(1)
+                    .unitPrice(Money.parse("99.99"))
+                    .build());
+            orderRepository.save(order);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderRepository.deleteAll();
+        productRepository.deleteAll();
+        customerRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("GET /api/orders/export - Should stream every order as NDJSON")
+    void export_ShouldStreamAllOrders() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/orders/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        List<String> lines = Arrays.asList(body.split("\n"));
+        assertThat(lines).hasSize(ORDER_COUNT);
+
+        OrderDTO last = objectMapper.readValue(lines.get(ORDER_COUNT - 1), OrderDTO.class);
+        assertThat(last.getCustomerName()).isEqualTo("John Doe");
+        assertThat(last.getItems()).hasSize(1);
+        assertThat(last.getItems().get(0).getProductName()).isEqualTo("Test Product");
+    }
+}
@@ -0,0 +1,150 @@
+package com.sales.api.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sales.api.dto.OrderItemRequestDTO;
+import com.sales.api.dto.OrderRequestDTO;
+import com.sales.api.entity.Customer;
+import com.sales.api.entity.Money;
+import com.sales.api.entity.Product;
+import com.sales.api.repository.CustomerRepository;
+import com.sales.api.repository.OrderRepository;
+import com.sales.api.repository.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "sales.order-intake.enabled=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class OrderIntakeIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private Customer customer;
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        customer = customerRepository.save(Customer.builder().name("Alice").email("alice@example.com").build());
+        product = productRepository.save(Product.builder()
+                .name("Keyboard").price(Money.parse("50.00")).stockQuantity(5).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        cleanUp();
+    }
+
+    @Test
+    @DisplayName("POST /api/orders/intake - Should accept the order and create it in the background")
+    void submit_ShouldAcceptAndCreateOrder() throws Exception {
+        String trackingId = submit(request(customer.getId(), 2));
+
+        JsonNode outcome = awaitOutcome(trackingId);
+        assertThat(outcome.get("status").asText()).isEqualTo("CREATED");
+        assertThat(outcome.get("order").get("totalAmount").decimalValue()).isEqualByComparingTo("100.00");
+        assertThat(orderRepository.count()).isEqualTo(1);
+        assertThat(productRepository.findById(product.getId()).orElseThrow().getStockQuantity()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("POST /api/orders/intake - Should report a failed order without affecting the rest")
+    void submit_ShouldReportFailedOrder() throws Exception {
+        String rejected = submit(request(customer.getId(), 10));
+        String accepted = submit(request(customer.getId(), 1));
+
+        JsonNode failed = awaitOutcome(rejected);
+        assertThat(failed.get("status").asText()).isEqualTo("FAILED");
+        assertThat(failed.get("error").asText()).contains("Insufficient stock");
+        assertThat(awaitOutcome(accepted).get("status").asText()).isEqualTo("CREATED");
+        assertThat(orderRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("POST /api/orders/intake - Should reject an invalid request synchronously")
+    void submit_ShouldRejectInvalidRequest() throws Exception {
+        mockMvc.perform(post("/api/orders/intake")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"items\":[]}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /api/orders/intake/{trackingId} - Should return 404 for an unknown tracking id")
+    void findIntake_ShouldReturn404_WhenUnknown() throws Exception {
+        mockMvc.perform(get("/api/orders/intake/{trackingId}", "missing"))
+                .andExpect(status().isNotFound());
+    }
+
+    private String submit(OrderRequestDTO request) throws Exception {
+        String response = mockMvc.perform(post("/api/orders/intake")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", startsWith("/api/orders/intake/")))
+                .andExpect(jsonPath("$.status", is("QUEUED")))
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response).get("trackingId").asText();
+    }
+
+    private JsonNode awaitOutcome(String trackingId) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (true) {
+            String response = mockMvc.perform(get("/api/orders/intake/{trackingId}", trackingId))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            JsonNode outcome = objectMapper.readTree(response);
+            if (!"QUEUED".equals(outcome.get("status").asText()) || System.nanoTime() > deadline) {
+                return outcome;
+            }
+            Thread.sleep(50);
+        }
+    }
+
+    private OrderRequestDTO request(Long customerId, int quantity) {
+        return OrderRequestDTO.builder()
+                .customerId(customerId)
+                .items(List.of(OrderItemRequestDTO.builder()
+                        .productId(product.getId())
+                        .quantity(quantity)
+                        .build()))
+                .build();
+    }
+
+    private void cleanUp() {
+        orderRepository.deleteAll();
+        productRepository.deleteAll();
+        customerRepository.deleteAll();
+    }
+}
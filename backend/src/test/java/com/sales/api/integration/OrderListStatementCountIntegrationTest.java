@@ -0,0 +1,149 @@
+package com.sales.api.integration;
+
+import com.sales.api.dto.CursorPage;
+import com.sales.api.dto.OrderDTO;
+import com.sales.api.entity.*;
+import com.sales.api.entity.Money;
+import com.sales.api.repository.CustomerRepository;
+import com.sales.api.repository.OrderRepository;
+import com.sales.api.repository.ProductRepository;
+import com.sales.api.service.OrderService;
+import com.sales.api.support.SqlStatementCounter;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class OrderListStatementCountIntegrationTest {
+
+    private static final int CUSTOMERS = 5;
+    private static final int ORDERS_PER_CUSTOMER = 12;
+    private static final int ITEMS_PER_ORDER = 3;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private List<Customer> customers;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+        productRepository.deleteAll();
+        customerRepository.deleteAll();
+
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < ITEMS_PER_ORDER * 2; i++) {
+            products.add(productRepository.save(Product.builder()
+                    .name("Product " + i)
+                    .price(Money.parse("5.00"))
+                    .stockQuantity(100)
+                    .build()));
+        }
+
+        customers = new ArrayList<>();
+        for (int c = 0; c < CUSTOMERS; c++) {
+            Customer customer = customerRepository.save(Customer.builder()
+                    .name("Customer " + c)
+                    .email("customer" + c + "@example.com")
+                    .build());
+            customers.add(customer);
+
+            for (int o = 0; o < ORDERS_PER_CUSTOMER; o++) {
+                Order order = Order.builder()
+                        .customer(customer)
+                        .status(o % 2 == 0 ? OrderStatus.PENDING : OrderStatus.SHIPPED)
+                        .build();
+                for (int i = 0; i < ITEMS_PER_ORDER; i++) {
+                    order.addItem(OrderItem.builder()
+                            .product(products.get((o + i) % products.size()))
+                            .quantity(i + 1)
+                            .unitPrice(Money.parse("5.00"))
+                            .build());
+                }
+                order.calculateTotalAmount();
+                orderRepository.save(order);
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Listing all orders takes at most two statements")
+    void findAll_ShouldUseAtMostTwoStatements() {
+        CursorPage<OrderDTO> page = countSelects(() -> orderService.findAll(null, 100), 2);
+
+        assertThat(page.items()).hasSize(CUSTOMERS * ORDERS_PER_CUSTOMER);
+        assertThat(page.items()).allSatisfy(order -> {
+            assertThat(order.getCustomerName()).startsWith("Customer ");
+            assertThat(order.getItems()).hasSize(ITEMS_PER_ORDER);
+            assertThat(order.getItems()).allSatisfy(item -> assertThat(item.getProductName()).startsWith("Product "));
+        });
+    }
+
+    @Test
+    @DisplayName("Listing orders of a customer takes at most three statements, one of them for the archive")
+    void findByCustomerId_ShouldUseAtMostThreeStatements() {
+        Long customerId = customers.get(2).getId();
+
+        CursorPage<OrderDTO> page = countSelects(() -> orderService.findByCustomerId(customerId, null, 100), 3);
+
+        assertThat(page.items()).hasSize(ORDERS_PER_CUSTOMER);
+        assertThat(page.items()).allSatisfy(order -> assertThat(order.getCustomerId()).isEqualTo(customerId));
+    }
+
+    @Test
+    @DisplayName("Listing orders by status takes at most two statements")
+    void findByStatus_ShouldUseAtMostTwoStatements() {
+        CursorPage<OrderDTO> page = countSelects(() -> orderService.findByStatus(OrderStatus.SHIPPED, null, 100), 2);
+
+        assertThat(page.items()).hasSize(CUSTOMERS * ORDERS_PER_CUSTOMER / 2);
+        assertThat(page.items()).allSatisfy(order -> assertThat(order.getStatus()).isEqualTo(OrderStatus.SHIPPED));
+    }
+
+    @Test
+    @DisplayName("Paging keeps the statement count constant")
+    void findAll_ShouldUseTwoStatementsPerPage() {
+        CursorPage<OrderDTO> first = countSelects(() -> orderService.findAll(null, 7), 2);
+        CursorPage<OrderDTO> second = countSelects(() -> orderService.findAll(first.nextCursor(), 7), 2);
+
+        assertThat(first.items()).hasSize(7);
+        assertThat(second.items()).hasSize(7);
+        assertThat(second.items().get(0).getId()).isGreaterThan(first.items().get(6).getId());
+    }
+
+    private CursorPage<OrderDTO> countSelects(Supplier<CursorPage<OrderDTO>> listing, int maxSelects) {
+        entityManager.clear();
+        SqlStatementCounter.reset();
+
+        CursorPage<OrderDTO> page = listing.get();
+
+        assertThat(SqlStatementCounter.selects()).isLessThanOrEqualTo(maxSelects);
+        return page;
+    }
+}
@@ -0,0 +1,198 @@
+package com.sales.api.integration;
+
+import com.sales.api.dto.CacheStatsDTO;
+import com.sales.api.dto.OrderItemRequestDTO;
+import com.sales.api.dto.OrderRequestDTO;
+import com.sales.api.dto.ProductDTO;
+import com.sales.api.dto.ProductRequestDTO;
+import com.sales.api.entity.Customer;
+import com.sales.api.entity.Money;
+import com.sales.api.entity.Product;
+import com.sales.api.repository.CustomerRepository;
+import com.sales.api.repository.OrderRepository;
+import com.sales.api.repository.ProductRepository;
+import com.sales.api.service.CacheService;
+import com.sales.api.service.OrderService;
+import com.sales.api.service.ProductService;
+import com.sales.api.support.SqlStatementCounter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ProductCacheIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private CacheService cacheService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        product = productRepository.save(Product.builder()
+                .name("Cached Product")
+                .price(Money.parse("10.00"))
+                .stockQuantity(10)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderRepository.deleteAll();
+        productRepository.deleteAll();
+        customerRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Repeated reads are served from the cache")
+    void findById_ShouldHitCache_OnRepeatedReads() {
+        CacheStatsDTO before = cacheService.findByName("products");
+
+        SqlStatementCounter.reset();
+        productService.findById(product.getId());
+        productService.findById(product.getId());
+        productService.findById(product.getId());
+
+        assertThat(SqlStatementCounter.selects()).isEqualTo(1);
+        CacheStatsDTO after = cacheService.findByName("products");
+        assertThat(after.getMissCount() - before.getMissCount()).isEqualTo(1);
+        assertThat(after.getHitCount() - before.getHitCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Updating a product invalidates its cache entry")
+    void update_ShouldEvictCachedProduct() {
+        productService.findById(product.getId());
+
+        productService.update(product.getId(), ProductRequestDTO.builder()
+                .name("Renamed Product")
+                .price(new BigDecimal("12.00"))
+                .stockQuantity(10)
+                .build());
+
+        assertThat(productService.findById(product.getId()).getName()).isEqualTo("Renamed Product");
+    }
+
+    @Test
+    @DisplayName("Updating a product caches the committed version")
+    void update_ShouldPutUpdatedProduct() {
+        ProductDTO stale = productService.findById(product.getId());
+
+        ProductDTO updated = productService.update(product.getId(), ProductRequestDTO.builder()
+                .name("Renamed Product")
+                .price(new BigDecimal("12.00"))
+                .stockQuantity(10)
+                .build());
+
+        assertThat(updated.getVersion()).isGreaterThan(stale.getVersion());
+        SqlStatementCounter.reset();
+        assertThat(productService.findById(product.getId())).isEqualTo(updated);
+        assertThat(SqlStatementCounter.selects()).isZero();
+    }
+
+    @Test
+    @DisplayName("A read that lost the race with an update cannot put its older version")
+    void put_ShouldKeepNewerVersion() {
+        ProductDTO stale = productService.findById(product.getId());
+        ProductDTO updated = productService.update(product.getId(), ProductRequestDTO.builder()
+                .name("Renamed Product")
+                .price(new BigDecimal("12.00"))
+                .stockQuantity(10)
+                .build());
+
+        cacheManager.getCache("products").put(product.getId(), stale);
+
+        assertThat(productService.findById(product.getId())).isEqualTo(updated);
+    }
+
+    @Test
+    @DisplayName("Stock changes through updateStock and order creation invalidate the cache")
+    void stockChanges_ShouldEvictCachedProduct() {
+        productService.findById(product.getId());
+        productService.updateStock(product.getId(), -3);
+        assertThat(productService.findById(product.getId()).getStockQuantity()).isEqualTo(7);
+
+        Customer customer = customerRepository.save(Customer.builder()
+                .name("John Doe")
+                .email("john@example.com")
+                .build());
+        orderService.create(OrderRequestDTO.builder()
+                .customerId(customer.getId())
+                .items(List.of(OrderItemRequestDTO.builder()
+                        .productId(product.getId())
+                        .quantity(2)
+                        .build()))
+                .build());
+
+        assertThat(productService.findById(product.getId()).getStockQuantity()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Fresh reads bypass the cache")
+    void findCurrent_ShouldBypassCache() throws Exception {
+        productService.findById(product.getId());
+        jdbcTemplate.update("UPDATE products SET stock_quantity = 6 WHERE id = ?", product.getId());
+
+        assertThat(productService.findById(product.getId()).getStockQuantity()).isEqualTo(10);
+        mockMvc.perform(get("/api/products/{id}", product.getId()).param("fresh", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.stockQuantity", is(6)));
+    }
+
+    @Test
+    @DisplayName("GET /api/caches - Should expose cache statistics")
+    void caches_ShouldExposeStatistics() throws Exception {
+        productService.findById(product.getId());
+        productService.findById(product.getId());
+
+        mockMvc.perform(get("/api/caches"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.name == 'products')].hitCount", hasItem(greaterThanOrEqualTo(1))))
+                .andExpect(jsonPath("$[?(@.name == 'products')].evictionCount").exists());
+
+        mockMvc.perform(get("/api/caches/{name}", "unknown"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -2,8 +2,10 @@ package com.sales.api.integration;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.sales.api.dto.ProductRequestDTO;
+import com.sales.api.entity.Money;
 import com.sales.api.entity.Product;
 import com.sales.api.repository.ProductRepository;
+import com.sales.api.service.ProductSearchIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -16,6 +18,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
 
 import static org.hamcrest.Matchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -36,6 +39,9 @@ class ProductControllerIntegrationTest {
     @Autowired
     private ProductRepository productRepository;
 
+    @Autowired
+    private ProductSearchIndex productSearchIndex;
+
     private Product product;
 
     @BeforeEach
@@ -45,10 +51,13 @@ class ProductControllerIntegrationTest {
         product = Product.builder()
                 .name("Test Product")
                 .description("Test Description")
-                .price(new BigDecimal("99.99"))
+                .price(Money.parse("99.99"))
                 .stockQuantity(100)
                 .build();
         product = productRepository.save(product);
+        // the test transaction never commits, so index from a thread outside it
+        Product indexed = product;
+        CompletableFuture.runAsync(() -> productSearchIndex.index(indexed)).join();
     }
 
     @Test
@@ -61,6 +70,37 @@ class ProductControllerIntegrationTest {
                 .andExpect(jsonPath("$[0].name", is("Test Product")));
     }
 
+    @Test
+    @DisplayName("GET /api/products?after=&limit= - Should page through products by cursor")
+    void findAll_ShouldPageByCursor() throws Exception {
+        Product second = productRepository.save(Product.builder()
+                .name("Second Product")
+                .price(Money.parse("10.00"))
+                .stockQuantity(5)
+                .build());
+
+        mockMvc.perform(get("/api/products").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", product.getId().toString()))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].name", is("Test Product")));
+
+        mockMvc.perform(get("/api/products")
+                        .param("after", product.getId().toString())
+                        .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id", is(second.getId().intValue())));
+    }
+
+    @Test
+    @DisplayName("GET /api/products?limit= - Should return 400 when limit is out of range")
+    void findAll_ShouldReturn400_WhenLimitOutOfRange() throws Exception {
+        mockMvc.perform(get("/api/products").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @DisplayName("GET /api/products/{id} - Should return product by ID")
     void findById_ShouldReturnProduct() throws Exception {
@@ -131,6 +171,21 @@ class ProductControllerIntegrationTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    @DisplayName("POST /api/products - Should return 400 when the price has more than 2 decimals")
+    void create_ShouldReturn400_WhenPriceHasTooManyDecimals() throws Exception {
+        ProductRequestDTO request = ProductRequestDTO.builder()
+                .name("New Product")
+                .price(new BigDecimal("9.999"))
+                .stockQuantity(5)
+                .build();
+
+        mockMvc.perform(post("/api/products")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @DisplayName("PUT /api/products/{id} - Should update product")
     void update_ShouldUpdateProduct() throws Exception {
@@ -0,0 +1,167 @@
+package com.sales.api.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sales.api.dto.ProductRequestDTO;
+import com.sales.api.repository.ProductRepository;
+import com.sales.api.service.ProductSearchIndex;
+import com.sales.api.service.ProductService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ProductSearchIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductSearchIndex productSearchIndex;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        productRepository.deleteAll();
+        productSearchIndex.rebuild();
+
+        create("Wireless Keyboard", "Compact keyboard with bluetooth");
+        create("Mechanical Keyboard", "Tactile switches");
+        create("USB Cable", "Charging cable for a wireless keyboard");
+        create("Monitor Stand", "Aluminium stand");
+    }
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAll();
+        productSearchIndex.rebuild();
+    }
+
+    @Test
+    @DisplayName("GET /api/products/search - Should rank name matches above description matches")
+    void search_ShouldRankNameMatchesFirst() throws Exception {
+        mockMvc.perform(get("/api/products/search").param("name", "keyboard"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)))
+                .andExpect(jsonPath("$[2].name", is("USB Cable")));
+    }
+
+    @Test
+    @DisplayName("GET /api/products/search - Should match prefixes and misspellings")
+    void search_ShouldMatchPrefixesAndTypos() throws Exception {
+        mockMvc.perform(get("/api/products/search").param("name", "mech"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].name", is("Mechanical Keyboard")));
+
+        mockMvc.perform(get("/api/products/search").param("name", "monitr"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].name", is("Monitor Stand")));
+    }
+
+    @Test
+    @DisplayName("GET /api/products/search - Should require every word to match")
+    void search_ShouldRequireAllWords() throws Exception {
+        mockMvc.perform(get("/api/products/search").param("name", "wireless keyboard"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].name", is("Wireless Keyboard")));
+    }
+
+    @Test
+    @DisplayName("GET /api/products/search?after=&limit= - Should page through ranked results")
+    void search_ShouldPageByCursor() throws Exception {
+        mockMvc.perform(get("/api/products/search").param("name", "keyboard").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "2"))
+                .andExpect(jsonPath("$", hasSize(2)));
+
+        mockMvc.perform(get("/api/products/search").param("name", "keyboard").param("after", "2").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].name", is("USB Cable")));
+    }
+
+    @Test
+    @DisplayName("Updated and deleted products are reflected in search")
+    void search_ShouldFollowUpdatesAndDeletes() throws Exception {
+        Long id = productRepository.findAll().stream()
+                .filter(product -> product.getName().equals("Monitor Stand"))
+                .findFirst().orElseThrow().getId();
+
+        mockMvc.perform(put("/api/products/{id}", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request("Laptop Stand", "Aluminium stand"))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/products/search").param("name", "monitor"))
+                .andExpect(jsonPath("$", hasSize(0)));
+        mockMvc.perform(get("/api/products/search").param("name", "laptop"))
+                .andExpect(jsonPath("$", hasSize(1)));
+
+        mockMvc.perform(delete("/api/products/{id}", id))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/products/search").param("name", "laptop"))
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    @DisplayName("Products are indexed only once their transaction commits")
+    void index_ShouldWaitForCommit() {
+        transactionTemplate.executeWithoutResult(status -> {
+            productService.create(request("Desk Lamp", "LED lamp"));
+            assertThat(productSearchIndex.search("lamp", 0, 10)).isEmpty();
+            status.setRollbackOnly();
+        });
+        assertThat(productSearchIndex.search("lamp", 0, 10)).isEmpty();
+
+        transactionTemplate.executeWithoutResult(status -> productService.create(request("Desk Lamp", "LED lamp")));
+        assertThat(productSearchIndex.search("lamp", 0, 10)).hasSize(1);
+    }
+
+    private void create(String name, String description) throws Exception {
+        mockMvc.perform(post("/api/products")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request(name, description))))
+                .andExpect(status().isCreated());
+    }
+
+    private ProductRequestDTO request(String name, String description) {
+        return ProductRequestDTO.builder()
+                .name(name)
+                .description(description)
+                .price(new BigDecimal("25.00"))
+                .stockQuantity(10)
+                .build();
+    }
+}
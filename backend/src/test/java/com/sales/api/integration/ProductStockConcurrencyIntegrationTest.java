@@ -0,0 +1,126 @@
+package com.sales.api.integration;
+
+import com.sales.api.entity.Money;
+import com.sales.api.entity.Product;
+import com.sales.api.exception.BusinessException;
+import com.sales.api.repository.ProductRepository;
+import com.sales.api.service.ProductService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ProductStockConcurrencyIntegrationTest {
+
+    private static final int THREADS = 16;
+    private static final int ATTEMPTS_PER_THREAD = 50;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        productRepository.deleteAll();
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        productRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Concurrent decrements never oversell a product")
+    void updateStock_ShouldNeverGoNegative_UnderConcurrentDecrements() throws Exception {
+        int initialStock = 500;
+        Product product = createProduct(initialStock);
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        runConcurrently(thread -> {
+            for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                try {
+                    productService.updateStock(product.getId(), -1);
+                    accepted.incrementAndGet();
+                } catch (BusinessException ex) {
+                    rejected.incrementAndGet();
+                }
+            }
+        });
+
+        assertThat(accepted.get()).isEqualTo(initialStock);
+        assertThat(rejected.get()).isEqualTo(THREADS * ATTEMPTS_PER_THREAD - initialStock);
+        assertThat(currentStock(product)).isZero();
+    }
+
+    @Test
+    @DisplayName("Concurrent decrements and restocks do not lose updates")
+    void updateStock_ShouldNotDrift_UnderConcurrentMixedUpdates() throws Exception {
+        int initialStock = 1000;
+        Product product = createProduct(initialStock);
+
+        runConcurrently(thread -> {
+            int delta = thread % 2 == 0 ? -2 : 2;
+            for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                productService.updateStock(product.getId(), delta);
+            }
+        });
+
+        assertThat(currentStock(product)).isEqualTo(initialStock);
+    }
+
+    private void runConcurrently(ThreadBody body) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            futures.add(executor.submit(() -> {
+                start.await();
+                body.run(thread);
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+    }
+
+    private Product createProduct(int stock) {
+        return productRepository.save(Product.builder()
+                .name("Hot Product")
+                .price(Money.parse("9.99"))
+                .stockQuantity(stock)
+                .build());
+    }
+
+    private int currentStock(Product product) {
+        return productRepository.findById(product.getId()).orElseThrow().getStockQuantity();
+    }
+
+    @FunctionalInterface
+    private interface ThreadBody {
+        void run(int thread);
+    }
+}
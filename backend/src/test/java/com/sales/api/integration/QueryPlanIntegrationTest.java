@@ -0,0 +1,121 @@
+package com.sales.api.integration;
+
+import com.sales.api.entity.OrderStatus;
+import com.sales.api.repository.ArchivedOrderRepository;
+import com.sales.api.repository.OrderItemRepository;
+import com.sales.api.repository.OrderRepository;
+import com.sales.api.repository.ProductRepository;
+import com.sales.api.support.SqlStatementCounter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that the schema owned by the migrations serves the order and product lookups from their
+ * indexes, by asking H2 for the plan of the SQL Hibernate generates for each repository query.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class QueryPlanIntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ArchivedOrderRepository archivedOrderRepository;
+
+    @Test
+    @DisplayName("Should apply every migration to the database")
+    void migrations_ShouldBeApplied() {
+        List<String> versions = jdbcTemplate.queryForList(
+                "SELECT \"version\" FROM \"flyway_schema_history\" WHERE \"success\" AND \"version\" IS NOT NULL ORDER BY \"installed_rank\"",
+                String.class);
+
+        assertThat(versions).containsExactly("1", "2", "3", "4", "5", "6", "7", "8", "9");
+    }
+
+    @Test
+    @DisplayName("Should list the orders of a customer from idx_orders_customer_id")
+    void findRowsByCustomerIdAfter_ShouldUseCustomerIndex() {
+        orderRepository.findRowsByCustomerIdAfter(1L, 0L, Limit.of(10));
+
+        assertThat(planOfLast(1L, 0L, 10)).contains("IDX_ORDERS_CUSTOMER_ID");
+    }
+
+    @Test
+    @DisplayName("Should list the orders with a status from idx_orders_status")
+    void findRowsByStatusAfter_ShouldUseStatusIndex() {
+        orderRepository.findRowsByStatusAfter(OrderStatus.PENDING, 0L, Limit.of(10));
+
+        assertThat(planOfLast(OrderStatus.PENDING.name(), 0L, 10)).contains("IDX_ORDERS_STATUS");
+    }
+
+    @Test
+    @DisplayName("Should find the items of a product from idx_order_items_product_id")
+    void findByProductId_ShouldUseProductIndex() {
+        orderItemRepository.findByProductId(1L);
+
+        assertThat(planOfLast(1L)).contains("IDX_ORDER_ITEMS_PRODUCT_ID");
+    }
+
+    @Test
+    @DisplayName("Should find the items of a page of orders from idx_order_items_order_id")
+    void findRowsByOrderIds_ShouldUseOrderIndex() {
+        orderItemRepository.findRowsByOrderIds(List.of(1L));
+
+        assertThat(planOfLast(1L)).contains("IDX_ORDER_ITEMS_ORDER_ID");
+    }
+
+    @Test
+    @DisplayName("Should list the archived orders of a customer from idx_orders_archive_customer_id")
+    void archivedFindRowsByCustomerIdAfter_ShouldUseCustomerIndex() {
+        archivedOrderRepository.findRowsByCustomerIdAfter(1L, 0L, Limit.of(10));
+
+        assertThat(planOfLast(1L, 0L, 10)).contains("IDX_ORDERS_ARCHIVE_CUSTOMER_ID");
+    }
+
+    @Test
+    @DisplayName("Should find products by name in any case from idx_products_name_lower")
+    void findByNameIgnoreCase_ShouldUseNameIndex() {
+        productRepository.findByNameIgnoreCase("Keyboard");
+
+        assertThat(planOfLast("Keyboard")).contains("IDX_PRODUCTS_NAME_LOWER");
+    }
+
+    @Test
+    @DisplayName("Should read a range of order dates from idx_orders_order_date")
+    void orderDateRange_ShouldUseOrderDateIndex() {
+        String plan = plan("SELECT id FROM orders WHERE order_date >= ? AND order_date < ?",
+                Timestamp.valueOf(LocalDate.of(2024, 1, 1).atStartOfDay()),
+                Timestamp.valueOf(LocalDate.of(2024, 2, 1).atStartOfDay()));
+
+        assertThat(plan).contains("IDX_ORDERS_ORDER_DATE");
+    }
+
+    private String planOfLast(Object... parameters) {
+        return plan(SqlStatementCounter.last(), parameters);
+    }
+
+    private String plan(String sql, Object... parameters) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, parameters);
+    }
+}
@@ -0,0 +1,268 @@
+package com.sales.api.integration;
+
+import com.sales.api.dto.OrderDTO;
+import com.sales.api.dto.OrderItemRequestDTO;
+import com.sales.api.dto.OrderRequestDTO;
+import com.sales.api.entity.Customer;
+import com.sales.api.entity.Money;
+import com.sales.api.entity.OrderStatus;
+import com.sales.api.entity.Product;
+import com.sales.api.reactive.ReactiveReadServer;
+import com.sales.api.repository.CustomerDailySalesRepository;
+import com.sales.api.repository.CustomerRepository;
+import com.sales.api.repository.CustomerSummaryRepository;
+import com.sales.api.repository.DailySalesRepository;
+import com.sales.api.repository.OrderRepository;
+import com.sales.api.repository.ProductDailySalesRepository;
+import com.sales.api.repository.ProductRepository;
+import com.sales.api.service.OrderArchiveService;
+import com.sales.api.service.OrderService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "sales.reactive-read.enabled=true",
+        "sales.reactive-read.port=0",
+        "sales.reactive-read.max-connections=2"})
+@ActiveProfiles("test")
+class ReactiveReadIntegrationTest {
+
+    @Autowired
+    private ReactiveReadServer reactiveReadServer;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderArchiveService orderArchiveService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CustomerSummaryRepository customerSummaryRepository;
+
+    @Autowired
+    private DailySalesRepository dailySalesRepository;
+
+    @Autowired
+    private ProductDailySalesRepository productDailySalesRepository;
+
+    @Autowired
+    private CustomerDailySalesRepository customerDailySalesRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private WebTestClient client;
+    private Customer customer;
+    private Product keyboard;
+    private Product mouse;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        client = WebTestClient.bindToServer().baseUrl("http://localhost:" + reactiveReadServer.getPort()).build();
+        customer = customerRepository.save(Customer.builder().name("John Doe").email("john@example.com").build());
+        keyboard = productRepository.save(Product.builder()
+                .name("Keyboard").price(Money.parse("50.00")).stockQuantity(1000).build());
+        mouse = productRepository.save(Product.builder()
+                .name("Mouse").price(Money.parse("20.00")).stockQuantity(1000).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        cleanUp();
+    }
+
+    @Test
+    @DisplayName("GET /api/products - Should page products by id with the next cursor")
+    void findAllProducts_ShouldReturnKeysetPage() {
+        client.get().uri("/api/products?limit=1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("X-Next-Cursor", keyboard.getId().toString())
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].name").isEqualTo("Keyboard")
+                .jsonPath("$[0].price").isEqualTo(50.00);
+
+        client.get().uri("/api/products/in-stock?after={after}", keyboard.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().doesNotExist("X-Next-Cursor")
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].name").isEqualTo("Mouse");
+    }
+
+    @Test
+    @DisplayName("GET /api/orders/{id} - Should return hot and archived orders with their items")
+    void findOrderById_ShouldFallBackToArchive() {
+        Long hot = createOrder(OrderStatus.PENDING, LocalDateTime.now());
+        Long archived = createOrder(OrderStatus.DELIVERED, LocalDateTime.now().minusYears(1));
+        orderArchiveService.archive();
+
+        client.get().uri("/api/orders/{id}", hot)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.customerName").isEqualTo("John Doe")
+                .jsonPath("$.totalAmount").isEqualTo(120.00)
+                .jsonPath("$.items.length()").isEqualTo(2);
+
+        client.get().uri("/api/orders/{id}", archived)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo("DELIVERED")
+                .jsonPath("$.items.length()").isEqualTo(2);
+
+        client.get().uri("/api/orders/customer/{customerId}", customer.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[0].id").isEqualTo(hot.intValue())
+                .jsonPath("$[1].id").isEqualTo(archived.intValue())
+                .jsonPath("$[1].items.length()").isEqualTo(2);
+
+        client.get().uri("/api/orders/status/{status}", "DELIVERED")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].id").isEqualTo(archived.intValue())
+                .jsonPath("$[0].items.length()").isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("GET /api/orders - Should stream every order as ndjson on demand")
+    void findAllOrders_ShouldStreamNdjson() {
+        List<Long> ids = List.of(
+                createOrder(OrderStatus.PENDING, LocalDateTime.now()),
+                createOrder(OrderStatus.SHIPPED, LocalDateTime.now()),
+                createOrder(OrderStatus.PENDING, LocalDateTime.now()));
+
+        Flux<OrderDTO> orders = client.get().uri("/api/orders?after={after}", ids.get(0))
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(OrderDTO.class)
+                .getResponseBody();
+
+        List<OrderDTO> streamed = orders.limitRate(1).collectList().block(Duration.ofSeconds(10));
+        assertThat(streamed).extracting(OrderDTO::getId).containsExactly(ids.get(1), ids.get(2));
+        assertThat(streamed.get(0).getItems()).extracting("productName").containsExactly("Keyboard", "Mouse");
+    }
+
+    @Test
+    @DisplayName("GET /api/orders - Should serve more concurrent listings than there are connections")
+    void findAllOrders_ShouldNotExhaustConnections() {
+        int orderCount = 120;  // more than one chunk of items
+        for (int i = 0; i < orderCount; i++) {
+            createOrder(OrderStatus.PENDING, LocalDateTime.now());
+        }
+        WebClient webClient = WebClient.create("http://localhost:" + reactiveReadServer.getPort());
+
+        List<Mono<Long>> listings = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            listings.add(webClient.get().uri("/api/orders?limit=1000")
+                    .retrieve()
+                    .bodyToFlux(OrderDTO.class)
+                    .count());
+            listings.add(webClient.get().uri("/api/orders")
+                    .accept(MediaType.APPLICATION_NDJSON)
+                    .retrieve()
+                    .bodyToFlux(OrderDTO.class)
+                    .count());
+        }
+
+        List<Long> counts = Flux.merge(listings).collectList().block(Duration.ofSeconds(30));
+        assertThat(counts).hasSize(20).containsOnly((long) orderCount);
+    }
+
+    @Test
+    @DisplayName("Should answer unknown ids with 404 and bad parameters with 400")
+    void errors_ShouldMatchServletApi() {
+        client.get().uri("/api/orders/{id}", 999_999L)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(404);
+
+        client.get().uri("/api/customers/{id}", 999_999L)
+                .exchange()
+                .expectStatus().isNotFound();
+
+        client.get().uri("/api/products?limit=0")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        // 2^32 + 10 would wrap around to a limit of 10 as an int
+        client.get().uri("/api/products?limit=4294967306")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Invalid limit: 4294967306");
+
+        client.get().uri("/api/orders/status/UNKNOWN")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    /**
+     * Creates an order of two keyboards and one mouse with the given status, placed at {@code orderDate}.
+     */
+    private Long createOrder(OrderStatus status, LocalDateTime orderDate) {
+        OrderDTO order = orderService.create(OrderRequestDTO.builder()
+                .customerId(customer.getId())
+                .items(List.of(
+                        OrderItemRequestDTO.builder().productId(keyboard.getId()).quantity(2).build(),
+                        OrderItemRequestDTO.builder().productId(mouse.getId()).quantity(1).build()))
+                .build());
+        if (status != OrderStatus.PENDING) {
+            orderService.updateStatus(order.getId(), status);
+        }
+        jdbcTemplate.update("UPDATE orders SET order_date = ? WHERE id = ?", Timestamp.valueOf(orderDate), order.getId());
+        return order.getId();
+    }
+
+    private void cleanUp() {
+        jdbcTemplate.update("DELETE FROM order_items_archive");
+        jdbcTemplate.update("DELETE FROM orders_archive");
+        orderRepository.deleteAll();
+        productRepository.deleteAll();
+        customerSummaryRepository.deleteAllInBatch();
+        customerRepository.deleteAll();
+        dailySalesRepository.deleteAllInBatch();
+        productDailySalesRepository.deleteAllInBatch();
+        customerDailySalesRepository.deleteAllInBatch();
+    }
+}
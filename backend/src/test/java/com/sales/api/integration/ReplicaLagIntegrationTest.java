@@ -0,0 +1,133 @@
+package com.sales.api.integration;
+
+import com.sales.api.service.CatalogSnapshotService;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * A primary and two replicas, the second lagging one version behind the first. Nothing
+ * replicates between them, so each row shows which database a read came from.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + ReplicaLagIntegrationTest.PRIMARY_URL,
+        "sales.datasource.replicas[0].url=" + ReplicaLagIntegrationTest.REPLICA_URL,
+        "sales.datasource.replicas[0].username=sa",
+        "sales.datasource.replicas[1].url=" + ReplicaLagIntegrationTest.LAGGING_REPLICA_URL,
+        "sales.datasource.replicas[1].username=sa",
+        "sales.catalog-snapshot.enabled=true",
+        "sales.catalog-snapshot.refresh-interval-ms=3600000",
+        "sales.catalog-snapshot.min-rebuild-interval=0s"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ReplicaLagIntegrationTest {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:lag-primary;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_URL = "jdbc:h2:mem:lag-replica;DB_CLOSE_DELAY=-1";
+    static final String LAGGING_REPLICA_URL = "jdbc:h2:mem:lag-lagging-replica;DB_CLOSE_DELAY=-1";
+
+    private static final DataSource PRIMARY = new DriverManagerDataSource(PRIMARY_URL, "sa", "");
+    private static final DataSource REPLICA = new DriverManagerDataSource(REPLICA_URL, "sa", "");
+    private static final DataSource LAGGING_REPLICA = new DriverManagerDataSource(LAGGING_REPLICA_URL, "sa", "");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CatalogSnapshotService catalogSnapshotService;
+
+    private final JdbcTemplate primary = new JdbcTemplate(PRIMARY);
+    private final JdbcTemplate replica = new JdbcTemplate(REPLICA);
+    private final JdbcTemplate laggingReplica = new JdbcTemplate(LAGGING_REPLICA);
+
+    @BeforeAll
+    static void createReplicaSchemas() {
+        for (DataSource dataSource : new DataSource[]{REPLICA, LAGGING_REPLICA}) {
+            Flyway.configure()
+                    .dataSource(dataSource)
+                    .locations("classpath:db/migration/common", "classpath:db/migration/h2")
+                    .load()
+                    .migrate();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+    }
+
+    @AfterEach
+    void tearDown() {
+        cleanUp();
+        catalogSnapshotService.refresh();
+    }
+
+    @Test
+    @DisplayName("Should build the catalog snapshot from the primary, not from a lagging replica")
+    void refresh_ShouldReadPrimary() throws Exception {
+        insertProduct(primary, 1L, "Keyboard", 1);
+
+        catalogSnapshotService.refresh();
+
+        mockMvc.perform(get("/api/products"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].name", is("Keyboard")));
+    }
+
+    @Test
+    @DisplayName("GET /api/products - Should tag every response with the versions of its own body")
+    void findAll_ShouldTagBodyFromSameReplica() throws Exception {
+        insertProduct(replica, 1L, "Keyboard v1", 1);
+        insertProduct(laggingReplica, 1L, "Keyboard v0", 0);
+
+        // without pinning, the versions and the body of a request are read from different replicas
+        for (int i = 0; i < 4; i++) {
+            MvcResult result = mockMvc.perform(get("/api/products").param("limit", "10"))
+                    .andExpect(status().isOk())
+                    .andReturn();
+            long version = result.getResponse().getContentAsString().contains("Keyboard v1") ? 1 : 0;
+            assertThat(result.getResponse().getHeader(HttpHeaders.ETAG)).isEqualTo(listingTag(1L, version));
+        }
+    }
+
+    /**
+     * The entity tag of a one-row listing, derived as the controllers derive it.
+     */
+    private static String listingTag(long id, long version) {
+        long hash = 31 * (31 + id) + version;
+        return "\"1-" + Long.toHexString(hash) + "\"";
+    }
+
+    private static void insertProduct(JdbcTemplate database, Long id, String name, long version) {
+        database.update("INSERT INTO products (id, name, price, stock_quantity, version) VALUES (?, ?, 10.00, 5, ?)",
+                id, name, version);
+    }
+
+    private void cleanUp() {
+        primary.update("DELETE FROM products");
+        replica.update("DELETE FROM products");
+        laggingReplica.update("DELETE FROM products");
+    }
+}
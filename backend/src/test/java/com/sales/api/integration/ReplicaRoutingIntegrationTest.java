@@ -0,0 +1,160 @@
+package com.sales.api.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sales.api.config.ReadYourWritesFilter;
+import com.sales.api.dto.ProductRequestDTO;
+import jakarta.servlet.http.Cookie;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Two H2 databases stand in for a primary and its replica. Nothing replicates between them, so
+ * which one answered a request shows where it was routed.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + ReplicaRoutingIntegrationTest.PRIMARY_URL,
+        "sales.datasource.replicas[0].url=" + ReplicaRoutingIntegrationTest.REPLICA_URL,
+        "sales.datasource.replicas[0].username=sa",
+        "sales.datasource.read-your-writes-window=5s"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ReplicaRoutingIntegrationTest {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1";
+
+    private static final DataSource PRIMARY = new DriverManagerDataSource(PRIMARY_URL, "sa", "");
+    private static final DataSource REPLICA = new DriverManagerDataSource(REPLICA_URL, "sa", "");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final JdbcTemplate primary = new JdbcTemplate(PRIMARY);
+    private final JdbcTemplate replica = new JdbcTemplate(REPLICA);
+
+    @BeforeAll
+    static void createReplicaSchema() {
+        Flyway.configure()
+                .dataSource(REPLICA)
+                .locations("classpath:db/migration/common", "classpath:db/migration/h2")
+                .load()
+                .migrate();
+    }
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+    }
+
+    @AfterEach
+    void tearDown() {
+        cleanUp();
+    }
+
+    @Test
+    @DisplayName("GET /api/products - Should read from the replica")
+    void findAll_ShouldReadFromReplica() throws Exception {
+        insertProduct(replica, 1L, "Replica Keyboard");
+        insertProduct(primary, 2L, "Primary Keyboard");
+
+        mockMvc.perform(get("/api/products"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].name", is("Replica Keyboard")));
+    }
+
+    @Test
+    @DisplayName("POST /api/products - Should write to the primary and start the read-your-writes window")
+    void create_ShouldWriteToPrimary() throws Exception {
+        MvcResult result = create("Keyboard");
+
+        assertThat(count(primary)).isEqualTo(1);
+        assertThat(count(replica)).isZero();
+        Cookie cookie = result.getResponse().getCookie(ReadYourWritesFilter.COOKIE);
+        assertThat(cookie).isNotNull();
+        assertThat(cookie.getMaxAge()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("GET /api/products - Should read from the primary within the read-your-writes window")
+    void findAll_ShouldReadFromPrimary_AfterOwnWrite() throws Exception {
+        Cookie lastWrite = create("Keyboard").getResponse().getCookie(ReadYourWritesFilter.COOKIE);
+
+        mockMvc.perform(get("/api/products").cookie(lastWrite))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name", is("Keyboard")));
+        mockMvc.perform(get("/api/products"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    @DisplayName("GET /api/products - Should read from the replica once the read-your-writes window has passed")
+    void findAll_ShouldReadFromReplica_AfterWindow() throws Exception {
+        create("Keyboard");
+        Cookie expired = new Cookie(ReadYourWritesFilter.COOKIE, Long.toString(System.currentTimeMillis() - 6000));
+
+        mockMvc.perform(get("/api/products").cookie(expired))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    @DisplayName("GET /api/products/{id}?fresh=true - Should read from the primary without a recent write")
+    void findFresh_ShouldReadFromPrimary() throws Exception {
+        insertProduct(primary, 1L, "Primary Keyboard");
+
+        mockMvc.perform(get("/api/products/{id}", 1L).param("fresh", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name", is("Primary Keyboard")));
+    }
+
+    private MvcResult create(String name) throws Exception {
+        ProductRequestDTO request = ProductRequestDTO.builder()
+                .name(name).price(new BigDecimal("50.00")).stockQuantity(10).build();
+        return mockMvc.perform(post("/api/products")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn();
+    }
+
+    private static void insertProduct(JdbcTemplate database, Long id, String name) {
+        database.update("INSERT INTO products (id, name, price, stock_quantity, version) VALUES (?, ?, 10.00, 5, 0)",
+                id, name);
+    }
+
+    private static long count(JdbcTemplate database) {
+        return database.queryForObject("SELECT COUNT(*) FROM products", Long.class);
+    }
+
+    private void cleanUp() {
+        primary.update("DELETE FROM products");
+        replica.update("DELETE FROM products");
+    }
+}
@@ -0,0 +1,248 @@
+package com.sales.api.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sales.api.dto.OrderItemRequestDTO;
+import com.sales.api.dto.OrderRequestDTO;
+import com.sales.api.entity.Customer;
+import com.sales.api.entity.Money;
+import com.sales.api.entity.Product;
+import com.sales.api.repository.CustomerDailySalesRepository;
+import com.sales.api.repository.CustomerRepository;
+import com.sales.api.repository.DailySalesRepository;
+import com.sales.api.repository.OrderRepository;
+import com.sales.api.repository.ProductDailySalesRepository;
+import com.sales.api.repository.ProductRepository;
+import com.sales.api.service.OrderService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SalesAnalyticsIntegrationTest {
+
+    private static final int THREADS = 16;
+    private static final int ORDERS_PER_THREAD = 5;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private DailySalesRepository dailySalesRepository;
+
+    @Autowired
+    private ProductDailySalesRepository productDailySalesRepository;
+
+    @Autowired
+    private CustomerDailySalesRepository customerDailySalesRepository;
+
+    private Customer alice;
+    private Customer bob;
+    private Product keyboard;
+    private Product mouse;
+    private String today;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        alice = customerRepository.save(Customer.builder().name("Alice").email("alice@example.com").build());
+        bob = customerRepository.save(Customer.builder().name("Bob").email("bob@example.com").build());
+        keyboard = productRepository.save(Product.builder()
+                .name("Keyboard").price(Money.parse("50.00")).stockQuantity(100).build());
+        mouse = productRepository.save(Product.builder()
+                .name("Mouse").price(Money.parse("20.00")).stockQuantity(100).build());
+        today = LocalDate.now().toString();
+    }
+
+    @AfterEach
+    void tearDown() {
+        cleanUp();
+    }
+
+    @Test
+    @DisplayName("GET /api/analytics/revenue/* - Should reflect created orders")
+    void revenue_ShouldReflectCreatedOrders() throws Exception {
+        createOrder(alice, item(keyboard, 2), item(mouse, 1));
+        createOrder(bob, item(mouse, 3));
+
+        assertRevenue();
+    }
+
+    @Test
+    @DisplayName("GET /api/analytics/revenue/daily - Should drop cancelled and deleted orders")
+    void revenue_ShouldDropCancelledAndDeletedOrders() throws Exception {
+        createOrder(alice, item(keyboard, 2), item(mouse, 1));
+        createOrder(bob, item(mouse, 3));
+        Long cancelled = createOrder(alice, item(keyboard, 5));
+        Long deleted = createOrder(bob, item(keyboard, 1));
+
+        mockMvc.perform(put("/api/orders/{id}/status", cancelled)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"CANCELLED\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/orders/{id}", deleted))
+                .andExpect(status().isNoContent());
+
+        assertRevenue();
+    }
+
+    @Test
+    @DisplayName("POST /api/analytics/rebuild - Should recompute the same rollups from orders")
+    void rebuild_ShouldRecomputeRollups() throws Exception {
+        createOrder(alice, item(keyboard, 2), item(mouse, 1));
+        createOrder(bob, item(mouse, 3));
+        dailySalesRepository.deleteAllInBatch();
+        productDailySalesRepository.deleteAllInBatch();
+        customerDailySalesRepository.deleteAllInBatch();
+
+        mockMvc.perform(post("/api/analytics/rebuild"))
+                .andExpect(status().isNoContent());
+
+        assertRevenue();
+    }
+
+    @Test
+    @DisplayName("Concurrent first orders of a day all land in the rollups")
+    void revenue_ShouldCountConcurrentOrders() throws Exception {
+        OrderRequestDTO request = OrderRequestDTO.builder()
+                .customerId(alice.getId())
+                .items(List.of(item(keyboard, 1), item(mouse, 1)))
+                .build();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < ORDERS_PER_THREAD; i++) {
+                        orderService.create(request);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        int orders = THREADS * ORDERS_PER_THREAD;
+        revenue("daily")
+                .andExpect(jsonPath("$[0].orderCount", is(orders)))
+                .andExpect(jsonPath("$[0].itemsSold", is(2 * orders)))
+                .andExpect(jsonPath("$[0].revenue", is(70.0 * orders)));
+        revenue("customers")
+                .andExpect(jsonPath("$[0].orderCount", is(orders)));
+    }
+
+    @Test
+    @DisplayName("GET /api/analytics/revenue/daily - Should reject a reversed date range")
+    void revenue_ShouldRejectReversedRange() throws Exception {
+        mockMvc.perform(get("/api/analytics/revenue/daily")
+                        .param("from", "2024-02-01")
+                        .param("to", "2024-01-01"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private void assertRevenue() throws Exception {
+        revenue("daily")
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].date", is(today)))
+                .andExpect(jsonPath("$[0].orderCount", is(2)))
+                .andExpect(jsonPath("$[0].itemsSold", is(6)))
+                .andExpect(jsonPath("$[0].revenue", is(180.00)));
+
+        revenue("products")
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].productName", is("Keyboard")))
+                .andExpect(jsonPath("$[0].quantity", is(2)))
+                .andExpect(jsonPath("$[0].revenue", is(100.00)))
+                .andExpect(jsonPath("$[1].productName", is("Mouse")))
+                .andExpect(jsonPath("$[1].quantity", is(4)))
+                .andExpect(jsonPath("$[1].revenue", is(80.00)));
+
+        revenue("customers")
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].customerName", is("Alice")))
+                .andExpect(jsonPath("$[0].orderCount", is(1)))
+                .andExpect(jsonPath("$[0].revenue", is(120.00)))
+                .andExpect(jsonPath("$[1].customerName", is("Bob")))
+                .andExpect(jsonPath("$[1].revenue", is(60.00)));
+    }
+
+    private ResultActions revenue(String breakdown) throws Exception {
+        return mockMvc.perform(get("/api/analytics/revenue/" + breakdown)
+                        .param("from", today)
+                        .param("to", today))
+                .andExpect(status().isOk());
+    }
+
+    private Long createOrder(Customer customer, OrderItemRequestDTO... items) throws Exception {
+        OrderRequestDTO request = OrderRequestDTO.builder()
+                .customerId(customer.getId())
+                .items(List.of(items))
+                .build();
+        String response = mockMvc.perform(post("/api/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response).get("id").asLong();
+    }
+
+    private OrderItemRequestDTO item(Product product, int quantity) {
+        return OrderItemRequestDTO.builder()
+                .productId(product.getId())
+                .quantity(quantity)
+                .build();
+    }
+
+    private void cleanUp() {
+        orderRepository.deleteAll();
+        productRepository.deleteAll();
+        customerRepository.deleteAll();
+        dailySalesRepository.deleteAllInBatch();
+        productDailySalesRepository.deleteAllInBatch();
+        customerDailySalesRepository.deleteAllInBatch();
+    }
+}
@@ -0,0 +1,66 @@
+package com.sales.api.integration;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Starts the application on a database created by {@code ddl-auto} before the migrations: the V1
+ * schema with nullable version columns and no history table.
+ */
+@SpringBootTest(properties = "spring.datasource.url=" + SchemaBaselineIntegrationTest.URL)
+@ActiveProfiles("test")
+class SchemaBaselineIntegrationTest {
+
+    static final String URL = "jdbc:h2:mem:baseline;DB_CLOSE_DELAY=-1";
+
+    private static final JdbcTemplate DATABASE = new JdbcTemplate(new DriverManagerDataSource(URL, "sa", ""));
+
+    @BeforeAll
+    static void createUnversionedSchema() {
+        Flyway.configure()
+                .dataSource(URL, "sa", "")
+                .locations("classpath:db/migration/common", "classpath:db/migration/h2")
+                .target("1")
+                .load()
+                .migrate();
+        DATABASE.execute("DROP TABLE \"flyway_schema_history\"");
+        for (String table : new String[]{"customers", "products", "orders"}) {
+            DATABASE.execute("ALTER TABLE " + table + " ALTER COLUMN version DROP NOT NULL");
+            DATABASE.execute("ALTER TABLE " + table + " ALTER COLUMN version DROP DEFAULT");
+        }
+        DATABASE.update("INSERT INTO products (id, name, price, stock_quantity) VALUES (1, 'Keyboard', 10.00, 5)");
+    }
+
+    @Test
+    @DisplayName("Should baseline an unversioned database at V1 and apply the later migrations")
+    void migrate_ShouldBaselineExistingSchema() {
+        List<String> versions = DATABASE.queryForList(
+                "SELECT \"version\" FROM \"flyway_schema_history\" WHERE \"success\" AND \"version\" IS NOT NULL ORDER BY \"installed_rank\"",
+                String.class);
+
+        assertThat(versions).containsExactly("1", "2", "3", "4", "5", "6", "7", "8", "9");
+        assertThat(DATABASE.queryForObject("SELECT \"type\" FROM \"flyway_schema_history\" WHERE \"version\" = '1'", String.class))
+                .isEqualTo("BASELINE");
+    }
+
+    @Test
+    @DisplayName("Should backfill the versions of existing rows and make the columns NOT NULL")
+    void migrate_ShouldBackfillVersions() {
+        assertThat(DATABASE.queryForObject("SELECT version FROM products WHERE id = 1", Long.class)).isZero();
+        assertThat(DATABASE.queryForList(
+                "SELECT is_nullable FROM information_schema.columns WHERE column_name = 'VERSION' AND table_name IN ('CUSTOMERS', 'PRODUCTS', 'ORDERS', 'ORDERS_ARCHIVE')",
+                String.class))
+                .hasSize(4)
+                .containsOnly("NO");
+    }
+}
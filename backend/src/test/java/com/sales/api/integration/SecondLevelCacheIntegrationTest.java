@@ -0,0 +1,180 @@
+package com.sales.api.integration;
+
+import com.sales.api.config.SecondLevelCacheConfig;
+import com.sales.api.dto.CacheStatsDTO;
+import com.sales.api.dto.CustomerRequestDTO;
+import com.sales.api.dto.OrderDTO;
+import com.sales.api.dto.OrderItemRequestDTO;
+import com.sales.api.dto.OrderRequestDTO;
+import com.sales.api.dto.ProductDTO;
+import com.sales.api.entity.Customer;
+import com.sales.api.entity.Money;
+import com.sales.api.entity.Product;
+import com.sales.api.repository.CustomerRepository;
+import com.sales.api.repository.OrderRepository;
+import com.sales.api.repository.ProductRepository;
+import com.sales.api.service.CacheService;
+import com.sales.api.service.CustomerService;
+import com.sales.api.service.OrderEventService;
+import com.sales.api.service.OrderService;
+import com.sales.api.service.ProductService;
+import com.sales.api.support.SqlStatementCounter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SecondLevelCacheIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private CacheService cacheService;
+
+    @Autowired
+    private OrderEventService orderEventService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    private Customer customer;
+    private Product keyboard;
+    private Product mouse;
+
+    @BeforeEach
+    void setUp() {
+        customer = customerRepository.save(Customer.builder()
+                .name("John Doe")
+                .email("john@example.com")
+                .build());
+        keyboard = productRepository.save(Product.builder()
+                .name("Keyboard")
+                .price(Money.parse("50.00"))
+                .stockQuantity(10)
+                .build());
+        mouse = productRepository.save(Product.builder()
+                .name("Mouse")
+                .price(Money.parse("20.00"))
+                .stockQuantity(10)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderRepository.deleteAll();
+        productRepository.deleteAll();
+        customerRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Mapping an order resolves its customer and products from the cache")
+    void findById_ShouldResolveAssociationsFromCache() {
+        OrderDTO created = orderService.create(OrderRequestDTO.builder()
+                .customerId(customer.getId())
+                .items(List.of(
+                        OrderItemRequestDTO.builder().productId(keyboard.getId()).quantity(1).build(),
+                        OrderItemRequestDTO.builder().productId(mouse.getId()).quantity(2).build()))
+                .build());
+        // publish the order's events now, so the publisher issues no queries while counting
+        orderEventService.dispatch();
+        CacheStatsDTO products = cacheService.findByName(SecondLevelCacheConfig.PRODUCTS);
+        CacheStatsDTO customers = cacheService.findByName(SecondLevelCacheConfig.CUSTOMERS);
+
+        SqlStatementCounter.reset();
+        OrderDTO order = orderService.findById(created.getId());
+
+        assertThat(SqlStatementCounter.selects()).isEqualTo(1);
+        assertThat(order.getCustomerName()).isEqualTo("John Doe");
+        assertThat(order.getItems()).extracting("productName").containsExactlyInAnyOrder("Keyboard", "Mouse");
+        assertThat(cacheService.findByName(SecondLevelCacheConfig.PRODUCTS).getHitCount() - products.getHitCount())
+                .isEqualTo(2);
+        assertThat(cacheService.findByName(SecondLevelCacheConfig.CUSTOMERS).getHitCount() - customers.getHitCount())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("In-stock listings come from the query cache until a stock update")
+    void findInStock_ShouldUseQueryCache_UntilStockUpdate() {
+        productService.findInStock(null, 100);
+
+        SqlStatementCounter.reset();
+        List<ProductDTO> cached = productService.findInStock(null, 100).items();
+        assertThat(SqlStatementCounter.selects()).isZero();
+        assertThat(cached).extracting(ProductDTO::getName).containsExactly("Keyboard", "Mouse");
+
+        productService.updateStock(mouse.getId(), -10);
+
+        SqlStatementCounter.reset();
+        List<ProductDTO> updated = productService.findInStock(null, 100).items();
+        assertThat(SqlStatementCounter.selects()).isPositive();
+        assertThat(updated).extracting(ProductDTO::getName).containsExactly("Keyboard");
+    }
+
+    @Test
+    @DisplayName("Customers by email come from the query cache until a customer changes")
+    void findByEmail_ShouldUseQueryCache_UntilCustomerUpdate() {
+        customerRepository.findByEmail("john@example.com");
+
+        SqlStatementCounter.reset();
+        assertThat(customerRepository.findByEmail("john@example.com")).isPresent();
+        assertThat(SqlStatementCounter.selects()).isZero();
+
+        customerService.update(customer.getId(), CustomerRequestDTO.builder()
+                .name("John Doe")
+                .email("johnny@example.com")
+                .build());
+
+        assertThat(customerRepository.findByEmail("john@example.com")).isEmpty();
+        assertThat(customerRepository.findByEmail("johnny@example.com")).isPresent();
+    }
+
+    @Test
+    @DisplayName("GET /api/caches - Should expose second-level cache region statistics")
+    void caches_ShouldExposeRegionStatistics() throws Exception {
+        productService.findInStock(null, 100);
+        productService.findInStock(null, 100);
+
+        mockMvc.perform(get("/api/caches"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].name", hasItems(
+                        "products", SecondLevelCacheConfig.PRODUCTS, SecondLevelCacheConfig.CUSTOMERS,
+                        "default-query-results-region", "default-update-timestamps-region")))
+                .andExpect(jsonPath("$[?(@.name == '" + SecondLevelCacheConfig.PRODUCTS + "')].size",
+                        hasItem(greaterThanOrEqualTo(2))));
+
+        mockMvc.perform(get("/api/caches/{name}", "default-query-results-region"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hitCount", greaterThanOrEqualTo(1)));
+    }
+}
@@ -1,11 +1,15 @@
 package com.sales.api.service;
 
+import com.sales.api.dto.CursorPage;
 import com.sales.api.dto.CustomerDTO;
 import com.sales.api.dto.CustomerRequestDTO;
+import com.sales.api.dto.CustomerSummaryDTO;
 import com.sales.api.entity.Customer;
+import com.sales.api.entity.CustomerSummary;
 import com.sales.api.exception.BusinessException;
 import com.sales.api.exception.ResourceNotFoundException;
 import com.sales.api.repository.CustomerRepository;
+import com.sales.api.repository.CustomerSummaryRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -13,7 +17,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
@@ -30,6 +36,9 @@ class CustomerServiceTest {
     @Mock
     private CustomerRepository customerRepository;
 
+    @Mock
+    private CustomerSummaryRepository customerSummaryRepository;
+
     @InjectMocks
     private CustomerService customerService;
 
@@ -64,14 +73,16 @@ class CustomerServiceTest {
                 .email("jane@example.com")
                 .build();
 
-        when(customerRepository.findAll()).thenReturn(Arrays.asList(customer, customer2));
+        when(customerRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(101)))
+                .thenReturn(Arrays.asList(customer, customer2));
 
-        List<CustomerDTO> result = customerService.findAll();
+        CursorPage<CustomerDTO> result = customerService.findAll(null, 100);
 
-        assertThat(result).hasSize(2);
-        assertThat(result.get(0).getName()).isEqualTo("John Doe");
-        assertThat(result.get(1).getName()).isEqualTo("Jane Doe");
-        verify(customerRepository, times(1)).findAll();
+        assertThat(result.items()).hasSize(2);
+        assertThat(result.items().get(0).getName()).isEqualTo("John Doe");
+        assertThat(result.items().get(1).getName()).isEqualTo("Jane Doe");
+        assertThat(result.nextCursor()).isNull();
+        verify(customerRepository, times(1)).findByIdGreaterThanOrderByIdAsc(0L, Limit.of(101));
     }
 
     @Test
@@ -172,9 +183,36 @@ class CustomerServiceTest {
         customerService.delete(1L);
 
         verify(customerRepository, times(1)).existsById(1L);
+        verify(customerSummaryRepository, times(1)).deleteByCustomerId(1L);
         verify(customerRepository, times(1)).deleteById(1L);
     }
 
+    @Test
+    @DisplayName("Should return the summary row of a customer")
+    void findSummary_ShouldReturnSummary() {
+        when(customerSummaryRepository.findById(1L)).thenReturn(Optional.of(
+                new CustomerSummary(1L, 3L, new BigDecimal("150.00"), new BigDecimal("50.00"))));
+
+        CustomerSummaryDTO result = customerService.findSummary(1L);
+
+        assertThat(result.getOrderCount()).isEqualTo(3L);
+        assertThat(result.getLifetimeValue()).isEqualByComparingTo("150.00");
+        assertThat(result.getOpenBalance()).isEqualByComparingTo("50.00");
+        verifyNoMoreInteractions(customerRepository);
+    }
+
+    @Test
+    @DisplayName("Should return an empty summary for a customer without orders")
+    void findSummary_ShouldReturnEmptySummary_WhenCustomerHasNoOrders() {
+        when(customerSummaryRepository.findById(1L)).thenReturn(Optional.empty());
+        when(customerRepository.existsById(1L)).thenReturn(true);
+
+        CustomerSummaryDTO result = customerService.findSummary(1L);
+
+        assertThat(result.getOrderCount()).isZero();
+        assertThat(result.getLifetimeValue()).isEqualByComparingTo(BigDecimal.ZERO);
+    }
+
     @Test
     @DisplayName("Should throw exception when deleting non-existent customer")
     void delete_ShouldThrowException_WhenCustomerNotFound() {
@@ -0,0 +1,220 @@
+package com.sales.api.service;
+
+import com.sales.api.config.FlashSaleProperties;
+import com.sales.api.dto.OrderItemRequestDTO;
+import com.sales.api.entity.Money;
+import com.sales.api.entity.Product;
+import com.sales.api.exception.BusinessException;
+import com.sales.api.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FlashSaleServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private CacheService cacheService;
+
+    @Mock
+    private SalesMetrics salesMetrics;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private FlashSaleProperties properties;
+    private FlashSaleService flashSaleService;
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        properties = new FlashSaleProperties();
+        properties.setEnabled(true);
+        properties.setInstanceId("instance-1");
+        flashSaleService = new FlashSaleService(productRepository, cacheService, salesMetrics, properties, transactionManager);
+
+        product = Product.builder()
+                .id(1L)
+                .name("Hot Product")
+                .price(Money.parse("9.99"))
+                .stockQuantity(3)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should not cover lines of products outside a flash sale")
+    void reserve_ShouldReturnEmpty_WhenNoFlashSale() {
+        FlashSaleService.Reservation reservation = flashSaleService.reserve(List.of(line(1L, 1)));
+
+        assertThat(reservation.isEmpty()).isTrue();
+        assertThat(reservation.covers(1L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should admit lines until flash-sale stock runs out")
+    void reserve_ShouldRejectLine_WhenLaneExhausted() {
+        when(productRepository.findAllByIdForUpdate(List.of(1L))).thenReturn(List.of(product));
+        flashSaleService.enable(1L);
+
+        FlashSaleService.Reservation first = flashSaleService.reserve(List.of(line(1L, 2)));
+        assertThat(first.covers(1L)).isTrue();
+
+        assertThatThrownBy(() -> flashSaleService.reserve(List.of(line(1L, 2))))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("Insufficient stock for product: Hot Product");
+
+        flashSaleService.release(first);
+        assertThat(flashSaleService.reserve(List.of(line(1L, 3))).covers(1L)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should not confirm a reservation that was already released")
+    void confirm_ShouldBeNoOp_WhenReservationReleased() {
+        when(productRepository.findAllByIdForUpdate(List.of(1L))).thenReturn(List.of(product));
+        flashSaleService.enable(1L);
+
+        FlashSaleService.Reservation reservation = flashSaleService.reserve(List.of(line(1L, 2)));
+        flashSaleService.release(reservation);
+        flashSaleService.confirm(reservation);
+        flashSaleService.flush();
+
+        verify(productRepository, never()).takeReservedStock(anyLong(), anyInt());
+        assertThat(flashSaleService.reserve(List.of(line(1L, 3))).covers(1L)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should flush confirmed decrements to the product row in one batch")
+    void flush_ShouldApplyConfirmedDecrements() {
+        when(productRepository.findAllByIdForUpdate(List.of(1L))).thenReturn(List.of(product));
+        when(productRepository.takeReservedStock(1L, 3)).thenReturn(1);
+        flashSaleService.enable(1L);
+
+        flashSaleService.confirm(flashSaleService.reserve(List.of(line(1L, 1))));
+        flashSaleService.confirm(flashSaleService.reserve(List.of(line(1L, 2))));
+        flashSaleService.flush();
+        flashSaleService.flush();
+
+        verify(productRepository, times(1)).takeReservedStock(1L, 3);
+        verify(cacheService, times(1)).evict("products", List.of(1L));
+    }
+
+    @Test
+    @DisplayName("Should reserve the lane's stock in the database when the flash sale starts")
+    void enable_ShouldReserveStock() {
+        when(productRepository.findAllByIdForUpdate(List.of(1L))).thenReturn(List.of(product));
+
+        flashSaleService.enable(1L);
+
+        verify(productRepository).reserveStock(1L, 3, "instance-1");
+        assertThat(flashSaleService.isActive(1L)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should refuse a product whose stock another lane holds")
+    void enable_ShouldThrowException_WhenStockAlreadyReserved() {
+        product.setFlashSaleReserved(3);
+        when(productRepository.findAllByIdForUpdate(List.of(1L))).thenReturn(List.of(product));
+
+        assertThatThrownBy(() -> flashSaleService.enable(1L))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("already in a flash sale");
+
+        verify(productRepository, never()).reserveStock(anyLong(), anyInt(), anyString());
+        assertThat(flashSaleService.isActive(1L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should keep sold units and count the failure when a flush is rejected")
+    void flush_ShouldRetry_WhenRejected() {
+        when(productRepository.findAllByIdForUpdate(List.of(1L))).thenReturn(List.of(product));
+        when(productRepository.takeReservedStock(1L, 2)).thenReturn(0, 1);
+        flashSaleService.enable(1L);
+        flashSaleService.confirm(flashSaleService.reserve(List.of(line(1L, 2))));
+
+        flashSaleService.flush();
+        flashSaleService.flush();
+
+        verify(salesMetrics).flashSaleFlushFailed();
+        verify(productRepository, times(2)).takeReservedStock(1L, 2);
+        verify(cacheService, times(1)).evict("products", List.of(1L));
+    }
+
+    @Test
+    @DisplayName("Should stop admitting, drain the lane and release unsold stock when the flash sale ends")
+    void disable_ShouldFlushAndCloseLane() {
+        when(productRepository.findAllByIdForUpdate(List.of(1L))).thenReturn(List.of(product));
+        when(productRepository.takeReservedStock(1L, 1)).thenReturn(1);
+        flashSaleService.enable(1L);
+        flashSaleService.confirm(flashSaleService.reserve(List.of(line(1L, 1))));
+
+        flashSaleService.disable(1L);
+
+        assertThat(flashSaleService.isActive(1L)).isFalse();
+        assertThat(flashSaleService.reserve(List.of(line(1L, 1))).isEmpty()).isTrue();
+        verify(productRepository, times(1)).takeReservedStock(1L, 1);
+        verify(productRepository, times(1)).releaseReservedStock(1L, 2);
+    }
+
+    @Test
+    @DisplayName("Should reserve restocked units for an open lane")
+    void restock_ShouldReserveUnits() {
+        when(productRepository.findAllByIdForUpdate(List.of(1L))).thenReturn(List.of(product));
+        flashSaleService.enable(1L);
+        flashSaleService.confirm(flashSaleService.reserve(List.of(line(1L, 3))));
+
+        flashSaleService.restock(1L, 2);
+
+        verify(productRepository).reserveStock(1L, 2, "instance-1");
+        assertThat(flashSaleService.reserve(List.of(line(1L, 2))).covers(1L)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should refuse to start a flash sale when the mode is disabled")
+    void enable_ShouldThrowException_WhenModeDisabled() {
+        properties.setEnabled(false);
+
+        assertThatThrownBy(() -> flashSaleService.enable(1L))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("Flash-sale mode is disabled");
+
+        verify(productRepository, never()).findAllByIdForUpdate(any());
+    }
+
+    @Test
+    @DisplayName("Should release only the reservations of this instance on startup")
+    void releaseAbandonedReservations_ShouldReleaseOwnReservations() {
+        flashSaleService.releaseAbandonedReservations();
+
+        verify(productRepository).releaseReservedStockOf("instance-1");
+    }
+
+    @Test
+    @DisplayName("Should leave reservations alone on startup when the mode is disabled")
+    void releaseAbandonedReservations_ShouldDoNothing_WhenModeDisabled() {
+        properties.setEnabled(false);
+
+        flashSaleService.releaseAbandonedReservations();
+
+        verifyNoInteractions(productRepository);
+    }
+
+    private OrderItemRequestDTO line(Long productId, int quantity) {
+        return OrderItemRequestDTO.builder()
+                .productId(productId)
+                .quantity(quantity)
+                .build();
+    }
+}
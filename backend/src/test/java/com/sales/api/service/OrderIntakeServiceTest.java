@@ -0,0 +1,218 @@
+package com.sales.api.service;
+
+import com.sales.api.config.OrderIntakeProperties;
+import com.sales.api.dto.OrderBatchResultDTO;
+import com.sales.api.dto.OrderDTO;
+import com.sales.api.dto.OrderIntakeDTO;
+import com.sales.api.dto.OrderItemRequestDTO;
+import com.sales.api.dto.OrderRequestDTO;
+import com.sales.api.exception.BusinessException;
+import com.sales.api.exception.ResourceNotFoundException;
+import com.sales.api.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderIntakeServiceTest {
+
+    @Mock
+    private OrderService orderService;
+
+    private OrderIntakeProperties properties;
+    private SimpleMeterRegistry registry;
+    private OrderIntakeService orderIntakeService;
+
+    @BeforeEach
+    void setUp() {
+        properties = new OrderIntakeProperties();
+        properties.setEnabled(true);
+        properties.setCapacity(2);
+        registry = new SimpleMeterRegistry();
+        orderIntakeService = new OrderIntakeService(orderService, properties, registry);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        orderIntakeService.stop();
+    }
+
+    @Test
+    @DisplayName("Should queue a submission and report it by tracking id")
+    void submit_ShouldQueueOrder() {
+        OrderIntakeDTO intake = orderIntakeService.submit(request(1L));
+
+        assertThat(intake.getStatus()).isEqualTo(OrderIntakeDTO.Status.QUEUED);
+        assertThat(orderIntakeService.findByTrackingId(intake.getTrackingId())).isEqualTo(intake);
+        assertThat(registry.get("sales.orders.intake.queued").gauge().value()).isEqualTo(1);
+        verifyNoInteractions(orderService);
+    }
+
+    @Test
+    @DisplayName("Should refuse submissions while intake is disabled")
+    void submit_ShouldThrow_WhenDisabled() {
+        properties.setEnabled(false);
+
+        assertThatThrownBy(() -> orderIntakeService.submit(request(1L)))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("disabled");
+    }
+
+    @Test
+    @DisplayName("Should refuse submissions once the queue is full")
+    void submit_ShouldThrow_WhenQueueFull() {
+        orderIntakeService.submit(request(1L));
+        orderIntakeService.submit(request(2L));
+
+        assertThatThrownBy(() -> orderIntakeService.submit(request(3L)))
+                .isInstanceOf(ServiceUnavailableException.class);
+    }
+
+    @Test
+    @DisplayName("Should create queued orders in one batch and record each outcome")
+    void start_ShouldCreateQueuedOrdersInOneBatch() throws Exception {
+        OrderDTO order = OrderDTO.builder().id(10L).build();
+        when(orderService.createBatch(anyList())).thenReturn(List.of(
+                OrderBatchResultDTO.created(0, order),
+                OrderBatchResultDTO.failed(1, "Insufficient stock")));
+        OrderIntakeDTO first = orderIntakeService.submit(request(1L));
+        OrderIntakeDTO second = orderIntakeService.submit(request(2L));
+
+        orderIntakeService.start();
+
+        assertThat(awaitOutcome(first).getOrder()).isEqualTo(order);
+        assertThat(awaitOutcome(second).getStatus()).isEqualTo(OrderIntakeDTO.Status.FAILED);
+        assertThat(awaitOutcome(second).getError()).isEqualTo("Insufficient stock");
+        verify(orderService).createBatch(anyList());
+    }
+
+    @Test
+    @DisplayName("Should create orders one by one when their batch transaction fails")
+    void start_ShouldFallBackToSingleOrders_WhenBatchFails() throws Exception {
+        when(orderService.createBatch(anyList())).thenThrow(new IllegalStateException("Connection lost"));
+        when(orderService.create(any(OrderRequestDTO.class)))
+                .thenReturn(OrderDTO.builder().id(10L).build())
+                .thenThrow(new ResourceNotFoundException("Customer", "id", 2L));
+        OrderIntakeDTO first = orderIntakeService.submit(request(1L));
+        OrderIntakeDTO second = orderIntakeService.submit(request(2L));
+
+        orderIntakeService.start();
+
+        assertThat(awaitOutcome(first).getStatus()).isEqualTo(OrderIntakeDTO.Status.CREATED);
+        assertThat(awaitOutcome(second).getStatus()).isEqualTo(OrderIntakeDTO.Status.FAILED);
+        verify(orderService, times(2)).create(any(OrderRequestDTO.class));
+    }
+
+    @Test
+    @DisplayName("Should keep a queued submission past the retention of outcomes")
+    void findByTrackingId_ShouldKeepQueuedSubmission_PastRetention() throws Exception {
+        properties.setResultRetention(Duration.ofMillis(1));
+        orderIntakeService = new OrderIntakeService(orderService, properties, new SimpleMeterRegistry());
+        OrderIntakeDTO intake = orderIntakeService.submit(request(1L));
+
+        Thread.sleep(50);
+
+        assertThat(orderIntakeService.findByTrackingId(intake.getTrackingId()).getStatus())
+                .isEqualTo(OrderIntakeDTO.Status.QUEUED);
+    }
+
+    @Test
+    @DisplayName("Should expire an outcome once the retention after its completion has passed")
+    void findByTrackingId_ShouldExpireOutcome_AfterRetention() throws Exception {
+        properties.setResultRetention(Duration.ofMillis(500));
+        orderIntakeService = new OrderIntakeService(orderService, properties, new SimpleMeterRegistry());
+        when(orderService.createBatch(anyList()))
+                .thenReturn(List.of(OrderBatchResultDTO.created(0, OrderDTO.builder().id(10L).build())));
+        OrderIntakeDTO intake = orderIntakeService.submit(request(1L));
+        orderIntakeService.start();
+        assertThat(awaitOutcome(intake).getStatus()).isEqualTo(OrderIntakeDTO.Status.CREATED);
+
+        Thread.sleep(1000);
+
+        assertThatThrownBy(() -> orderIntakeService.findByTrackingId(intake.getTrackingId()))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Should evict outcomes beyond the capacity and expected throughput, but never queued submissions")
+    void findByTrackingId_ShouldEvictOutcomes_BeyondBound() throws Exception {
+        properties.setExpectedThroughput(0);
+        orderIntakeService = new OrderIntakeService(orderService, properties, new SimpleMeterRegistry());
+        when(orderService.createBatch(anyList())).thenAnswer(invocation -> IntStream
+                .range(0, invocation.<List<?>>getArgument(0).size())
+                .mapToObj(index -> OrderBatchResultDTO.created(index, OrderDTO.builder().id(10L + index).build()))
+                .toList());
+        List<OrderIntakeDTO> created = new ArrayList<>();
+        created.add(orderIntakeService.submit(request(1L)));
+        created.add(orderIntakeService.submit(request(2L)));
+        orderIntakeService.start();
+        awaitOutcome(created.get(0));
+        awaitOutcome(created.get(1));
+        created.add(orderIntakeService.submit(request(3L)));
+        created.add(orderIntakeService.submit(request(4L)));
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while ((statuses(created).contains(OrderIntakeDTO.Status.QUEUED)
+                || statuses(created).size() > properties.getCapacity()) && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+
+        assertThat(statuses(created)).containsExactly(OrderIntakeDTO.Status.CREATED, OrderIntakeDTO.Status.CREATED);
+    }
+
+    @Test
+    @DisplayName("Should throw ResourceNotFoundException for an unknown tracking id")
+    void findByTrackingId_ShouldThrow_WhenUnknown() {
+        assertThatThrownBy(() -> orderIntakeService.findByTrackingId("missing"))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    private OrderIntakeDTO awaitOutcome(OrderIntakeDTO intake) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        OrderIntakeDTO outcome = orderIntakeService.findByTrackingId(intake.getTrackingId());
+        while (outcome.getStatus() == OrderIntakeDTO.Status.QUEUED && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+            outcome = orderIntakeService.findByTrackingId(intake.getTrackingId());
+        }
+        return outcome;
+    }
+
+    /**
+     * The statuses of the intakes still tracked, leaving out the evicted ones.
+     */
+    private List<OrderIntakeDTO.Status> statuses(List<OrderIntakeDTO> intakes) {
+        List<OrderIntakeDTO.Status> statuses = new ArrayList<>();
+        for (OrderIntakeDTO intake : intakes) {
+            try {
+                statuses.add(orderIntakeService.findByTrackingId(intake.getTrackingId()).getStatus());
+            } catch (ResourceNotFoundException ex) {
+                // evicted
+            }
+        }
+        return statuses;
+    }
+
+    private static OrderRequestDTO request(Long customerId) {
+        return OrderRequestDTO.builder()
+                .customerId(customerId)
+                .items(List.of(OrderItemRequestDTO.builder().productId(1L).quantity(1).build()))
+                .build();
+    }
+}
@@ -1,28 +1,43 @@
 package com.sales.api.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sales.api.dto.CursorPage;
 import com.sales.api.dto.OrderDTO;
 import com.sales.api.dto.OrderItemRequestDTO;
+import com.sales.api.dto.OrderItemRow;
 import com.sales.api.dto.OrderRequestDTO;
+import com.sales.api.dto.OrderSummaryRow;
 import com.sales.api.entity.*;
+import com.sales.api.entity.Money;
 import com.sales.api.exception.BusinessException;
 import com.sales.api.exception.ResourceNotFoundException;
+import com.sales.api.repository.ArchivedOrderItemRepository;
+import com.sales.api.repository.ArchivedOrderRepository;
 import com.sales.api.repository.CustomerRepository;
+import com.sales.api.repository.OrderItemRepository;
 import com.sales.api.repository.OrderRepository;
 import com.sales.api.repository.ProductRepository;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
-import java.math.BigDecimal;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -35,6 +50,15 @@ class OrderServiceTest {
     @Mock
     private OrderRepository orderRepository;
 
+    @Mock
+    private OrderItemRepository orderItemRepository;
+
+    @Mock
+    private ArchivedOrderRepository archivedOrderRepository;
+
+    @Mock
+    private ArchivedOrderItemRepository archivedOrderItemRepository;
+
     @Mock
     private CustomerRepository customerRepository;
 
@@ -44,6 +68,27 @@ class OrderServiceTest {
     @Mock
     private ProductService productService;
 
+    @Mock
+    private FlashSaleService flashSaleService;
+
+    @Mock
+    private CacheService cacheService;
+
+    @Mock
+    private SalesMetrics salesMetrics;
+
+    @Mock
+    private SalesRollupService salesRollupService;
+
+    @Mock
+    private OrderEventService orderEventService;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
     @InjectMocks
     private OrderService orderService;
 
@@ -51,9 +96,13 @@ class OrderServiceTest {
     private Product product;
     private Order order;
     private OrderRequestDTO orderRequest;
+    private OrderSummaryRow orderRow;
+    private OrderItemRow itemRow;
 
     @BeforeEach
     void setUp() {
+        lenient().when(flashSaleService.reserve(anyList())).thenReturn(FlashSaleService.Reservation.EMPTY);
+
         customer = Customer.builder()
                 .id(1L)
                 .name("John Doe")
@@ -63,7 +112,7 @@ class OrderServiceTest {
         product = Product.builder()
                 .id(1L)
                 .name("Test Product")
-                .price(new BigDecimal("99.99"))
+                .price(Money.parse("99.99"))
                 .stockQuantity(100)
                 .build();
 
@@ -71,7 +120,7 @@ class OrderServiceTest {
                 .id(1L)
                 .product(product)
                 .quantity(2)
-                .unitPrice(new BigDecimal("99.99"))
+                .unitPrice(Money.parse("99.99"))
                 .build();
 
         order = Order.builder()
@@ -79,7 +128,7 @@ class OrderServiceTest {
                 .customer(customer)
                 .orderDate(LocalDateTime.now())
                 .status(OrderStatus.PENDING)
-                .totalAmount(new BigDecimal("199.98"))
+                .totalAmount(Money.parse("199.98"))
                 .items(new ArrayList<>(Arrays.asList(orderItem)))
                 .build();
         orderItem.setOrder(order);
@@ -93,18 +142,58 @@ class OrderServiceTest {
                 .customerId(1L)
                 .items(Arrays.asList(itemRequest))
                 .build();
+
+        orderRow = new OrderSummaryRow(1L, 1L, "John Doe", order.getOrderDate(), OrderStatus.PENDING,
+                Money.parse("199.98"));
+        itemRow = new OrderItemRow(1L, 1L, 1L, "Test Product", 2, Money.parse("99.99"));
     }
 
     @Test
     @DisplayName("Should return all orders")
     void findAll_ShouldReturnAllOrders() {
-        when(orderRepository.findAllWithItems()).thenReturn(Arrays.asList(order));
+        when(orderRepository.findRowsAfter(0L, Limit.of(101))).thenReturn(List.of(orderRow));
+        when(orderItemRepository.findRowsByOrderIds(List.of(1L))).thenReturn(List.of(itemRow));
+
+        CursorPage<OrderDTO> result = orderService.findAll(null, 100);
+
+        assertThat(result.items()).hasSize(1);
+        assertThat(result.items().get(0).getCustomerName()).isEqualTo("John Doe");
+        assertThat(result.items().get(0).getItems()).hasSize(1);
+        assertThat(result.items().get(0).getItems().get(0).getSubtotal()).isEqualTo(Money.parse("199.98"));
+        verify(orderRepository, times(1)).findRowsAfter(0L, Limit.of(101));
+        verify(orderItemRepository, times(1)).findRowsByOrderIds(List.of(1L));
+    }
+
+    @Test
+    @DisplayName("Should not query items for an empty page")
+    void findAll_ShouldSkipItemQuery_WhenPageEmpty() {
+        when(orderRepository.findRowsAfter(10L, Limit.of(101))).thenReturn(List.of());
+
+        CursorPage<OrderDTO> result = orderService.findAll(10L, 100);
+
+        assertThat(result.items()).isEmpty();
+        assertThat(result.nextCursor()).isNull();
+        verifyNoInteractions(orderItemRepository);
+    }
+
+    @Test
+    @DisplayName("Should export orders as one JSON document per line")
+    void export_ShouldWriteNdjson() throws Exception {
+        Order second = Order.builder()
+                .id(2L)
+                .customer(customer)
+                .status(OrderStatus.CONFIRMED)
+                .totalAmount(Money.ZERO)
+                .build();
+        when(orderRepository.streamAll()).thenReturn(Stream.of(order, second));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
 
-        List<OrderDTO> result = orderService.findAll();
+        orderService.export(out);
 
-        assertThat(result).hasSize(1);
-        assertThat(result.get(0).getCustomerName()).isEqualTo("John Doe");
-        verify(orderRepository, times(1)).findAllWithItems();
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readValue(lines[0], OrderDTO.class).getItems()).hasSize(1);
+        assertThat(objectMapper.readValue(lines[1], OrderDTO.class).getStatus()).isEqualTo(OrderStatus.CONFIRMED);
     }
 
     @Test
@@ -131,45 +220,105 @@ class OrderServiceTest {
         verify(orderRepository, times(1)).findByIdWithItems(1L);
     }
 
+    @Test
+    @DisplayName("Should return an archived order by ID")
+    void findById_ShouldFallBackToArchive_WhenOrderArchived() {
+        when(orderRepository.findByIdWithItems(1L)).thenReturn(Optional.empty());
+        when(archivedOrderRepository.findRowById(1L)).thenReturn(Optional.of(orderRow));
+        when(archivedOrderItemRepository.findRowsByOrderIds(List.of(1L))).thenReturn(List.of(itemRow));
+
+        OrderDTO result = orderService.findById(1L);
+
+        assertThat(result.getId()).isEqualTo(1L);
+        assertThat(result.getItems()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should merge hot and archived orders of a customer by ID")
+    void findByCustomerId_ShouldMergeArchivedOrders() {
+        OrderSummaryRow archivedRow = new OrderSummaryRow(2L, 1L, "John Doe", order.getOrderDate(),
+                OrderStatus.DELIVERED, Money.parse("10.00"));
+        when(orderRepository.findRowsByCustomerIdAfter(1L, 0L, Limit.of(2))).thenReturn(List.of(orderRow));
+        when(archivedOrderRepository.findRowsByCustomerIdAfter(1L, 0L, Limit.of(2))).thenReturn(List.of(archivedRow));
+        when(orderItemRepository.findRowsByOrderIds(List.of(1L))).thenReturn(List.of(itemRow));
+
+        CursorPage<OrderDTO> result = orderService.findByCustomerId(1L, null, 1);
+
+        assertThat(result.items()).extracting(OrderDTO::getId).containsExactly(1L);
+        assertThat(result.nextCursor()).isEqualTo(1L);
+        verifyNoInteractions(archivedOrderItemRepository);
+    }
+
     @Test
     @DisplayName("Should return orders by customer ID")
     void findByCustomerId_ShouldReturnCustomerOrders() {
-        when(orderRepository.findByCustomerId(1L)).thenReturn(Arrays.asList(order));
+        when(orderRepository.findRowsByCustomerIdAfter(1L, 0L, Limit.of(101))).thenReturn(List.of(orderRow));
+        when(orderItemRepository.findRowsByOrderIds(List.of(1L))).thenReturn(List.of(itemRow));
 
-        List<OrderDTO> result = orderService.findByCustomerId(1L);
+        CursorPage<OrderDTO> result = orderService.findByCustomerId(1L, null, 100);
 
-        assertThat(result).hasSize(1);
-        assertThat(result.get(0).getCustomerId()).isEqualTo(1L);
-        verify(orderRepository, times(1)).findByCustomerId(1L);
+        assertThat(result.items()).hasSize(1);
+        assertThat(result.items().get(0).getCustomerId()).isEqualTo(1L);
+        verify(orderRepository, times(1)).findRowsByCustomerIdAfter(1L, 0L, Limit.of(101));
     }
 
     @Test
     @DisplayName("Should return orders by status")
     void findByStatus_ShouldReturnOrdersWithStatus() {
-        when(orderRepository.findByStatus(OrderStatus.PENDING)).thenReturn(Arrays.asList(order));
+        when(orderRepository.findRowsByStatusAfter(OrderStatus.PENDING, 5L, Limit.of(101))).thenReturn(List.of(orderRow));
+        when(orderItemRepository.findRowsByOrderIds(List.of(1L))).thenReturn(List.of(itemRow));
 
-        List<OrderDTO> result = orderService.findByStatus(OrderStatus.PENDING);
+        CursorPage<OrderDTO> result = orderService.findByStatus(OrderStatus.PENDING, 5L, 100);
 
-        assertThat(result).hasSize(1);
-        assertThat(result.get(0).getStatus()).isEqualTo(OrderStatus.PENDING);
-        verify(orderRepository, times(1)).findByStatus(OrderStatus.PENDING);
+        assertThat(result.items()).hasSize(1);
+        assertThat(result.items().get(0).getStatus()).isEqualTo(OrderStatus.PENDING);
+        verify(orderRepository, times(1)).findRowsByStatusAfter(OrderStatus.PENDING, 5L, Limit.of(101));
     }
 
     @Test
     @DisplayName("Should create order successfully")
     void create_ShouldCreateOrder_WhenValidRequest() {
         when(customerRepository.findById(1L)).thenReturn(Optional.of(customer));
-        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
-        doNothing().when(productService).updateStock(anyLong(), anyInt());
+        when(productRepository.findAllByIdForUpdate(anyCollection())).thenReturn(List.of(product));
         when(orderRepository.save(any(Order.class))).thenReturn(order);
 
         OrderDTO result = orderService.create(orderRequest);
 
         assertThat(result).isNotNull();
         assertThat(result.getStatus()).isEqualTo(OrderStatus.PENDING);
+        assertThat(product.getStockQuantity()).isEqualTo(98);
         verify(customerRepository, times(1)).findById(1L);
-        verify(productRepository, times(1)).findById(1L);
+        verify(productRepository, times(1)).findAllByIdForUpdate(anyCollection());
+        verify(productRepository, never()).findById(anyLong());
+        verify(productService, never()).updateStock(anyLong(), anyInt());
         verify(orderRepository, times(1)).save(any(Order.class));
+        verify(cacheService, times(1)).evict(eq("products"), eq(Set.of(1L)));
+        verify(salesRollupService).add(order);
+        verify(orderEventService).record(OrderEventType.CREATED, result);
+    }
+
+    @Test
+    @DisplayName("Should load all order-line products with one locking query")
+    void create_ShouldLoadProductsOnce_WhenBasketHasManyLines() {
+        Product other = Product.builder()
+                .id(2L)
+                .name("Other Product")
+                .price(Money.parse("10.00"))
+                .stockQuantity(10)
+                .build();
+        orderRequest.setItems(Arrays.asList(
+                OrderItemRequestDTO.builder().productId(2L).quantity(1).build(),
+                OrderItemRequestDTO.builder().productId(1L).quantity(2).build(),
+                OrderItemRequestDTO.builder().productId(2L).quantity(3).build()));
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(customer));
+        when(productRepository.findAllByIdForUpdate(anyCollection())).thenReturn(List.of(product, other));
+        when(orderRepository.save(any(Order.class))).thenReturn(order);
+
+        orderService.create(orderRequest);
+
+        verify(productRepository, times(1)).findAllByIdForUpdate(eq(new TreeSet<>(List.of(1L, 2L))));
+        assertThat(product.getStockQuantity()).isEqualTo(98);
+        assertThat(other.getStockQuantity()).isEqualTo(6);
     }
 
     @Test
@@ -189,7 +338,7 @@ class OrderServiceTest {
     @DisplayName("Should throw exception when product not found during order creation")
     void create_ShouldThrowException_WhenProductNotFound() {
         when(customerRepository.findById(1L)).thenReturn(Optional.of(customer));
-        when(productRepository.findById(1L)).thenReturn(Optional.empty());
+        when(productRepository.findAllByIdForUpdate(anyCollection())).thenReturn(List.of());
 
         assertThatThrownBy(() -> orderService.create(orderRequest))
                 .isInstanceOf(ResourceNotFoundException.class)
@@ -203,13 +352,14 @@ class OrderServiceTest {
     void create_ShouldThrowException_WhenInsufficientStock() {
         product.setStockQuantity(1);
         when(customerRepository.findById(1L)).thenReturn(Optional.of(customer));
-        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+        when(productRepository.findAllByIdForUpdate(anyCollection())).thenReturn(List.of(product));
 
         assertThatThrownBy(() -> orderService.create(orderRequest))
                 .isInstanceOf(BusinessException.class)
                 .hasMessageContaining("Insufficient stock");
 
         verify(orderRepository, never()).save(any(Order.class));
+        verify(salesMetrics).stockRejected();
     }
 
     @Test
@@ -223,6 +373,20 @@ class OrderServiceTest {
         assertThat(result).isNotNull();
         verify(orderRepository, times(1)).findById(1L);
         verify(orderRepository, times(1)).save(any(Order.class));
+        verify(orderEventService).record(OrderEventType.STATUS_CHANGED, result);
+    }
+
+    @Test
+    @DisplayName("Should throw exception when updating an archived order")
+    void updateStatus_ShouldThrowException_WhenOrderArchived() {
+        when(orderRepository.findById(1L)).thenReturn(Optional.empty());
+        when(archivedOrderRepository.existsById(1L)).thenReturn(true);
+
+        assertThatThrownBy(() -> orderService.updateStatus(1L, OrderStatus.CANCELLED))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("archived");
+
+        verify(orderRepository, never()).save(any(Order.class));
     }
 
     @Test
@@ -236,6 +400,7 @@ class OrderServiceTest {
                 .hasMessageContaining("Cannot update status of a cancelled order");
 
         verify(orderRepository, never()).save(any(Order.class));
+        verifyNoInteractions(orderEventService);
     }
 
     @Test
@@ -249,6 +414,8 @@ class OrderServiceTest {
 
         verify(productService, times(1)).updateStock(eq(1L), eq(2));
         verify(orderRepository, times(1)).save(any(Order.class));
+        verify(salesMetrics).orderCancelled();
+        verify(salesRollupService).subtract(order);
     }
 
     @Test
@@ -263,6 +430,8 @@ class OrderServiceTest {
         verify(orderRepository, times(1)).findById(1L);
         verify(productService, times(1)).updateStock(eq(1L), eq(2));
         verify(orderRepository, times(1)).deleteById(1L);
+        verify(salesRollupService).subtract(order);
+        verify(orderEventService).recordDeleted(1L);
     }
 
     @Test
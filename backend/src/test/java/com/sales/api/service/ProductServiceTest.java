@@ -1,7 +1,9 @@
 package com.sales.api.service;
 
+import com.sales.api.dto.CursorPage;
 import com.sales.api.dto.ProductDTO;
 import com.sales.api.dto.ProductRequestDTO;
+import com.sales.api.entity.Money;
 import com.sales.api.entity.Product;
 import com.sales.api.exception.BusinessException;
 import com.sales.api.exception.ResourceNotFoundException;
@@ -13,6 +15,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -31,6 +34,15 @@ class ProductServiceTest {
     @Mock
     private ProductRepository productRepository;
 
+    @Mock
+    private FlashSaleService flashSaleService;
+
+    @Mock
+    private SalesMetrics salesMetrics;
+
+    @Mock
+    private ProductSearchIndex productSearchIndex;
+
     @InjectMocks
     private ProductService productService;
 
@@ -43,7 +55,7 @@ class ProductServiceTest {
                 .id(1L)
                 .name("Test Product")
                 .description("Test Description")
-                .price(new BigDecimal("99.99"))
+                .price(Money.parse("99.99"))
                 .stockQuantity(100)
                 .createdAt(LocalDateTime.now())
                 .build();
@@ -62,69 +74,116 @@ class ProductServiceTest {
         Product product2 = Product.builder()
                 .id(2L)
                 .name("Product 2")
-                .price(new BigDecimal("49.99"))
+                .price(Money.parse("49.99"))
                 .stockQuantity(50)
                 .build();
 
-        when(productRepository.findAll()).thenReturn(Arrays.asList(product, product2));
+        when(productRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(101)))
+                .thenReturn(Arrays.asList(product, product2));
 
-        List<ProductDTO> result = productService.findAll();
+        CursorPage<ProductDTO> result = productService.findAll(null, 100);
 
-        assertThat(result).hasSize(2);
-        assertThat(result.get(0).getName()).isEqualTo("Test Product");
-        assertThat(result.get(1).getName()).isEqualTo("Product 2");
-        verify(productRepository, times(1)).findAll();
+        assertThat(result.items()).hasSize(2);
+        assertThat(result.items().get(0).getName()).isEqualTo("Test Product");
+        assertThat(result.items().get(1).getName()).isEqualTo("Product 2");
+        assertThat(result.nextCursor()).isNull();
+        verify(productRepository, times(1)).findByIdGreaterThanOrderByIdAsc(0L, Limit.of(101));
+    }
+
+    @Test
+    @DisplayName("Should return a next cursor when more products follow the page")
+    void findAll_ShouldReturnNextCursor_WhenMoreRowsExist() {
+        Product product2 = Product.builder()
+                .id(2L)
+                .name("Product 2")
+                .price(Money.parse("49.99"))
+                .stockQuantity(50)
+                .build();
+
+        when(productRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(2)))
+                .thenReturn(Arrays.asList(product, product2));
+
+        CursorPage<ProductDTO> result = productService.findAll(null, 1);
+
+        assertThat(result.items()).hasSize(1);
+        assertThat(result.nextCursor()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Should reject a page limit above the maximum")
+    void findAll_ShouldThrowException_WhenLimitTooLarge() {
+        assertThatThrownBy(() -> productService.findAll(null, CursorPage.MAX_LIMIT + 1))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("Limit must be between");
+
+        verifyNoInteractions(productRepository);
     }
 
     @Test
     @DisplayName("Should return product by ID")
     void findById_ShouldReturnProduct_WhenProductExists() {
-        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+        when(productRepository.findCurrentById(1L)).thenReturn(Optional.of(product));
 
         ProductDTO result = productService.findById(1L);
 
         assertThat(result.getId()).isEqualTo(1L);
         assertThat(result.getName()).isEqualTo("Test Product");
-        assertThat(result.getPrice()).isEqualByComparingTo(new BigDecimal("99.99"));
-        verify(productRepository, times(1)).findById(1L);
+        assertThat(result.getPrice()).isEqualByComparingTo(Money.parse("99.99"));
+        verify(productRepository, times(1)).findCurrentById(1L);
     }
 
     @Test
     @DisplayName("Should throw exception when product not found")
     void findById_ShouldThrowException_WhenProductNotFound() {
-        when(productRepository.findById(1L)).thenReturn(Optional.empty());
+        when(productRepository.findCurrentById(1L)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> productService.findById(1L))
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessageContaining("Product not found");
 
-        verify(productRepository, times(1)).findById(1L);
+        verify(productRepository, times(1)).findCurrentById(1L);
     }
 
     @Test
-    @DisplayName("Should search products by name")
-    void findByName_ShouldReturnMatchingProducts() {
-        when(productRepository.findByNameContainingIgnoreCase("Test"))
-                .thenReturn(Arrays.asList(product));
+    @DisplayName("Should return search hits in rank order, skipping products no longer stored")
+    void search_ShouldReturnProductsInRankOrder() {
+        Product second = Product.builder()
+                .id(2L)
+                .name("Test Product 2")
+                .price(Money.parse("10.00"))
+                .stockQuantity(5)
+                .build();
+        when(productSearchIndex.search("Test", 0, 3)).thenReturn(List.of(2L, 9L, 1L));
+        when(productRepository.findAllById(List.of(2L, 9L))).thenReturn(List.of(second));
 
-        List<ProductDTO> result = productService.findByName("Test");
+        CursorPage<ProductDTO> result = productService.search("Test", null, 2);
 
-        assertThat(result).hasSize(1);
-        assertThat(result.get(0).getName()).isEqualTo("Test Product");
-        verify(productRepository, times(1)).findByNameContainingIgnoreCase("Test");
+        assertThat(result.items()).extracting(ProductDTO::getId).containsExactly(2L);
+        assertThat(result.nextCursor()).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("Should reject search cursors beyond the searchable depth")
+    void search_ShouldThrowException_WhenOffsetTooDeep() {
+        assertThatThrownBy(() -> productService.search("Test", 20_000L, 10))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("Search results are limited");
+
+        verifyNoInteractions(productSearchIndex);
     }
 
     @Test
     @DisplayName("Should return products in stock")
     void findInStock_ShouldReturnProductsWithStock() {
-        when(productRepository.findByStockQuantityGreaterThan(0))
+        when(productRepository.findByStockQuantityGreaterThanAndIdGreaterThanOrderByIdAsc(0, 0L, Limit.of(101)))
                 .thenReturn(Arrays.asList(product));
 
-        List<ProductDTO> result = productService.findInStock();
+        CursorPage<ProductDTO> result = productService.findInStock(null, 100);
 
-        assertThat(result).hasSize(1);
-        assertThat(result.get(0).getStockQuantity()).isGreaterThan(0);
-        verify(productRepository, times(1)).findByStockQuantityGreaterThan(0);
+        assertThat(result.items()).hasSize(1);
+        assertThat(result.items().get(0).getStockQuantity()).isGreaterThan(0);
+        verify(productRepository, times(1))
+                .findByStockQuantityGreaterThanAndIdGreaterThanOrderByIdAsc(0, 0L, Limit.of(101));
     }
 
     @Test
@@ -135,8 +194,9 @@ class ProductServiceTest {
         ProductDTO result = productService.create(productRequest);
 
         assertThat(result.getName()).isEqualTo("Test Product");
-        assertThat(result.getPrice()).isEqualByComparingTo(new BigDecimal("99.99"));
+        assertThat(result.getPrice()).isEqualByComparingTo(Money.parse("99.99"));
         verify(productRepository, times(1)).save(any(Product.class));
+        verify(productSearchIndex).index(product);
     }
 
     @Test
@@ -150,62 +210,116 @@ class ProductServiceTest {
                 .build();
 
         when(productRepository.findById(1L)).thenReturn(Optional.of(product));
-        when(productRepository.save(any(Product.class))).thenReturn(product);
+        when(productRepository.saveAndFlush(any(Product.class))).thenReturn(product);
 
         ProductDTO result = productService.update(1L, updateRequest);
 
         assertThat(result).isNotNull();
         verify(productRepository, times(1)).findById(1L);
-        verify(productRepository, times(1)).save(any(Product.class));
+        verify(productRepository, times(1)).saveAndFlush(any(Product.class));
+        verify(productSearchIndex).index(product);
     }
 
     @Test
     @DisplayName("Should delete product successfully")
     void delete_ShouldDeleteProduct_WhenProductExists() {
-        when(productRepository.existsById(1L)).thenReturn(true);
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
         doNothing().when(productRepository).deleteById(1L);
 
         productService.delete(1L);
 
-        verify(productRepository, times(1)).existsById(1L);
+        verify(productRepository, times(1)).findById(1L);
         verify(productRepository, times(1)).deleteById(1L);
+        verify(productSearchIndex).remove(1L);
+    }
+
+    @Test
+    @DisplayName("Should reject stock changes while the product is in a flash sale")
+    void update_ShouldThrowException_WhenStockChangedDuringFlashSale() {
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+        when(flashSaleService.isActive(1L)).thenReturn(true);
+        productRequest.setStockQuantity(5);
+
+        assertThatThrownBy(() -> productService.update(1L, productRequest))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("flash sale");
+
+        verify(productRepository, never()).saveAndFlush(any(Product.class));
+    }
+
+    @Test
+    @DisplayName("Should reject stock changes while a lane on another instance holds stock")
+    void update_ShouldThrowException_WhenStockReservedForFlashSale() {
+        product.setFlashSaleReserved(10);
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+        productRequest.setStockQuantity(5);
+
+        assertThatThrownBy(() -> productService.update(1L, productRequest))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("flash sale");
+
+        verify(productRepository, never()).saveAndFlush(any(Product.class));
     }
 
     @Test
     @DisplayName("Should throw exception when deleting non-existent product")
     void delete_ShouldThrowException_WhenProductNotFound() {
-        when(productRepository.existsById(1L)).thenReturn(false);
+        when(productRepository.findById(1L)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> productService.delete(1L))
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessageContaining("Product not found");
 
-        verify(productRepository, times(1)).existsById(1L);
+        verify(productRepository, times(1)).findById(1L);
         verify(productRepository, never()).deleteById(anyLong());
     }
 
     @Test
     @DisplayName("Should update stock successfully")
     void updateStock_ShouldUpdateStock_WhenSufficientQuantity() {
-        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
-        when(productRepository.save(any(Product.class))).thenReturn(product);
+        when(productRepository.decrementStock(1L, 50)).thenReturn(1);
 
         productService.updateStock(1L, -50);
 
-        verify(productRepository, times(1)).findById(1L);
-        verify(productRepository, times(1)).save(any(Product.class));
+        verify(productRepository, times(1)).decrementStock(1L, 50);
+        verify(productRepository, never()).findById(anyLong());
+        verify(productRepository, never()).save(any(Product.class));
+    }
+
+    @Test
+    @DisplayName("Should restore stock with an atomic increment")
+    void updateStock_ShouldIncrementStock_WhenQuantityPositive() {
+        when(productRepository.incrementStock(1L, 5)).thenReturn(1);
+
+        productService.updateStock(1L, 5);
+
+        verify(productRepository, times(1)).incrementStock(1L, 5);
+        verify(productRepository, never()).save(any(Product.class));
     }
 
     @Test
     @DisplayName("Should throw exception when insufficient stock")
     void updateStock_ShouldThrowException_WhenInsufficientStock() {
+        when(productRepository.decrementStock(1L, 150)).thenReturn(0);
         when(productRepository.findById(1L)).thenReturn(Optional.of(product));
 
         assertThatThrownBy(() -> productService.updateStock(1L, -150))
                 .isInstanceOf(BusinessException.class)
                 .hasMessageContaining("Insufficient stock");
 
-        verify(productRepository, times(1)).findById(1L);
+        verify(productRepository, times(1)).decrementStock(1L, 150);
         verify(productRepository, never()).save(any(Product.class));
+        verify(salesMetrics).stockRejected();
+    }
+
+    @Test
+    @DisplayName("Should throw exception when updating stock of unknown product")
+    void updateStock_ShouldThrowException_WhenProductNotFound() {
+        when(productRepository.incrementStock(1L, 5)).thenReturn(0);
+        when(productRepository.findById(1L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> productService.updateStock(1L, 5))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("Product not found");
     }
 }
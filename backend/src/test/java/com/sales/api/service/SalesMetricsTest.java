@@ -0,0 +1,84 @@
+package com.sales.api.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SalesMetricsTest {
+
+    private SimpleMeterRegistry registry;
+    private SalesMetrics salesMetrics;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        salesMetrics = new SalesMetrics(registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should count right away outside a transaction")
+    void ordersCreated_ShouldCountImmediately_WithoutTransaction() {
+        salesMetrics.ordersCreated(2);
+
+        assertThat(count("sales.orders.created")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should count created orders only once their transaction commits")
+    void ordersCreated_ShouldCountOnCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        salesMetrics.ordersCreated(3);
+        assertThat(count("sales.orders.created")).isZero();
+
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertThat(count("sales.orders.created")).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should not count created orders of a rolled back transaction")
+    void ordersCreated_ShouldNotCount_WhenRolledBack() {
+        TransactionSynchronizationManager.initSynchronization();
+        salesMetrics.ordersCreated(3);
+        salesMetrics.orderCancelled();
+
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertThat(count("sales.orders.created")).isZero();
+        assertThat(count("sales.orders.cancelled")).isZero();
+    }
+
+    @Test
+    @DisplayName("Should count a rejection that rolls its transaction back, but not rejections of a failed batch")
+    void stockRejected_ShouldCountRollback_OnlyForSingleRejection() {
+        TransactionSynchronizationManager.initSynchronization();
+        salesMetrics.stockRejected();
+        salesMetrics.stockRejected(4);
+
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertThat(count("sales.stock.rejections")).isEqualTo(1);
+    }
+
+    private void complete(int status) {
+        TransactionSynchronizationManager.getSynchronizations().forEach(sync -> sync.afterCompletion(status));
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    private double count(String name) {
+        return registry.get(name).counter().count();
+    }
+}
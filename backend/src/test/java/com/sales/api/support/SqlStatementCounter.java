@@ -0,0 +1,138 @@
+package com.sales.api.support;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts every SQL statement sent through the application's data source in the test profile,
+ * grouped by statement type, whether Hibernate or a {@code JdbcTemplate} issues it; see
+ * {@link SqlStatementCounterConfig}. A statement is counted when it is prepared, so a batch counts
+ * once. Sequence fetches are counted on their own rather than as selects. The last statement is
+ * kept so tests can inspect the SQL of a query.
+ */
+public final class SqlStatementCounter {
+
+    private static final Set<String> PREPARE = Set.of("prepareStatement", "prepareCall");
+    private static final Set<String> EXECUTE = Set.of("execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "addBatch");
+
+    private static final AtomicInteger SELECTS = new AtomicInteger();
+    private static final AtomicInteger INSERTS = new AtomicInteger();
+    private static final AtomicInteger UPDATES = new AtomicInteger();
+    private static final AtomicInteger DELETES = new AtomicInteger();
+    private static final AtomicInteger SEQUENCES = new AtomicInteger();
+    private static volatile String last;
+
+    private SqlStatementCounter() {
+    }
+
+    /**
+     * Wraps a data source so the statements of its connections are counted.
+     */
+    static DataSource counting(DataSource dataSource) {
+        return proxy(dataSource, new Class<?>[]{DataSource.class, AutoCloseable.class}, (method, args) -> {
+            if (method.getName().equals("close") && method.getParameterCount() == 0) {
+                if (dataSource instanceof AutoCloseable closeable) {
+                    closeable.close();
+                }
+                return null;
+            }
+            Object result = method.invoke(dataSource, args);
+            return method.getName().equals("getConnection") ? connection((Connection) result) : result;
+        });
+    }
+
+    private static Connection connection(Connection connection) {
+        return proxy(connection, new Class<?>[]{Connection.class}, (method, args) -> {
+            if (PREPARE.contains(method.getName())) {
+                count((String) args[0]);
+            }
+            Object result = method.invoke(connection, args);
+            return method.getName().equals("createStatement") ? statement((Statement) result) : result;
+        });
+    }
+
+    private static Statement statement(Statement statement) {
+        return proxy(statement, new Class<?>[]{Statement.class}, (method, args) -> {
+            if (EXECUTE.contains(method.getName()) && args != null && args[0] instanceof String sql) {
+                count(sql);
+            }
+            return method.invoke(statement, args);
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(T target, Class<?>[] interfaces, Handler handler) {
+        InvocationHandler invocationHandler = (proxy, method, args) -> {
+            try {
+                return handler.invoke(method, args);
+            } catch (InvocationTargetException ex) {
+                throw ex.getCause();
+            }
+        };
+        return (T) Proxy.newProxyInstance(SqlStatementCounter.class.getClassLoader(), interfaces, invocationHandler);
+    }
+
+    private static void count(String sql) {
+        String statement = sql.stripLeading().toLowerCase(Locale.ROOT);
+        if (statement.contains("next value for")) {
+            SEQUENCES.incrementAndGet();
+        } else if (statement.startsWith("select") || statement.startsWith("with")) {
+            SELECTS.incrementAndGet();
+        } else if (statement.startsWith("insert")) {
+            INSERTS.incrementAndGet();
+        } else if (statement.startsWith("update")) {
+            UPDATES.incrementAndGet();
+        } else if (statement.startsWith("delete")) {
+            DELETES.incrementAndGet();
+        }
+        last = sql;
+    }
+
+    public static void reset() {
+        SELECTS.set(0);
+        INSERTS.set(0);
+        UPDATES.set(0);
+        DELETES.set(0);
+        SEQUENCES.set(0);
+    }
+
+    public static int selects() {
+        return SELECTS.get();
+    }
+
+    public static int inserts() {
+        return INSERTS.get();
+    }
+
+    public static int updates() {
+        return UPDATES.get();
+    }
+
+    public static int deletes() {
+        return DELETES.get();
+    }
+
+    public static int sequences() {
+        return SEQUENCES.get();
+    }
+
+    public static String last() {
+        return last;
+    }
+
+    public static int total() {
+        return selects() + inserts() + updates() + deletes();
+    }
+
+    private interface Handler {
+        Object invoke(Method method, Object[] args) throws Throwable;
+    }
+}
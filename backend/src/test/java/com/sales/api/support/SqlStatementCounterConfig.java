@@ -0,0 +1,30 @@
+package com.sales.api.support;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import javax.sql.DataSource;
+
+/**
+ * Counts the statements of the {@code dataSource} bean with {@link SqlStatementCounter} in the
+ * test profile. Picked up by component scanning, like the application's own configuration.
+ */
+@Configuration
+@Profile("test")
+public class SqlStatementCounterConfig {
+
+    @Bean
+    public static BeanPostProcessor sqlStatementCountingPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!"dataSource".equals(beanName) || !(bean instanceof DataSource dataSource)) {
+                    return bean;
+                }
+                return SqlStatementCounter.counting(dataSource);
+            }
+        };
+    }
+}
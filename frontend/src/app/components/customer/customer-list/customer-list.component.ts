@@ -61,6 +61,13 @@ import { Customer } from '../../../models/customer.model';
               </tbody>
             </table>
           </div>
+          @if (nextCursor !== null) {
+            <div class="text-center">
+              <button class="btn btn-outline-secondary" [disabled]="loadingMore" (click)="loadMore()">
+                Load more
+              </button>
+            </div>
+          }
         }
       </div>
     </div>
@@ -68,7 +75,9 @@ import { Customer } from '../../../models/customer.model';
 })
 export class CustomerListComponent implements OnInit {
   customers: Customer[] = [];
+  nextCursor: number | null = null;
   loading = true;
+  loadingMore = false;
 
   constructor(private customerService: CustomerService) {}
 
@@ -79,8 +88,9 @@ export class CustomerListComponent implements OnInit {
   loadCustomers(): void {
     this.loading = true;
     this.customerService.findAll().subscribe({
-      next: (data) => {
-        this.customers = data;
+      next: (page) => {
+        this.customers = page.items;
+        this.nextCursor = page.nextCursor;
         this.loading = false;
       },
       error: (error) => {
@@ -90,6 +100,22 @@ export class CustomerListComponent implements OnInit {
     });
   }
 
+  loadMore(): void {
+    if (this.nextCursor === null) return;
+    this.loadingMore = true;
+    this.customerService.findAll(this.nextCursor).subscribe({
+      next: (page) => {
+        this.customers = [...this.customers, ...page.items];
+        this.nextCursor = page.nextCursor;
+        this.loadingMore = false;
+      },
+      error: (error) => {
+        console.error('Error loading customers:', error);
+        this.loadingMore = false;
+      }
+    });
+  }
+
   deleteCustomer(customer: Customer): void {
     if (confirm(`Are you sure you want to delete ${customer.name}?`)) {
       this.customerService.delete(customer.id!).subscribe({
@@ -5,6 +5,7 @@ import { Router, RouterLink } from '@angular/router';
 import { OrderService } from '../../../services/order.service';
 import { CustomerService } from '../../../services/customer.service';
 import { ProductService } from '../../../services/product.service';
+import { collectPages } from '../../../services/paging';
 import { Customer } from '../../../models/customer.model';
 import { Product } from '../../../models/product.model';
 import { OrderRequest, OrderItemRequest } from '../../../models/order.model';
@@ -145,14 +146,14 @@ export class OrderFormComponent implements OnInit {
   }
 
   loadCustomers(): void {
-    this.customerService.findAll().subscribe({
+    collectPages(after => this.customerService.findAll(after)).subscribe({
       next: (data) => this.customers = data,
       error: (error) => console.error('Error loading customers:', error)
     });
   }
 
   loadProducts(): void {
-    this.productService.findInStock().subscribe({
+    collectPages(after => this.productService.findInStock(after)).subscribe({
       next: (data) => this.products = data,
       error: (error) => console.error('Error loading products:', error)
     });
@@ -1,8 +1,9 @@
-import { Component, OnInit } from '@angular/core';
+import { Component, OnDestroy, OnInit } from '@angular/core';
 import { CommonModule, CurrencyPipe, DatePipe } from '@angular/common';
 import { RouterLink } from '@angular/router';
+import { Subscription } from 'rxjs';
 import { OrderService } from '../../../services/order.service';
-import { Order, OrderStatus } from '../../../models/order.model';
+import { Order, OrderEvent, OrderStatus } from '../../../models/order.model';
 
 @Component({
   selector: 'app-order-list',
@@ -69,26 +70,42 @@ import { Order, OrderStatus } from '../../../models/order.model';
               </tbody>
             </table>
           </div>
+          @if (nextCursor !== null) {
+            <div class="text-center">
+              <button class="btn btn-outline-secondary" [disabled]="loadingMore" (click)="loadMore()">
+                Load more
+              </button>
+            </div>
+          }
         }
       </div>
     </div>
   `
 })
-export class OrderListComponent implements OnInit {
+export class OrderListComponent implements OnInit, OnDestroy {
   orders: Order[] = [];
+  nextCursor: number | null = null;
   loading = true;
+  loadingMore = false;
+  private events?: Subscription;
 
   constructor(private orderService: OrderService) {}
 
   ngOnInit(): void {
     this.loadOrders();
+    this.events = this.orderService.events().subscribe(event => this.applyEvent(event));
+  }
+
+  ngOnDestroy(): void {
+    this.events?.unsubscribe();
   }
 
   loadOrders(): void {
     this.loading = true;
     this.orderService.findAll().subscribe({
-      next: (data) => {
-        this.orders = data;
+      next: (page) => {
+        this.orders = page.items;
+        this.nextCursor = page.nextCursor;
         this.loading = false;
       },
       error: (error) => {
@@ -98,6 +115,40 @@ export class OrderListComponent implements OnInit {
     });
   }
 
+  loadMore(): void {
+    if (this.nextCursor === null) return;
+    this.loadingMore = true;
+    this.orderService.findAll(this.nextCursor).subscribe({
+      next: (page) => {
+        this.orders = [...this.orders, ...page.items];
+        this.nextCursor = page.nextCursor;
+        this.loadingMore = false;
+      },
+      error: (error) => {
+        console.error('Error loading orders:', error);
+        this.loadingMore = false;
+      }
+    });
+  }
+
+  private applyEvent(event: OrderEvent | null): void {
+    if (event === null) {
+      this.loadOrders();
+      return;
+    }
+    if (event.type === 'DELETED') {
+      this.orders = this.orders.filter(o => o.id !== event.orderId);
+      return;
+    }
+    const index = this.orders.findIndex(o => o.id === event.orderId);
+    if (index >= 0) {
+      this.orders = this.orders.map(o => o.id === event.orderId ? event.order! : o);
+    } else if (event.type === 'CREATED' && this.nextCursor === null) {
+      // with pages still to load, the new order arrives with the last one
+      this.orders = [...this.orders, event.order!];
+    }
+  }
+
   getStatusClass(status: OrderStatus): string {
     return `status-${status.toLowerCase()}`;
   }
@@ -67,6 +67,13 @@ import { Product } from '../../../models/product.model';
               </tbody>
             </table>
           </div>
+          @if (nextCursor !== null) {
+            <div class="text-center">
+              <button class="btn btn-outline-secondary" [disabled]="loadingMore" (click)="loadMore()">
+                Load more
+              </button>
+            </div>
+          }
         }
       </div>
     </div>
@@ -74,7 +81,9 @@ import { Product } from '../../../models/product.model';
 })
 export class ProductListComponent implements OnInit {
   products: Product[] = [];
+  nextCursor: number | null = null;
   loading = true;
+  loadingMore = false;
 
   constructor(private productService: ProductService) {}
 
@@ -85,8 +94,9 @@ export class ProductListComponent implements OnInit {
   loadProducts(): void {
     this.loading = true;
     this.productService.findAll().subscribe({
-      next: (data) => {
-        this.products = data;
+      next: (page) => {
+        this.products = page.items;
+        this.nextCursor = page.nextCursor;
         this.loading = false;
       },
       error: (error) => {
@@ -96,6 +106,22 @@ export class ProductListComponent implements OnInit {
     });
   }
 
+  loadMore(): void {
+    if (this.nextCursor === null) return;
+    this.loadingMore = true;
+    this.productService.findAll(this.nextCursor).subscribe({
+      next: (page) => {
+        this.products = [...this.products, ...page.items];
+        this.nextCursor = page.nextCursor;
+        this.loadingMore = false;
+      },
+      error: (error) => {
+        console.error('Error loading products:', error);
+        this.loadingMore = false;
+      }
+    });
+  }
+
   getStockClass(quantity: number): string {
     if (quantity === 0) return 'badge bg-danger';
     if (quantity < 10) return 'badge bg-warning text-dark';
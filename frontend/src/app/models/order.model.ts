@@ -19,6 +19,17 @@ export interface Order {
   items: OrderItem[];
 }
 
+export type OrderEventType = 'CREATED' | 'STATUS_CHANGED' | 'DELETED';
+
+export interface OrderEvent {
+  id: number;
+  type: OrderEventType;
+  orderId: number;
+  status?: OrderStatus;
+  occurredAt: Date;
+  order?: Order;
+}
+
 export interface OrderItemRequest {
   productId: number;
   quantity: number;
@@ -4,6 +4,7 @@ export interface Product {
   description?: string;
   price: number;
   stockQuantity: number;
+  version?: number;
   createdAt?: Date;
 }
 
@@ -2,6 +2,7 @@ import { TestBed } from '@angular/core/testing';
 import { HttpClientTestingModule, HttpTestingController } from '@angular/common/http/testing';
 import { CustomerService } from './customer.service';
 import { Customer, CustomerRequest } from '../models/customer.model';
+import { collectPages } from './paging';
 import { environment } from '../../environments/environment';
 
 describe('CustomerService', () => {
@@ -32,9 +33,10 @@ describe('CustomerService', () => {
       { id: 2, name: 'Jane Doe', email: 'jane@example.com' }
     ];
 
-    service.findAll().subscribe(customers => {
-      expect(customers.length).toBe(2);
-      expect(customers).toEqual(mockCustomers);
+    service.findAll().subscribe(page => {
+      expect(page.items.length).toBe(2);
+      expect(page.items).toEqual(mockCustomers);
+      expect(page.nextCursor).toBeNull();
     });
 
     const req = httpMock.expectOne(apiUrl);
@@ -42,6 +44,30 @@ describe('CustomerService', () => {
     req.flush(mockCustomers);
   });
 
+  it('should read the next cursor and request the following page', () => {
+    const mockCustomers: Customer[] = [{ id: 2, name: 'Jane Doe', email: 'jane@example.com' }];
+
+    service.findAll(1).subscribe(page => {
+      expect(page.items).toEqual(mockCustomers);
+      expect(page.nextCursor).toBe(2);
+    });
+
+    const req = httpMock.expectOne(`${apiUrl}?after=1`);
+    expect(req.request.method).toBe('GET');
+    req.flush(mockCustomers, { headers: { 'X-Next-Cursor': '2' } });
+  });
+
+  it('should follow the next cursor until the last page', () => {
+    collectPages(after => service.findAll(after)).subscribe(customers => {
+      expect(customers.map(c => c.id)).toEqual([1, 2]);
+    });
+
+    httpMock.expectOne(apiUrl)
+      .flush([{ id: 1, name: 'John Doe', email: 'john@example.com' }], { headers: { 'X-Next-Cursor': '1' } });
+    httpMock.expectOne(`${apiUrl}?after=1`)
+      .flush([{ id: 2, name: 'Jane Doe', email: 'jane@example.com' }]);
+  });
+
   it('should get customer by id', () => {
     const mockCustomer: Customer = { id: 1, name: 'John Doe', email: 'john@example.com' };
 
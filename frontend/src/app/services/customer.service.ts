@@ -1,7 +1,10 @@
 import { Injectable } from '@angular/core';
 import { HttpClient } from '@angular/common/http';
 import { Observable } from 'rxjs';
+import { map } from 'rxjs/operators';
 import { Customer, CustomerRequest } from '../models/customer.model';
+import { Page } from '../models/page.model';
+import { pageParams, toPage } from './paging';
 import { environment } from '../../environments/environment';
 
 @Injectable({
@@ -12,8 +15,9 @@ export class CustomerService {
 
   constructor(private http: HttpClient) {}
 
-  findAll(): Observable<Customer[]> {
-    return this.http.get<Customer[]>(this.apiUrl);
+  findAll(after?: number): Observable<Page<Customer>> {
+    return this.http.get<Customer[]>(this.apiUrl, { params: pageParams(after), observe: 'response' })
+      .pipe(map(toPage));
   }
 
   findById(id: number): Observable<Customer> {
@@ -32,9 +32,10 @@ describe('OrderService', () => {
       { id: 2, customerId: 2, customerName: 'Jane', status: 'CONFIRMED', items: [], totalAmount: 200 }
     ];
 
-    service.findAll().subscribe(orders => {
-      expect(orders.length).toBe(2);
-      expect(orders).toEqual(mockOrders);
+    service.findAll().subscribe(page => {
+      expect(page.items.length).toBe(2);
+      expect(page.items).toEqual(mockOrders);
+      expect(page.nextCursor).toBeNull();
     });
 
     const req = httpMock.expectOne(apiUrl);
@@ -63,13 +64,14 @@ describe('OrderService', () => {
       { id: 1, customerId: 1, customerName: 'John', status: 'PENDING', items: [], totalAmount: 100 }
     ];
 
-    service.findByCustomerId(1).subscribe(orders => {
-      expect(orders).toEqual(mockOrders);
+    service.findByCustomerId(1, 5).subscribe(page => {
+      expect(page.items).toEqual(mockOrders);
+      expect(page.nextCursor).toBe(1);
     });
 
-    const req = httpMock.expectOne(`${apiUrl}/customer/1`);
+    const req = httpMock.expectOne(`${apiUrl}/customer/1?after=5`);
     expect(req.request.method).toBe('GET');
-    req.flush(mockOrders);
+    req.flush(mockOrders, { headers: { 'X-Next-Cursor': '1' } });
   });
 
   it('should get orders by status', () => {
@@ -77,8 +79,8 @@ describe('OrderService', () => {
       { id: 1, customerId: 1, customerName: 'John', status: 'PENDING', items: [], totalAmount: 100 }
     ];
 
-    service.findByStatus('PENDING').subscribe(orders => {
-      expect(orders).toEqual(mockOrders);
+    service.findByStatus('PENDING').subscribe(page => {
+      expect(page.items).toEqual(mockOrders);
     });
 
     const req = httpMock.expectOne(`${apiUrl}/status/PENDING`);
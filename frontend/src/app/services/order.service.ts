@@ -1,7 +1,10 @@
 import { Injectable } from '@angular/core';
 import { HttpClient } from '@angular/common/http';
 import { Observable } from 'rxjs';
-import { Order, OrderRequest, OrderStatus, OrderStatusUpdate } from '../models/order.model';
+import { map } from 'rxjs/operators';
+import { Order, OrderEvent, OrderEventType, OrderRequest, OrderStatus, OrderStatusUpdate } from '../models/order.model';
+import { Page } from '../models/page.model';
+import { pageParams, toPage } from './paging';
 import { environment } from '../../environments/environment';
 
 @Injectable({
@@ -12,20 +15,23 @@ export class OrderService {
 
   constructor(private http: HttpClient) {}
 
-  findAll(): Observable<Order[]> {
-    return this.http.get<Order[]>(this.apiUrl);
+  findAll(after?: number): Observable<Page<Order>> {
+    return this.http.get<Order[]>(this.apiUrl, { params: pageParams(after), observe: 'response' })
+      .pipe(map(toPage));
   }
 
   findById(id: number): Observable<Order> {
     return this.http.get<Order>(`${this.apiUrl}/${id}`);
   }
 
-  findByCustomerId(customerId: number): Observable<Order[]> {
-    return this.http.get<Order[]>(`${this.apiUrl}/customer/${customerId}`);
+  findByCustomerId(customerId: number, after?: number): Observable<Page<Order>> {
+    return this.http.get<Order[]>(`${this.apiUrl}/customer/${customerId}`,
+      { params: pageParams(after), observe: 'response' }).pipe(map(toPage));
   }
 
-  findByStatus(status: OrderStatus): Observable<Order[]> {
-    return this.http.get<Order[]>(`${this.apiUrl}/status/${status}`);
+  findByStatus(status: OrderStatus, after?: number): Observable<Page<Order>> {
+    return this.http.get<Order[]>(`${this.apiUrl}/status/${status}`,
+      { params: pageParams(after), observe: 'response' }).pipe(map(toPage));
   }
 
   create(order: OrderRequest): Observable<Order> {
@@ -40,4 +46,19 @@ export class OrderService {
   delete(id: number): Observable<void> {
     return this.http.delete<void>(`${this.apiUrl}/${id}`);
   }
+
+  /**
+   * Streams order changes. The browser reconnects on its own and resumes after the last event
+   * received; `null` is emitted when the server cannot resume and the orders should be reloaded.
+   */
+  events(): Observable<OrderEvent | null> {
+    return new Observable<OrderEvent | null>(subscriber => {
+      const source = new EventSource(`${this.apiUrl}/events`);
+      const types: OrderEventType[] = ['CREATED', 'STATUS_CHANGED', 'DELETED'];
+      types.forEach(type => source.addEventListener(type, event =>
+        subscriber.next(JSON.parse((event as MessageEvent).data))));
+      source.addEventListener('RESET', () => subscriber.next(null));
+      return () => source.close();
+    });
+  }
 }
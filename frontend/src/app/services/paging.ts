@@ -0,0 +1,27 @@
+import { HttpParams, HttpResponse } from '@angular/common/http';
+import { EMPTY, Observable } from 'rxjs';
+import { expand, map, reduce } from 'rxjs/operators';
+import { Page } from '../models/page.model';
+
+export const NEXT_CURSOR_HEADER = 'X-Next-Cursor';
+
+export function pageParams(after?: number): HttpParams {
+  return after === undefined ? new HttpParams() : new HttpParams().set('after', after);
+}
+
+export function toPage<T>(response: HttpResponse<T[]>): Page<T> {
+  const cursor = response.headers.get(NEXT_CURSOR_HEADER);
+  return { items: response.body ?? [], nextCursor: cursor === null ? null : +cursor };
+}
+
+/**
+ * Follows `X-Next-Cursor` until the last page and emits every row once, for callers such as
+ * dropdowns that need the whole list rather than one page.
+ */
+export function collectPages<T>(fetch: (after?: number) => Observable<Page<T>>): Observable<T[]> {
+  return fetch().pipe(
+    expand(page => page.nextCursor === null ? EMPTY : fetch(page.nextCursor)),
+    map(page => page.items),
+    reduce((all, items) => all.concat(items), [] as T[])
+  );
+}
@@ -32,14 +32,15 @@ describe('ProductService', () => {
       { id: 2, name: 'Product 2', price: 49.99, stockQuantity: 50 }
     ];
 
-    service.findAll().subscribe(products => {
-      expect(products.length).toBe(2);
-      expect(products).toEqual(mockProducts);
+    service.findAll().subscribe(page => {
+      expect(page.items.length).toBe(2);
+      expect(page.items).toEqual(mockProducts);
+      expect(page.nextCursor).toBe(2);
     });
 
     const req = httpMock.expectOne(apiUrl);
     expect(req.request.method).toBe('GET');
-    req.flush(mockProducts);
+    req.flush(mockProducts, { headers: { 'X-Next-Cursor': '2' } });
   });
 
   it('should get product by id', () => {
@@ -59,8 +60,8 @@ describe('ProductService', () => {
       { id: 1, name: 'Test Product', price: 99.99, stockQuantity: 100 }
     ];
 
-    service.findByName('Test').subscribe(products => {
-      expect(products).toEqual(mockProducts);
+    service.findByName('Test').subscribe(page => {
+      expect(page.items).toEqual(mockProducts);
     });
 
     const req = httpMock.expectOne(`${apiUrl}/search?name=Test`);
@@ -73,8 +74,8 @@ describe('ProductService', () => {
       { id: 1, name: 'Product 1', price: 99.99, stockQuantity: 100 }
     ];
 
-    service.findInStock().subscribe(products => {
-      expect(products).toEqual(mockProducts);
+    service.findInStock().subscribe(page => {
+      expect(page.items).toEqual(mockProducts);
     });
 
     const req = httpMock.expectOne(`${apiUrl}/in-stock`);
@@ -82,6 +83,21 @@ describe('ProductService', () => {
     req.flush(mockProducts);
   });
 
+  it('should get the next page of products in stock', () => {
+    const mockProducts: Product[] = [
+      { id: 2, name: 'Product 2', price: 49.99, stockQuantity: 50 }
+    ];
+
+    service.findInStock(1).subscribe(page => {
+      expect(page.items).toEqual(mockProducts);
+      expect(page.nextCursor).toBeNull();
+    });
+
+    const req = httpMock.expectOne(`${apiUrl}/in-stock?after=1`);
+    expect(req.request.method).toBe('GET');
+    req.flush(mockProducts);
+  });
+
   it('should create product', () => {
     const productRequest: ProductRequest = { name: 'New Product', price: 99.99, stockQuantity: 100 };
     const mockResponse: Product = { id: 1, ...productRequest };
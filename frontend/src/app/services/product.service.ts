@@ -1,7 +1,10 @@
 import { Injectable } from '@angular/core';
 import { HttpClient } from '@angular/common/http';
 import { Observable } from 'rxjs';
+import { map } from 'rxjs/operators';
 import { Product, ProductRequest } from '../models/product.model';
+import { Page } from '../models/page.model';
+import { pageParams, toPage } from './paging';
 import { environment } from '../../environments/environment';
 
 @Injectable({
@@ -12,20 +15,23 @@ export class ProductService {
 
   constructor(private http: HttpClient) {}
 
-  findAll(): Observable<Product[]> {
-    return this.http.get<Product[]>(this.apiUrl);
+  findAll(after?: number): Observable<Page<Product>> {
+    return this.http.get<Product[]>(this.apiUrl, { params: pageParams(after), observe: 'response' })
+      .pipe(map(toPage));
   }
 
   findById(id: number): Observable<Product> {
     return this.http.get<Product>(`${this.apiUrl}/${id}`);
   }
 
-  findByName(name: string): Observable<Product[]> {
-    return this.http.get<Product[]>(`${this.apiUrl}/search`, { params: { name } });
+  findByName(name: string, after?: number): Observable<Page<Product>> {
+    return this.http.get<Product[]>(`${this.apiUrl}/search`,
+      { params: pageParams(after).set('name', name), observe: 'response' }).pipe(map(toPage));
   }
 
-  findInStock(): Observable<Product[]> {
-    return this.http.get<Product[]>(`${this.apiUrl}/in-stock`);
+  findInStock(after?: number): Observable<Page<Product>> {
+    return this.http.get<Product[]>(`${this.apiUrl}/in-stock`,
+      { params: pageParams(after), observe: 'response' }).pipe(map(toPage));
   }
 
   create(product: ProductRequest): Observable<Product> {